@@ -0,0 +1,340 @@
+package com.immocare.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+
+import com.immocare.model.entity.BankAccount;
+import com.immocare.model.entity.Building;
+import com.immocare.model.entity.FinancialTransaction;
+import com.immocare.model.entity.HousingUnit;
+import com.immocare.model.entity.Lease;
+import com.immocare.model.entity.TagCategory;
+import com.immocare.model.entity.TagSubcategory;
+import com.immocare.model.enums.BankAccountType;
+import com.immocare.model.enums.LeaseStatus;
+import com.immocare.model.enums.SubcategoryDirection;
+import com.immocare.model.enums.TransactionDirection;
+import com.immocare.model.enums.TransactionStatus;
+
+/**
+ * Reproducible synthetic data for the JMH benchmarks.
+ *
+ * Every generator takes an explicit seed: the same (seed, size) pair always
+ * yields the same bytes / entities, so results are comparable across runs and
+ * across branches.
+ */
+public final class BenchmarkData {
+
+    public static final long SEED = 20260301L;
+
+    private static final DateTimeFormatter DATE_FMT = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+    private static final LocalDate START = LocalDate.of(2020, 1, 1);
+
+    private static final String[] NAMES = {
+            "DUPONT JEAN", "MARTIN SOPHIE", "JANSSENS PIETER", "PEETERS AN", "MAES LUC",
+            "VIVAQUA", "ENGIE ELECTRABEL", "SIBELGA", "PROXIMUS", "AG INSURANCE",
+            "COMMUNE DE SAINT-GILLES", "SPF FINANCES", "BRICO", "VANDENBROUCKE SPRL" };
+
+    private static final String[] DESCRIPTIONS = {
+            "Loyer %s appartement %d", "Charges %s", "Facture eau %s", "Facture electricite %s",
+            "Entretien chaudiere %s", "Precompte immobilier %s", "Assurance incendie %s",
+            "Reparation toiture %s", "Provision charges %s unit %d" };
+
+    private static final String[] MONTHS = {
+            "janvier", "fevrier", "mars", "avril", "mai", "juin",
+            "juillet", "aout", "septembre", "octobre", "novembre", "decembre" };
+
+    private BenchmarkData() {
+    }
+
+    // ─── Raw statement rows ───────────────────────────────────────────────────
+
+    /** One synthetic statement line, shared by the CSV and PDF generators. */
+    public record Row(LocalDate date, String description, String name, String iban,
+            BigDecimal amount, boolean income) {
+    }
+
+    public static List<Row> rows(int count, long seed) {
+        Random rnd = new Random(seed);
+        List<String> ibans = ibans(Math.max(8, count / 20), rnd);
+        List<Row> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            LocalDate date = START.plusDays(rnd.nextInt(6 * 365));
+            String month = MONTHS[date.getMonthValue() - 1];
+            String description = String.format(DESCRIPTIONS[rnd.nextInt(DESCRIPTIONS.length)],
+                    month, 1 + rnd.nextInt(40));
+            boolean income = rnd.nextInt(3) == 0;
+            BigDecimal amount = BigDecimal.valueOf(1000 + rnd.nextInt(400_000), 2);
+            rows.add(new Row(date, description, NAMES[rnd.nextInt(NAMES.length)],
+                    ibans.get(rnd.nextInt(ibans.size())), amount, income));
+        }
+        return rows;
+    }
+
+    public static List<String> ibans(int count, Random rnd) {
+        List<String> ibans = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            StringBuilder sb = new StringBuilder("BE");
+            for (int d = 0; d < 14; d++) {
+                sb.append((char) ('0' + rnd.nextInt(10)));
+            }
+            ibans.add(sb.toString());
+        }
+        return ibans;
+    }
+
+    /** Keytrade CSV export (Date;Description;De;IBAN;Montant), BOM + header. */
+    public static byte[] keytradeCsv(int count, long seed) {
+        StringBuilder sb = new StringBuilder(count * 96);
+        sb.append('\uFEFF').append("Date;Description;De;IBAN;Montant\n");
+        for (Row r : rows(count, seed)) {
+            sb.append(DATE_FMT.format(r.date())).append(';')
+                    .append('"').append(r.description()).append('"').append(';')
+                    .append(r.name()).append(';')
+                    .append(r.iban()).append(';')
+                    .append(r.amount().toPlainString()).append(" EUR\n");
+        }
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /** Keytrade PDF statement: date/description, "de :"/"vers :" and signed amount lines. */
+    public static byte[] keytradePdf(int count, long seed) throws IOException {
+        int linesPerPage = 45;
+        List<String> lines = new ArrayList<>(count * 3);
+        for (Row r : rows(count, seed)) {
+            lines.add(DATE_FMT.format(r.date()) + " " + r.name() + " " + r.iban() + " " + r.description());
+            lines.add((r.income() ? "de : " : "vers : ") + r.name() + " " + r.iban());
+            lines.add((r.income() ? "+ " : "- ")
+                    + r.amount().setScale(2, RoundingMode.UNNECESSARY).toPlainString().replace('.', ',')
+                    + " EUR");
+        }
+        try (PDDocument doc = new PDDocument(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            PDType1Font font = new PDType1Font(Standard14Fonts.FontName.HELVETICA);
+            for (int from = 0; from < lines.size(); from += linesPerPage) {
+                PDPage page = new PDPage();
+                doc.addPage(page);
+                try (PDPageContentStream cs = new PDPageContentStream(doc, page)) {
+                    cs.beginText();
+                    cs.setFont(font, 9);
+                    cs.setLeading(15f);
+                    cs.newLineAtOffset(30, 750);
+                    for (String line : lines.subList(from, Math.min(from + linesPerPage, lines.size()))) {
+                        cs.showText(line);
+                        cs.newLine();
+                    }
+                    cs.endText();
+                }
+            }
+            doc.save(out);
+            return out.toByteArray();
+        }
+    }
+
+    /**
+     * CAMT.053.001.02 statement file with {@code accounts} statements sharing
+     * {@code count} booked entries, written straight to {@code target} so that
+     * multi-hundred-MB files never sit in memory.
+     */
+    public static void camt053(Path target, int count, int accounts, long seed) throws IOException {
+        Random rnd = new Random(seed);
+        List<String> ownIbans = ibans(accounts, rnd);
+        List<String> ibans = ibans(Math.max(8, count / 20), rnd);
+        try (Writer w = Files.newBufferedWriter(target, StandardCharsets.UTF_8)) {
+            w.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+                    + "<Document xmlns=\"urn:iso:std:iso:20022:tech:xsd:camt.053.001.02\"><BkToCstmrStmt>\n"
+                    + "<GrpHdr><MsgId>BENCH</MsgId><CreDtTm>2026-01-01T00:00:00</CreDtTm></GrpHdr>\n");
+            int perAccount = (count + accounts - 1) / accounts;
+            int written = 0;
+            for (int a = 0; a < accounts; a++) {
+                w.write("<Stmt><Id>STMT-" + a + "</Id><Acct><Id><IBAN>" + ownIbans.get(a)
+                        + "</IBAN></Id><Ccy>EUR</Ccy></Acct>\n");
+                for (int i = 0; i < perAccount && written < count; i++, written++) {
+                    LocalDate date = START.plusDays(rnd.nextInt(6 * 365));
+                    boolean income = rnd.nextInt(3) == 0;
+                    String amount = BigDecimal.valueOf(1000 + rnd.nextInt(400_000), 2).toPlainString();
+                    String party = income ? "Dbtr" : "Cdtr";
+                    String name = NAMES[rnd.nextInt(NAMES.length)];
+                    String iban = ibans.get(rnd.nextInt(ibans.size()));
+                    String remittance = rnd.nextBoolean()
+                            ? "<Ustrd>" + String.format(DESCRIPTIONS[rnd.nextInt(DESCRIPTIONS.length)],
+                                    MONTHS[date.getMonthValue() - 1], 1 + rnd.nextInt(40)) + "</Ustrd>"
+                            : "<Strd><CdtrRefInf><Tp><CdOrPrtry><Cd>SCOR</Cd></CdOrPrtry></Tp><Ref>"
+                                    + String.format("%012d", (long) rnd.nextInt(1_000_000_000) * 100)
+                                    + "</Ref></CdtrRefInf></Strd>";
+                    w.write("<Ntry><Amt Ccy=\"EUR\">" + amount + "</Amt><CdtDbtInd>"
+                            + (income ? "CRDT" : "DBIT") + "</CdtDbtInd><Sts>BOOK</Sts>"
+                            + "<BookgDt><Dt>" + date + "</Dt></BookgDt><ValDt><Dt>" + date + "</Dt></ValDt>"
+                            + "<AcctSvcrRef>" + a + "-" + i + "</AcctSvcrRef>"
+                            + "<BkTxCd><Domn><Cd>PMNT</Cd><Fmly><Cd>RCDT</Cd><SubFmlyCd>ESCT</SubFmlyCd></Fmly>"
+                            + "</Domn></BkTxCd><NtryDtls><TxDtls><Refs><EndToEndId>NOTPROVIDED</EndToEndId></Refs>"
+                            + "<RltdPties><" + party + "><Nm>" + name + "</Nm></" + party + "><" + party
+                            + "Acct><Id><IBAN>" + iban + "</IBAN></Id></" + party + "Acct></RltdPties>"
+                            + "<RmtInf>" + remittance + "</RmtInf></TxDtls></NtryDtls></Ntry>\n");
+                }
+                w.write("</Stmt>\n");
+            }
+            w.write("</BkToCstmrStmt></Document>\n");
+        }
+    }
+
+    /**
+     * CODA archive of {@code days} daily statements sharing {@code count}
+     * movements (records 21 and 23, one in four with a 31 information
+     * record), written straight to {@code target}.
+     */
+    public static void coda(Path target, int count, int days, long seed) throws IOException {
+        Random rnd = new Random(seed);
+        List<String> ibans = ibans(Math.max(8, count / 20), rnd);
+        DateTimeFormatter ddmmyy = DateTimeFormatter.ofPattern("ddMMyy");
+        try (Writer w = Files.newBufferedWriter(target, StandardCharsets.ISO_8859_1)) {
+            int perDay = (count + days - 1) / days;
+            int written = 0;
+            for (int d = 0; d < days; d++) {
+                String date = ddmmyy.format(START.plusDays(d));
+                w.write(codaRecord(1, "0", 6, date, 128, "2"));
+                w.write(codaRecord(1, "12", 6, "BE68539007547034 EUR", 43, "0", 44, "000000001500000", 59, date));
+                for (int i = 1; i <= perDay && written < count; i++, written++) {
+                    boolean income = rnd.nextInt(3) == 0;
+                    boolean structured = rnd.nextBoolean();
+                    boolean information = rnd.nextInt(4) == 0;
+                    String seq = String.format("%04d", i % 10_000);
+                    String communication = structured
+                            ? "101" + String.format("%012d", (long) rnd.nextInt(1_000_000_000) * 100)
+                            : String.format(DESCRIPTIONS[rnd.nextInt(DESCRIPTIONS.length)],
+                                    MONTHS[rnd.nextInt(12)], 1 + rnd.nextInt(40));
+                    w.write(codaRecord(1, "21", 3, seq, 7, "0000", 11, "BNK" + d + "-" + i,
+                            32, income ? "0" : "1", 33, String.format("%015d", (1000 + rnd.nextInt(400_000)) * 10L),
+                            48, date, 54, "00150000", 62, structured ? "1" : "0", 63, communication,
+                            116, date, 126, "1", 128, information ? "1" : "0"));
+                    w.write(codaRecord(1, "23", 3, seq, 7, "0000", 11, ibans.get(rnd.nextInt(ibans.size())) + " EUR",
+                            48, NAMES[rnd.nextInt(NAMES.length)]));
+                    if (information) {
+                        w.write(codaRecord(1, "31", 3, seq, 7, "0000", 11, "BNK" + d + "-" + i, 32, "00150000",
+                                40, "1", 41, "001", 44, NAMES[rnd.nextInt(NAMES.length)]));
+                    }
+                }
+                w.write(codaRecord(1, "8", 42, "0", 43, "000000001500000", 58, date));
+                w.write(codaRecord(1, "9"));
+            }
+        }
+    }
+
+    /** 128-character CODA record with values at 1-based positions, CRLF-terminated. */
+    private static String codaRecord(Object... positionsAndValues) {
+        char[] record = new char[128];
+        Arrays.fill(record, ' ');
+        for (int i = 0; i < positionsAndValues.length; i += 2) {
+            String value = (String) positionsAndValues[i + 1];
+            value.getChars(0, value.length(), record, (Integer) positionsAndValues[i] - 1);
+        }
+        return new String(record) + "\r\n";
+    }
+
+    // ─── Entities ─────────────────────────────────────────────────────────────
+
+    public static List<TagSubcategory> subcategories(int categories, int perCategory) {
+        List<TagSubcategory> subs = new ArrayList<>(categories * perCategory);
+        long id = 1;
+        for (int c = 1; c <= categories; c++) {
+            TagCategory cat = new TagCategory();
+            cat.setId((long) c);
+            cat.setName("Category " + c);
+            for (int s = 0; s < perCategory; s++) {
+                TagSubcategory sub = new TagSubcategory();
+                sub.setId(id++);
+                sub.setCategory(cat);
+                sub.setName("Subcategory " + c + "." + s);
+                sub.setDirection(SubcategoryDirection.values()[s % SubcategoryDirection.values().length]);
+                subs.add(sub);
+            }
+        }
+        return subs;
+    }
+
+    /** Leases of one tenant — consecutive, non-overlapping, most recent first. */
+    public static List<Lease> tenantLeases(int count, long seed) {
+        Random rnd = new Random(seed);
+        List<Lease> leases = new ArrayList<>(count);
+        LocalDate start = START.minusYears(count);
+        for (int i = 0; i < count; i++) {
+            Lease lease = new Lease();
+            lease.setStartDate(start);
+            lease.setEndDate(start.plusMonths(6 + rnd.nextInt(30)));
+            lease.setStatus(i == count - 1 ? LeaseStatus.ACTIVE : LeaseStatus.FINISHED);
+            lease.setMonthlyRent(BigDecimal.valueOf(600 + rnd.nextInt(900)));
+            leases.add(0, lease);
+            start = lease.getEndDate().plusDays(1);
+        }
+        return leases;
+    }
+
+    /** Confirmed transactions spread over buildings, units, bank accounts and subcategories. */
+    public static List<FinancialTransaction> transactions(int count, int buildings, int unitsPerBuilding,
+            long seed) {
+        Random rnd = new Random(seed);
+        List<TagSubcategory> subs = subcategories(8, 6);
+        List<BankAccount> accounts = new ArrayList<>();
+        for (int a = 1; a <= 3; a++) {
+            BankAccount ba = new BankAccount();
+            ba.setId((long) a);
+            ba.setLabel("Account " + a);
+            ba.setType(a == 3 ? BankAccountType.SAVINGS : BankAccountType.CURRENT);
+            accounts.add(ba);
+        }
+        List<HousingUnit> units = new ArrayList<>();
+        long unitId = 1;
+        for (int b = 1; b <= buildings; b++) {
+            Building building = new Building();
+            building.setId((long) b);
+            building.setName("Building " + b);
+            for (int u = 0; u < unitsPerBuilding; u++) {
+                HousingUnit unit = new HousingUnit();
+                unit.setId(unitId++);
+                unit.setBuilding(building);
+                unit.setUnitNumber("U" + u);
+                units.add(unit);
+            }
+        }
+
+        List<FinancialTransaction> txs = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            FinancialTransaction tx = new FinancialTransaction();
+            tx.setId((long) i + 1);
+            tx.setDirection(rnd.nextInt(3) == 0 ? TransactionDirection.EXPENSE : TransactionDirection.INCOME);
+            tx.setStatus(TransactionStatus.CONFIRMED);
+            tx.setAmount(BigDecimal.valueOf(1000 + rnd.nextInt(400_000), 2));
+            LocalDate date = START.plusDays(rnd.nextInt(6 * 365));
+            tx.setTransactionDate(date);
+            tx.setAccountingMonth(date.withDayOfMonth(1));
+            if (rnd.nextInt(10) > 0) {
+                tx.setSubcategory(subs.get(rnd.nextInt(subs.size())));
+            }
+            tx.setBankAccount(accounts.get(rnd.nextInt(accounts.size())));
+            if (rnd.nextInt(5) > 0) {
+                HousingUnit unit = units.get(rnd.nextInt(units.size()));
+                tx.setHousingUnit(unit);
+                tx.setBuilding(unit.getBuilding());
+            }
+            txs.add(tx);
+        }
+        return txs;
+    }
+}
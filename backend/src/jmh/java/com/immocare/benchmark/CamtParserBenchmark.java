@@ -0,0 +1,68 @@
+package com.immocare.benchmark;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.immocare.exception.ParseException;
+import com.immocare.model.entity.Camt053XmlParser;
+
+/**
+ * CAMT.053 streaming throughput: a generated multi-account file read from
+ * disk and parsed row by row into a sink. Score is time per whole file;
+ * the 1M-entry file (~800 MB) runs in a 256 MB heap to show memory stays
+ * constant.
+ *
+ *     mvn -Pbenchmarks test-compile exec:exec -Djmh.args="CamtParserBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx256m")
+public class CamtParserBenchmark {
+
+    @Param({ "10000", "1000000" })
+    int entries;
+
+    private final Camt053XmlParser parser = new Camt053XmlParser();
+
+    private Path file;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        file = Files.createTempFile("camt053-bench-", ".xml");
+        BenchmarkData.camt053(file, entries, 4, BenchmarkData.SEED);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public void camt053Streaming(Blackhole bh) throws IOException, ParseException {
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(file), 1 << 16)) {
+            parser.parse(in, bh::consume);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.immocare.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.immocare.exception.ParseException;
+import com.immocare.model.entity.CodaParser;
+
+/**
+ * CODA streaming throughput: a generated multi-day archive read from disk
+ * and parsed row by row into a sink. Score is time per whole archive; the
+ * 1M-movement archive (~300 MB) runs in a 256 MB heap to show memory stays
+ * constant. The parser reads through its own buffer, so the file stream is
+ * not buffered here.
+ *
+ *     mvn -Pbenchmarks test-compile exec:exec -Djmh.args="CodaParserBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx256m")
+public class CodaParserBenchmark {
+
+    @Param({ "10000", "1000000" })
+    int movements;
+
+    private final CodaParser parser = new CodaParser();
+
+    private Path file;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        file = Files.createTempFile("coda-bench-", ".cod");
+        BenchmarkData.coda(file, movements, 365, BenchmarkData.SEED);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public void codaStreaming(Blackhole bh) throws IOException, ParseException {
+        try (InputStream in = Files.newInputStream(file)) {
+            parser.parse(in, bh::consume);
+        }
+    }
+}
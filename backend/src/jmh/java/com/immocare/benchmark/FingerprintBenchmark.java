@@ -0,0 +1,51 @@
+package com.immocare.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.immocare.model.entity.FingerprintUtil;
+
+/**
+ * Cost of one {@link FingerprintUtil#compute} call (normalisation + SHA-256 +
+ * hex encoding), cycling over 1 024 distinct synthetic rows.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FingerprintBenchmark {
+
+    private List<BenchmarkData.Row> rows;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        rows = BenchmarkData.rows(1024, BenchmarkData.SEED);
+    }
+
+    @Benchmark
+    public String withIban() {
+        BenchmarkData.Row r = rows.get(cursor++ & 1023);
+        return FingerprintUtil.compute(r.date(), r.amount(), r.iban(), r.name(), r.description());
+    }
+
+    @Benchmark
+    public String nameOnly() {
+        BenchmarkData.Row r = rows.get(cursor++ & 1023);
+        return FingerprintUtil.compute(r.date(), r.amount(), null, r.name(), r.description());
+    }
+}
@@ -0,0 +1,77 @@
+package com.immocare.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.immocare.exception.ParseException;
+import com.immocare.model.dto.CsvMappingConfig;
+import com.immocare.model.entity.ConfigurableCsvParser;
+import com.immocare.model.entity.CsvParsePlan;
+import com.immocare.model.entity.KeytradeCsvParser;
+import com.immocare.model.entity.KeytradePdfParser;
+import com.immocare.model.entity.ParsedTransaction;
+
+/**
+ * Statement parsing throughput on synthetic Keytrade CSV and PDF files.
+ * The CSV is also read by the configurable CSV parser, mapped to the same
+ * columns. Score is time per whole file; divide by {@code rows} for
+ * per-row cost.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParserBenchmark {
+
+    @Param({ "100", "1000", "10000" })
+    int rows;
+
+    private final KeytradeCsvParser csvParser = new KeytradeCsvParser();
+    private final KeytradePdfParser pdfParser = new KeytradePdfParser();
+    // Date;Description;De;IBAN;Montant
+    private final CsvParsePlan csvPlan = CsvParsePlan.compile(new CsvMappingConfig(
+            ";", "dd/MM/yyyy", 1, 0, 4, 1, 2, 3, -1, -1, -1, 3));
+
+    private byte[] csv;
+    private byte[] pdf;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        csv = BenchmarkData.keytradeCsv(rows, BenchmarkData.SEED);
+        pdf = BenchmarkData.keytradePdf(rows, BenchmarkData.SEED);
+    }
+
+    @Benchmark
+    public List<ParsedTransaction> keytradeCsv() throws ParseException {
+        return csvParser.parse(new ByteArrayInputStream(csv));
+    }
+
+    @Benchmark
+    public List<ParsedTransaction> configurableCsv() throws ParseException {
+        List<ParsedTransaction> result = new ArrayList<>(rows);
+        ConfigurableCsvParser.parse(csvPlan, new ByteArrayInputStream(csv), result::add);
+        return result;
+    }
+
+    @Benchmark
+    public List<ParsedTransaction> keytradePdf() throws ParseException {
+        return pdfParser.parse(new ByteArrayInputStream(pdf));
+    }
+}
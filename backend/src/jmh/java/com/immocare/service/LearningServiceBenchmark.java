@@ -0,0 +1,146 @@
+package com.immocare.service;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.immocare.benchmark.BenchmarkData;
+import com.immocare.model.dto.SubcategorySuggestionDTO;
+import com.immocare.model.entity.TagLearningRule;
+import com.immocare.model.entity.TagSubcategory;
+import com.immocare.model.enums.TagMatchField;
+import com.immocare.model.enums.TransactionDirection;
+import com.immocare.repository.AccountingMonthRuleRepository;
+import com.immocare.repository.FinancialTransactionRepository;
+import com.immocare.repository.TagLearningRuleRepository;
+import com.immocare.repository.TagSubcategoryRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * {@link LearningService#suggestSubcategory} for one preview row, with the
+ * rule table held in a hash index instead of PostgreSQL and the
+ * {@link TextMatchIndex} loaded from as many confirmed transactions as there
+ * are rules. Measures the service side of the lookup (account probe, two
+ * BM25 text queries, direction filter, merge, sort) — the SQL round-trip of
+ * the account probe is not part of the score.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LearningServiceBenchmark {
+
+    @Param({ "1000", "50000" })
+    int rules;
+
+    private LearningService learningService;
+    private List<String> ibans;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random rnd = new Random(BenchmarkData.SEED);
+        List<TagSubcategory> subs = BenchmarkData.subcategories(10, 8);
+        ibans = BenchmarkData.ibans(Math.max(1, rules / 3), rnd);
+
+        Map<String, List<TagLearningRule>> index = new HashMap<>();
+        for (int i = 0; i < rules; i++) {
+            TagLearningRule rule = new TagLearningRule();
+            rule.setId((long) i);
+            rule.setMatchField(TagMatchField.COUNTERPARTY_ACCOUNT);
+            rule.setMatchValue(ibans.get(i % ibans.size()));
+            rule.setSubcategory(subs.get(rnd.nextInt(subs.size())));
+            rule.setConfidence(1 + rnd.nextInt(20));
+            index.computeIfAbsent(key(rule.getMatchField(), rule.getMatchValue()), k -> new ArrayList<>())
+                    .add(rule);
+        }
+        index.values().forEach(l -> l.sort(Comparator.comparingInt(TagLearningRule::getConfidence).reversed()));
+
+        TagLearningRuleRepository ruleRepo = (TagLearningRuleRepository) Proxy.newProxyInstance(
+                getClass().getClassLoader(), new Class<?>[] { TagLearningRuleRepository.class },
+                (proxy, method, args) -> {
+                    if (!method.getName().equals("findSuggestions")) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    int minConf = (Integer) args[2];
+                    return index.getOrDefault(key((TagMatchField) args[0], (String) args[1]), List.of())
+                            .stream().filter(r -> r.getConfidence() >= minConf).toList();
+                });
+
+        Map<Long, TagSubcategory> subsById = new HashMap<>();
+        subs.forEach(sub -> subsById.put(sub.getId(), sub));
+        TagSubcategoryRepository subRepo = (TagSubcategoryRepository) Proxy.newProxyInstance(
+                getClass().getClassLoader(), new Class<?>[] { TagSubcategoryRepository.class },
+                (proxy, method, args) -> {
+                    if (!method.getName().equals("findById")) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    return Optional.ofNullable(subsById.get((Long) args[0]));
+                });
+
+        List<FinancialTransactionRepository.LearningText> texts = new ArrayList<>(rules);
+        for (BenchmarkData.Row row : BenchmarkData.rows(rules, BenchmarkData.SEED)) {
+            Long subcategoryId = subs.get(rnd.nextInt(subs.size())).getId();
+            texts.add(new FinancialTransactionRepository.LearningText() {
+                public Long getSubcategoryId() { return subcategoryId; }
+                public String getCounterpartyName() { return row.name(); }
+                public String getDescription() { return row.description(); }
+            });
+        }
+        FinancialTransactionRepository txRepo = (FinancialTransactionRepository) Proxy.newProxyInstance(
+                getClass().getClassLoader(), new Class<?>[] { FinancialTransactionRepository.class },
+                (proxy, method, args) -> {
+                    if (!method.getName().equals("streamLearningTexts")) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    return texts.stream();
+                });
+        TextMatchIndex textMatchIndex = new TextMatchIndex(txRepo, new SimpleMeterRegistry());
+        textMatchIndex.rebuild();
+
+        learningService = new LearningService(ruleRepo, unsupported(AccountingMonthRuleRepository.class),
+                subRepo, textMatchIndex, new SimpleMeterRegistry());
+    }
+
+    @Benchmark
+    public List<SubcategorySuggestionDTO> suggest() {
+        String iban = ibans.get(cursor++ % ibans.size());
+        return learningService.suggestSubcategory(iban, "DUPONT JEAN", "Loyer mars appartement 3",
+                TransactionDirection.INCOME, 1);
+    }
+
+    private static String key(TagMatchField field, String value) {
+        return field + "|" + value.toLowerCase(Locale.ROOT);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T unsupported(Class<T> type) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type },
+                (proxy, method, args) -> {
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
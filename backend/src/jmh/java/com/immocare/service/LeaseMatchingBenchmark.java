@@ -0,0 +1,60 @@
+package com.immocare.service;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.immocare.benchmark.BenchmarkData;
+import com.immocare.model.entity.Lease;
+
+/**
+ * {@link TransactionImportService#pickBestLease} for a tenant with
+ * {@code leases} historical leases: once for a covered date and once for a
+ * date outside every lease (closest-endDate fallback).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LeaseMatchingBenchmark {
+
+    @Param({ "1", "5", "20" })
+    int leases;
+
+    private List<Lease> tenantLeases;
+    private LocalDate covered;
+    private LocalDate uncovered;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        tenantLeases = BenchmarkData.tenantLeases(leases, BenchmarkData.SEED);
+        Lease middle = tenantLeases.get(tenantLeases.size() / 2);
+        covered = middle.getStartDate().plusDays(10);
+        uncovered = tenantLeases.get(0).getEndDate().plusYears(2);
+    }
+
+    @Benchmark
+    public Lease coveredDate() {
+        return TransactionImportService.pickBestLease(tenantLeases, covered);
+    }
+
+    @Benchmark
+    public Lease historicalFallback() {
+        return TransactionImportService.pickBestLease(tenantLeases, uncovered);
+    }
+}
@@ -0,0 +1,56 @@
+package com.immocare.service;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.immocare.benchmark.BenchmarkData;
+import com.immocare.model.dto.TransactionStatisticsDTO;
+import com.immocare.model.entity.FinancialTransaction;
+
+/**
+ * In-memory grouping of {@link FinancialTransactionService#getStatistics}
+ * (category, building, unit, bank account, month) over already-loaded
+ * transactions, one slice per transaction — i.e. the cost left once the
+ * findAll() has returned. The generated transactions carry no allocation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StatisticsBenchmark {
+
+    @Param({ "1000", "10000", "100000" })
+    int transactions;
+
+    private List<FinancialTransaction> all;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        all = BenchmarkData.transactions(transactions, 10, 8, BenchmarkData.SEED);
+    }
+
+    @Benchmark
+    public TransactionStatisticsDTO aggregate() {
+        return FinancialTransactionService.aggregateSlices(all.stream().map(StatisticsBenchmark::slice).toList());
+    }
+
+    private static LedgerRollupService.Slice slice(FinancialTransaction tx) {
+        return new LedgerRollupService.Slice(tx.getAccountingMonth(), tx.getBuilding(), tx.getHousingUnit(),
+                tx.getBankAccount(), tx.getSubcategory(), tx.getDirection(), tx.getAmount(), 1);
+    }
+}
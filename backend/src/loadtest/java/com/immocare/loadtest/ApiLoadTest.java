@@ -0,0 +1,278 @@
+package com.immocare.loadtest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.immocare.loadtest.LoadTestReport.EndpointResult;
+import com.immocare.service.LedgerRollupService;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Portfolio-scale load test of the read-heavy REST endpoints.
+ *
+ * Boots the full application on a random port, seeds a synthetic portfolio
+ * ({@link LoadTestSeeder}), then drives the endpoints with concurrent HTTP
+ * clients (each with its own session) and writes p50/p95/p99 latency and SQL
+ * statements per request to {@code target/loadtest/report.md}.
+ *
+ * Run with {@code mvn -Ploadtest test}; sizes are system properties, see the
+ * {@code loadtest} profile in pom.xml. The committed baseline lives in
+ * {@code src/loadtest/baseline-report.md}.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestPropertySource(locations = "classpath:application-loadtest.properties")
+class ApiLoadTest {
+
+    private static final String QUERIES_METRIC = "immocare.http.queries";
+
+    @Value("${local.server.port}")
+    private int port;
+
+    @PersistenceContext
+    private EntityManager em;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private LedgerRollupService ledgerRollupService;
+
+    @Autowired
+    private DataSource dataSource;
+
+    /** One measured endpoint: display name, URI template (metric tag) and request path generator. */
+    private record Endpoint(String name, String uri, Function<Random, String> path) {
+    }
+
+    @Test
+    void portfolioReadEndpoints() throws Exception {
+        LoadTestSeeder.Size size = new LoadTestSeeder.Size(
+                intProp("loadtest.buildings", 20),
+                intProp("loadtest.units-per-building", 8),
+                intProp("loadtest.years", 3),
+                Long.getLong("loadtest.seed", 20260301L));
+        int clients = intProp("loadtest.clients", 8);
+        int requests = intProp("loadtest.requests", 100);
+        int warmup = intProp("loadtest.warmup", 10);
+
+        long seedStart = System.nanoTime();
+        LoadTestSeeder.Seeded seeded = new LoadTestSeeder(em, transactionTemplate, passwordEncoder).seed(size);
+        // The seeder bypasses the services, so build the rollup in one pass
+        ledgerRollupService.rebuild();
+        Duration seedTime = Duration.ofNanos(System.nanoTime() - seedStart);
+
+        List<Endpoint> endpoints = endpoints(seeded);
+
+        // ─── Warm-up (single client, not measured) ───────────────────────────
+        HttpClient warmClient = login();
+        Random warmRnd = new Random(size.seed());
+        for (int i = 0; i < warmup; i++) {
+            for (Endpoint e : endpoints) {
+                send(warmClient, e.path().apply(warmRnd));
+            }
+        }
+
+        // ─── Measured phase ──────────────────────────────────────────────────
+        List<double[]> queriesBefore = endpoints.stream().map(this::querySnapshot).toList();
+
+        List<Integer> plan = new ArrayList<>(requests * endpoints.size());
+        for (int i = 0; i < requests; i++) {
+            for (int e = 0; e < endpoints.size(); e++) {
+                plan.add(e);
+            }
+        }
+        Collections.shuffle(plan, new Random(size.seed()));
+        Queue<Integer> queue = new ConcurrentLinkedQueue<>(plan);
+
+        List<Queue<Long>> latencies = new ArrayList<>();
+        List<AtomicInteger> errors = new ArrayList<>();
+        for (int e = 0; e < endpoints.size(); e++) {
+            latencies.add(new ConcurrentLinkedQueue<>());
+            errors.add(new AtomicInteger());
+        }
+
+        long runStart = System.nanoTime();
+        ExecutorService pool = Executors.newFixedThreadPool(clients);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int c = 0; c < clients; c++) {
+                Random rnd = new Random(size.seed() + c);
+                HttpClient client = login();
+                futures.add(pool.submit(() -> {
+                    Integer e;
+                    while ((e = queue.poll()) != null) {
+                        long start = System.nanoTime();
+                        int status = send(client, endpoints.get(e).path().apply(rnd));
+                        latencies.get(e).add(System.nanoTime() - start);
+                        if (status >= 400) {
+                            errors.get(e).incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> f : futures) {
+                f.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+        Duration runTime = Duration.ofNanos(System.nanoTime() - runStart);
+
+        // ─── Report ──────────────────────────────────────────────────────────
+        LoadTestReport report = new LoadTestReport()
+                .with("Date", LocalDate.now())
+                .with("Database", databaseName())
+                .with("JVM", System.getProperty("java.vm.name") + " " + Runtime.version()
+                        + ", " + Runtime.getRuntime().availableProcessors() + " CPUs")
+                .with("Portfolio", size.buildings() + " buildings, " + size.units() + " units/leases/tenants, "
+                        + size.years() + " years, " + seeded.transactions() + " transactions")
+                .with("Seeding", seedTime.toMillis() + " ms")
+                .with("Load", clients + " concurrent clients, " + requests + " requests per endpoint after "
+                        + warmup + " warm-up rounds, " + runTime.toMillis() + " ms total");
+        for (int e = 0; e < endpoints.size(); e++) {
+            Endpoint endpoint = endpoints.get(e);
+            double[] before = queriesBefore.get(e);
+            double[] after = querySnapshot(endpoint);
+            double count = after[0] - before[0];
+            report.add(new EndpointResult(endpoint.name(), endpoint.uri(),
+                    latencies.get(e).stream().mapToLong(Long::longValue).toArray(),
+                    errors.get(e).get(),
+                    count > 0 ? (after[1] - before[1]) / count : 0,
+                    after[2]));
+        }
+
+        String markdown = report.toMarkdown();
+        Path out = Path.of("target", "loadtest", "report.md");
+        Files.createDirectories(out.getParent());
+        Files.writeString(out, markdown, StandardCharsets.UTF_8);
+        System.out.println(markdown);
+
+        report.results().values().forEach(r -> assertThat(r.errors())
+                .as("HTTP errors on %s", r.uri()).isZero());
+    }
+
+    // ─── Workload ─────────────────────────────────────────────────────────────
+
+    private static List<Endpoint> endpoints(LoadTestSeeder.Seeded seeded) {
+        List<Long> buildings = seeded.buildingIds();
+        LocalDate to = seeded.lastMonth();
+        LocalDate from = to.minusMonths(11);
+        Function<Random, String> building = rnd -> rnd.nextBoolean()
+                ? "&buildingId=" + buildings.get(rnd.nextInt(buildings.size()))
+                : "";
+        return List.of(
+                new Endpoint("Transactions list", "/api/v1/transactions",
+                        rnd -> "/api/v1/transactions?page=" + rnd.nextInt(5) + "&size=20" + building.apply(rnd)),
+                new Endpoint("Statistics (12 months)", "/api/v1/transactions/statistics",
+                        rnd -> "/api/v1/transactions/statistics?accountingFrom=" + from + "&accountingTo=" + to
+                                + building.apply(rnd)),
+                new Endpoint("CSV export (12 months)", "/api/v1/transactions/export",
+                        rnd -> "/api/v1/transactions/export?accountingFrom=" + from + "&accountingTo=" + to),
+                new Endpoint("Alert count", "/api/v1/alerts/count",
+                        rnd -> "/api/v1/alerts/count"),
+                new Endpoint("Housing units", "/api/v1/units",
+                        rnd -> "/api/v1/units"));
+    }
+
+    private HttpClient login() throws IOException, InterruptedException {
+        HttpClient client = HttpClient.newBuilder()
+                .cookieHandler(new CookieManager())
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl() + "/api/v1/auth/login"))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "username=" + LoadTestSeeder.USERNAME + "&password=" + LoadTestSeeder.PASSWORD))
+                .build();
+        int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        assertThat(status).as("login").isEqualTo(200);
+        return client;
+    }
+
+    private int send(HttpClient client, String path) {
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl() + path)).GET().build();
+            return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (IOException e) {
+            return 599;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 599;
+        }
+    }
+
+    // ─── Metrics ──────────────────────────────────────────────────────────────
+
+    /** {count, total statements, max statements} recorded so far for the endpoint. */
+    private double[] querySnapshot(Endpoint endpoint) {
+        DistributionSummary summary = meterRegistry.find(QUERIES_METRIC)
+                .tag("uri", endpoint.uri())
+                .tag("method", "GET")
+                .summary();
+        return summary == null
+                ? new double[] { 0, 0, 0 }
+                : new double[] { summary.count(), summary.totalAmount(), summary.max() };
+    }
+
+    private String databaseName() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData meta = connection.getMetaData();
+            return meta.getDatabaseProductName() + " " + meta.getDatabaseProductVersion()
+                    + " (" + meta.getURL() + ")";
+        }
+    }
+
+    private String baseUrl() {
+        return "http://localhost:" + port;
+    }
+
+    private static int intProp(String name, int defaultValue) {
+        return Integer.getInteger(name, defaultValue);
+    }
+}
@@ -0,0 +1,68 @@
+package com.immocare.loadtest;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Collects per-endpoint latencies and SQL statement counts and renders them as
+ * a Markdown report (p50 / p95 / p99 by nearest rank).
+ */
+public class LoadTestReport {
+
+    /** Result of one endpoint over the measured phase. */
+    public record EndpointResult(String name, String uri, long[] latenciesNanos, int errors,
+            double queriesPerRequest, double maxQueries) {
+
+        long percentile(double p) {
+            if (latenciesNanos.length == 0) {
+                return 0;
+            }
+            long[] sorted = latenciesNanos.clone();
+            Arrays.sort(sorted);
+            int rank = (int) Math.ceil(p / 100.0 * sorted.length);
+            return sorted[Math.max(0, rank - 1)];
+        }
+
+        long max() {
+            return Arrays.stream(latenciesNanos).max().orElse(0);
+        }
+    }
+
+    private final Map<String, String> header = new LinkedHashMap<>();
+    private final Map<String, EndpointResult> results = new LinkedHashMap<>();
+
+    public LoadTestReport with(String key, Object value) {
+        header.put(key, String.valueOf(value));
+        return this;
+    }
+
+    public void add(EndpointResult result) {
+        results.put(result.name(), result);
+    }
+
+    public Map<String, EndpointResult> results() {
+        return results;
+    }
+
+    public String toMarkdown() {
+        StringBuilder sb = new StringBuilder("# ImmoCare API load test\n\n");
+        header.forEach((k, v) -> sb.append("- **").append(k).append("**: ").append(v).append('\n'));
+        sb.append("\nLatencies in milliseconds, measured client-side over HTTP. ")
+                .append("Queries = SQL statements prepared per request (`immocare.http.queries`).\n\n");
+        sb.append("| Endpoint | URI | Requests | Errors | p50 | p95 | p99 | max | Queries/req | Max queries |\n");
+        sb.append("|---|---|---:|---:|---:|---:|---:|---:|---:|---:|\n");
+        for (EndpointResult r : results.values()) {
+            sb.append(String.format(Locale.ROOT, "| %s | `%s` | %d | %d | %s | %s | %s | %s | %.1f | %.0f |%n",
+                    r.name(), r.uri(), r.latenciesNanos().length, r.errors(),
+                    ms(r.percentile(50)), ms(r.percentile(95)), ms(r.percentile(99)), ms(r.max()),
+                    r.queriesPerRequest(), r.maxQueries()));
+        }
+        return sb.toString();
+    }
+
+    private static String ms(long nanos) {
+        return String.format(Locale.ROOT, "%.1f", nanos / 1_000_000.0);
+    }
+}
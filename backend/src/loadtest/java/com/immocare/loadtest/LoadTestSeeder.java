@@ -0,0 +1,271 @@
+package com.immocare.loadtest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.immocare.model.entity.AppUser;
+import com.immocare.model.entity.BankAccount;
+import com.immocare.model.entity.Building;
+import com.immocare.model.entity.FinancialTransaction;
+import com.immocare.model.entity.HousingUnit;
+import com.immocare.model.entity.Lease;
+import com.immocare.model.entity.LeaseTenant;
+import com.immocare.model.entity.Person;
+import com.immocare.model.entity.TagCategory;
+import com.immocare.model.entity.TagSubcategory;
+import com.immocare.model.enums.BankAccountType;
+import com.immocare.model.enums.LeaseStatus;
+import com.immocare.model.enums.LeaseType;
+import com.immocare.model.enums.SubcategoryDirection;
+import com.immocare.model.enums.TenantRole;
+import com.immocare.model.enums.TransactionDirection;
+import com.immocare.model.enums.TransactionSource;
+import com.immocare.model.enums.TransactionStatus;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Seeds a synthetic portfolio for the load test:
+ * N buildings × U units, one owner per building, one ACTIVE lease and tenant
+ * per unit, and M years of monthly transactions (rent per unit, three
+ * expenses per building).
+ *
+ * Entities are persisted through JPA in chunks so the same seeder works on
+ * H2 (schema from entities) and on PostgreSQL (schema from Flyway).
+ * Deterministic for a given size and seed.
+ */
+public class LoadTestSeeder {
+
+    public static final String USERNAME = "loadtest";
+    public static final String PASSWORD = "loadtest";
+
+    private static final int CHUNK = 1000;
+
+    private static final String[] LAST_NAMES = {
+            "Dupont", "Martin", "Janssens", "Peeters", "Maes", "Jacobs", "Mertens", "Willems",
+            "Claes", "Goossens", "Wouters", "Dubois", "Lambert", "Dumont", "Leclercq" };
+    private static final String[] FIRST_NAMES = {
+            "Jean", "Sophie", "Pieter", "An", "Luc", "Marie", "Tom", "Julie", "Marc", "Emma" };
+    private static final String[] EXPENSES = { "Facture eau", "Facture electricite", "Entretien" };
+
+    /** Portfolio dimensions. */
+    public record Size(int buildings, int unitsPerBuilding, int years, long seed) {
+
+        public int units() {
+            return buildings * unitsPerBuilding;
+        }
+    }
+
+    /** Ids the workload needs to build its requests. */
+    public record Seeded(List<Long> buildingIds, List<Long> unitIds, long transactions,
+            LocalDate firstMonth, LocalDate lastMonth) {
+    }
+
+    private final EntityManager em;
+    private final TransactionTemplate tx;
+    private final PasswordEncoder passwordEncoder;
+
+    public LoadTestSeeder(EntityManager em, TransactionTemplate tx, PasswordEncoder passwordEncoder) {
+        this.em = em;
+        this.tx = tx;
+        this.passwordEncoder = passwordEncoder;
+    }
+
+    public Seeded seed(Size size) {
+        Random rnd = new Random(size.seed());
+        LocalDate lastMonth = LocalDate.now().withDayOfMonth(1).minusMonths(1);
+        LocalDate firstMonth = lastMonth.minusYears(size.years()).plusMonths(1);
+
+        // ─── Reference data ───────────────────────────────────────────────────
+        long[] refs = tx.execute(status -> {
+            AppUser user = new AppUser();
+            user.setUsername(USERNAME);
+            user.setEmail("loadtest@immocare.local");
+            user.setRole("ADMIN");
+            user.setPasswordHash(passwordEncoder.encode(PASSWORD));
+            em.persist(user);
+
+            BankAccount current = bankAccount("Load test current", "BE00000000000001", BankAccountType.CURRENT);
+            BankAccount savings = bankAccount("Load test savings", "BE00000000000002", BankAccountType.SAVINGS);
+
+            TagCategory rentCat = category("Loyers");
+            TagSubcategory rent = subcategory(rentCat, "Loyer", SubcategoryDirection.INCOME);
+            TagCategory costCat = category("Frais");
+            long[] ids = new long[3 + EXPENSES.length];
+            ids[0] = current.getId();
+            ids[1] = savings.getId();
+            ids[2] = rent.getId();
+            for (int i = 0; i < EXPENSES.length; i++) {
+                ids[3 + i] = subcategory(costCat, EXPENSES[i], SubcategoryDirection.EXPENSE).getId();
+            }
+            return ids;
+        });
+
+        // ─── Buildings, units, leases, persons ───────────────────────────────
+        List<Long> buildingIds = new ArrayList<>();
+        List<Long> unitIds = new ArrayList<>();
+        List<Long> leaseIds = new ArrayList<>();
+        List<BigDecimal> rents = new ArrayList<>();
+        for (int b = 0; b < size.buildings(); b++) {
+            int buildingNo = b;
+            tx.executeWithoutResult(status -> {
+                Person owner = person(rnd, "O" + buildingNo);
+                Building building = new Building();
+                building.setName("Building " + (buildingNo + 1));
+                building.setStreetAddress("Rue de la Charge " + (buildingNo + 1));
+                building.setPostalCode("1060");
+                building.setCity("Saint-Gilles");
+                building.setCountry("Belgium");
+                building.setOwner(owner);
+                em.persist(building);
+                buildingIds.add(building.getId());
+
+                for (int u = 0; u < size.unitsPerBuilding(); u++) {
+                    HousingUnit unit = new HousingUnit();
+                    unit.setBuilding(building);
+                    unit.setUnitNumber(String.valueOf(100 * (u / 4) + u % 4 + 1));
+                    unit.setFloor(u / 4);
+                    unit.setTotalSurface(BigDecimal.valueOf(45 + rnd.nextInt(80)));
+                    em.persist(unit);
+                    unitIds.add(unit.getId());
+
+                    BigDecimal rentAmount = BigDecimal.valueOf(600 + rnd.nextInt(900));
+                    Lease lease = new Lease();
+                    lease.setHousingUnit(unit);
+                    lease.setStatus(LeaseStatus.ACTIVE);
+                    lease.setLeaseType(LeaseType.MAIN_RESIDENCE_9Y);
+                    lease.setSignatureDate(firstMonth.minusMonths(1));
+                    lease.setStartDate(firstMonth);
+                    lease.setEndDate(firstMonth.plusYears(9).minusDays(1));
+                    lease.setDurationMonths(108);
+                    lease.setNoticePeriodMonths(3);
+                    lease.setMonthlyRent(rentAmount);
+                    lease.setMonthlyCharges(BigDecimal.valueOf(50 + rnd.nextInt(100)));
+                    lease.getTenants().add(new LeaseTenant(lease, person(rnd, "T" + unit.getId()),
+                            TenantRole.PRIMARY));
+                    em.persist(lease);
+                    leaseIds.add(lease.getId());
+                    rents.add(rentAmount);
+                }
+            });
+        }
+
+        // ─── Transactions ─────────────────────────────────────────────────────
+        List<Runnable> pending = new ArrayList<>(CHUNK);
+        long[] count = { 0 };
+        for (LocalDate month = firstMonth; !month.isAfter(lastMonth); month = month.plusMonths(1)) {
+            LocalDate m = month;
+            boolean recent = m.isAfter(lastMonth.minusMonths(2));
+            for (int i = 0; i < unitIds.size(); i++) {
+                int unitIdx = i;
+                pending.add(() -> transaction(count, m.plusDays(rnd.nextInt(5)), m,
+                        rents.get(unitIdx), TransactionDirection.INCOME,
+                        recent && rnd.nextInt(4) == 0 ? TransactionStatus.DRAFT : TransactionStatus.CONFIRMED,
+                        "Loyer " + m.getMonthValue() + "/" + m.getYear(), refs[0], refs[2],
+                        buildingIds.get(unitIdx / size.unitsPerBuilding()), unitIds.get(unitIdx),
+                        leaseIds.get(unitIdx)));
+                flushIfFull(pending);
+            }
+            for (Long buildingId : buildingIds) {
+                for (int e = 0; e < EXPENSES.length; e++) {
+                    int expense = e;
+                    pending.add(() -> transaction(count, m.plusDays(5 + rnd.nextInt(20)), m,
+                            BigDecimal.valueOf(2000 + rnd.nextInt(60_000), 2), TransactionDirection.EXPENSE,
+                            recent && rnd.nextInt(3) == 0 ? TransactionStatus.DRAFT : TransactionStatus.CONFIRMED,
+                            EXPENSES[expense] + " " + m.getMonthValue() + "/" + m.getYear(),
+                            rnd.nextInt(10) == 0 ? refs[1] : refs[0], refs[3 + expense],
+                            buildingId, null, null));
+                    flushIfFull(pending);
+                }
+            }
+        }
+        flush(pending);
+        return new Seeded(buildingIds, unitIds, count[0], firstMonth, lastMonth);
+    }
+
+    // ─── Helpers ──────────────────────────────────────────────────────────────
+
+    private void flushIfFull(List<Runnable> pending) {
+        if (pending.size() >= CHUNK) {
+            flush(pending);
+        }
+    }
+
+    private void flush(List<Runnable> pending) {
+        tx.executeWithoutResult(status -> {
+            pending.forEach(Runnable::run);
+            em.flush();
+            em.clear();
+        });
+        pending.clear();
+    }
+
+    private void transaction(long[] count, LocalDate date, LocalDate accountingMonth, BigDecimal amount,
+            TransactionDirection direction, TransactionStatus status, String description,
+            long bankAccountId, long subcategoryId, Long buildingId, Long unitId, Long leaseId) {
+        FinancialTransaction t = new FinancialTransaction();
+        t.setReference(String.format("LT-%08d", ++count[0]));
+        t.setTransactionDate(date);
+        t.setValueDate(date);
+        t.setAccountingMonth(accountingMonth);
+        t.setAmount(amount);
+        t.setDirection(direction);
+        t.setStatus(status);
+        t.setSource(TransactionSource.MANUAL);
+        t.setDescription(description);
+        t.setBankAccount(em.getReference(BankAccount.class, bankAccountId));
+        t.setSubcategory(em.getReference(TagSubcategory.class, subcategoryId));
+        if (buildingId != null) {
+            t.setBuilding(em.getReference(Building.class, buildingId));
+        }
+        if (unitId != null) {
+            t.setHousingUnit(em.getReference(HousingUnit.class, unitId));
+        }
+        if (leaseId != null) {
+            t.setLease(em.getReference(Lease.class, leaseId));
+        }
+        em.persist(t);
+    }
+
+    private Person person(Random rnd, String key) {
+        Person p = new Person();
+        p.setLastName(LAST_NAMES[rnd.nextInt(LAST_NAMES.length)]);
+        p.setFirstName(FIRST_NAMES[rnd.nextInt(FIRST_NAMES.length)]);
+        p.setEmail(key.toLowerCase() + "@example.be");
+        p.setCity("Bruxelles");
+        p.setCountry("Belgium");
+        em.persist(p);
+        return p;
+    }
+
+    private BankAccount bankAccount(String label, String number, BankAccountType type) {
+        BankAccount ba = new BankAccount();
+        ba.setLabel(label);
+        ba.setAccountNumber(number);
+        ba.setType(type);
+        em.persist(ba);
+        return ba;
+    }
+
+    private TagCategory category(String name) {
+        TagCategory c = new TagCategory();
+        c.setName(name);
+        em.persist(c);
+        return c;
+    }
+
+    private TagSubcategory subcategory(TagCategory category, String name, SubcategoryDirection direction) {
+        TagSubcategory s = new TagSubcategory();
+        s.setCategory(category);
+        s.setName(name);
+        s.setDirection(direction);
+        em.persist(s);
+        return s;
+    }
+}
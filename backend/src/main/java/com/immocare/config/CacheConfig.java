@@ -0,0 +1,79 @@
+package com.immocare.config;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+
+import javax.cache.CacheManager;
+
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+
+/**
+ * Hibernate second-level cache for the reference catalogues (tag categories
+ * and subcategories, bank accounts, import parsers, platform config).
+ *
+ * Each region is a bounded Caffeine cache. Entities use READ_WRITE, so a save
+ * or delete through the services replaces or evicts the cached entry at
+ * commit; cached queries ({@link #QUERY_REGION}) are invalidated whenever one
+ * of their tables is written. Regions not declared here are refused at
+ * startup, so no cache can grow unbounded.
+ *
+ * Hit/miss counts are published as hibernate.second.level.cache.requests and
+ * hibernate.cache.query.requests (see {@link MetricsConfig}).
+ */
+@Configuration
+public class CacheConfig {
+
+    public static final String TAG_CATEGORY_REGION = "catalogue.tag-category";
+    public static final String TAG_SUBCATEGORY_REGION = "catalogue.tag-subcategory";
+    public static final String BANK_ACCOUNT_REGION = "catalogue.bank-account";
+    public static final String IMPORT_PARSER_REGION = "catalogue.import-parser";
+    public static final String PLATFORM_CONFIG_REGION = "catalogue.platform-config";
+    public static final String QUERY_REGION = "catalogue.queries";
+
+    private static final List<String> REGIONS = List.of(
+            TAG_CATEGORY_REGION, TAG_SUBCATEGORY_REGION, BANK_ACCOUNT_REGION,
+            IMPORT_PARSER_REGION, PLATFORM_CONFIG_REGION, QUERY_REGION,
+            RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME,
+            RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME);
+
+    /** Dedicated provider instance, so each application context owns its cache manager. */
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(
+            @Value("${immocare.catalogue-cache.max-entries:10000}") long maxEntries,
+            @Value("${immocare.catalogue-cache.time-to-live:PT1H}") Duration timeToLive) {
+        CacheManager cacheManager = new CaffeineCachingProvider()
+                .getCacheManager(URI.create("immocare-hibernate"), getClass().getClassLoader());
+        for (String region : REGIONS) {
+            CaffeineConfiguration<Object, Object> config = new CaffeineConfiguration<>();
+            config.setMaximumSize(OptionalLong.of(maxEntries));
+            // Update timestamps must outlive the query results they validate
+            if (!region.equals(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME)) {
+                config.setExpireAfterWrite(OptionalLong.of(timeToLive.toNanos()));
+            }
+            config.setStoreByValue(false);
+            config.setStatisticsEnabled(true);
+            cacheManager.createCache(region, config);
+        }
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put("hibernate.cache.use_second_level_cache", true);
+            properties.put("hibernate.cache.use_query_cache", true);
+            properties.put("hibernate.cache.region.factory_class", "jcache");
+            properties.put("hibernate.javax.cache.cache_manager", hibernateCacheManager);
+            properties.put("hibernate.javax.cache.missing_cache_strategy", "fail");
+        };
+    }
+}
@@ -0,0 +1,43 @@
+package com.immocare.config;
+
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Metrics wiring for ImmoCare.
+ *
+ * Exposed via /actuator/prometheus:
+ *  - immocare.import.*        parse / preview / import timers and row counters
+ *  - immocare.transactions.*  statistics and CSV export timers
+ *  - immocare.alerts.*        alert aggregation timer
+ *  - immocare.learning.*      subcategory suggestion timer per match field
+ *  - immocare.http.queries    SQL statements per API request
+ *  - hibernate.*              SessionFactory statistics (entity loads, queries, cache)
+ *
+ * The hibernate.* meters are bound by Spring Boot once
+ * hibernate.generate_statistics is enabled (see application.properties).
+ */
+@Configuration
+public class MetricsConfig {
+
+  @Bean
+  public HibernatePropertiesCustomizer queryCountInspectorCustomizer() {
+    return properties -> properties.put("hibernate.session_factory.statement_inspector",
+        new QueryCountInspector());
+  }
+
+  @Bean
+  public FilterRegistrationBean<QueryCountFilter> queryCountFilter(MeterRegistry meterRegistry) {
+    FilterRegistrationBean<QueryCountFilter> registration =
+        new FilterRegistrationBean<>(new QueryCountFilter(meterRegistry));
+    registration.addUrlPatterns("/api/*");
+    // Outermost, so queries issued by the security chain are counted too
+    registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+    return registration;
+  }
+}
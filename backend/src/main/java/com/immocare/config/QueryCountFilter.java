@@ -0,0 +1,58 @@
+package com.immocare.config;
+
+import java.io.IOException;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Records the number of SQL statements issued by each /api request as the
+ * {@code immocare.http.queries} distribution summary, tagged with the matched
+ * URI template and HTTP method (same cardinality as
+ * {@code http.server.requests}).
+ *
+ * Relies on {@link QueryCountInspector} being registered on the
+ * SessionFactory — see {@link MetricsConfig}.
+ */
+public class QueryCountFilter extends OncePerRequestFilter {
+
+    static final String METRIC = "immocare.http.queries";
+
+    private final MeterRegistry meterRegistry;
+
+    public QueryCountFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+        QueryCountInspector.reset();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            DistributionSummary.builder(METRIC)
+                    .description("SQL statements prepared per API request")
+                    .baseUnit("queries")
+                    .tag("uri", pattern != null ? pattern.toString() : "UNKNOWN")
+                    .tag("method", request.getMethod())
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .register(meterRegistry)
+                    .record(QueryCountInspector.current());
+            QueryCountInspector.clear();
+        }
+    }
+}
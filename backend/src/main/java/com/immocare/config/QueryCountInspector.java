@@ -0,0 +1,38 @@
+package com.immocare.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate {@link StatementInspector} that counts the SQL statements prepared
+ * on the current thread.
+ *
+ * Hibernate's own statistics are global to the SessionFactory, so they cannot
+ * tell which request issued a query. This counter is thread-bound and is reset
+ * and read by {@link QueryCountFilter} around each API request.
+ * The SQL itself is returned unchanged.
+ */
+public class QueryCountInspector implements StatementInspector {
+
+    private static final ThreadLocal<long[]> COUNT = ThreadLocal.withInitial(() -> new long[1]);
+
+    @Override
+    public String inspect(String sql) {
+        COUNT.get()[0]++;
+        return sql;
+    }
+
+    /** Resets the counter for the current thread. */
+    public static void reset() {
+        COUNT.get()[0] = 0;
+    }
+
+    /** Number of statements prepared on the current thread since the last reset. */
+    public static long current() {
+        return COUNT.get()[0];
+    }
+
+    /** Releases the thread-local slot (servlet threads are pooled). */
+    public static void clear() {
+        COUNT.remove();
+    }
+}
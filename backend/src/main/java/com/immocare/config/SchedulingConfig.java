@@ -0,0 +1,12 @@
+package com.immocare.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables {@code @Scheduled} jobs (nightly ledger rollup rebuild).
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
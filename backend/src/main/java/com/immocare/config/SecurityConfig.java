@@ -22,6 +22,8 @@ public class SecurityConfig {
         .csrf(csrf -> csrf.disable())
         .authorizeHttpRequests(auth -> auth
             .requestMatchers("/api/v1/auth/login", "/actuator/health", "/actuator/info").permitAll()
+            // Prometheus scraper — actuator is not proxied by nginx, only reachable inside the network
+            .requestMatchers("/actuator/prometheus").permitAll()
             .anyRequest().authenticated()
         )
         .formLogin(form -> form
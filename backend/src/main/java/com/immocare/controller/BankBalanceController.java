@@ -0,0 +1,77 @@
+package com.immocare.controller;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.immocare.model.dto.BankBalanceDTOs.BankBalanceDTO;
+import com.immocare.model.dto.BankBalanceDTOs.MonthlyBalanceDTO;
+import com.immocare.model.dto.BankBalanceDTOs.SaveStatementBalanceRequest;
+import com.immocare.model.dto.BankBalanceDTOs.StatementCheckDTO;
+import com.immocare.service.BankBalanceService;
+
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Running balances of bank accounts and the check of statement balances.
+ */
+@RestController
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class BankBalanceController {
+
+    private final BankBalanceService bankBalanceService;
+
+    /** GET /api/v1/bank-accounts/{id}/balance?date= → end of day; today when omitted */
+    @GetMapping("/api/v1/bank-accounts/{id}/balance")
+    public ResponseEntity<BankBalanceDTO> getBalance(
+            @PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        return ResponseEntity.ok(bankBalanceService.balanceAt(id, date != null ? date : LocalDate.now()));
+    }
+
+    /** GET /api/v1/bank-accounts/{id}/monthly-balances?from=&to= */
+    @GetMapping("/api/v1/bank-accounts/{id}/monthly-balances")
+    public ResponseEntity<List<MonthlyBalanceDTO>> getMonthlyBalances(
+            @PathVariable Long id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(bankBalanceService.monthlyBalances(id, from, to));
+    }
+
+    /** GET /api/v1/bank-accounts/{id}/statement-balances → each statement balance checked */
+    @GetMapping("/api/v1/bank-accounts/{id}/statement-balances")
+    public ResponseEntity<List<StatementCheckDTO>> getStatementChecks(@PathVariable Long id) {
+        return ResponseEntity.ok(bankBalanceService.checkStatements(id));
+    }
+
+    /** POST /api/v1/bank-accounts/{id}/statement-balances → balance read on a statement by hand */
+    @PostMapping("/api/v1/bank-accounts/{id}/statement-balances")
+    public ResponseEntity<List<StatementCheckDTO>> saveStatementBalance(
+            @PathVariable Long id,
+            @Valid @RequestBody SaveStatementBalanceRequest request) {
+        return ResponseEntity.ok(bankBalanceService.saveStatementBalance(id, request));
+    }
+
+    /**
+     * POST /api/v1/bank-accounts/balances/rebuild
+     *
+     * Recompute the monthly balance checkpoints of every account (also runs
+     * nightly).
+     */
+    @PostMapping("/api/v1/bank-accounts/balances/rebuild")
+    public Map<String, Integer> rebuild() {
+        return Map.of("rowCount", bankBalanceService.rebuild());
+    }
+}
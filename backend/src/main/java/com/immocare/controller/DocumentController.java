@@ -0,0 +1,120 @@
+package com.immocare.controller;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RequestPart;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.immocare.model.dto.DocumentDTOs.DocumentCleanupDTO;
+import com.immocare.model.dto.DocumentDTOs.DocumentDTO;
+import com.immocare.model.dto.DocumentDTOs.DocumentSearchHitDTO;
+import com.immocare.model.enums.AssetType;
+import com.immocare.model.enums.DocumentOwnerType;
+import com.immocare.service.DocumentService;
+
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class DocumentController {
+
+    private final DocumentService documentService;
+
+    /** GET /api/v1/documents?ownerType=&ownerId= */
+    @GetMapping("/api/v1/documents")
+    public ResponseEntity<List<DocumentDTO>> list(
+            @RequestParam DocumentOwnerType ownerType,
+            @RequestParam Long ownerId) {
+        return ResponseEntity.ok(documentService.list(ownerType, ownerId));
+    }
+
+    /**
+     * GET /api/v1/documents/search?q=&buildingId=&assetType=&assetId=&limit=
+     *
+     * Full-text search over the pages of PDF documents; every word of q must
+     * appear on the page. assetType is BOILER, FIRE_EXTINGUISHER or METER.
+     */
+    @GetMapping("/api/v1/documents/search")
+    public ResponseEntity<List<DocumentSearchHitDTO>> search(
+            @RequestParam String q,
+            @RequestParam(required = false) Long buildingId,
+            @RequestParam(required = false) AssetType assetType,
+            @RequestParam(required = false) Long assetId,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(documentService.search(q, buildingId, assetType, assetId, limit));
+    }
+
+    /**
+     * POST /api/v1/documents (multipart/form-data)
+     *
+     * ownerType — PEB_SCORE, BOILER_SERVICE, FIRE_EXTINGUISHER_REVISION, LEASE or FINANCIAL_TRANSACTION
+     * ownerId   — id of the owner
+     * file      — the document; identical content is stored once
+     */
+    @PostMapping(value = "/api/v1/documents", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<DocumentDTO> upload(
+            @RequestParam DocumentOwnerType ownerType,
+            @RequestParam Long ownerId,
+            @RequestPart("file") MultipartFile file) throws IOException {
+        try (InputStream in = file.getInputStream()) {
+            return ResponseEntity.status(HttpStatus.CREATED).body(documentService.upload(
+                    ownerType, ownerId, file.getOriginalFilename(), file.getContentType(), in));
+        }
+    }
+
+    /** GET /api/v1/documents/{id} */
+    @GetMapping("/api/v1/documents/{id}")
+    public ResponseEntity<DocumentDTO> get(@PathVariable Long id) {
+        return ResponseEntity.ok(documentService.get(id));
+    }
+
+    /**
+     * GET /api/v1/documents/{id}/content
+     *
+     * Honours a single {@code Range: bytes=…} (206) and {@code If-None-Match}
+     * against the content hash (304).
+     */
+    @GetMapping("/api/v1/documents/{id}/content")
+    public void download(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.RANGE, required = false) String range,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            HttpServletResponse response) throws IOException {
+        documentService.download(id, range, ifNoneMatch, response);
+    }
+
+    /** POST /api/v1/documents/{id}/reindex — extracts the text of a PDF again. */
+    @PostMapping("/api/v1/documents/{id}/reindex")
+    public ResponseEntity<DocumentDTO> reindex(@PathVariable Long id) {
+        return ResponseEntity.ok(documentService.reindex(id));
+    }
+
+    /** DELETE /api/v1/documents/{id} */
+    @DeleteMapping("/api/v1/documents/{id}")
+    public ResponseEntity<Void> delete(@PathVariable Long id) {
+        documentService.delete(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    /** POST /api/v1/documents/cleanup — runs the nightly orphan clean-up now. */
+    @PostMapping("/api/v1/documents/cleanup")
+    public ResponseEntity<DocumentCleanupDTO> cleanup() {
+        return ResponseEntity.ok(documentService.cleanOrphans());
+    }
+}
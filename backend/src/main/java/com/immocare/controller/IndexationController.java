@@ -0,0 +1,62 @@
+package com.immocare.controller;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.immocare.model.dto.IndexationDTOs.HealthIndexDTO;
+import com.immocare.model.dto.IndexationDTOs.IndexationRequest;
+import com.immocare.model.dto.IndexationDTOs.IndexationRunDTO;
+import com.immocare.service.IndexationService;
+
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class IndexationController {
+
+    private final IndexationService indexationService;
+
+    /** GET /api/v1/health-index — monthly health index series, oldest first. */
+    @GetMapping("/api/v1/health-index")
+    public ResponseEntity<List<HealthIndexDTO>> getHealthIndex() {
+        return ResponseEntity.ok(indexationService.getHealthIndex());
+    }
+
+    /** PUT /api/v1/health-index — add or correct months; returns the whole series. */
+    @PutMapping("/api/v1/health-index")
+    public ResponseEntity<List<HealthIndexDTO>> saveHealthIndex(@Valid @RequestBody List<HealthIndexDTO> values) {
+        return ResponseEntity.ok(indexationService.saveHealthIndex(values));
+    }
+
+    /**
+     * GET /api/v1/leases/indexation/preview?from=&to=&leaseIds=
+     *
+     * Dry run: new rent of every ACTIVE lease whose anniversary falls in the
+     * window, nothing written.
+     */
+    @GetMapping("/api/v1/leases/indexation/preview")
+    public ResponseEntity<IndexationRunDTO> preview(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) List<Long> leaseIds) {
+        return ResponseEntity.ok(indexationService.preview(from, to, leaseIds));
+    }
+
+    /** POST /api/v1/leases/indexation — applies the run previewed for the same request. */
+    @PostMapping("/api/v1/leases/indexation")
+    public ResponseEntity<IndexationRunDTO> apply(@Valid @RequestBody IndexationRequest req) {
+        return ResponseEntity.ok(indexationService.apply(req.from(), req.to(), req.leaseIds()));
+    }
+}
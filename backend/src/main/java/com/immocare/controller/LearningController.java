@@ -0,0 +1,32 @@
+package com.immocare.controller;
+
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.immocare.service.LearningRebuildService;
+import com.immocare.service.TextMatchIndex;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class LearningController {
+
+    private final LearningRebuildService learningRebuildService;
+    private final TextMatchIndex textMatchIndex;
+
+    /**
+     * POST /api/v1/transactions/learning/rebuild
+     *
+     * Re-derives the learning rules and the description/counterparty index
+     * from all confirmed transactions (e.g. after a bulk recategorisation).
+     */
+    @PostMapping("/api/v1/transactions/learning/rebuild")
+    public LearningRebuildService.Result rebuild() {
+        LearningRebuildService.Result result = learningRebuildService.rebuild();
+        textMatchIndex.rebuild();
+        return result;
+    }
+}
@@ -0,0 +1,94 @@
+package com.immocare.controller;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RequestPart;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.immocare.model.dto.MeterReadingDTOs.AddMeterReadingRequest;
+import com.immocare.model.dto.MeterReadingDTOs.ConsumptionDTO;
+import com.immocare.model.dto.MeterReadingDTOs.MeterReadingDTO;
+import com.immocare.model.dto.MeterReadingDTOs.MeterReadingImportResultDTO;
+import com.immocare.service.MeterReadingService;
+
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Meter readings and the monthly consumption derived from them.
+ */
+@RestController
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class MeterReadingController {
+
+    private static final String HOUSING_UNIT = "HOUSING_UNIT";
+    private static final String BUILDING = "BUILDING";
+
+    private final MeterReadingService meterReadingService;
+
+    /** GET /api/v1/meters/{meterId}/readings → readings by date */
+    @GetMapping("/api/v1/meters/{meterId}/readings")
+    public ResponseEntity<List<MeterReadingDTO>> getReadings(@PathVariable Long meterId) {
+        return ResponseEntity.ok(meterReadingService.getReadings(meterId));
+    }
+
+    /** POST /api/v1/meters/{meterId}/readings → 201 Created */
+    @PostMapping("/api/v1/meters/{meterId}/readings")
+    public ResponseEntity<MeterReadingDTO> addReading(
+            @PathVariable Long meterId,
+            @Valid @RequestBody AddMeterReadingRequest request) {
+        MeterReadingDTO created = meterReadingService.addReading(meterId, request.readingDate(),
+                request.readingValue());
+        return ResponseEntity.status(HttpStatus.CREATED).body(created);
+    }
+
+    /**
+     * POST /api/v1/meter-readings/import (multipart/form-data)
+     *
+     * file — CSV with meter (number or EAN), date and value columns
+     */
+    @PostMapping(value = "/api/v1/meter-readings/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<MeterReadingImportResultDTO> importReadings(@RequestPart("file") MultipartFile file) {
+        return ResponseEntity.ok(meterReadingService.importCsv(file));
+    }
+
+    /** GET /api/v1/housing-units/{unitId}/consumption?type=&from=&to= */
+    @GetMapping("/api/v1/housing-units/{unitId}/consumption")
+    public ResponseEntity<ConsumptionDTO> getUnitConsumption(
+            @PathVariable Long unitId,
+            @RequestParam String type,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(meterReadingService.getConsumption(HOUSING_UNIT, unitId, type, from, to, false));
+    }
+
+    /**
+     * GET /api/v1/buildings/{buildingId}/consumption?type=&from=&to=&includeUnits=
+     *
+     * Building meters only, or with {@code includeUnits=true} the building's
+     * and its units' meters together.
+     */
+    @GetMapping("/api/v1/buildings/{buildingId}/consumption")
+    public ResponseEntity<ConsumptionDTO> getBuildingConsumption(
+            @PathVariable Long buildingId,
+            @RequestParam String type,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "false") boolean includeUnits) {
+        return ResponseEntity.ok(meterReadingService.getConsumption(BUILDING, buildingId, type, from, to,
+                includeUnits));
+    }
+}
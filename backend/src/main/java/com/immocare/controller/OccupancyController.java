@@ -0,0 +1,36 @@
+package com.immocare.controller;
+
+import java.time.LocalDate;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.immocare.model.dto.OccupancyDTOs.PortfolioOccupancyDTO;
+import com.immocare.service.OccupancyService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class OccupancyController {
+
+    private final OccupancyService occupancyService;
+
+    /**
+     * GET /api/v1/occupancy?from=&to=
+     *
+     * Occupied and vacant days, vacancy periods and lost rent per unit,
+     * building and for the portfolio; both dates inclusive.
+     */
+    @GetMapping("/api/v1/occupancy")
+    public ResponseEntity<PortfolioOccupancyDTO> getOccupancy(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(occupancyService.getOccupancy(from, to));
+    }
+}
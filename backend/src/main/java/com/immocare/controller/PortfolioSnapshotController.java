@@ -0,0 +1,35 @@
+package com.immocare.controller;
+
+import java.time.LocalDate;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.immocare.model.dto.SnapshotDTOs.PortfolioSnapshotDTO;
+import com.immocare.service.PortfolioSnapshotService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class PortfolioSnapshotController {
+
+    private final PortfolioSnapshotService snapshotService;
+
+    /**
+     * GET /api/v1/portfolio/snapshot?date=
+     *
+     * Rent, PEB score, lease and tenants, meters and boilers of every unit
+     * and building as they were on {@code date}.
+     */
+    @GetMapping("/api/v1/portfolio/snapshot")
+    public ResponseEntity<PortfolioSnapshotDTO> getSnapshot(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        return ResponseEntity.ok(snapshotService.snapshotAt(date));
+    }
+}
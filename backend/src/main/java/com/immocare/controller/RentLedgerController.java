@@ -0,0 +1,53 @@
+package com.immocare.controller;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.immocare.model.dto.RentLedgerDTOs.LeaseRentLedgerDTO;
+import com.immocare.model.dto.RentLedgerDTOs.RentArrearsDTO;
+import com.immocare.service.RentLedgerService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class RentLedgerController {
+
+    private final RentLedgerService rentLedgerService;
+
+    /**
+     * GET /api/v1/leases/{id}/rent-ledger?asOf=
+     *
+     * Expected vs paid rent per month up to asOf (default today), with running
+     * balance.
+     */
+    @GetMapping("/api/v1/leases/{id}/rent-ledger")
+    public ResponseEntity<LeaseRentLedgerDTO> getLedger(@PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate asOf) {
+        return ResponseEntity.ok(rentLedgerService.getLedger(id, asOf != null ? asOf : LocalDate.now()));
+    }
+
+    /** GET /api/v1/leases/arrears?asOf= — leases paid below what was due. */
+    @GetMapping("/api/v1/leases/arrears")
+    public ResponseEntity<List<RentArrearsDTO>> getArrears(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate asOf) {
+        return ResponseEntity.ok(rentLedgerService.getArrears(asOf != null ? asOf : LocalDate.now()));
+    }
+
+    /** POST /api/v1/leases/rent-ledger/rebuild — recompute schedules and payments. */
+    @PostMapping("/api/v1/leases/rent-ledger/rebuild")
+    public Map<String, Integer> rebuild() {
+        return Map.of("rowCount", rentLedgerService.rebuildAll());
+    }
+}
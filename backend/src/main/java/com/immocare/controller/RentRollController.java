@@ -0,0 +1,46 @@
+package com.immocare.controller;
+
+import java.io.IOException;
+import java.time.LocalDate;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.immocare.model.dto.RentRollDTOs.RentRollDTO;
+import com.immocare.service.RentRollService;
+
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class RentRollController {
+
+    private final RentRollService rentRollService;
+
+    /**
+     * GET /api/v1/rent-roll?asOf=
+     *
+     * Every unit with its building, ACTIVE lease, tenants, rent, charges,
+     * deposit, next indexation date and arrears on {@code asOf} (default today).
+     */
+    @GetMapping("/api/v1/rent-roll")
+    public ResponseEntity<RentRollDTO> getRentRoll(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate asOf) {
+        return ResponseEntity.ok(rentRollService.getRentRoll(asOf != null ? asOf : LocalDate.now()));
+    }
+
+    /** GET /api/v1/rent-roll/export?asOf=&format=CSV|XLSX */
+    @GetMapping("/api/v1/rent-roll/export")
+    public void export(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate asOf,
+            @RequestParam(defaultValue = "CSV") RentRollService.Format format,
+            HttpServletResponse response) throws IOException {
+        rentRollService.export(asOf != null ? asOf : LocalDate.now(), format, response);
+    }
+}
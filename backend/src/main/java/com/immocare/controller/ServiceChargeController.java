@@ -0,0 +1,58 @@
+package com.immocare.controller;
+
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.immocare.model.dto.ServiceChargeDTOs.BuildingSettlementDTO;
+import com.immocare.model.dto.ServiceChargeDTOs.SaveServiceChargeKeyRequest;
+import com.immocare.model.dto.ServiceChargeDTOs.ServiceChargeKeyDTO;
+import com.immocare.service.ServiceChargeService;
+
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Service-charge keys of a building and its annual settlement.
+ */
+@RestController
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class ServiceChargeController {
+
+    private final ServiceChargeService serviceChargeService;
+
+    /** GET /api/v1/buildings/{buildingId}/service-charge-keys */
+    @GetMapping("/api/v1/buildings/{buildingId}/service-charge-keys")
+    public ResponseEntity<List<ServiceChargeKeyDTO>> getKeys(@PathVariable Long buildingId) {
+        return ResponseEntity.ok(serviceChargeService.getKeys(buildingId));
+    }
+
+    /** PUT /api/v1/buildings/{buildingId}/service-charge-keys → replaces all keys */
+    @PutMapping("/api/v1/buildings/{buildingId}/service-charge-keys")
+    public ResponseEntity<List<ServiceChargeKeyDTO>> saveKeys(
+            @PathVariable Long buildingId,
+            @Valid @RequestBody List<@Valid SaveServiceChargeKeyRequest> keys) {
+        return ResponseEntity.ok(serviceChargeService.saveKeys(buildingId, keys));
+    }
+
+    /**
+     * GET /api/v1/buildings/{buildingId}/service-charge-settlement?year=
+     *
+     * Actual costs of the keyed subcategories over the calendar year, split
+     * per lease and netted against the provisions called.
+     */
+    @GetMapping("/api/v1/buildings/{buildingId}/service-charge-settlement")
+    public ResponseEntity<BuildingSettlementDTO> getSettlement(
+            @PathVariable Long buildingId,
+            @RequestParam int year) {
+        return ResponseEntity.ok(serviceChargeService.settle(buildingId, year));
+    }
+}
@@ -35,6 +35,7 @@ import com.immocare.model.enums.AssetType;
 import com.immocare.model.enums.TransactionDirection;
 import com.immocare.model.enums.TransactionStatus;
 import com.immocare.service.FinancialTransactionService;
+import com.immocare.service.LedgerRollupService;
 
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
@@ -43,9 +44,12 @@ import jakarta.validation.Valid;
 public class TransactionController {
 
     private final FinancialTransactionService transactionService;
+    private final LedgerRollupService ledgerRollupService;
 
-    public TransactionController(FinancialTransactionService transactionService) {
+    public TransactionController(FinancialTransactionService transactionService,
+            LedgerRollupService ledgerRollupService) {
         this.transactionService = transactionService;
+        this.ledgerRollupService = ledgerRollupService;
     }
 
     @GetMapping("/api/v1/transactions")
@@ -146,6 +150,17 @@ public class TransactionController {
         return transactionService.getStatistics(filter);
     }
 
+    /**
+     * POST /api/v1/transactions/rollup/rebuild
+     *
+     * Recompute the monthly ledger rollup from all transactions (also runs
+     * nightly).
+     */
+    @PostMapping("/api/v1/transactions/rollup/rebuild")
+    public Map<String, Integer> rebuildRollup() {
+        return Map.of("rowCount", ledgerRollupService.rebuild());
+    }
+
     @GetMapping("/api/v1/transactions/export")
     public void exportCsv(
             @RequestParam(required = false) TransactionDirection direction,
@@ -50,13 +50,16 @@ public class TransactionImportController {
      * Multipart parts:
      * file — CSV or PDF
      * parserCode — e.g. "keytrade-csv-20260102"
+     * bankAccountId — (optional) own bank account id, narrows possible duplicates
      */
     @PostMapping(value = "/preview", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     public ResponseEntity<?> previewFile(
             @RequestPart("file") MultipartFile file,
-            @RequestPart("parserCode") String parserCode) {
+            @RequestPart("parserCode") String parserCode,
+            @RequestPart(value = "bankAccountId", required = false) String bankAccountIdStr) {
         try {
-            List<ImportPreviewRowDTO> rows = importService.previewFile(file, parserCode.trim());
+            List<ImportPreviewRowDTO> rows = importService.previewFile(file, parserCode.trim(),
+                    parseId(bankAccountIdStr));
             return ResponseEntity.ok(rows);
         } catch (ParseException e) {
             return ResponseEntity.badRequest().body(ImportBatchResultDTO.error(e.getMessage()));
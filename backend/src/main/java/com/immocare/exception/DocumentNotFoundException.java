@@ -0,0 +1,14 @@
+package com.immocare.exception;
+
+import com.immocare.model.enums.DocumentOwnerType;
+
+public class DocumentNotFoundException extends RuntimeException {
+
+    public DocumentNotFoundException(Long id) {
+        super("Document not found: " + id);
+    }
+
+    public DocumentNotFoundException(DocumentOwnerType ownerType, Long ownerId) {
+        super("Cannot attach a document: " + ownerType + " " + ownerId + " not found");
+    }
+}
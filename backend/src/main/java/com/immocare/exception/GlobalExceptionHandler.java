@@ -133,6 +133,16 @@ public class GlobalExceptionHandler {
     return mapError(422, "INVALID_STATUS_TRANSITION", ex.getMessage());
   }
 
+  @ExceptionHandler(IndexationException.class)
+  public ResponseEntity<Map<String, Object>> handleIndexation(IndexationException ex) {
+    return mapError(422, "INVALID_INDEXATION", ex.getMessage());
+  }
+
+  @ExceptionHandler(InvalidDateRangeException.class)
+  public ResponseEntity<Map<String, Object>> handleInvalidDateRange(InvalidDateRangeException ex) {
+    return mapError(400, "INVALID_DATE_RANGE", ex.getMessage());
+  }
+
   // ─── UC011 - Boilers ─────────────────────────────────────────────────────
 
   @ExceptionHandler(BoilerNotFoundException.class)
@@ -184,6 +194,11 @@ public class GlobalExceptionHandler {
     return badRequest("Transaction validation error", ex.getMessage());
   }
 
+  @ExceptionHandler(ServiceChargeKeyException.class)
+  public ResponseEntity<ErrorResponse> handleServiceChargeKey(ServiceChargeKeyException ex) {
+    return badRequest("Service charge key validation error", ex.getMessage());
+  }
+
   @ExceptionHandler(SubcategoryDirectionMismatchException.class)
   public ResponseEntity<ErrorResponse> handleSubcategoryDirectionMismatch(SubcategoryDirectionMismatchException ex) {
     return badRequest("Subcategory direction mismatch", ex.getMessage());
@@ -238,6 +253,13 @@ public class GlobalExceptionHandler {
     return badRequest("Asset link validation error", ex.getMessage());
   }
 
+  // ─── Documents ────────────────────────────────────────────────────────────
+
+  @ExceptionHandler(DocumentNotFoundException.class)
+  public ResponseEntity<ErrorResponse> handleDocumentNotFound(DocumentNotFoundException ex) {
+    return notFound("Document not found", ex.getMessage());
+  }
+
   // ─── UC0XX - Users ────────────────────────────────────────────────────────
 
   @ExceptionHandler(UserNotFoundException.class)
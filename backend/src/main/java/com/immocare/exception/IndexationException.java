@@ -0,0 +1,12 @@
+package com.immocare.exception;
+
+/**
+ * Thrown when a rent indexation run cannot be computed (invalid window,
+ * invalid health index value).
+ */
+public class IndexationException extends RuntimeException {
+
+    public IndexationException(String message) {
+        super(message);
+    }
+}
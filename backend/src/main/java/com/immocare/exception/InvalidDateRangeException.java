@@ -0,0 +1,13 @@
+package com.immocare.exception;
+
+import java.time.LocalDate;
+
+/**
+ * Thrown when a report is requested for a period whose end is before its start.
+ */
+public class InvalidDateRangeException extends RuntimeException {
+
+    public InvalidDateRangeException(LocalDate from, LocalDate to) {
+        super("Invalid period: 'to' (" + to + ") is before 'from' (" + from + ")");
+    }
+}
@@ -0,0 +1,12 @@
+package com.immocare.exception;
+
+/**
+ * Thrown when a service-charge key is invalid (subcategory not usable for
+ * expenses, missing or unexpected meter type, subcategory listed twice).
+ */
+public class ServiceChargeKeyException extends RuntimeException {
+
+    public ServiceChargeKeyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,53 @@
+package com.immocare.model.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * DTOs for the running balances of a bank account: the balance at a date,
+ * the monthly checkpoints and the check of statement closing balances.
+ *
+ * Computed balances are the sum of the account's movements, shifted so that
+ * they match the earliest statement balance recorded (anchored); without
+ * any statement they start from zero.
+ */
+public final class BankBalanceDTOs {
+
+    private BankBalanceDTOs() {}
+
+    public record BankBalanceDTO(
+            Long bankAccountId,
+            LocalDate date,
+            BigDecimal balance,
+            boolean anchored            // false: no statement balance recorded, starts from zero
+    ) {}
+
+    public record MonthlyBalanceDTO(
+            LocalDate month,
+            BigDecimal netAmount,       // INCOME - EXPENSE booked in the month
+            long transactionCount,
+            BigDecimal closingBalance
+    ) {}
+
+    /**
+     * drift ≠ 0: the movements between the previous statement and this one do
+     * not explain the change of balance — a missing or duplicated transaction.
+     */
+    public record StatementCheckDTO(
+            Long id,
+            LocalDate date,
+            BigDecimal statementBalance,
+            BigDecimal computedBalance,
+            BigDecimal difference,      // statement - computed, cumulated since the anchor
+            BigDecimal drift,           // difference added since the previous statement
+            boolean consistent,
+            Long importBatchId
+    ) {}
+
+    public record SaveStatementBalanceRequest(
+            @NotNull LocalDate date,
+            @NotNull BigDecimal balance
+    ) {}
+}
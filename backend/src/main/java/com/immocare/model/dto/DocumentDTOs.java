@@ -0,0 +1,41 @@
+package com.immocare.model.dto;
+
+import java.time.LocalDateTime;
+
+import com.immocare.model.enums.DocumentOwnerType;
+import com.immocare.model.enums.DocumentTextStatus;
+
+/** DTOs for documents attached to records. */
+public final class DocumentDTOs {
+
+    private DocumentDTOs() {}
+
+    public record DocumentDTO(
+            Long id,
+            DocumentOwnerType ownerType,
+            Long ownerId,
+            String fileName,
+            String contentType,
+            long sizeBytes,
+            String sha256,
+            LocalDateTime uploadedAt,
+            DocumentTextStatus textStatus,  // null when the document is not a PDF
+            Integer pageCount
+    ) {}
+
+    public record DocumentSearchHitDTO(
+            Long documentId,
+            DocumentOwnerType ownerType,
+            Long ownerId,
+            Long buildingId,
+            String fileName,
+            int pageNumber,             // best matching page
+            double rank,
+            String snippet              // matched words wrapped in <b>…</b>
+    ) {}
+
+    public record DocumentCleanupDTO(
+            int orphanDocuments,        // documents of deleted owners removed
+            int deletedFiles            // unreferenced contents removed from disk
+    ) {}
+}
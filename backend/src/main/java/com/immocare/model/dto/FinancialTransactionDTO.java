@@ -37,6 +37,7 @@ public record FinancialTransactionDTO(
         String buildingName,
         Long importBatchId,
         List<TransactionAssetLinkDTO> assetLinks,
+        List<TransactionAllocationDTO> allocations,
         boolean editable,
         LocalDateTime createdAt,
         LocalDateTime updatedAt) {
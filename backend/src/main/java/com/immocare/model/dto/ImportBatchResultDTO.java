@@ -2,6 +2,8 @@ package com.immocare.model.dto;
 
 import java.util.List;
 
+import com.immocare.model.dto.BankBalanceDTOs.StatementCheckDTO;
+
 import lombok.Value;
 
 @Value
@@ -12,6 +14,8 @@ public class ImportBatchResultDTO {
     int duplicateCount;
     int errorCount;
     List<RowError> errors;
+    /** Statement closing balances carried by the file, checked against the computed balance. */
+    List<StatementCheckDTO> balanceChecks;
 
     @Value
     public static class RowError {
@@ -23,6 +27,6 @@ public class ImportBatchResultDTO {
     /** Factory for parse-level failures (no batch created). */
     public static ImportBatchResultDTO error(String message) {
         return new ImportBatchResultDTO(null, 0, 0, 0, 1,
-                List.of(new RowError(0, "", message)));
+                List.of(new RowError(0, "", message)), List.of());
     }
 }
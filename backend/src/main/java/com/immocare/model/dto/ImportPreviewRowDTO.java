@@ -49,6 +49,17 @@ public record ImportPreviewRowDTO(
                  */
                 Long duplicateTransactionId,
 
+                /**
+                 * ID of an existing transaction that looks like the same movement
+                 * (same amount and account, a few days apart, similar counterparty
+                 * and description) although the fingerprint differs — e.g. the
+                 * statement was already imported in another format. Null if none.
+                 */
+                Long possibleDuplicateTransactionId,
+
+                /** Similarity with possibleDuplicateTransactionId, 0..1. */
+                Double possibleDuplicateScore,
+
                 /**
                  * Best subcategory suggestion from learning rules.
                  * Null if no match found.
@@ -56,7 +67,8 @@ public record ImportPreviewRowDTO(
                 SubcategorySuggestionDTO suggestedSubcategory,
 
                 /**
-                 * Suggested lease from person IBAN matching.
+                 * Suggested lease from person IBAN matching, else from the
+                 * expected rent amount (incoming rows only).
                  * Null if no match found.
                  */
                 SuggestedLeaseDTO suggestedLease,
@@ -74,6 +86,15 @@ public record ImportPreviewRowDTO(
                         Long buildingId,
                         String buildingName,
                         Long personId,
-                        String personFullName) {
+                        String personFullName,
+
+                        /**
+                         * IBAN — counterparty account of a tenant; AMOUNT — expected
+                         * rent of the month, IBAN unknown.
+                         */
+                        String matchedBy) {
+
+                public static final String MATCHED_BY_IBAN = "IBAN";
+                public static final String MATCHED_BY_AMOUNT = "AMOUNT";
         }
 }
\ No newline at end of file
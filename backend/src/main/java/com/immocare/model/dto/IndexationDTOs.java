@@ -0,0 +1,70 @@
+package com.immocare.model.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+/**
+ * DTOs for the health index series and batch rent indexation.
+ * Index months are the first day of the month.
+ */
+public final class IndexationDTOs {
+
+    private IndexationDTOs() {}
+
+    // ─── Health index ────────────────────────────────────────────────────────
+
+    public record HealthIndexDTO(
+            @NotNull LocalDate month,
+            @NotNull @Positive BigDecimal value
+    ) {}
+
+    // ─── Indexation run ──────────────────────────────────────────────────────
+
+    public enum IndexationLineStatus {
+        /** Computed, not written (dry run). */
+        READY,
+        /** Rent adjustment and history written. */
+        APPLIED,
+        /** Not indexed — see message. */
+        SKIPPED
+    }
+
+    /** Leases to index: anniversaries from–to; all ACTIVE leases when leaseIds is empty. */
+    public record IndexationRequest(
+            @NotNull LocalDate from,
+            @NotNull LocalDate to,
+            List<Long> leaseIds
+    ) {}
+
+    /** One lease anniversary: rent = baseRent × newIndex / baseIndex. */
+    public record IndexationLineDTO(
+            Long leaseId,
+            Long buildingId,
+            String buildingName,
+            Long housingUnitId,
+            String unitNumber,
+            LocalDate anniversary,
+            BigDecimal currentRent,
+            BigDecimal baseRent,
+            LocalDate baseIndexMonth,
+            BigDecimal baseIndex,
+            LocalDate newIndexMonth,
+            BigDecimal newIndex,
+            BigDecimal newRent,
+            IndexationLineStatus status,
+            String message
+    ) {}
+
+    public record IndexationRunDTO(
+            LocalDate from,
+            LocalDate to,
+            boolean dryRun,
+            int indexedCount,
+            int skippedCount,
+            List<IndexationLineDTO> lines
+    ) {}
+}
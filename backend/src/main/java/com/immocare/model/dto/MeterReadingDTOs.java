@@ -0,0 +1,71 @@
+package com.immocare.model.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+
+/**
+ * DTOs for meter readings and consumption. Consumption periods are whole
+ * calendar months; a reading's consumption is spread evenly over the days
+ * since the meter's previous reading.
+ */
+public final class MeterReadingDTOs {
+
+    private MeterReadingDTOs() {}
+
+    // ─── Readings ────────────────────────────────────────────────────────────
+
+    public record MeterReadingDTO(
+            Long id,
+            Long meterId,
+            LocalDate readingDate,
+            BigDecimal readingValue,
+            BigDecimal consumption,     // delta since the previous reading of the same meter
+            String source,
+            LocalDateTime createdAt
+    ) {}
+
+    public record AddMeterReadingRequest(
+            @NotNull LocalDate readingDate,
+            @NotNull @PositiveOrZero BigDecimal readingValue
+    ) {}
+
+    public record MeterReadingImportResultDTO(
+            int importedCount,
+            int duplicateCount,         // rows identical to a stored reading
+            List<ImportRowErrorDTO> errors
+    ) {}
+
+    // ─── Consumption ─────────────────────────────────────────────────────────
+
+    public record MonthlyConsumptionDTO(
+            LocalDate month,
+            BigDecimal consumption
+    ) {}
+
+    public record MeterConsumptionDTO(
+            Long meterId,
+            String meterNumber,
+            String ownerType,
+            Long ownerId,
+            LocalDate startDate,
+            LocalDate endDate,
+            BigDecimal consumption
+    ) {}
+
+    /** Consumption of every meter of one type on an owner, replaced meters included. */
+    public record ConsumptionDTO(
+            String ownerType,
+            Long ownerId,
+            String type,
+            LocalDate fromMonth,
+            LocalDate toMonth,
+            BigDecimal total,
+            List<MonthlyConsumptionDTO> months,
+            List<MeterConsumptionDTO> meters
+    ) {}
+}
@@ -0,0 +1,62 @@
+package com.immocare.model.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * DTOs for the occupancy report. Day counts and periods are inclusive of
+ * both ends; lost rent is the rent history amount of the vacant days,
+ * prorated per calendar month.
+ */
+public final class OccupancyDTOs {
+
+    private OccupancyDTOs() {}
+
+    /** Days without an ACTIVE or FINISHED lease on the unit. */
+    public record VacancyPeriodDTO(
+            LocalDate from,
+            LocalDate to,
+            long days,
+            BigDecimal lostRent
+    ) {}
+
+    public record UnitOccupancyDTO(
+            Long housingUnitId,
+            String unitNumber,
+            long occupiedDays,
+            long vacantDays,
+            double occupancyRate,
+            BigDecimal lostRent,
+            List<VacancyPeriodDTO> vacancies
+    ) {}
+
+    public record BuildingOccupancyDTO(
+            Long buildingId,
+            String buildingName,
+            int unitCount,
+            long occupiedDays,
+            long vacantDays,
+            double occupancyRate,
+            BigDecimal lostRent,
+            List<UnitOccupancyDTO> units
+    ) {}
+
+    /** Number of occupied units from {@code date} until the next point. */
+    public record OccupancyPointDTO(
+            LocalDate date,
+            int occupiedUnits
+    ) {}
+
+    public record PortfolioOccupancyDTO(
+            LocalDate from,
+            LocalDate to,
+            int unitCount,
+            long occupiedDays,
+            long vacantDays,
+            double occupancyRate,
+            BigDecimal lostRent,
+            List<OccupancyPointDTO> timeline,
+            List<BuildingOccupancyDTO> buildings
+    ) {}
+}
@@ -0,0 +1,50 @@
+package com.immocare.model.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import com.immocare.model.enums.LeaseStatus;
+
+/**
+ * DTOs for the lease rent ledger (expected vs paid rent).
+ * Balances are paid − expected: negative means arrears, positive a credit.
+ */
+public final class RentLedgerDTOs {
+
+    private RentLedgerDTOs() {}
+
+    // ─── Per lease ───────────────────────────────────────────────────────────
+
+    public record RentLedgerMonthDTO(
+            LocalDate month,
+            BigDecimal expected,
+            BigDecimal paid,
+            BigDecimal balance,
+            BigDecimal runningBalance
+    ) {}
+
+    public record LeaseRentLedgerDTO(
+            Long leaseId,
+            LocalDate asOf,
+            BigDecimal expectedTotal,
+            BigDecimal paidTotal,
+            BigDecimal balance,
+            List<RentLedgerMonthDTO> months
+    ) {}
+
+    // ─── Portfolio ───────────────────────────────────────────────────────────
+
+    public record RentArrearsDTO(
+            Long leaseId,
+            LeaseStatus leaseStatus,
+            Long buildingId,
+            String buildingName,
+            Long housingUnitId,
+            String unitNumber,
+            String tenantNames,
+            BigDecimal expectedTotal,
+            BigDecimal paidTotal,
+            BigDecimal balance
+    ) {}
+}
@@ -0,0 +1,48 @@
+package com.immocare.model.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import com.immocare.model.enums.ChargesType;
+import com.immocare.model.enums.DepositType;
+
+/**
+ * DTOs for the rent roll: one row per housing unit with its ACTIVE lease, if
+ * any. Lease columns are null for a vacant unit.
+ */
+public final class RentRollDTOs {
+
+    private RentRollDTOs() {}
+
+    public record RentRollRowDTO(
+            Long buildingId,
+            String buildingName,
+            Long housingUnitId,
+            String unitNumber,
+            Integer floor,
+            BigDecimal surface,
+            BigDecimal listedRent,          // rent history amount in force on the date
+            Long leaseId,
+            LocalDate leaseStartDate,
+            LocalDate leaseEndDate,
+            String tenants,                 // primary and co-tenants, "Last First, ..."
+            BigDecimal monthlyRent,
+            BigDecimal monthlyCharges,
+            ChargesType chargesType,
+            BigDecimal depositAmount,
+            DepositType depositType,
+            LocalDate nextIndexationDate,   // next anniversary of entry into force
+            BigDecimal arrears              // rent due up to the date and not paid; 0 when up to date
+    ) {}
+
+    public record RentRollDTO(
+            LocalDate asOf,
+            int unitCount,
+            int leasedCount,
+            BigDecimal totalRent,
+            BigDecimal totalCharges,
+            BigDecimal totalArrears,
+            List<RentRollRowDTO> rows
+    ) {}
+}
@@ -2,8 +2,10 @@ package com.immocare.model.dto;
 
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
 import jakarta.validation.constraints.Size;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 
 /**
@@ -31,6 +33,12 @@ public record ReplaceMeterRequest(
         @NotNull(message = "Start date is required")
         LocalDate newStartDate,
 
-        String reason   // optional: BROKEN, END_OF_LIFE, UPGRADE, CALIBRATION_ISSUE, OTHER
+        String reason,  // optional: BROKEN, END_OF_LIFE, UPGRADE, CALIBRATION_ISSUE, OTHER
+
+        @PositiveOrZero(message = "Closing reading must be positive or zero")
+        BigDecimal closingReading,  // optional: last index of the current meter
+
+        @PositiveOrZero(message = "Opening reading must be positive or zero")
+        BigDecimal openingReading   // optional: first index of the new meter
 
 ) {}
@@ -0,0 +1,15 @@
+package com.immocare.model.dto;
+
+import com.immocare.model.enums.AllocationMethod;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.*;
+import java.math.BigDecimal;
+import java.util.List;
+
+/** Split of an expense between units; line amounts are only read for FIXED. */
+public record SaveAllocationRequest(
+    @NotNull AllocationMethod method,
+    @NotEmpty List<@Valid Line> lines
+) {
+    public record Line(@NotNull Long housingUnitId, @PositiveOrZero BigDecimal amount) {}
+}
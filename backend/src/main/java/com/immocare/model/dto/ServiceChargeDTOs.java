@@ -0,0 +1,82 @@
+package com.immocare.model.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import com.immocare.model.enums.AllocationKey;
+
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * DTOs for the annual service-charge settlement of a building: the
+ * recoverable subcategories with their allocation keys, and per lease the
+ * share of actual costs netted against the provisions called.
+ */
+public final class ServiceChargeDTOs {
+
+    private ServiceChargeDTOs() {}
+
+    // ─── Keys ────────────────────────────────────────────────────────────────
+
+    public record ServiceChargeKeyDTO(
+            Long id,
+            Long subcategoryId,
+            String subcategoryName,
+            String categoryName,
+            AllocationKey allocationKey,
+            String meterType            // CONSUMPTION only
+    ) {}
+
+    public record SaveServiceChargeKeyRequest(
+            @NotNull Long subcategoryId,
+            @NotNull AllocationKey allocationKey,
+            String meterType            // required for CONSUMPTION: WATER, GAS, ELECTRICITY
+    ) {}
+
+    // ─── Settlement ──────────────────────────────────────────────────────────
+
+    /** Costs of one subcategory over the year: shared by key, or booked on units. */
+    public record CostPoolDTO(
+            Long subcategoryId,
+            String subcategoryName,
+            AllocationKey allocationKey, // key applied; EQUAL when the configured basis is all zero
+            BigDecimal sharedAmount,
+            BigDecimal unitAmount
+    ) {}
+
+    public record SettlementLineDTO(
+            Long subcategoryId,
+            String subcategoryName,
+            AllocationKey allocationKey,
+            BigDecimal unitShare,       // unit's fraction of the shared amount
+            BigDecimal amount           // lease's part of the unit's costs
+    ) {}
+
+    /** balance > 0: the tenant owes the difference; balance < 0: refund. */
+    public record LeaseSettlementDTO(
+            Long leaseId,
+            Long housingUnitId,
+            String unitNumber,
+            String tenantNames,
+            LocalDate periodFrom,
+            LocalDate periodTo,
+            int occupiedDays,
+            BigDecimal provisions,
+            BigDecimal costs,
+            BigDecimal balance,
+            List<SettlementLineDTO> lines
+    ) {}
+
+    public record BuildingSettlementDTO(
+            Long buildingId,
+            String buildingName,
+            int year,
+            BigDecimal totalCosts,
+            BigDecimal settledCosts,    // part of totalCosts charged to the settled leases
+            BigDecimal totalProvisions,
+            BigDecimal totalBalance,
+            List<CostPoolDTO> pools,
+            List<LeaseSettlementDTO> leases
+    ) {}
+}
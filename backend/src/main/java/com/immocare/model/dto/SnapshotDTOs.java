@@ -0,0 +1,84 @@
+package com.immocare.model.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * DTOs for the as-of-date portfolio snapshot: what was in force on one day
+ * for every building and unit.
+ */
+public final class SnapshotDTOs {
+
+    private SnapshotDTOs() {}
+
+    public record MeterAsOfDTO(
+            Long meterId,
+            String type,
+            String meterNumber,
+            String label,
+            LocalDate startDate,
+            LocalDate endDate
+    ) {}
+
+    /** Boiler with its latest service on or before the snapshot date. */
+    public record BoilerAsOfDTO(
+            Long boilerId,
+            String brand,
+            String model,
+            String fuelType,
+            LocalDate installationDate,
+            LocalDate lastServiceDate,
+            LocalDate serviceValidUntil,
+            boolean serviceValid
+    ) {}
+
+    public record PebAsOfDTO(
+            String pebScore,
+            LocalDate scoreDate,
+            LocalDate validUntil,
+            String certificateNumber
+    ) {}
+
+    public record TenantAsOfDTO(
+            Long personId,
+            String fullName,
+            String role
+    ) {}
+
+    /** Lease running on the snapshot date; monthlyRent replays the rent adjustments. */
+    public record LeaseAsOfDTO(
+            Long leaseId,
+            String status,
+            LocalDate startDate,
+            LocalDate endDate,
+            BigDecimal monthlyRent,
+            List<TenantAsOfDTO> tenants
+    ) {}
+
+    /** One unit on the snapshot date; rent is the rent history amount in force. */
+    public record UnitAsOfDTO(
+            Long housingUnitId,
+            String unitNumber,
+            BigDecimal rent,
+            PebAsOfDTO peb,
+            LeaseAsOfDTO lease,
+            List<MeterAsOfDTO> meters,
+            List<BoilerAsOfDTO> boilers
+    ) {}
+
+    public record BuildingAsOfDTO(
+            Long buildingId,
+            String buildingName,
+            List<MeterAsOfDTO> meters,
+            List<BoilerAsOfDTO> boilers,
+            List<UnitAsOfDTO> units
+    ) {}
+
+    public record PortfolioSnapshotDTO(
+            LocalDate date,
+            int unitCount,
+            int leasedUnitCount,
+            List<BuildingAsOfDTO> buildings
+    ) {}
+}
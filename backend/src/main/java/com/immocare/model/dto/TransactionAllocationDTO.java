@@ -0,0 +1,7 @@
+package com.immocare.model.dto;
+
+import com.immocare.model.enums.AllocationMethod;
+import java.math.BigDecimal;
+
+public record TransactionAllocationDTO(Long id, Long housingUnitId, String unitNumber,
+    String buildingName, BigDecimal amount, AllocationMethod method) {}
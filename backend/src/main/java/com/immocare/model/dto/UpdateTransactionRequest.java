@@ -1,6 +1,7 @@
 package com.immocare.model.dto;
 
 import com.immocare.model.enums.TransactionDirection;
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.*;
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -20,5 +21,7 @@ public record UpdateTransactionRequest(
     Long leaseId,
     Long housingUnitId,
     Long buildingId,
-    List<SaveAssetLinkRequest> assetLinks
+    List<SaveAssetLinkRequest> assetLinks,
+    @Valid SaveAllocationRequest allocation,  // new split between units (EXPENSE only); null keeps the current one
+    boolean removeAllocation                  // true drops the current split
 ) {}
@@ -2,9 +2,13 @@ package com.immocare.model.entity;
 
 import com.immocare.model.enums.BankAccountType;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.LocalDateTime;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "catalogue.bank-account")
 @Table(name = "bank_account")
 public class BankAccount {
 
@@ -0,0 +1,50 @@
+package com.immocare.model.entity;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Running balance checkpoint of one bank account at the end of one month
+ * (first day of month). Derived data — written by BankBalanceService in SQL.
+ */
+@Entity
+@Table(name = "bank_balance_month")
+@IdClass(BankBalanceMonthId.class)
+public class BankBalanceMonth {
+
+    @Id
+    @Column(name = "bank_account_id")
+    private Long bankAccountId;
+
+    @Id
+    @Column(name = "balance_month")
+    private LocalDate month;
+
+    /** Signed movements of the month: INCOME positive, EXPENSE negative. */
+    @Column(name = "net_amount", nullable = false, precision = 14, scale = 2)
+    private BigDecimal netAmount;
+
+    @Column(name = "tx_count", nullable = false)
+    private long txCount;
+
+    /** Sum of all movements up to the end of the month. */
+    @Column(name = "closing_balance", nullable = false, precision = 14, scale = 2)
+    private BigDecimal closingBalance;
+
+    public BankBalanceMonth() {}
+    public BankBalanceMonth(Long bankAccountId, LocalDate month, BigDecimal netAmount, long txCount,
+            BigDecimal closingBalance) {
+        this.bankAccountId = bankAccountId;
+        this.month = month;
+        this.netAmount = netAmount;
+        this.txCount = txCount;
+        this.closingBalance = closingBalance;
+    }
+
+    public Long getBankAccountId() { return bankAccountId; }
+    public LocalDate getMonth() { return month; }
+    public BigDecimal getNetAmount() { return netAmount; }
+    public long getTxCount() { return txCount; }
+    public BigDecimal getClosingBalance() { return closingBalance; }
+}
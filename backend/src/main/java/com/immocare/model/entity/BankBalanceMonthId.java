@@ -0,0 +1,17 @@
+package com.immocare.model.entity;
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+public class BankBalanceMonthId implements Serializable {
+    private Long bankAccountId;
+    private LocalDate month;
+    public BankBalanceMonthId() {}
+    public BankBalanceMonthId(Long bankAccountId, LocalDate month) { this.bankAccountId = bankAccountId; this.month = month; }
+    public Long getBankAccountId() { return bankAccountId; }
+    public void setBankAccountId(Long bankAccountId) { this.bankAccountId = bankAccountId; }
+    public LocalDate getMonth() { return month; }
+    public void setMonth(LocalDate month) { this.month = month; }
+    @Override public boolean equals(Object o) { if (this == o) return true; if (!(o instanceof BankBalanceMonthId)) return false; BankBalanceMonthId that = (BankBalanceMonthId) o; return Objects.equals(bankAccountId, that.bankAccountId) && Objects.equals(month, that.month); }
+    @Override public int hashCode() { return Objects.hash(bankAccountId, month); }
+}
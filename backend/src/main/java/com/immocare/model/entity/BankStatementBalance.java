@@ -0,0 +1,51 @@
+package com.immocare.model.entity;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+
+/** Closing balance of a bank account as stated by the bank on a given date. */
+@Entity
+@Table(name = "bank_statement_balance")
+public class BankStatementBalance {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "bank_account_id", nullable = false)
+    private BankAccount bankAccount;
+
+    @Column(name = "balance_date", nullable = false)
+    private LocalDate balanceDate;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal balance;
+
+    /** Import that carried the statement; null when entered by hand. */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "import_batch_id")
+    private ImportBatch importBatch;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    public Long getId() { return id; }
+    public BankAccount getBankAccount() { return bankAccount; }
+    public void setBankAccount(BankAccount bankAccount) { this.bankAccount = bankAccount; }
+    public LocalDate getBalanceDate() { return balanceDate; }
+    public void setBalanceDate(LocalDate balanceDate) { this.balanceDate = balanceDate; }
+    public BigDecimal getBalance() { return balance; }
+    public void setBalance(BigDecimal balance) { this.balance = balance; }
+    public ImportBatch getImportBatch() { return importBatch; }
+    public void setImportBatch(ImportBatch importBatch) { this.importBatch = importBatch; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+}
@@ -53,6 +53,9 @@ public class Boiler {
     @Column(name = "installation_date", nullable = false)
     private LocalDate installationDate;
 
+    @Column(name = "removal_date")
+    private LocalDate removalDate;
+
     @Column(name = "last_service_date")
     private LocalDate lastServiceDate;
 
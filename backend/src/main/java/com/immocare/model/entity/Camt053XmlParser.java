@@ -0,0 +1,455 @@
+package com.immocare.model.entity;
+
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.springframework.stereotype.Component;
+
+import com.immocare.exception.ParseException;
+
+/**
+ * Parser for ISO 20022 CAMT.053 bank-to-customer statements (XML), as
+ * exported by most Belgian banks (versions .001.02 to .001.08).
+ *
+ * Streams the file with StAX: only the current entry is held in memory, so
+ * multi-hundred-MB files with several statements (accounts) parse in
+ * constant memory and rows reach the caller as they are read.
+ *
+ * Per booked entry (Stmt/Ntry, status BOOK):
+ * - amount: Ntry/Amt, direction from CdtDbtInd (CRDT = INCOME); a reversal
+ *   (RvslInd true) carries the direction of the money moving back, so a
+ *   returned debit is a CRDT entry. RvslInd only picks the counterparty
+ *   (the party of the original transaction) and is kept in the raw line
+ * - dates: BookgDt (transaction date), ValDt (value date)
+ * - counterparty: Dbtr for credits, Cdtr for debits (Nm, Acct/Id/IBAN)
+ * - description: unstructured remittance (Ustrd), else the structured
+ *   creditor reference (+++123/4567/89012+++), else AddtlNtryInf
+ * - external reference: AcctSvcrRef, else EndToEndId
+ * Batched entries with several TxDtls, each with its own amount, give one
+ * row per TxDtls. Pending and informational entries are skipped.
+ *
+ * The closing booked balance of each statement (Stmt/Bal with type CLBD) is
+ * reported with the statement's IBAN, negative when CdtDbtInd is DBIT.
+ */
+@Component
+public class Camt053XmlParser implements TransactionParser {
+
+    public static final String CODE = "camt053-xml-20261019";
+
+    private static final XMLInputFactory FACTORY = newFactory();
+
+    @Override
+    public String getCode() {
+        return CODE;
+    }
+
+    @Override
+    public String getDescription() {
+        return "ISO 20022 CAMT.053 (XML) — relevé multi-comptes, sens crédit/débit explicite";
+    }
+
+    @Override
+    public List<ParsedTransaction> parse(InputStream input) throws ParseException {
+        List<ParsedTransaction> results = new ArrayList<>();
+        parse(input, results::add);
+        return results;
+    }
+
+    @Override
+    public void parse(InputStream input, Consumer<ParsedTransaction> sink) throws ParseException {
+        parse(input, sink, balance -> { });
+    }
+
+    @Override
+    public void parse(InputStream input, Consumer<ParsedTransaction> sink, Consumer<ParsedBalance> balances)
+            throws ParseException {
+        List<String> errors = new ArrayList<>();
+        int emitted = 0;
+        XMLStreamReader reader = null;
+        try {
+            reader = FACTORY.createXMLStreamReader(input);
+            Path path = new Path();
+            String accountIban = null;
+            Entry entry = null;
+            Detail detail = null;
+            Balance balance = null;
+            int entryNumber = 0;
+
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    String name = reader.getLocalName();
+                    String parent = path.peek(0);
+
+                    if (entry == null) {
+                        if (name.equals("Ntry") && parent.equals("Stmt")) {
+                            entry = new Entry(accountIban, ++entryNumber);
+                        } else if (name.equals("Stmt")) {
+                            accountIban = null;
+                        } else if (name.equals("IBAN") && parent.equals("Id")
+                                && path.peek(1).equals("Acct") && path.peek(2).equals("Stmt")) {
+                            accountIban = reader.getElementText().trim();
+                            continue;
+                        } else if (name.equals("Bal") && parent.equals("Stmt")) {
+                            balance = new Balance();
+                        } else if (balance != null && readBalanceField(reader, name, parent, balance)) {
+                            continue;
+                        }
+                        path.push(name);
+                        continue;
+                    }
+
+                    if (name.equals("TxDtls")) {
+                        detail = new Detail();
+                        path.push(name);
+                    } else if (readEntryField(reader, name, parent, path, entry, detail)) {
+                        // leaf consumed, END_ELEMENT included
+                    } else {
+                        path.push(name);
+                    }
+                } else if (event == XMLStreamConstants.CHARACTERS) {
+                    // v2-v7: <Sts>BOOK</Sts>; v8+ nests a Cd, leaving whitespace here
+                    if (entry != null && path.peek(0).equals("Sts") && path.peek(1).equals("Ntry")
+                            && !reader.isWhiteSpace()) {
+                        entry.status = reader.getText().trim();
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    String name = path.pop();
+                    if (entry == null) {
+                        if (balance != null && name.equals("Bal") && path.peek(0).equals("Stmt")) {
+                            try {
+                                ParsedBalance closing = balance.closing(accountIban);
+                                if (closing != null) {
+                                    balances.accept(closing);
+                                }
+                            } catch (DateTimeException | NumberFormatException | IndexOutOfBoundsException e) {
+                                errors.add("Balance: " + e.getMessage());
+                            }
+                            balance = null;
+                        }
+                        continue;
+                    }
+                    if (name.equals("TxDtls")) {
+                        entry.details.add(detail);
+                        detail = null;
+                    } else if (name.equals("Ntry") && path.peek(0).equals("Stmt")) {
+                        try {
+                            List<ParsedTransaction> rows = entry.rows();
+                            rows.forEach(sink);
+                            emitted += rows.size();
+                        } catch (ParseException | DateTimeException | IndexOutOfBoundsException e) {
+                            errors.add("Entry " + entry.number + ": " + e.getMessage());
+                        }
+                        entry = null;
+                    }
+                }
+            }
+        } catch (XMLStreamException e) {
+            throw new ParseException("Failed to read CAMT.053 file: " + e.getMessage(), e);
+        } finally {
+            if (reader != null) {
+                try {
+                    reader.close();
+                } catch (XMLStreamException ignored) {
+                    // input stream is closed by the caller
+                }
+            }
+        }
+
+        if (!errors.isEmpty() && emitted == 0) {
+            throw new ParseException("CAMT.053 parsing failed completely: " + errors.get(0));
+        }
+    }
+
+    /**
+     * Reads a leaf element of interest inside an entry.
+     *
+     * @return true if the element was consumed (text read up to its end tag)
+     */
+    private static boolean readEntryField(XMLStreamReader r, String name, String parent, Path path,
+            Entry entry, Detail detail) throws XMLStreamException {
+        if (detail == null) {
+            switch (name) {
+                case "Amt" -> {
+                    if (!parent.equals("Ntry")) return false;
+                    entry.amount = r.getElementText().trim();
+                }
+                case "CdtDbtInd" -> {
+                    if (!parent.equals("Ntry")) return false;
+                    entry.creditDebit = r.getElementText().trim();
+                }
+                case "RvslInd" -> entry.reversal = Boolean.parseBoolean(r.getElementText().trim());
+                case "Cd" -> {
+                    // v8+: Sts/Cd
+                    if (!parent.equals("Sts")) return false;
+                    entry.status = r.getElementText().trim();
+                }
+                case "Dt", "DtTm" -> {
+                    if (parent.equals("BookgDt")) {
+                        entry.bookingDate = r.getElementText().trim();
+                    } else if (parent.equals("ValDt")) {
+                        entry.valueDate = r.getElementText().trim();
+                    } else {
+                        return false;
+                    }
+                }
+                case "AcctSvcrRef" -> {
+                    if (!parent.equals("Ntry")) return false;
+                    entry.bankReference = r.getElementText().trim();
+                }
+                case "AddtlNtryInf" -> entry.additionalInfo = r.getElementText().trim();
+                default -> {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        switch (name) {
+            case "Amt" -> {
+                // TxDtls/Amt (v8) or TxDtls/AmtDtls/TxAmt/Amt
+                if (!parent.equals("TxDtls") && !parent.equals("TxAmt")) return false;
+                detail.amount = r.getElementText().trim();
+            }
+            case "CdtDbtInd" -> {
+                if (!parent.equals("TxDtls")) return false;
+                detail.creditDebit = r.getElementText().trim();
+            }
+            case "EndToEndId" -> detail.endToEndId = r.getElementText().trim();
+            case "Nm" -> {
+                String party = parent.equals("Pty") ? path.peek(1) : parent;
+                if (party.equals("Dbtr")) {
+                    detail.debtorName = r.getElementText().trim();
+                } else if (party.equals("Cdtr")) {
+                    detail.creditorName = r.getElementText().trim();
+                } else {
+                    return false;
+                }
+            }
+            case "IBAN" -> {
+                if (!parent.equals("Id")) return false;
+                String account = path.peek(1);
+                if (account.equals("DbtrAcct")) {
+                    detail.debtorAccount = r.getElementText().trim();
+                } else if (account.equals("CdtrAcct")) {
+                    detail.creditorAccount = r.getElementText().trim();
+                } else {
+                    return false;
+                }
+            }
+            case "Ustrd" -> {
+                String text = r.getElementText().trim();
+                detail.unstructured = detail.unstructured == null ? text : detail.unstructured + " " + text;
+            }
+            case "Ref" -> {
+                if (!parent.equals("CdtrRefInf")) return false;
+                detail.structuredReference = r.getElementText().trim();
+            }
+            case "AddtlTxInf" -> detail.additionalInfo = r.getElementText().trim();
+            default -> {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Reads a leaf element of a statement balance.
+     *
+     * @return true if the element was consumed (text read up to its end tag)
+     */
+    private static boolean readBalanceField(XMLStreamReader r, String name, String parent, Balance balance)
+            throws XMLStreamException {
+        switch (name) {
+            case "Cd" -> {
+                if (!parent.equals("CdOrPrtry")) return false;
+                balance.type = r.getElementText().trim();
+            }
+            case "Amt" -> {
+                if (!parent.equals("Bal")) return false;
+                balance.amount = r.getElementText().trim();
+            }
+            case "CdtDbtInd" -> {
+                if (!parent.equals("Bal")) return false;
+                balance.creditDebit = r.getElementText().trim();
+            }
+            case "Dt", "DtTm" -> {
+                // Bal/Dt/Dt: the outer Dt is a container
+                if (!parent.equals("Dt")) return false;
+                balance.date = r.getElementText().trim();
+            }
+            default -> {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // ─── Entry state ──────────────────────────────────────────────────────────
+
+    /** Stack of open element names, outermost first. */
+    private static final class Path {
+        private String[] names = new String[16];
+        private int size;
+
+        void push(String name) {
+            if (size == names.length) {
+                names = Arrays.copyOf(names, size * 2);
+            }
+            names[size++] = name;
+        }
+
+        String pop() {
+            return size > 0 ? names[--size] : "";
+        }
+
+        /** Open element {@code up} levels above the innermost one; "" above the root. */
+        String peek(int up) {
+            int i = size - 1 - up;
+            return i >= 0 ? names[i] : "";
+        }
+    }
+
+    private static final class Balance {
+        String type;
+        String amount;
+        String creditDebit;
+        String date;
+
+        /** The closing booked balance; null for opening, available or interim balances. */
+        ParsedBalance closing(String accountIban) {
+            if (!"CLBD".equals(type) || amount == null || date == null) {
+                return null;
+            }
+            BigDecimal value = new BigDecimal(amount);
+            return new ParsedBalance(accountIban, date(date),
+                    "DBIT".equals(creditDebit) ? value.negate() : value);
+        }
+    }
+
+    private static final class Detail {
+        String amount;
+        String creditDebit;
+        String endToEndId;
+        String debtorName;
+        String debtorAccount;
+        String creditorName;
+        String creditorAccount;
+        String unstructured;
+        String structuredReference;
+        String additionalInfo;
+    }
+
+    private static final class Entry {
+        final String accountIban;
+        final int number;
+        final List<Detail> details = new ArrayList<>(1);
+        String amount;
+        String creditDebit;
+        boolean reversal;
+        String status;
+        String bookingDate;
+        String valueDate;
+        String bankReference;
+        String additionalInfo;
+
+        Entry(String accountIban, int number) {
+            this.accountIban = accountIban;
+            this.number = number;
+        }
+
+        /** The entry's row, or one row per transaction detail; none unless booked. */
+        List<ParsedTransaction> rows() throws ParseException {
+            if (status != null && !status.equals("BOOK")) {
+                return List.of();
+            }
+            if (bookingDate == null) {
+                throw new ParseException("Missing booking date");
+            }
+            boolean split = details.size() > 1 && details.stream().allMatch(d -> d.amount != null);
+            if (!split) {
+                return List.of(row(details.isEmpty() ? new Detail() : details.get(0), amount, creditDebit));
+            }
+            List<ParsedTransaction> rows = new ArrayList<>(details.size());
+            for (Detail d : details) {
+                rows.add(row(d, d.amount, d.creditDebit != null ? d.creditDebit : creditDebit));
+            }
+            return rows;
+        }
+
+        private ParsedTransaction row(Detail d, String rawAmount, String indicator) throws ParseException {
+            if (rawAmount == null || indicator == null) {
+                throw new ParseException("Missing amount or credit/debit indicator");
+            }
+            BigDecimal value;
+            try {
+                value = new BigDecimal(rawAmount).abs();
+            } catch (NumberFormatException e) {
+                throw new ParseException("Invalid amount: " + rawAmount);
+            }
+            LocalDate date = date(bookingDate);
+            boolean credit = indicator.equals("CRDT");
+            // A reversal names the parties of the transaction it undoes
+            boolean fromDebtor = credit != reversal;
+
+            String name = fromDebtor ? d.debtorName : d.creditorName;
+            String iban = fromDebtor ? d.debtorAccount : d.creditorAccount;
+            String description = d.unstructured != null ? d.unstructured
+                    : d.structuredReference != null ? formatStructured(d.structuredReference)
+                    : d.additionalInfo != null ? d.additionalInfo
+                    : additionalInfo;
+            String reference = bankReference != null ? bankReference
+                    : d.endToEndId != null && !d.endToEndId.equals("NOTPROVIDED") ? d.endToEndId
+                    : null;
+
+            return ParsedTransaction.builder()
+                    .transactionDate(date)
+                    .valueDate(valueDate != null ? date(valueDate) : null)
+                    .amount(value)
+                    .direction(credit ? ParsedTransaction.Direction.INCOME : ParsedTransaction.Direction.EXPENSE)
+                    .description(description)
+                    .counterpartyName(name)
+                    .counterpartyAccount(iban)
+                    .accountIban(accountIban)
+                    .externalReference(reference)
+                    .fingerprint(FingerprintUtil.compute(date, value, iban, name, description))
+                    .rawLine(String.join(" | ", String.valueOf(accountIban), bookingDate,
+                            reversal ? indicator + " RVSL" : indicator, rawAmount, String.valueOf(reference)))
+                    .rowNumber(number)
+                    .build();
+        }
+    }
+
+    /** ISO date, or the date part of an ISO date-time; DateTimeException when malformed. */
+    static LocalDate date(String raw) {
+        return LocalDate.parse(raw.length() > 10 ? raw.substring(0, 10) : raw);
+    }
+
+    /** Belgian structured communication: 12 digits → +++123/4567/89012+++. */
+    static String formatStructured(String ref) {
+        String digits = ref.replaceAll("\\D", "");
+        if (digits.length() != 12) {
+            return ref;
+        }
+        return "+++" + digits.substring(0, 3) + "/" + digits.substring(3, 7) + "/" + digits.substring(7) + "+++";
+    }
+
+    private static XMLInputFactory newFactory() {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        return factory;
+    }
+}
@@ -0,0 +1,486 @@
+package com.immocare.model.entity;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.springframework.stereotype.Component;
+
+import com.immocare.exception.ParseException;
+
+/**
+ * Parser for Belgian CODA statements (Febelfin, version 2): 128-character
+ * fixed-width records, one statement per 0…9 record group, any number of
+ * statements (days, accounts) per file.
+ *
+ * The upload is read through a channel into one reused buffer and every
+ * field is decoded in place by its offset: amounts, dates and sequence
+ * numbers straight from the bytes, Strings only for the text kept on the
+ * row. Memory stays constant whatever the archive size and rows reach the
+ * caller as they are read; the import persists them in chunks as they
+ * arrive (TransactionImportService#importFile).
+ *
+ * Per movement (record 2.1, continued by 2.2 and 2.3):
+ * - amount and direction: 2.1 sign (0 = credit = INCOME) and amount
+ * - dates: 2.1 entry date (transaction date) and value date
+ * - communication: structured (type 101/102 → +++123/4567/89012+++) or
+ *   the free text spread over 2.1, 2.2 and 2.3
+ * - counterparty: 2.3 account and name; information record 3.1 type 001
+ *   supplies the name when 2.3 has none
+ * - free information records (3.1 to 3.3) describe movements without
+ *   communication
+ * A globalised movement whose details follow (same sequence number) is
+ * replaced by its details. Positions in the code are 1-based, as in the
+ * Febelfin specification.
+ */
+@Component
+public class CodaParser implements TransactionParser {
+
+    public static final String CODE = "coda-txt-20261019";
+
+    private static final int RECORD_LENGTH = 128;
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    @Override
+    public String getCode() {
+        return CODE;
+    }
+
+    @Override
+    public String getDescription() {
+        return "CODA (Febelfin) — relevé bancaire belge, plusieurs jours et comptes par fichier";
+    }
+
+    @Override
+    public List<ParsedTransaction> parse(InputStream input) throws ParseException {
+        List<ParsedTransaction> results = new ArrayList<>();
+        parse(input, results::add);
+        return results;
+    }
+
+    @Override
+    public void parse(InputStream input, Consumer<ParsedTransaction> sink) throws ParseException {
+        Statement statement = new Statement(sink);
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        Record record = new Record(buffer.array());
+        ReadableByteChannel channel = Channels.newChannel(input);
+        try {
+            boolean eof = false;
+            while (!eof) {
+                int read = 0;
+                while (buffer.hasRemaining() && (read = channel.read(buffer)) >= 0) {
+                    // fill the buffer before decoding
+                }
+                eof = read < 0;
+                buffer.flip();
+                while (nextRecord(buffer, record, eof)) {
+                    statement.accept(record);
+                }
+                buffer.compact();
+            }
+        } catch (IOException e) {
+            throw new ParseException("Failed to read CODA file: " + e.getMessage(), e);
+        }
+        statement.finish();
+    }
+
+    /**
+     * Points {@code record} at the next record of the buffer: up to the line
+     * break (LF or CRLF), or 128 bytes when the file has no line breaks.
+     *
+     * @return false if the buffer holds no complete record
+     */
+    private static boolean nextRecord(ByteBuffer buffer, Record record, boolean eof) {
+        byte[] bytes = buffer.array();
+        int start = buffer.position();
+        int limit = buffer.limit();
+        if (start == limit) {
+            return false;
+        }
+        int scanTo = Math.min(limit, start + RECORD_LENGTH + 2);
+        int end = -1;
+        for (int i = start; i < scanTo; i++) {
+            if (bytes[i] == '\n') {
+                end = i;
+                break;
+            }
+        }
+        int next;
+        if (end >= 0) {
+            next = end + 1;
+        } else if (limit - start >= RECORD_LENGTH + 2 || (eof && limit - start >= RECORD_LENGTH)) {
+            end = start + RECORD_LENGTH;
+            next = end;
+        } else if (eof) {
+            end = limit;
+            next = limit;
+        } else {
+            return false;
+        }
+        if (end > start && bytes[end - 1] == '\r') {
+            end--;
+        }
+        buffer.position(next);
+        record.point(start, end - start);
+        return true;
+    }
+
+    // ─── Statement state ──────────────────────────────────────────────────────
+
+    /** Stitches the records of the file into movements and hands them to the sink. */
+    private static final class Statement {
+        final Consumer<ParsedTransaction> sink;
+        final List<String> errors = new ArrayList<>();
+        int line;
+        int emitted;
+        boolean headerSeen;
+        String accountIban;
+        Movement pending;
+
+        Statement(Consumer<ParsedTransaction> sink) {
+            this.sink = sink;
+        }
+
+        void accept(Record r) throws ParseException {
+            line++;
+            if (r.length == 0 || r.blank(1, RECORD_LENGTH)) {
+                return;
+            }
+            if (!headerSeen && r.at(1) != '0') {
+                throw new ParseException("Not a CODA file: line " + line + " is not a header record");
+            }
+            switch (r.at(1)) {
+                case '0' -> {
+                    flush();
+                    headerSeen = true;
+                    accountIban = null;
+                }
+                case '1' -> accountIban = r.firstWord(6, 42);
+                case '2' -> movement(r);
+                case '3' -> information(r);
+                case '8', '9' -> flush();
+                default -> {
+                    // 4 (free communication) carries nothing for the ledger
+                }
+            }
+        }
+
+        void finish() throws ParseException {
+            flush();
+            if (!headerSeen) {
+                throw new ParseException("Not a CODA file: no header record");
+            }
+            if (!errors.isEmpty() && emitted == 0) {
+                throw new ParseException("CODA parsing failed completely: " + errors.get(0));
+            }
+        }
+
+        private void movement(Record r) {
+            char article = r.at(2);
+            if (article == '1') {
+                int sequence = r.digits(3, 6);
+                if (pending != null && !(pending.globalisation > 0 && pending.sequence == sequence)) {
+                    flush();
+                }
+                // A globalised total followed by its details is dropped
+                pending = null;
+                try {
+                    pending = Movement.decode(r, line, accountIban);
+                } catch (ParseException | DateTimeException e) {
+                    errors.add("Line " + line + ": " + e.getMessage());
+                }
+            } else if (pending != null && pending.matches(r)) {
+                if (article == '2') {
+                    r.appendText(pending.communication, 11, 63);
+                } else if (article == '3') {
+                    pending.counterpartyAccount = r.firstWord(11, 44);
+                    pending.counterpartyName = r.text(48, 82);
+                    r.appendText(pending.communication, 83, 125);
+                }
+            }
+        }
+
+        private void information(Record r) {
+            if (pending == null || !pending.matches(r)) {
+                return;
+            }
+            switch (r.at(2)) {
+                case '1' -> {
+                    pending.informationStructured = r.at(40) == '1';
+                    if (!pending.informationStructured) {
+                        r.appendText(pending.information, 41, 113);
+                    } else if (r.matches(41, "001") && pending.informationName == null) {
+                        pending.informationName = r.text(44, 113);
+                    }
+                }
+                case '2' -> {
+                    if (!pending.informationStructured) {
+                        r.appendText(pending.information, 11, 115);
+                    }
+                }
+                case '3' -> {
+                    if (!pending.informationStructured) {
+                        r.appendText(pending.information, 11, 100);
+                    }
+                }
+                default -> {
+                    // unknown article
+                }
+            }
+        }
+
+        private void flush() {
+            if (pending != null) {
+                Movement m = pending;
+                pending = null;
+                sink.accept(m.toParsed());
+                emitted++;
+            }
+        }
+    }
+
+    private static final class Movement {
+        final StringBuilder communication = new StringBuilder(64);
+        final StringBuilder information = new StringBuilder();
+        int line;
+        int sequence;
+        int detail;
+        int globalisation;
+        String accountIban;
+        String bankReference;
+        boolean debit;
+        BigDecimal amount;
+        LocalDate valueDate;
+        LocalDate entryDate;
+        String structured;
+        String counterpartyAccount;
+        String counterpartyName;
+        String informationName;
+        boolean informationStructured;
+        String rawLine;
+
+        static Movement decode(Record r, int line, String accountIban) throws ParseException {
+            Movement m = new Movement();
+            m.line = line;
+            m.accountIban = accountIban;
+            m.sequence = r.digits(3, 6);
+            m.detail = r.digits(7, 10);
+            m.bankReference = r.text(11, 31);
+            char sign = r.at(32);
+            if (sign != '0' && sign != '1') {
+                throw new ParseException("Invalid movement sign: " + sign);
+            }
+            m.debit = sign == '1';
+            long thousandths = r.number(33, 47);
+            m.amount = thousandths % 10 == 0
+                    ? BigDecimal.valueOf(thousandths / 10, 2)
+                    : BigDecimal.valueOf(thousandths, 3);
+            m.valueDate = r.date(48);
+            m.entryDate = r.date(116);
+            if (m.entryDate == null && m.valueDate == null) {
+                throw new ParseException("Missing entry date");
+            }
+            if (r.at(62) == '1') {
+                if (r.matches(63, "101") || r.matches(63, "102")) {
+                    m.structured = r.structuredCommunication(66);
+                } else {
+                    r.appendText(m.communication, 66, 115);
+                }
+            } else {
+                r.appendText(m.communication, 63, 115);
+            }
+            m.globalisation = Math.max(0, r.digits(125, 125));
+            m.rawLine = r.text(1, RECORD_LENGTH);
+            return m;
+        }
+
+        /** Whether a continuation or information record belongs to this movement. */
+        boolean matches(Record r) {
+            return r.digits(3, 6) == sequence && r.digits(7, 10) == detail;
+        }
+
+        ParsedTransaction toParsed() {
+            LocalDate date = entryDate != null ? entryDate : valueDate;
+            String name = counterpartyName != null ? counterpartyName : informationName;
+            String description = structured != null ? structured
+                    : !communication.isEmpty() ? trimmed(communication)
+                    : !information.isEmpty() ? trimmed(information)
+                    : null;
+            return ParsedTransaction.builder()
+                    .transactionDate(date)
+                    .valueDate(valueDate)
+                    .amount(amount)
+                    .direction(debit ? ParsedTransaction.Direction.EXPENSE : ParsedTransaction.Direction.INCOME)
+                    .description(description)
+                    .counterpartyName(name)
+                    .counterpartyAccount(counterpartyAccount)
+                    .accountIban(accountIban)
+                    .externalReference(bankReference)
+                    .fingerprint(FingerprintUtil.compute(date, amount, counterpartyAccount, name, description))
+                    .rawLine(rawLine)
+                    .rowNumber(line)
+                    .build();
+        }
+
+        private static String trimmed(StringBuilder sb) {
+            int end = sb.length();
+            while (end > 0 && sb.charAt(end - 1) == ' ') {
+                end--;
+            }
+            return end == 0 ? null : sb.substring(0, end);
+        }
+    }
+
+    // ─── Record decoding ──────────────────────────────────────────────────────
+
+    /**
+     * View of one record inside the read buffer. Bytes past the end of a
+     * short record (trailing blanks trimmed by the bank) read as blanks.
+     * CODA files are Latin-1.
+     */
+    private static final class Record {
+        final byte[] bytes;
+        int offset;
+        int length;
+
+        Record(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        void point(int offset, int length) {
+            this.offset = offset;
+            this.length = length;
+        }
+
+        char at(int pos) {
+            int i = pos - 1;
+            return i < length ? (char) (bytes[offset + i] & 0xFF) : ' ';
+        }
+
+        boolean blank(int from, int to) {
+            for (int pos = from; pos <= to; pos++) {
+                if (at(pos) != ' ') {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        boolean matches(int from, String expected) {
+            for (int i = 0; i < expected.length(); i++) {
+                if (at(from + i) != expected.charAt(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /** Unsigned number in [from, to]; -1 if a position is not a digit. */
+        int digits(int from, int to) {
+            int value = 0;
+            for (int pos = from; pos <= to; pos++) {
+                char c = at(pos);
+                if (c < '0' || c > '9') {
+                    return -1;
+                }
+                value = value * 10 + (c - '0');
+            }
+            return value;
+        }
+
+        long number(int from, int to) throws ParseException {
+            long value = 0;
+            for (int pos = from; pos <= to; pos++) {
+                char c = at(pos);
+                if (c < '0' || c > '9') {
+                    throw new ParseException("Invalid number at position " + from + ": " + text(from, to));
+                }
+                value = value * 10 + (c - '0');
+            }
+            return value;
+        }
+
+        /** DDMMYY at {@code from}; null when zero or blank. */
+        LocalDate date(int from) throws ParseException {
+            if (blank(from, from + 5) || matches(from, "000000")) {
+                return null;
+            }
+            int day = (int) number(from, from + 1);
+            int month = (int) number(from + 2, from + 3);
+            int year = (int) number(from + 4, from + 5);
+            return LocalDate.of(2000 + year, month, day);
+        }
+
+        /** Trimmed text of [from, to]; null when blank. */
+        String text(int from, int to) {
+            int start = from - 1;
+            int end = Math.min(to, length);
+            while (start < end && bytes[offset + start] == ' ') {
+                start++;
+            }
+            while (end > start && bytes[offset + end - 1] == ' ') {
+                end--;
+            }
+            return end > start ? new String(bytes, offset + start, end - start, StandardCharsets.ISO_8859_1) : null;
+        }
+
+        /** Text of the first word of [from, to] (account number without its currency). */
+        String firstWord(int from, int to) {
+            String text = text(from, to);
+            if (text == null) {
+                return null;
+            }
+            int space = text.indexOf(' ');
+            return space < 0 ? text : text.substring(0, space);
+        }
+
+        /**
+         * Appends [from, to] to {@code sb} with runs of blanks collapsed.
+         * Communications continue across records mid-word, so fields are
+         * joined as-is.
+         */
+        void appendText(StringBuilder sb, int from, int to) {
+            for (int pos = from; pos <= to; pos++) {
+                char c = at(pos);
+                if (c == ' ' && (sb.isEmpty() || sb.charAt(sb.length() - 1) == ' ')) {
+                    continue;
+                }
+                sb.append(c);
+            }
+        }
+
+        /** Belgian structured communication: 12 digits → +++123/4567/89012+++. */
+        String structuredCommunication(int from) {
+            if (!isDigits(from, from + 11)) {
+                return text(from, from + 11);
+            }
+            StringBuilder sb = new StringBuilder(20).append("+++");
+            for (int i = 0; i < 12; i++) {
+                if (i == 3 || i == 7) {
+                    sb.append('/');
+                }
+                sb.append(at(from + i));
+            }
+            return sb.append("+++").toString();
+        }
+
+        private boolean isDigits(int from, int to) {
+            for (int pos = from; pos <= to; pos++) {
+                char c = at(pos);
+                if (c < '0' || c > '9') {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.immocare.model.entity;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.springframework.stereotype.Component;
+
+import com.immocare.exception.ParseException;
+import com.immocare.model.dto.CsvMappingConfig;
+import com.immocare.service.PlatformConfigService;
+
+/**
+ * Parser for any bank CSV export, driven by the csv.import.* platform
+ * settings (delimiter, date format, header rows, column of each field).
+ *
+ * The settings are compiled into a {@link CsvParsePlan} on first use and
+ * kept until one of them changes, so an upload reads no config at all.
+ * Rows are streamed to the caller; the amount sign gives the direction
+ * (negative = EXPENSE). BOM (UTF-8 \uFEFF) stripped automatically.
+ */
+@Component
+public class ConfigurableCsvParser implements TransactionParser {
+
+    public static final String CODE = "configurable-csv-20261019";
+
+    private record CompiledPlan(long version, CsvParsePlan plan) {
+    }
+
+    private final PlatformConfigService platformConfigService;
+
+    private volatile CompiledPlan compiled;
+
+    public ConfigurableCsvParser(PlatformConfigService platformConfigService) {
+        this.platformConfigService = platformConfigService;
+    }
+
+    @Override
+    public String getCode() {
+        return CODE;
+    }
+
+    @Override
+    public String getDescription() {
+        return "CSV configurable — colonnes, séparateur et format de date définis dans les paramètres (csv.import.*)";
+    }
+
+    /** The plan for the current settings, compiled again only after they change. */
+    public CsvParsePlan plan() {
+        long version = platformConfigService.version();
+        CompiledPlan current = compiled;
+        if (current == null || current.version() != version) {
+            current = new CompiledPlan(version, CsvParsePlan.compile(readConfig()));
+            compiled = current;
+        }
+        return current.plan();
+    }
+
+    @Override
+    public List<ParsedTransaction> parse(InputStream input) throws ParseException {
+        List<ParsedTransaction> results = new ArrayList<>();
+        parse(input, results::add);
+        return results;
+    }
+
+    @Override
+    public void parse(InputStream input, Consumer<ParsedTransaction> sink) throws ParseException {
+        CsvParsePlan plan;
+        try {
+            plan = plan();
+        } catch (IllegalArgumentException e) {
+            throw new ParseException("Invalid CSV import settings: " + e.getMessage(), e);
+        }
+        parse(plan, input, sink);
+    }
+
+    /** Streams {@code input} through {@code plan}; malformed rows are skipped unless none parse. */
+    public static void parse(CsvParsePlan plan, InputStream input, Consumer<ParsedTransaction> sink)
+            throws ParseException {
+        List<String> errors = new ArrayList<>();
+        int emitted = 0;
+        CsvParsePlan.Cursor cursor = plan.cursor();
+
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(input, StandardCharsets.UTF_8), 1 << 16)) {
+
+            String line;
+            int rowNumber = 0;
+
+            while ((line = reader.readLine()) != null) {
+                rowNumber++;
+                if (rowNumber == 1 && !line.isEmpty() && line.charAt(0) == '\uFEFF') {
+                    line = line.substring(1);
+                }
+                if (rowNumber <= plan.skipHeaderRows() || line.isBlank()) {
+                    continue;
+                }
+
+                ParsedTransaction row;
+                try {
+                    row = plan.parse(line, rowNumber, cursor);
+                } catch (ParseException e) {
+                    errors.add("Row " + rowNumber + ": " + e.getMessage());
+                    continue;
+                }
+                sink.accept(row);
+                emitted++;
+            }
+        } catch (IOException e) {
+            throw new ParseException("Failed to read CSV file: " + e.getMessage(), e);
+        }
+
+        if (!errors.isEmpty() && emitted == 0) {
+            throw new ParseException("CSV parsing failed completely: " + errors.get(0));
+        }
+    }
+
+    private CsvMappingConfig readConfig() {
+        return new CsvMappingConfig(
+                platformConfigService.getString("csv.import.delimiter", ";"),
+                platformConfigService.getString("csv.import.date_format", "dd/MM/yyyy"),
+                platformConfigService.getInt("csv.import.skip_header_rows", 1),
+                platformConfigService.getInt("csv.import.col.date", 0),
+                platformConfigService.getInt("csv.import.col.amount", 1),
+                platformConfigService.getInt("csv.import.col.description", 2),
+                platformConfigService.getInt("csv.import.col.counterparty_name", 3),
+                platformConfigService.getInt("csv.import.col.counterparty_account", 4),
+                platformConfigService.getInt("csv.import.col.external_reference", 5),
+                platformConfigService.getInt("csv.import.col.bank_account", 6),
+                platformConfigService.getInt("csv.import.col.value_date", -1),
+                platformConfigService.getInt("csv.import.suggestion.confidence.threshold", 3));
+    }
+}
@@ -0,0 +1,259 @@
+package com.immocare.model.entity;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+import com.immocare.exception.ParseException;
+import com.immocare.model.dto.CsvMappingConfig;
+
+/**
+ * Immutable parse plan compiled once from a {@link CsvMappingConfig}: the
+ * delimiter resolved to a literal (a single char gets its own fast path),
+ * the date formatter built, and each mapped column turned into an index
+ * into the field bounds of the current line.
+ *
+ * A line is tokenized once into field offsets, without regex or
+ * intermediate arrays of Strings; only mapped columns are materialised.
+ * Quoted fields may hold the delimiter and doubled quotes ("" → ").
+ *
+ * Instances are thread-safe; the per-line state lives in a {@link Cursor}.
+ */
+public final class CsvParsePlan {
+
+    private static final char QUOTE = '"';
+    private static final int UNMAPPED = -1;
+
+    private final CsvMappingConfig config;
+    private final String delimiter;
+    private final char delimiterChar;
+    private final boolean singleCharDelimiter;
+    private final DateTimeFormatter dateFormat;
+    private final int maxColumn;
+
+    private CsvParsePlan(CsvMappingConfig config) {
+        this.config = config;
+        this.delimiter = unescape(config.delimiter());
+        if (delimiter.isEmpty()) {
+            throw new IllegalArgumentException("CSV delimiter must not be empty");
+        }
+        this.singleCharDelimiter = delimiter.length() == 1;
+        this.delimiterChar = delimiter.charAt(0);
+        this.dateFormat = DateTimeFormatter.ofPattern(config.dateFormat());
+        if (config.colDate() < 0 || config.colAmount() < 0) {
+            throw new IllegalArgumentException("CSV date and amount columns must be mapped");
+        }
+        this.maxColumn = Math.max(Math.max(Math.max(config.colDate(), config.colAmount()),
+                Math.max(config.colDescription(), config.colCounterpartyName())),
+                Math.max(Math.max(config.colCounterpartyAccount(), config.colExternalReference()),
+                        Math.max(config.colBankAccount(), config.colValueDate())));
+    }
+
+    /**
+     * Compiles {@code config}.
+     *
+     * @throws IllegalArgumentException if the delimiter is empty, the date
+     *                                  pattern is invalid or the date/amount
+     *                                  columns are unmapped
+     */
+    public static CsvParsePlan compile(CsvMappingConfig config) {
+        return new CsvParsePlan(config);
+    }
+
+    public CsvMappingConfig config() {
+        return config;
+    }
+
+    public int skipHeaderRows() {
+        return config.skipHeaderRows();
+    }
+
+    /** Per-thread scratch state: field bounds of the current line. */
+    public Cursor cursor() {
+        return new Cursor(maxColumn + 1);
+    }
+
+    /**
+     * Parses one data line. The sign of the amount gives the direction
+     * (negative = EXPENSE); the amount itself is stored positive.
+     */
+    public ParsedTransaction parse(String line, int rowNumber, Cursor cursor) throws ParseException {
+        cursor.tokenize(line);
+
+        String rawDate = cursor.field(config.colDate());
+        LocalDate date = parseDate(rawDate, "date");
+        String rawAmount = cursor.field(config.colAmount());
+        BigDecimal signed = parseAmount(rawAmount);
+        BigDecimal amount = signed.abs();
+
+        String description = cursor.field(config.colDescription());
+        String name = cursor.field(config.colCounterpartyName());
+        String iban = cursor.field(config.colCounterpartyAccount());
+        if ("-".equals(iban)) {
+            iban = null;
+        }
+        String valueDate = config.colValueDate() != UNMAPPED ? cursor.field(config.colValueDate()) : null;
+
+        return ParsedTransaction.builder()
+                .transactionDate(date)
+                .valueDate(valueDate != null ? parseDate(valueDate, "value date") : null)
+                .amount(amount)
+                .direction(signed.signum() < 0 ? ParsedTransaction.Direction.EXPENSE
+                        : ParsedTransaction.Direction.INCOME)
+                .description(description)
+                .counterpartyName(name)
+                .counterpartyAccount(iban)
+                .accountIban(cursor.field(config.colBankAccount()))
+                .externalReference(cursor.field(config.colExternalReference()))
+                .fingerprint(FingerprintUtil.compute(date, amount, iban, name, description))
+                .rawLine(line)
+                .rowNumber(rowNumber)
+                .build();
+    }
+
+    private LocalDate parseDate(String raw, String label) throws ParseException {
+        if (raw == null) {
+            throw new ParseException("Missing " + label);
+        }
+        try {
+            return LocalDate.parse(raw, dateFormat);
+        } catch (DateTimeParseException e) {
+            throw new ParseException("Invalid " + label + ": " + raw);
+        }
+    }
+
+    /**
+     * Signed decimal in one pass: blanks and a currency code are ignored,
+     * the last '.' or ',' is the decimal separator and earlier ones are
+     * thousands separators ("-1.234,56 EUR" → -1234.56). A lone separator
+     * is always decimal, as before ("1,234" → 1.234).
+     */
+    static BigDecimal parseAmount(String raw) throws ParseException {
+        if (raw == null) {
+            throw new ParseException("Missing amount");
+        }
+        int decimalAt = Math.max(raw.lastIndexOf('.'), raw.lastIndexOf(','));
+        long unscaled = 0;
+        int digits = 0;
+        int scale = 0;
+        boolean negative = false;
+        for (int i = 0; i < raw.length(); i++) {
+            char c = raw.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (++digits > 18) {
+                    throw new ParseException("Invalid amount: " + raw);
+                }
+                unscaled = unscaled * 10 + (c - '0');
+                if (decimalAt >= 0 && i > decimalAt) {
+                    scale++;
+                }
+            } else if (c == '-') {
+                // leading or trailing ("123,45-")
+                negative = true;
+            } else if (c == '.' || c == ',' || c == '+' || c == ' ' || c == '\u00A0' || c == '\''
+                    || Character.isLetter(c)) {
+                // separators, explicit plus sign, currency code
+            } else {
+                throw new ParseException("Invalid amount: " + raw);
+            }
+        }
+        if (digits == 0) {
+            throw new ParseException("Invalid amount: " + raw);
+        }
+        return BigDecimal.valueOf(negative ? -unscaled : unscaled, scale);
+    }
+
+    /** "\t" (as typed in the settings screen) → tab. */
+    private static String unescape(String delimiter) {
+        if (delimiter == null) {
+            return "";
+        }
+        return switch (delimiter) {
+            case "\\t", "TAB", "tab" -> "\t";
+            default -> delimiter;
+        };
+    }
+
+    /**
+     * Field bounds of one line. Fields past the last mapped column are not
+     * scanned.
+     */
+    public final class Cursor {
+        private final int[] starts;
+        private final int[] ends;
+        private final boolean[] quoted;
+        private String line;
+        private int count;
+
+        private Cursor(int columns) {
+            starts = new int[columns];
+            ends = new int[columns];
+            quoted = new boolean[columns];
+        }
+
+        void tokenize(String text) {
+            line = text;
+            count = 0;
+            int length = text.length();
+            int i = 0;
+            while (count < starts.length) {
+                boolean inQuotes = false;
+                boolean hasQuotes = false;
+                int start = i;
+                while (i < length) {
+                    char c = text.charAt(i);
+                    if (c == QUOTE) {
+                        inQuotes = !inQuotes;
+                        hasQuotes = true;
+                    } else if (!inQuotes && (singleCharDelimiter ? c == delimiterChar
+                            : text.startsWith(delimiter, i))) {
+                        break;
+                    }
+                    i++;
+                }
+                starts[count] = start;
+                ends[count] = i;
+                quoted[count] = hasQuotes;
+                count++;
+                if (i >= length) {
+                    break;
+                }
+                i += delimiter.length();
+            }
+        }
+
+        /** Trimmed, unquoted text of column {@code index}; null if blank or absent. */
+        String field(int index) {
+            if (index < 0 || index >= count) {
+                return null;
+            }
+            int start = starts[index];
+            int end = ends[index];
+            while (start < end && Character.isWhitespace(line.charAt(start))) {
+                start++;
+            }
+            while (end > start && Character.isWhitespace(line.charAt(end - 1))) {
+                end--;
+            }
+            if (start == end) {
+                return null;
+            }
+            if (!quoted[index]) {
+                return line.substring(start, end);
+            }
+            StringBuilder sb = new StringBuilder(end - start);
+            for (int i = start; i < end; i++) {
+                char c = line.charAt(i);
+                if (c != QUOTE) {
+                    sb.append(c);
+                } else if (i + 1 < end && line.charAt(i + 1) == QUOTE && i > start && i + 2 < end) {
+                    sb.append(QUOTE);
+                    i++;
+                }
+            }
+            String text = sb.toString().strip();
+            return text.isEmpty() ? null : text;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.immocare.model.entity;
+
+import java.time.LocalDateTime;
+
+import com.immocare.model.enums.DocumentOwnerType;
+import com.immocare.model.enums.DocumentTextStatus;
+import jakarta.persistence.*;
+
+/** A stored file attached to a record (see {@link DocumentOwnerType}). */
+@Entity
+@Table(name = "document")
+public class Document {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "owner_type", nullable = false, length = 30)
+    private DocumentOwnerType ownerType;
+
+    @Column(name = "owner_id", nullable = false)
+    private Long ownerId;
+
+    /** Content key in stored_file and on disk. */
+    @Column(nullable = false, length = 64)
+    private String sha256;
+
+    @Column(name = "file_name", nullable = false, length = 255)
+    private String fileName;
+
+    @Column(name = "content_type", nullable = false, length = 100)
+    private String contentType;
+
+    @Column(name = "size_bytes", nullable = false)
+    private long sizeBytes;
+
+    @Column(name = "uploaded_at", nullable = false)
+    private LocalDateTime uploadedAt;
+
+    /** Full-text extraction state; null for documents that are not PDFs. */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "text_status", length = 20)
+    private DocumentTextStatus textStatus;
+
+    @Column(name = "page_count")
+    private Integer pageCount;
+
+    @PrePersist
+    protected void onCreate() {
+        uploadedAt = LocalDateTime.now();
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public DocumentOwnerType getOwnerType() { return ownerType; }
+    public void setOwnerType(DocumentOwnerType ownerType) { this.ownerType = ownerType; }
+    public Long getOwnerId() { return ownerId; }
+    public void setOwnerId(Long ownerId) { this.ownerId = ownerId; }
+    public String getSha256() { return sha256; }
+    public void setSha256(String sha256) { this.sha256 = sha256; }
+    public String getFileName() { return fileName; }
+    public void setFileName(String fileName) { this.fileName = fileName; }
+    public String getContentType() { return contentType; }
+    public void setContentType(String contentType) { this.contentType = contentType; }
+    public long getSizeBytes() { return sizeBytes; }
+    public void setSizeBytes(long sizeBytes) { this.sizeBytes = sizeBytes; }
+    public LocalDateTime getUploadedAt() { return uploadedAt; }
+    public DocumentTextStatus getTextStatus() { return textStatus; }
+    public void setTextStatus(DocumentTextStatus textStatus) { this.textStatus = textStatus; }
+    public Integer getPageCount() { return pageCount; }
+    public void setPageCount(Integer pageCount) { this.pageCount = pageCount; }
+}
@@ -22,6 +22,7 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.OrderBy;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
@@ -104,6 +105,10 @@ public class FinancialTransaction {
     @OneToMany(mappedBy = "transaction", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     private List<TransactionAssetLink> assetLinks = new ArrayList<>();
 
+    @OneToMany(mappedBy = "transaction", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
+    @OrderBy("lineNo")
+    private List<TransactionAllocation> allocations = new ArrayList<>();
+
     @Column(name = "import_fingerprint", length = 64)
     private String importFingerprint;
 
@@ -292,6 +297,14 @@ public class FinancialTransaction {
         this.assetLinks = assetLinks;
     }
 
+    public List<TransactionAllocation> getAllocations() {
+        return allocations;
+    }
+
+    public void setAllocations(List<TransactionAllocation> allocations) {
+        this.allocations = allocations;
+    }
+
     public String getImportFingerprint() {
         return importFingerprint;
     }
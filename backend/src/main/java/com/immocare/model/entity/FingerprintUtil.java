@@ -5,6 +5,7 @@ import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.time.LocalDate;
+import java.util.HexFormat;
 
 /**
  * Generates a deterministic SHA-256 fingerprint for duplicate detection.
@@ -15,6 +16,8 @@ import java.time.LocalDate;
  */
 public final class FingerprintUtil {
 
+    private static final HexFormat HEX = HexFormat.of();
+
     private FingerprintUtil() {
     }
 
@@ -52,10 +55,7 @@ public final class FingerprintUtil {
         try {
             MessageDigest md = MessageDigest.getInstance("SHA-256");
             byte[] hash = md.digest(input.getBytes(StandardCharsets.UTF_8));
-            StringBuilder sb = new StringBuilder(64);
-            for (byte b : hash)
-                sb.append(String.format("%02x", b));
-            return sb.toString();
+            return HEX.formatHex(hash);
         } catch (NoSuchAlgorithmException e) {
             throw new IllegalStateException("SHA-256 not available", e);
         }
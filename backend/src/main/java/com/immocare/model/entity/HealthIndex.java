@@ -0,0 +1,50 @@
+package com.immocare.model.entity;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import org.springframework.data.domain.Persistable;
+
+/**
+ * Belgian health index (indice santé / gezondheidsindex) of one month, as
+ * published by Statbel. Month = first day of the month.
+ */
+@Entity
+@Table(name = "health_index")
+public class HealthIndex implements Persistable<LocalDate> {
+
+    @Id
+    @Column(name = "index_month")
+    private LocalDate month;
+
+    @Column(name = "index_value", nullable = false, precision = 8, scale = 4)
+    private BigDecimal value;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    /** Lets saveAll() persist new months without a SELECT per assigned id. */
+    @Transient
+    private boolean isNew = true;
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() { this.isNew = false; }
+
+    @PrePersist
+    @PreUpdate
+    protected void onSave() { updatedAt = LocalDateTime.now(); }
+
+    public HealthIndex() {}
+    public HealthIndex(LocalDate month, BigDecimal value) { this.month = month; this.value = value; }
+
+    public LocalDate getMonth() { return month; }
+    public BigDecimal getValue() { return value; }
+    public void setValue(BigDecimal v) { this.value = v; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+
+    @Override public LocalDate getId() { return month; }
+    @Override public boolean isNew() { return isNew; }
+}
@@ -2,6 +2,7 @@ package com.immocare.model.entity;
 
 import java.time.LocalDateTime;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
@@ -11,8 +12,12 @@ import jakarta.persistence.Table;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "catalogue.import-parser")
 @Table(name = "import_parser")
 @Getter
 @Setter
@@ -33,7 +38,7 @@ public class ImportParser {
     private String description;
 
     @Column(nullable = false, length = 10)
-    private String format; // CSV | PDF
+    private String format; // CSV | PDF | XML | CODA
 
     @Column(name = "bank_hint", length = 100)
     private String bankHint;
@@ -6,6 +6,7 @@ import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -32,6 +33,9 @@ import lombok.extern.slf4j.Slf4j;
  * Amount line: "- 1 234,56 EUR" or "+ 1 234,56 EUR" or "- 2500 EUR"
  * Spaces may appear in amounts (thousands separator): "1 234,56" → 1234.56
  *
+ * Closing balance: "Nouveau solde au 31/03/2026 + 12 345,67 EUR" (also
+ * "Solde final"); without a date it is stated at the last transaction date.
+ *
  * NOTE: Keytrade PDFs embed a font with a broken Unicode mapping for accented
  * characters. PDFBox extracts them as mojibake (e.g. "é" → "Ã©", "à" → "Ã ").
  * fixEncoding() repairs these sequences before parsing.
@@ -62,6 +66,11 @@ public class KeytradePdfParser implements TransactionParser {
             "^([+\\-])\\s*([\\d\\s]+[,.]?\\d*)\\s*EUR\\s*$",
             Pattern.CASE_INSENSITIVE);
 
+    // Closing balance: "Nouveau solde au 31/03/2026 : + 12 345,67 EUR"
+    private static final Pattern CLOSING_BALANCE_LINE = Pattern.compile(
+            "^(?:nouveau solde|solde final)(?:\\s+au)?\\s*(\\d{2}/\\d{2}/\\d{4})?\\s*:?\\s*([+\\-])?\\s*([\\d\\s]+[,.]?\\d*)\\s*EUR\\s*$",
+            Pattern.CASE_INSENSITIVE);
+
     @Override
     public String getCode() {
         return CODE;
@@ -74,6 +83,14 @@ public class KeytradePdfParser implements TransactionParser {
 
     @Override
     public List<ParsedTransaction> parse(InputStream input) throws ParseException {
+        List<ParsedTransaction> results = new ArrayList<>();
+        parse(input, results::add, balance -> { });
+        return results;
+    }
+
+    @Override
+    public void parse(InputStream input, Consumer<ParsedTransaction> sink, Consumer<ParsedBalance> balances)
+            throws ParseException {
         String text;
         try (PDDocument doc = Loader.loadPDF(input.readAllBytes())) {
             PDFTextStripper stripper = new PDFTextStripper();
@@ -90,6 +107,8 @@ public class KeytradePdfParser implements TransactionParser {
 
         List<ParsedTransaction> results = new ArrayList<>();
 
+        LocalDate lastDate = null;
+        ParsedBalance closing = null;
         LocalDate currentDate = null;
         String currentDescription = null;
         ParsedTransaction.Direction currentDirection = null;
@@ -103,6 +122,24 @@ public class KeytradePdfParser implements TransactionParser {
             if (line.isBlank())
                 continue;
 
+            // ── Closing balance (last one on the statement wins) ──────────
+            Matcher balanceMatcher = CLOSING_BALANCE_LINE.matcher(line);
+            if (balanceMatcher.matches()) {
+                try {
+                    LocalDate date = balanceMatcher.group(1) != null
+                            ? LocalDate.parse(balanceMatcher.group(1), DATE_FMT)
+                            : lastDate;
+                    BigDecimal amount = new BigDecimal(balanceMatcher.group(3).replace(" ", "").replace(",", "."));
+                    if (date != null) {
+                        closing = new ParsedBalance(null, date,
+                                "-".equals(balanceMatcher.group(2)) ? amount.negate() : amount);
+                    }
+                } catch (Exception e) {
+                    log.warn("  → BALANCE parse error line {}: [{}] — {}", i, line, e.getMessage());
+                }
+                continue;
+            }
+
             // ── Date + description line ───────────────────────────────────
             Matcher dateMatcher = DATE_LINE.matcher(line);
             if (dateMatcher.matches()) {
@@ -176,6 +213,7 @@ public class KeytradePdfParser implements TransactionParser {
                             currentDate, amount, direction,
                             currentCounterpartyName, currentCounterpartyIban);
 
+                    lastDate = currentDate;
                     results.add(ParsedTransaction.builder()
                             .transactionDate(currentDate)
                             .amount(amount)
@@ -207,7 +245,10 @@ public class KeytradePdfParser implements TransactionParser {
                     "No transactions found in PDF. Check that the file matches the expected Keytrade format.");
         }
 
-        return results;
+        results.forEach(sink);
+        if (closing != null) {
+            balances.accept(closing);
+        }
     }
 
     /**
@@ -37,6 +37,10 @@ public class Lease {
     private ChargesType chargesType = ChargesType.FORFAIT;
     @Column(name = "charges_description", columnDefinition = "TEXT") private String chargesDescription;
 
+    // ── Indexation — health index at signature (null = month before signature) ─
+    @Column(name = "base_index_value", precision = 8, scale = 4) private BigDecimal baseIndexValue;
+    @Column(name = "base_index_month")                          private LocalDate baseIndexMonth;
+
     // ── Registration — lease deed ─────────────────────────────────────────────
     @Column(name = "registration_spf",    length = 50) private String registrationSpf;
     @Column(name = "registration_region", length = 50) private String registrationRegion;
@@ -108,6 +112,12 @@ public class Lease {
     public String getChargesDescription() { return chargesDescription; }
     public void setChargesDescription(String v) { this.chargesDescription = v; }
 
+    public BigDecimal getBaseIndexValue() { return baseIndexValue; }
+    public void setBaseIndexValue(BigDecimal v) { this.baseIndexValue = v; }
+
+    public LocalDate getBaseIndexMonth() { return baseIndexMonth; }
+    public void setBaseIndexMonth(LocalDate v) { this.baseIndexMonth = v; }
+
     public String getRegistrationSpf() { return registrationSpf; }
     public void setRegistrationSpf(String v) { this.registrationSpf = v; }
 
@@ -0,0 +1,64 @@
+package com.immocare.model.entity;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * One applied rent indexation: the health index used and the rent before
+ * and after, from the anniversary (application date) on.
+ */
+@Entity
+@Table(name = "lease_indexation_history")
+public class LeaseIndexationHistory {
+
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "lease_id", nullable = false)
+    private Lease lease;
+
+    @Column(name = "calculation_date", nullable = false)
+    private LocalDate calculationDate;
+
+    @Column(name = "application_date", nullable = false)
+    private LocalDate applicationDate;
+
+    @Column(name = "old_rent", nullable = false, precision = 10, scale = 2)
+    private BigDecimal oldRent;
+
+    @Column(name = "new_index_value", nullable = false, precision = 8, scale = 4)
+    private BigDecimal newIndexValue;
+
+    @Column(name = "new_index_month", nullable = false)
+    private LocalDate newIndexMonth;
+
+    @Column(name = "applied_rent", nullable = false, precision = 10, scale = 2)
+    private BigDecimal appliedRent;
+
+    @Column(name = "notification_sent_date")
+    private LocalDate notificationSentDate;
+
+    @Column(columnDefinition = "TEXT")
+    private String notes;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() { createdAt = LocalDateTime.now(); }
+
+    public Long getId() { return id; }
+    public Lease getLease() { return lease; } public void setLease(Lease v) { this.lease = v; }
+    public LocalDate getCalculationDate() { return calculationDate; } public void setCalculationDate(LocalDate v) { this.calculationDate = v; }
+    public LocalDate getApplicationDate() { return applicationDate; } public void setApplicationDate(LocalDate v) { this.applicationDate = v; }
+    public BigDecimal getOldRent() { return oldRent; } public void setOldRent(BigDecimal v) { this.oldRent = v; }
+    public BigDecimal getNewIndexValue() { return newIndexValue; } public void setNewIndexValue(BigDecimal v) { this.newIndexValue = v; }
+    public LocalDate getNewIndexMonth() { return newIndexMonth; } public void setNewIndexMonth(LocalDate v) { this.newIndexMonth = v; }
+    public BigDecimal getAppliedRent() { return appliedRent; } public void setAppliedRent(BigDecimal v) { this.appliedRent = v; }
+    public LocalDate getNotificationSentDate() { return notificationSentDate; } public void setNotificationSentDate(LocalDate v) { this.notificationSentDate = v; }
+    public String getNotes() { return notes; } public void setNotes(String v) { this.notes = v; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+}
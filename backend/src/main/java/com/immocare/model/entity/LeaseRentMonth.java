@@ -0,0 +1,52 @@
+package com.immocare.model.entity;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import org.springframework.data.domain.Persistable;
+
+/**
+ * Expected vs paid rent of one lease for one month (first day of month).
+ * Derived data — maintained by RentLedgerService.
+ */
+@Entity
+@Table(name = "lease_rent_month")
+@IdClass(LeaseRentMonthId.class)
+public class LeaseRentMonth implements Persistable<LeaseRentMonthId> {
+
+    @Id
+    @Column(name = "lease_id")
+    private Long leaseId;
+
+    @Id
+    @Column(name = "rent_month")
+    private LocalDate month;
+
+    @Column(name = "expected_amount", nullable = false, precision = 12, scale = 2)
+    private BigDecimal expectedAmount = BigDecimal.ZERO;
+
+    @Column(name = "paid_amount", nullable = false, precision = 12, scale = 2)
+    private BigDecimal paidAmount = BigDecimal.ZERO;
+
+    /** Lets saveAll() persist new rows without a SELECT per assigned id. */
+    @Transient
+    private boolean isNew = true;
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() { this.isNew = false; }
+
+    public LeaseRentMonth() {}
+    public LeaseRentMonth(Long leaseId, LocalDate month) { this.leaseId = leaseId; this.month = month; }
+
+    public Long getLeaseId() { return leaseId; }
+    public LocalDate getMonth() { return month; }
+    public BigDecimal getExpectedAmount() { return expectedAmount; }
+    public void setExpectedAmount(BigDecimal v) { this.expectedAmount = v; }
+    public BigDecimal getPaidAmount() { return paidAmount; }
+    public void setPaidAmount(BigDecimal v) { this.paidAmount = v; }
+
+    @Override public LeaseRentMonthId getId() { return new LeaseRentMonthId(leaseId, month); }
+    @Override public boolean isNew() { return isNew; }
+}
@@ -0,0 +1,17 @@
+package com.immocare.model.entity;
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+public class LeaseRentMonthId implements Serializable {
+    private Long leaseId;
+    private LocalDate month;
+    public LeaseRentMonthId() {}
+    public LeaseRentMonthId(Long leaseId, LocalDate month) { this.leaseId = leaseId; this.month = month; }
+    public Long getLeaseId() { return leaseId; }
+    public void setLeaseId(Long leaseId) { this.leaseId = leaseId; }
+    public LocalDate getMonth() { return month; }
+    public void setMonth(LocalDate month) { this.month = month; }
+    @Override public boolean equals(Object o) { if (this == o) return true; if (!(o instanceof LeaseRentMonthId)) return false; LeaseRentMonthId that = (LeaseRentMonthId) o; return Objects.equals(leaseId, that.leaseId) && Objects.equals(month, that.month); }
+    @Override public int hashCode() { return Objects.hash(leaseId, month); }
+}
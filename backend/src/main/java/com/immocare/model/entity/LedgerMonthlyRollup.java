@@ -0,0 +1,62 @@
+package com.immocare.model.entity;
+
+import com.immocare.model.enums.TransactionDirection;
+import com.immocare.model.enums.TransactionStatus;
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Pre-aggregated transaction totals per accounting month and dimension key.
+ * Derived data — maintained by LedgerRollupService, never edited directly.
+ * Dimension ids are plain columns (no associations): a deleted building or
+ * subcategory simply resolves to "unassigned".
+ */
+@Entity
+@Table(name = "ledger_monthly_rollup")
+public class LedgerMonthlyRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "accounting_month", nullable = false)
+    private LocalDate accountingMonth;
+
+    @Column(name = "building_id")
+    private Long buildingId;
+
+    @Column(name = "housing_unit_id")
+    private Long housingUnitId;
+
+    @Column(name = "bank_account_id")
+    private Long bankAccountId;
+
+    @Column(name = "subcategory_id")
+    private Long subcategoryId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private TransactionDirection direction;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private TransactionStatus status;
+
+    @Column(name = "total_amount", nullable = false, precision = 14, scale = 2)
+    private BigDecimal totalAmount = BigDecimal.ZERO;
+
+    @Column(name = "tx_count", nullable = false)
+    private long txCount;
+
+    public Long getId() { return id; }
+    public LocalDate getAccountingMonth() { return accountingMonth; }
+    public Long getBuildingId() { return buildingId; }
+    public Long getHousingUnitId() { return housingUnitId; }
+    public Long getBankAccountId() { return bankAccountId; }
+    public Long getSubcategoryId() { return subcategoryId; }
+    public TransactionDirection getDirection() { return direction; }
+    public TransactionStatus getStatus() { return status; }
+    public BigDecimal getTotalAmount() { return totalAmount; }
+    public long getTxCount() { return txCount; }
+}
@@ -0,0 +1,47 @@
+package com.immocare.model.entity;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import org.springframework.data.domain.Persistable;
+
+/**
+ * Consumption of one meter in one month (first day of month).
+ * Derived data — maintained by MeterReadingService.
+ */
+@Entity
+@Table(name = "meter_consumption_month")
+@IdClass(MeterConsumptionMonthId.class)
+public class MeterConsumptionMonth implements Persistable<MeterConsumptionMonthId> {
+
+    @Id
+    @Column(name = "meter_id")
+    private Long meterId;
+
+    @Id
+    @Column(name = "consumption_month")
+    private LocalDate month;
+
+    @Column(name = "consumption", nullable = false, precision = 14, scale = 3)
+    private BigDecimal consumption = BigDecimal.ZERO;
+
+    /** Lets saveAll() persist new rows without a SELECT per assigned id. */
+    @Transient
+    private boolean isNew = true;
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() { this.isNew = false; }
+
+    public MeterConsumptionMonth() {}
+    public MeterConsumptionMonth(Long meterId, LocalDate month) { this.meterId = meterId; this.month = month; }
+
+    public Long getMeterId() { return meterId; }
+    public LocalDate getMonth() { return month; }
+    public BigDecimal getConsumption() { return consumption; }
+    public void setConsumption(BigDecimal v) { this.consumption = v; }
+
+    @Override public MeterConsumptionMonthId getId() { return new MeterConsumptionMonthId(meterId, month); }
+    @Override public boolean isNew() { return isNew; }
+}
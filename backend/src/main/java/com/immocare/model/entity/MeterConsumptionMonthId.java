@@ -0,0 +1,17 @@
+package com.immocare.model.entity;
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+public class MeterConsumptionMonthId implements Serializable {
+    private Long meterId;
+    private LocalDate month;
+    public MeterConsumptionMonthId() {}
+    public MeterConsumptionMonthId(Long meterId, LocalDate month) { this.meterId = meterId; this.month = month; }
+    public Long getMeterId() { return meterId; }
+    public void setMeterId(Long meterId) { this.meterId = meterId; }
+    public LocalDate getMonth() { return month; }
+    public void setMonth(LocalDate month) { this.month = month; }
+    @Override public boolean equals(Object o) { if (this == o) return true; if (!(o instanceof MeterConsumptionMonthId)) return false; MeterConsumptionMonthId that = (MeterConsumptionMonthId) o; return Objects.equals(meterId, that.meterId) && Objects.equals(month, that.month); }
+    @Override public int hashCode() { return Objects.hash(meterId, month); }
+}
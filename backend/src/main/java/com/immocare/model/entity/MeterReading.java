@@ -0,0 +1,62 @@
+package com.immocare.model.entity;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Index of one meter on one day — append-only. {@code consumption} is the
+ * delta since the meter's previous reading, maintained by MeterReadingService.
+ */
+@Entity
+@Table(name = "meter_reading")
+public class MeterReading {
+
+    public static final String SOURCE_MANUAL = "MANUAL";
+    public static final String SOURCE_CSV = "CSV";
+    public static final String SOURCE_REPLACEMENT = "REPLACEMENT";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "meter_id", nullable = false, updatable = false)
+    private Long meterId;
+
+    @Column(name = "reading_date", nullable = false, updatable = false)
+    private LocalDate readingDate;
+
+    @Column(name = "reading_value", nullable = false, updatable = false, precision = 14, scale = 3)
+    private BigDecimal readingValue;
+
+    @Column(name = "consumption", nullable = false, precision = 14, scale = 3)
+    private BigDecimal consumption = BigDecimal.ZERO;
+
+    @Column(name = "source", nullable = false, updatable = false, length = 20)
+    private String source;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    void onCreate() { this.createdAt = LocalDateTime.now(); }
+
+    protected MeterReading() {}
+
+    public MeterReading(Long meterId, LocalDate readingDate, BigDecimal readingValue, String source) {
+        this.meterId = meterId;
+        this.readingDate = readingDate;
+        this.readingValue = readingValue;
+        this.source = source;
+    }
+
+    public Long getId() { return id; }
+    public Long getMeterId() { return meterId; }
+    public LocalDate getReadingDate() { return readingDate; }
+    public BigDecimal getReadingValue() { return readingValue; }
+    public BigDecimal getConsumption() { return consumption; }
+    public void setConsumption(BigDecimal v) { this.consumption = v; }
+    public String getSource() { return source; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+}
@@ -0,0 +1,13 @@
+package com.immocare.model.entity;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Closing balance printed on a statement, as extracted by a parser.
+ *
+ * @param accountIban own account IBAN, null when the file does not name it
+ * @param date        date the balance is stated at (end of that day)
+ * @param balance     signed balance, negative when overdrawn
+ */
+public record ParsedBalance(String accountIban, LocalDate date, BigDecimal balance) {}
@@ -18,6 +18,9 @@ public class ParsedTransaction {
     /** Transaction date from the file. */
     LocalDate transactionDate;
 
+    /** Value date, when the file carries one. */
+    LocalDate valueDate;
+
     /** Amount — always positive. */
     BigDecimal amount;
 
@@ -36,6 +39,12 @@ public class ParsedTransaction {
     /** Counterparty IBAN (may be null for card payments). */
     String counterpartyAccount;
 
+    /** Own account IBAN, for files covering several accounts (null otherwise). */
+    String accountIban;
+
+    /** Bank reference of the entry (e.g. CAMT AcctSvcrRef), if any. */
+    String externalReference;
+
     /** Computed fingerprint for duplicate detection. */
     String fingerprint;
 
@@ -2,6 +2,7 @@ package com.immocare.model.entity;
 
 import java.time.LocalDateTime;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
@@ -10,6 +11,8 @@ import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * Platform-wide configuration entry — UC012.
@@ -18,6 +21,8 @@ import lombok.Setter;
  * Keys are defined as constants in {@link com.immocare.model.dto.PlatformConfigKey}.
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "catalogue.platform-config")
 @Table(name = "platform_config")
 @Getter
 @Setter
@@ -0,0 +1,44 @@
+package com.immocare.model.entity;
+
+import com.immocare.model.enums.AllocationKey;
+import jakarta.persistence.*;
+
+/**
+ * A recoverable expense subcategory of one building and the key splitting
+ * its shared costs between units. {@code meterType} is set for
+ * CONSUMPTION keys only.
+ */
+@Entity
+@Table(name = "service_charge_key")
+public class ServiceChargeKey {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "building_id", nullable = false)
+    private Building building;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "subcategory_id", nullable = false)
+    private TagSubcategory subcategory;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "allocation_key", nullable = false, length = 20)
+    private AllocationKey allocationKey;
+
+    @Column(name = "meter_type", length = 20)
+    private String meterType;
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public Building getBuilding() { return building; }
+    public void setBuilding(Building building) { this.building = building; }
+    public TagSubcategory getSubcategory() { return subcategory; }
+    public void setSubcategory(TagSubcategory subcategory) { this.subcategory = subcategory; }
+    public AllocationKey getAllocationKey() { return allocationKey; }
+    public void setAllocationKey(AllocationKey allocationKey) { this.allocationKey = allocationKey; }
+    public String getMeterType() { return meterType; }
+    public void setMeterType(String meterType) { this.meterType = meterType; }
+}
@@ -0,0 +1,37 @@
+package com.immocare.model.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+
+/**
+ * One distinct file content on disk, keyed by its SHA-256. Written by native
+ * upserts in StoredFileRepository only — read-only here.
+ */
+@Entity
+@Table(name = "stored_file")
+public class StoredFile {
+
+    @Id
+    @Column(length = 64)
+    private String sha256;
+
+    @Column(name = "size_bytes", nullable = false)
+    private long sizeBytes;
+
+    @Column(name = "ref_count", nullable = false)
+    private int refCount;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    /** When the last document referencing the content was removed; null while referenced. */
+    @Column(name = "released_at")
+    private LocalDateTime releasedAt;
+
+    public String getSha256() { return sha256; }
+    public long getSizeBytes() { return sizeBytes; }
+    public int getRefCount() { return refCount; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public LocalDateTime getReleasedAt() { return releasedAt; }
+}
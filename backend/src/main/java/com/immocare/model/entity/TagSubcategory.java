@@ -2,9 +2,13 @@ package com.immocare.model.entity;
 
 import com.immocare.model.enums.SubcategoryDirection;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.LocalDateTime;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "catalogue.tag-subcategory")
 @Table(name = "tag_subcategory")
 public class TagSubcategory {
 
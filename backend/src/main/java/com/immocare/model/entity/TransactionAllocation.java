@@ -0,0 +1,47 @@
+package com.immocare.model.entity;
+
+import java.math.BigDecimal;
+
+import com.immocare.model.enums.AllocationMethod;
+import jakarta.persistence.*;
+
+/** One unit's share of a grouped expense. */
+@Entity
+@Table(name = "transaction_allocation")
+public class TransactionAllocation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "transaction_id", nullable = false)
+    private FinancialTransaction transaction;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "housing_unit_id", nullable = false)
+    private HousingUnit housingUnit;
+
+    @Column(name = "line_no", nullable = false)
+    private int lineNo;
+
+    @Column(nullable = false, precision = 12, scale = 2)
+    private BigDecimal amount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private AllocationMethod method;
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public FinancialTransaction getTransaction() { return transaction; }
+    public void setTransaction(FinancialTransaction transaction) { this.transaction = transaction; }
+    public HousingUnit getHousingUnit() { return housingUnit; }
+    public void setHousingUnit(HousingUnit housingUnit) { this.housingUnit = housingUnit; }
+    public int getLineNo() { return lineNo; }
+    public void setLineNo(int lineNo) { this.lineNo = lineNo; }
+    public BigDecimal getAmount() { return amount; }
+    public void setAmount(BigDecimal amount) { this.amount = amount; }
+    public AllocationMethod getMethod() { return method; }
+    public void setMethod(AllocationMethod method) { this.method = method; }
+}
@@ -2,6 +2,7 @@ package com.immocare.model.entity;
 
 import java.io.InputStream;
 import java.util.List;
+import java.util.function.Consumer;
 
 import com.immocare.exception.ParseException;
 import com.immocare.repository.TransactionParserRegistry;
@@ -31,6 +32,34 @@ public interface TransactionParser {
      */
     List<ParsedTransaction> parse(InputStream input) throws ParseException;
 
+    /**
+     * Parse the input stream, handing each row to {@code sink} as soon as it
+     * is read. Streaming parsers override this to keep memory constant on
+     * large files; the default collects {@link #parse(InputStream)}.
+     *
+     * @param input raw file bytes
+     * @param sink  receives rows in file order
+     * @throws ParseException if the file is unreadable or malformed
+     */
+    default void parse(InputStream input, Consumer<ParsedTransaction> sink) throws ParseException {
+        parse(input).forEach(sink);
+    }
+
+    /**
+     * Parse the input stream, also handing the closing balances printed on
+     * the statement to {@code balances}. Parsers of formats that carry no
+     * balance keep this default, which reports none.
+     *
+     * @param input    raw file bytes
+     * @param sink     receives rows in file order
+     * @param balances receives statement closing balances
+     * @throws ParseException if the file is unreadable or malformed
+     */
+    default void parse(InputStream input, Consumer<ParsedTransaction> sink, Consumer<ParsedBalance> balances)
+            throws ParseException {
+        parse(input, sink);
+    }
+
     /** Human-readable description shown in import UI. */
     default String getDescription() {
         return "";
@@ -0,0 +1,4 @@
+package com.immocare.model.enums;
+
+/** How a shared building cost is split between its units. */
+public enum AllocationKey { SURFACE, CONSUMPTION, EQUAL }
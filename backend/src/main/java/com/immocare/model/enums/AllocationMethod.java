@@ -0,0 +1,4 @@
+package com.immocare.model.enums;
+
+/** How an expense shared by several units was split into allocation lines. */
+public enum AllocationMethod { FIXED, UNIT_SURFACE, ROOM_SURFACE }
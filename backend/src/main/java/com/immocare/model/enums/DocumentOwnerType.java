@@ -0,0 +1,4 @@
+package com.immocare.model.enums;
+
+/** Record a stored document is attached to. */
+public enum DocumentOwnerType { PEB_SCORE, BOILER_SERVICE, FIRE_EXTINGUISHER_REVISION, LEASE, FINANCIAL_TRANSACTION }
@@ -0,0 +1,3 @@
+package com.immocare.model.enums;
+
+public enum DocumentTextStatus { PENDING, INDEXED, FAILED }
@@ -1,10 +1,15 @@
 package com.immocare.repository;
 
 import com.immocare.model.entity.AccountingMonthRule;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -24,4 +29,42 @@ public interface AccountingMonthRuleRepository extends JpaRepository<AccountingM
         Long subcategoryId, String counterpartyAccount);
 
     Optional<AccountingMonthRule> findBySubcategoryIdAndCounterpartyAccountIsNull(Long subcategoryId);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "accounting_month_rule"))
+    @Modifying
+    @Query(value = "DELETE FROM accounting_month_rule", nativeQuery = true)
+    int deleteAllRows();
+
+    /**
+     * One rule per (subcategory, counterparty account) of CONFIRMED or
+     * RECONCILED transactions. The offset is the most frequent gap, in months,
+     * between the accounting month and the transaction date.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "accounting_month_rule"))
+    @Modifying
+    @Query(value = """
+        INSERT INTO accounting_month_rule (subcategory_id, counterparty_account, month_offset, confidence, last_matched_at)
+        SELECT subcategory_id, MIN(counterparty_account),
+               MODE() WITHIN GROUP (ORDER BY
+                   CAST((EXTRACT(YEAR FROM accounting_month) - EXTRACT(YEAR FROM transaction_date)) * 12
+                        + EXTRACT(MONTH FROM accounting_month) - EXTRACT(MONTH FROM transaction_date) AS INTEGER)),
+               COUNT(*), MAX(updated_at)
+        FROM financial_transaction
+        WHERE subcategory_id IS NOT NULL
+        AND TRIM(counterparty_account) <> ''
+        AND status IN ('CONFIRMED', 'RECONCILED')
+        GROUP BY subcategory_id, LOWER(counterparty_account)
+        """, nativeQuery = true)
+    int insertFromTransactions();
+
+    @Modifying
+    @Query("""
+        UPDATE AccountingMonthRule r SET r.confidence = CASE WHEN r.confidence > 1 THEN r.confidence / 2 ELSE 1 END
+        WHERE r.lastMatchedAt < :before
+        """)
+    int halveConfidenceMatchedBefore(@Param("before") LocalDateTime before);
+
+    @Modifying
+    @Query("DELETE FROM AccountingMonthRule r WHERE r.lastMatchedAt < :before")
+    int deleteMatchedBefore(@Param("before") LocalDateTime before);
 }
@@ -1,15 +1,26 @@
 package com.immocare.repository;
 
 import com.immocare.model.entity.BankAccount;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
 
 public interface BankAccountRepository extends JpaRepository<BankAccount, Long> {
 
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "catalogue.queries") })
     List<BankAccount> findAllByOrderByLabelAsc();
 
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "catalogue.queries") })
     List<BankAccount> findByIsActiveTrueOrderByLabelAsc();
 
     boolean existsByLabelIgnoreCase(String label);
@@ -20,5 +31,16 @@ public interface BankAccountRepository extends JpaRepository<BankAccount, Long>
 
     boolean existsByAccountNumberAndIdNot(String accountNumber, Long id);
 
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "catalogue.queries") })
     Optional<BankAccount> findByAccountNumber(String accountNumber);
+
+    /** Locks the account row until commit; serialises the balance refreshes of one account. */
+    @Query(value = "SELECT id FROM bank_account WHERE id = :id FOR UPDATE", nativeQuery = true)
+    Optional<Long> lockById(@Param("id") Long id);
+
+    /** Locks every account row until commit, in id order as balance refreshes take them. */
+    @Query(value = "SELECT id FROM bank_account ORDER BY id FOR UPDATE", nativeQuery = true)
+    List<Long> lockAll();
 }
@@ -0,0 +1,80 @@
+package com.immocare.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import com.immocare.model.entity.BankBalanceMonth;
+import com.immocare.model.entity.BankBalanceMonthId;
+
+public interface BankBalanceMonthRepository extends JpaRepository<BankBalanceMonth, BankBalanceMonthId> {
+
+    /** Latest checkpoint strictly before {@code month} — one primary-key index probe. */
+    Optional<BankBalanceMonth> findFirstByBankAccountIdAndMonthLessThanOrderByMonthDesc(
+            Long bankAccountId, LocalDate month);
+
+    List<BankBalanceMonth> findByBankAccountIdAndMonthBetweenOrderByMonth(
+            Long bankAccountId, LocalDate from, LocalDate to);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "bank_balance_month"))
+    @Modifying
+    @Query(value = "DELETE FROM bank_balance_month WHERE bank_account_id = :accountId AND balance_month >= :from",
+            nativeQuery = true)
+    int deleteFrom(@Param("accountId") Long accountId, @Param("from") LocalDate from);
+
+    /**
+     * Recomputes the checkpoints of one account from {@code from} (first day
+     * of a month) onwards: monthly sums of signed movements, running total by
+     * window function on top of {@code base}, the closing balance before
+     * {@code from}.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "bank_balance_month"))
+    @Modifying
+    @Query(value = """
+            INSERT INTO bank_balance_month (bank_account_id, balance_month, net_amount, tx_count, closing_balance)
+            SELECT :accountId, balance_month, net_amount, tx_count,
+                   CAST(:base AS NUMERIC) + SUM(net_amount) OVER (ORDER BY balance_month)
+            FROM (
+                SELECT CAST(date_trunc('month', transaction_date) AS DATE) AS balance_month,
+                       SUM(CASE WHEN direction = 'INCOME' THEN amount ELSE -amount END) AS net_amount,
+                       COUNT(*) AS tx_count
+                FROM financial_transaction
+                WHERE bank_account_id = :accountId AND transaction_date >= :from
+                GROUP BY CAST(date_trunc('month', transaction_date) AS DATE)
+            ) m
+            """, nativeQuery = true)
+    int insertFrom(@Param("accountId") Long accountId, @Param("from") LocalDate from,
+            @Param("base") BigDecimal base);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "bank_balance_month"))
+    @Modifying
+    @Query(value = "DELETE FROM bank_balance_month", nativeQuery = true)
+    int deleteAllRows();
+
+    /** Full recomputation of every account's checkpoints. */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "bank_balance_month"))
+    @Modifying
+    @Query(value = """
+            INSERT INTO bank_balance_month (bank_account_id, balance_month, net_amount, tx_count, closing_balance)
+            SELECT bank_account_id, balance_month, net_amount, tx_count,
+                   SUM(net_amount) OVER (PARTITION BY bank_account_id ORDER BY balance_month)
+            FROM (
+                SELECT bank_account_id, CAST(date_trunc('month', transaction_date) AS DATE) AS balance_month,
+                       SUM(CASE WHEN direction = 'INCOME' THEN amount ELSE -amount END) AS net_amount,
+                       COUNT(*) AS tx_count
+                FROM financial_transaction
+                WHERE bank_account_id IS NOT NULL
+                GROUP BY bank_account_id, CAST(date_trunc('month', transaction_date) AS DATE)
+            ) m
+            """, nativeQuery = true)
+    int insertFromTransactions();
+}
@@ -0,0 +1,18 @@
+package com.immocare.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.immocare.model.entity.BankStatementBalance;
+
+public interface BankStatementBalanceRepository extends JpaRepository<BankStatementBalance, Long> {
+
+    List<BankStatementBalance> findByBankAccountIdOrderByBalanceDate(Long bankAccountId);
+
+    Optional<BankStatementBalance> findByBankAccountIdAndBalanceDate(Long bankAccountId, LocalDate balanceDate);
+
+    Optional<BankStatementBalance> findFirstByBankAccountIdOrderByBalanceDate(Long bankAccountId);
+}
@@ -20,4 +20,12 @@ public interface BoilerRepository extends JpaRepository<Boiler, Long> {
     /** Boilers whose next service date is on or before the given date (for alerts). */
     @Query("SELECT b FROM Boiler b WHERE b.nextServiceDate IS NOT NULL AND b.nextServiceDate <= :threshold")
     List<Boiler> findBoilersWithServiceDueBefore(@Param("threshold") LocalDate threshold);
+
+    /** Boilers installed on {@code date} and not removed yet. */
+    @Query("""
+            SELECT b FROM Boiler b
+            WHERE b.installationDate <= :date AND (b.removalDate IS NULL OR b.removalDate > :date)
+            ORDER BY b.installationDate
+            """)
+    List<Boiler> findInstalledOn(@Param("date") LocalDate date);
 }
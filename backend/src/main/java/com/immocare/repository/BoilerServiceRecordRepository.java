@@ -1,9 +1,12 @@
 package com.immocare.repository;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.immocare.model.entity.BoilerServiceRecord;
 
@@ -15,4 +18,12 @@ public interface BoilerServiceRecordRepository extends JpaRepository<BoilerServi
 
     /** Latest record for validity badge computation (US066). */
     Optional<BoilerServiceRecord> findTopByBoilerIdOrderByServiceDateDesc(Long boilerId);
+
+    /** Latest service of every boiler on or before {@code date}. */
+    @Query("""
+            SELECT s FROM BoilerServiceRecord s
+            WHERE s.serviceDate = (SELECT MAX(s2.serviceDate) FROM BoilerServiceRecord s2
+                                   WHERE s2.boiler = s.boiler AND s2.serviceDate <= :date)
+            """)
+    List<BoilerServiceRecord> findLatestAsOf(@Param("date") LocalDate date);
 }
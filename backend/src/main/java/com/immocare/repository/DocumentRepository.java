@@ -0,0 +1,146 @@
+package com.immocare.repository;
+
+import java.util.List;
+
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.immocare.model.entity.Document;
+import com.immocare.model.enums.DocumentOwnerType;
+import com.immocare.model.enums.DocumentTextStatus;
+
+public interface DocumentRepository extends JpaRepository<Document, Long> {
+
+    /** Best matching page of a document for a full-text query. */
+    interface SearchHit {
+        Long getDocumentId();
+        String getOwnerType();
+        Long getOwnerId();
+        Long getBuildingId();
+        String getFileName();
+        Integer getPageNumber();
+        Double getRank();
+        String getSnippet();
+    }
+
+    List<Document> findByOwnerTypeAndOwnerIdOrderByUploadedAtDesc(DocumentOwnerType ownerType, Long ownerId);
+
+    /** Documents whose owner record no longer exists (owners are deleted without knowing about them). */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "document"))
+    @Modifying
+    @Query(value = """
+            DELETE FROM document d
+            WHERE (d.owner_type = 'PEB_SCORE'
+                   AND NOT EXISTS (SELECT 1 FROM peb_score_history o WHERE o.id = d.owner_id))
+               OR (d.owner_type = 'BOILER_SERVICE'
+                   AND NOT EXISTS (SELECT 1 FROM boiler_service o WHERE o.id = d.owner_id))
+               OR (d.owner_type = 'FIRE_EXTINGUISHER_REVISION'
+                   AND NOT EXISTS (SELECT 1 FROM fire_extinguisher_revision o WHERE o.id = d.owner_id))
+               OR (d.owner_type = 'LEASE'
+                   AND NOT EXISTS (SELECT 1 FROM lease o WHERE o.id = d.owner_id))
+               OR (d.owner_type = 'FINANCIAL_TRANSACTION'
+                   AND NOT EXISTS (SELECT 1 FROM financial_transaction o WHERE o.id = d.owner_id))
+            """, nativeQuery = true)
+    int deleteOrphans();
+
+    // ─── Full-text index (PostgreSQL) ────────────────────────────────────────
+    // Called from the extraction workers, outside any service transaction:
+    // each page commits on its own.
+
+    @Query("SELECT d.id FROM Document d WHERE d.textStatus = :status ORDER BY d.id")
+    List<Long> findIdsByTextStatus(@Param("status") DocumentTextStatus status);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Document d SET d.textStatus = :status, d.pageCount = :pageCount WHERE d.id = :id")
+    int updateTextStatus(@Param("id") Long id, @Param("status") DocumentTextStatus status,
+            @Param("pageCount") Integer pageCount);
+
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "document_page"))
+    @Modifying
+    @Query(value = """
+            INSERT INTO document_page (document_id, page_number, content)
+            VALUES (:documentId, :pageNumber, :content)
+            ON CONFLICT (document_id, page_number) DO UPDATE SET content = EXCLUDED.content
+            """, nativeQuery = true)
+    void upsertPage(@Param("documentId") Long documentId, @Param("pageNumber") int pageNumber,
+            @Param("content") String content);
+
+    /** Pages left over from an earlier extraction of the same document. */
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "document_page"))
+    @Modifying
+    @Query(value = "DELETE FROM document_page WHERE document_id = :documentId AND page_number > :pageCount",
+            nativeQuery = true)
+    int deletePagesAfter(@Param("documentId") Long documentId, @Param("pageCount") int pageCount);
+
+    /**
+     * Documents with a page matching every word of {@code text}, best first.
+     * The building comes from the owner (the unit's building for PEB scores
+     * and leases, the boiler's or extinguisher's building, the transaction's
+     * building or unit); an asset matches boiler services of that boiler,
+     * revisions of that extinguisher and transactions linked to the asset.
+     */
+    @Query(value = """
+            SELECT h.document_id AS "documentId", h.owner_type AS "ownerType", h.owner_id AS "ownerId",
+                   h.building_id AS "buildingId", h.file_name AS "fileName", h.page_number AS "pageNumber",
+                   h.rank AS "rank",
+                   ts_headline('simple', h.content, plainto_tsquery('simple', :text),
+                               'MaxWords=30, MinWords=10, MaxFragments=2') AS "snippet"
+            FROM (
+                SELECT d.id AS document_id, d.owner_type, d.owner_id, d.file_name, s.building_id,
+                       hit.page_number, hit.rank, hit.content, d.uploaded_at
+                FROM (
+                    SELECT DISTINCT ON (p.document_id) p.document_id, p.page_number, p.content,
+                           CAST(ts_rank(p.content_tsv, q) AS DOUBLE PRECISION) AS "rank"
+                    FROM document_page p, plainto_tsquery('simple', :text) q
+                    WHERE p.content_tsv @@ q
+                    ORDER BY p.document_id, ts_rank(p.content_tsv, q) DESC, p.page_number
+                ) hit
+                JOIN document d ON d.id = hit.document_id
+                CROSS JOIN LATERAL (SELECT CASE d.owner_type
+                    WHEN 'PEB_SCORE' THEN (SELECT u.building_id FROM peb_score_history o
+                                           JOIN housing_unit u ON u.id = o.housing_unit_id WHERE o.id = d.owner_id)
+                    WHEN 'LEASE' THEN (SELECT u.building_id FROM lease o
+                                       JOIN housing_unit u ON u.id = o.housing_unit_id WHERE o.id = d.owner_id)
+                    WHEN 'BOILER_SERVICE' THEN (SELECT CASE b.owner_type WHEN 'BUILDING' THEN b.owner_id
+                                                       ELSE u.building_id END
+                                                FROM boiler_service o JOIN boiler b ON b.id = o.boiler_id
+                                                LEFT JOIN housing_unit u
+                                                       ON b.owner_type = 'HOUSING_UNIT' AND u.id = b.owner_id
+                                                WHERE o.id = d.owner_id)
+                    WHEN 'FIRE_EXTINGUISHER_REVISION' THEN (SELECT f.building_id FROM fire_extinguisher_revision o
+                                                            JOIN fire_extinguisher f ON f.id = o.fire_extinguisher_id
+                                                            WHERE o.id = d.owner_id)
+                    WHEN 'FINANCIAL_TRANSACTION' THEN (SELECT COALESCE(o.building_id, u.building_id)
+                                                       FROM financial_transaction o
+                                                       LEFT JOIN housing_unit u ON u.id = o.housing_unit_id
+                                                       WHERE o.id = d.owner_id)
+                    END AS building_id) s
+                WHERE (CAST(:buildingId AS BIGINT) IS NULL OR s.building_id = :buildingId)
+                  AND (CAST(:assetType AS VARCHAR) IS NULL
+                       OR (:assetType = 'BOILER' AND d.owner_type = 'BOILER_SERVICE'
+                           AND EXISTS (SELECT 1 FROM boiler_service o
+                                       WHERE o.id = d.owner_id AND o.boiler_id = :assetId))
+                       OR (:assetType = 'FIRE_EXTINGUISHER' AND d.owner_type = 'FIRE_EXTINGUISHER_REVISION'
+                           AND EXISTS (SELECT 1 FROM fire_extinguisher_revision o
+                                       WHERE o.id = d.owner_id AND o.fire_extinguisher_id = :assetId))
+                       OR (d.owner_type = 'FINANCIAL_TRANSACTION'
+                           AND EXISTS (SELECT 1 FROM transaction_asset_link a
+                                       WHERE a.transaction_id = d.owner_id
+                                         AND a.asset_type = :assetType AND a.asset_id = :assetId)))
+                ORDER BY hit.rank DESC, d.uploaded_at DESC
+                LIMIT :limit
+            ) h
+            ORDER BY h.rank DESC, h.uploaded_at DESC
+            """, nativeQuery = true)
+    List<SearchHit> search(@Param("text") String text, @Param("buildingId") Long buildingId,
+            @Param("assetType") String assetType, @Param("assetId") Long assetId, @Param("limit") int limit);
+}
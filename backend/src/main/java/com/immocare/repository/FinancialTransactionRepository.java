@@ -2,18 +2,64 @@ package com.immocare.repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.immocare.model.entity.FinancialTransaction;
 
 public interface FinancialTransactionRepository
                 extends JpaRepository<FinancialTransaction, Long>, JpaSpecificationExecutor<FinancialTransaction> {
 
+        /** Free text of one tagged transaction, for the learning text index. */
+        interface LearningText {
+                Long getSubcategoryId();
+                String getCounterpartyName();
+                String getDescription();
+        }
+
+        /** Fields compared by the near-duplicate detector. */
+        interface DuplicateCandidate {
+                Long getId();
+                Long getBankAccountId();
+                LocalDate getTransactionDate();
+                BigDecimal getAmount();
+                com.immocare.model.enums.TransactionDirection getDirection();
+                String getCounterpartyName();
+                String getCounterpartyAccount();
+                String getDescription();
+                String getExternalReference();
+        }
+
+        /** Id of an already imported transaction, by import fingerprint. */
+        interface ImportedFingerprint {
+                String getFingerprint();
+                Long getId();
+        }
+
+        /** Expenses of one subcategory booked on a building (unit null) or on one of its units. */
+        interface ChargeCost {
+                Long getSubcategoryId();
+                Long getHousingUnitId();
+                BigDecimal getAmount();
+        }
+
+        /** One asset link of an expense booked on a meter or boiler only, with the asset's owner. */
+        interface LinkedChargeCost {
+                Long getTransactionId();
+                Long getSubcategoryId();
+                BigDecimal getAmount();
+                String getOwnerType();
+                Long getOwnerId();
+        }
+
         boolean existsByExternalReferenceAndTransactionDateAndAmount(
                         String externalReference, LocalDate transactionDate, BigDecimal amount);
 
@@ -34,5 +80,190 @@ public interface FinancialTransactionRepository
         @Query(value = "SELECT NEXTVAL('financial_transaction_ref_seq')", nativeQuery = true)
         long nextRefSequence();
 
+        /** Already imported transactions among {@code fingerprints} — one query per import chunk. */
+        @Query("SELECT t.importFingerprint AS fingerprint, t.id AS id FROM FinancialTransaction t "
+                        + "WHERE t.importFingerprint IN :fingerprints")
+        List<ImportedFingerprint> findByImportFingerprintIn(@Param("fingerprints") Collection<String> fingerprints);
+
+        /** {@code count} values of the reference sequence in one round trip. */
+        @Query(value = "SELECT NEXTVAL('financial_transaction_ref_seq') FROM generate_series(1, :count)",
+                        nativeQuery = true)
+        List<Long> nextRefSequences(@Param("count") int count);
+
         Page<FinancialTransaction> findByImportBatchId(Long batchId, Pageable pageable);
-}
\ No newline at end of file
+
+        /** Text of every CONFIRMED or RECONCILED tagged transaction; stream inside a transaction. */
+        @Query("""
+                        SELECT t.subcategory.id AS subcategoryId, t.counterpartyName AS counterpartyName,
+                               t.description AS description
+                        FROM FinancialTransaction t
+                        WHERE t.subcategory IS NOT NULL
+                        AND t.status IN (com.immocare.model.enums.TransactionStatus.CONFIRMED,
+                                         com.immocare.model.enums.TransactionStatus.RECONCILED)
+                        """)
+        Stream<LearningText> streamLearningTexts();
+
+        /**
+         * Transactions with one of {@code amounts} booked between {@code from} and
+         * {@code to} — the blocking step of near-duplicate detection (served by
+         * idx_ft_duplicate_block).
+         */
+        @Query("""
+                        SELECT t.id AS id, b.id AS bankAccountId, t.transactionDate AS transactionDate,
+                               t.amount AS amount, t.direction AS direction,
+                               t.counterpartyName AS counterpartyName,
+                               t.counterpartyAccount AS counterpartyAccount,
+                               t.description AS description, t.externalReference AS externalReference
+                        FROM FinancialTransaction t LEFT JOIN t.bankAccount b
+                        WHERE t.amount IN :amounts
+                        AND t.transactionDate BETWEEN :from AND :to
+                        """)
+        List<DuplicateCandidate> findDuplicateCandidates(@Param("amounts") Collection<BigDecimal> amounts,
+                        @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+        /**
+         * CONFIRMED or RECONCILED expenses of the given subcategories booked on
+         * a building between two accounting months, summed per subcategory and
+         * unit (null for the building itself). Allocated expenses are excluded;
+         * see {@link #sumAllocatedChargeCosts}.
+         */
+        @Query("""
+                        SELECT t.subcategory.id AS subcategoryId, u.id AS housingUnitId, SUM(t.amount) AS amount
+                        FROM FinancialTransaction t LEFT JOIN t.housingUnit u
+                        WHERE t.building.id = :buildingId
+                        AND t.allocations IS EMPTY
+                        AND t.direction = com.immocare.model.enums.TransactionDirection.EXPENSE
+                        AND t.status IN (com.immocare.model.enums.TransactionStatus.CONFIRMED,
+                                         com.immocare.model.enums.TransactionStatus.RECONCILED)
+                        AND t.accountingMonth BETWEEN :from AND :to
+                        AND t.subcategory.id IN :subcategoryIds
+                        GROUP BY t.subcategory.id, u.id
+                        """)
+        List<ChargeCost> sumChargeCosts(@Param("buildingId") Long buildingId,
+                        @Param("subcategoryIds") Collection<Long> subcategoryIds,
+                        @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+        /**
+         * Same expenses when they carry no building or unit but are linked to a
+         * meter or boiler of the building or of one of its units; one row per
+         * link.
+         */
+        @Query("""
+                        SELECT t.id AS transactionId, t.subcategory.id AS subcategoryId, t.amount AS amount,
+                               COALESCE(m.ownerType, b.ownerType) AS ownerType,
+                               COALESCE(m.ownerId, b.ownerId) AS ownerId
+                        FROM TransactionAssetLink l JOIN l.transaction t
+                        LEFT JOIN Meter m ON l.assetType = com.immocare.model.enums.AssetType.METER
+                                         AND m.id = l.assetId
+                        LEFT JOIN Boiler b ON l.assetType = com.immocare.model.enums.AssetType.BOILER
+                                          AND b.id = l.assetId
+                        WHERE t.building IS NULL AND t.housingUnit IS NULL AND t.allocations IS EMPTY
+                        AND t.direction = com.immocare.model.enums.TransactionDirection.EXPENSE
+                        AND t.status IN (com.immocare.model.enums.TransactionStatus.CONFIRMED,
+                                         com.immocare.model.enums.TransactionStatus.RECONCILED)
+                        AND t.accountingMonth BETWEEN :from AND :to
+                        AND t.subcategory.id IN :subcategoryIds
+                        AND ((COALESCE(m.ownerType, b.ownerType) = 'BUILDING'
+                              AND COALESCE(m.ownerId, b.ownerId) = :buildingId)
+                          OR (COALESCE(m.ownerType, b.ownerType) = 'HOUSING_UNIT'
+                              AND COALESCE(m.ownerId, b.ownerId) IN
+                                  (SELECT hu.id FROM HousingUnit hu WHERE hu.building.id = :buildingId)))
+                        """)
+        List<LinkedChargeCost> findLinkedChargeCosts(@Param("buildingId") Long buildingId,
+                        @Param("subcategoryIds") Collection<Long> subcategoryIds,
+                        @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+        /**
+         * Allocation lines of the same expenses on units of the building,
+         * summed per subcategory and unit.
+         */
+        @Query("""
+                        SELECT t.subcategory.id AS subcategoryId, u.id AS housingUnitId, SUM(a.amount) AS amount
+                        FROM TransactionAllocation a JOIN a.transaction t JOIN a.housingUnit u
+                        WHERE u.building.id = :buildingId
+                        AND t.direction = com.immocare.model.enums.TransactionDirection.EXPENSE
+                        AND t.status IN (com.immocare.model.enums.TransactionStatus.CONFIRMED,
+                                         com.immocare.model.enums.TransactionStatus.RECONCILED)
+                        AND t.accountingMonth BETWEEN :from AND :to
+                        AND t.subcategory.id IN :subcategoryIds
+                        GROUP BY t.subcategory.id, u.id
+                        """)
+        List<ChargeCost> sumAllocatedChargeCosts(@Param("buildingId") Long buildingId,
+                        @Param("subcategoryIds") Collection<Long> subcategoryIds,
+                        @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+        /**
+         * CONFIRMED or RECONCILED transactions without allocation lines grouped
+         * like ledger_monthly_rollup — statistics when the rollup is disabled.
+         */
+        @Query("""
+                        SELECT t.accountingMonth AS accountingMonth, b.id AS buildingId,
+                               u.id AS housingUnitId, ba.id AS bankAccountId,
+                               s.id AS subcategoryId, t.direction AS direction,
+                               SUM(t.amount) AS total, COUNT(t) AS count
+                        FROM FinancialTransaction t LEFT JOIN t.building b LEFT JOIN t.housingUnit u
+                        LEFT JOIN t.bankAccount ba LEFT JOIN t.subcategory s
+                        WHERE t.status IN (com.immocare.model.enums.TransactionStatus.CONFIRMED,
+                                           com.immocare.model.enums.TransactionStatus.RECONCILED)
+                        AND t.allocations IS EMPTY
+                        AND (:from IS NULL OR t.accountingMonth >= :from)
+                        AND (:to IS NULL OR t.accountingMonth <= :to)
+                        AND (:buildingId IS NULL OR b.id = :buildingId)
+                        AND (:unitId IS NULL OR u.id = :unitId)
+                        AND (:bankAccountId IS NULL OR ba.id = :bankAccountId)
+                        AND (:direction IS NULL OR t.direction = :direction)
+                        GROUP BY t.accountingMonth, b.id, u.id, ba.id, s.id, t.direction
+                        """)
+        List<LedgerMonthlyRollupRepository.SliceRow> sumStatisticsSlices(
+                        @Param("from") LocalDate from,
+                        @Param("to") LocalDate to,
+                        @Param("buildingId") Long buildingId,
+                        @Param("unitId") Long unitId,
+                        @Param("bankAccountId") Long bankAccountId,
+                        @Param("direction") com.immocare.model.enums.TransactionDirection direction);
+
+        /**
+         * Allocation lines of CONFIRMED or RECONCILED expenses grouped the same
+         * way, on the line's unit and building; the first line carries the count.
+         */
+        @Query("""
+                        SELECT t.accountingMonth AS accountingMonth, u.building.id AS buildingId,
+                               u.id AS housingUnitId, ba.id AS bankAccountId,
+                               s.id AS subcategoryId, t.direction AS direction,
+                               SUM(a.amount) AS total,
+                               SUM(CASE WHEN a.lineNo = 0 THEN 1L ELSE 0L END) AS count
+                        FROM TransactionAllocation a JOIN a.transaction t JOIN a.housingUnit u
+                        LEFT JOIN t.bankAccount ba LEFT JOIN t.subcategory s
+                        WHERE t.status IN (com.immocare.model.enums.TransactionStatus.CONFIRMED,
+                                           com.immocare.model.enums.TransactionStatus.RECONCILED)
+                        AND (:from IS NULL OR t.accountingMonth >= :from)
+                        AND (:to IS NULL OR t.accountingMonth <= :to)
+                        AND (:buildingId IS NULL OR u.building.id = :buildingId)
+                        AND (:unitId IS NULL OR u.id = :unitId)
+                        AND (:bankAccountId IS NULL OR ba.id = :bankAccountId)
+                        AND (:direction IS NULL OR t.direction = :direction)
+                        GROUP BY t.accountingMonth, u.building.id, u.id, ba.id, s.id, t.direction
+                        """)
+        List<LedgerMonthlyRollupRepository.SliceRow> sumAllocatedStatisticsSlices(
+                        @Param("from") LocalDate from,
+                        @Param("to") LocalDate to,
+                        @Param("buildingId") Long buildingId,
+                        @Param("unitId") Long unitId,
+                        @Param("bankAccountId") Long bankAccountId,
+                        @Param("direction") com.immocare.model.enums.TransactionDirection direction);
+
+        /**
+         * Signed movements (INCOME +, EXPENSE -) of one bank account between two
+         * dates, every status — bounded to one month by the balance lookup
+         * (served by idx_ft_bank_date).
+         */
+        @Query("""
+                        SELECT COALESCE(SUM(CASE WHEN t.direction = com.immocare.model.enums.TransactionDirection.INCOME
+                                                 THEN t.amount ELSE -t.amount END), 0)
+                        FROM FinancialTransaction t
+                        WHERE t.bankAccount.id = :bankAccountId
+                        AND t.transactionDate BETWEEN :from AND :to
+                        """)
+        BigDecimal sumSignedAmount(@Param("bankAccountId") Long bankAccountId,
+                        @Param("from") LocalDate from, @Param("to") LocalDate to);
+}
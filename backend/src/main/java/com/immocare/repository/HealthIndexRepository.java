@@ -0,0 +1,13 @@
+package com.immocare.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.immocare.model.entity.HealthIndex;
+
+public interface HealthIndexRepository extends JpaRepository<HealthIndex, LocalDate> {
+
+    List<HealthIndex> findAllByOrderByMonthAsc();
+}
@@ -1,13 +1,21 @@
 package com.immocare.repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.stream.Stream;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.immocare.model.entity.HousingUnit;
+import com.immocare.model.enums.ChargesType;
+import com.immocare.model.enums.DepositType;
 
 /**
  * Repository for HousingUnit entity.
@@ -62,14 +70,88 @@ public interface HousingUnitRepository extends JpaRepository<HousingUnit, Long>
   /** True if any housing unit references this person as direct owner. */
   boolean existsByOwnerId(Long ownerId);
 
-  /** List all housing units owned by a given person (direct, not inherited). */
-  List<HousingUnit> findByOwnerId(Long ownerId);
+  /**
+   * List all housing units owned by a given person (direct, not inherited),
+   * with their building.
+   */
+  @Query("SELECT u FROM HousingUnit u JOIN FETCH u.building WHERE u.owner.id = :ownerId")
+  List<HousingUnit> findByOwnerId(@Param("ownerId") Long ownerId);
 
   /** Find all units for a given building. */
   List<HousingUnit> findByBuildingId(Long buildingId);
 
+  @Query("SELECT u.id FROM HousingUnit u WHERE u.building.id = :buildingId")
+  List<Long> findIdsByBuildingId(@Param("buildingId") Long buildingId);
+
   /** True if a building has any housing units (used for delete check). */
   boolean existsByBuildingId(Long buildingId);
 
   List<HousingUnit> findAllByOrderByBuildingIdAscFloorAscUnitNumberAsc();
+
+  /** Unit with its building, without loading either entity. */
+  interface UnitRef {
+    Long getId();
+    String getUnitNumber();
+    Long getBuildingId();
+    String getBuildingName();
+  }
+
+  @Query("""
+      SELECT u.id AS id, u.unitNumber AS unitNumber, b.id AS buildingId, b.name AS buildingName
+      FROM HousingUnit u JOIN u.building b
+      ORDER BY b.name, b.id, u.floor, u.unitNumber
+      """)
+  List<UnitRef> findAllUnitRefs();
+
+  /** One rent roll line: a unit, its building and its ACTIVE lease (null columns when vacant). */
+  interface RentRollRow {
+    Long getBuildingId();
+    String getBuildingName();
+    Long getHousingUnitId();
+    String getUnitNumber();
+    Integer getFloor();
+    BigDecimal getSurface();
+    BigDecimal getListedRent();
+    Long getLeaseId();
+    LocalDate getStartDate();
+    LocalDate getEndDate();
+    String getTenants();
+    BigDecimal getMonthlyRent();
+    BigDecimal getMonthlyCharges();
+    ChargesType getChargesType();
+    BigDecimal getDepositAmount();
+    DepositType getDepositType();
+    BigDecimal getDue();
+  }
+
+  /**
+   * The whole rent roll in one statement: units joined to their ACTIVE lease
+   * (at most one per unit), with the rent history amount in force on
+   * {@code asOf}, the primary and co-tenants aggregated per lease and the
+   * rent due minus paid from lease_rent_month up to {@code month}. Stream
+   * inside a transaction; rows are fetched in batches.
+   */
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+  @Query("""
+      SELECT b.id AS buildingId, b.name AS buildingName,
+             u.id AS housingUnitId, u.unitNumber AS unitNumber, u.floor AS floor, u.totalSurface AS surface,
+             (SELECT MAX(r.monthlyRent) FROM RentHistory r
+              WHERE r.housingUnit = u AND r.effectiveFrom <= :asOf
+                AND (r.effectiveTo IS NULL OR r.effectiveTo >= :asOf)) AS listedRent,
+             l.id AS leaseId, l.startDate AS startDate, l.endDate AS endDate,
+             (SELECT LISTAGG(p.lastName || ' ' || p.firstName, ', ')
+                     WITHIN GROUP (ORDER BY t.role DESC, p.lastName, p.firstName)
+              FROM LeaseTenant t JOIN t.person p
+              WHERE t.lease = l
+                AND t.role IN (com.immocare.model.enums.TenantRole.PRIMARY,
+                               com.immocare.model.enums.TenantRole.CO_TENANT)) AS tenants,
+             l.monthlyRent AS monthlyRent, l.monthlyCharges AS monthlyCharges, l.chargesType AS chargesType,
+             l.depositAmount AS depositAmount, l.depositType AS depositType,
+             (SELECT SUM(m.expectedAmount - m.paidAmount) FROM LeaseRentMonth m
+              WHERE m.leaseId = l.id AND m.month <= :month) AS due
+      FROM HousingUnit u JOIN u.building b
+      LEFT JOIN Lease l ON l.housingUnit = u AND l.status = com.immocare.model.enums.LeaseStatus.ACTIVE
+      ORDER BY b.name, b.id, u.floor, u.unitNumber
+      """)
+  Stream<RentRollRow> streamRentRoll(@Param("asOf") LocalDate asOf, @Param("month") LocalDate month);
 }
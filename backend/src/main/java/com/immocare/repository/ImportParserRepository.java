@@ -2,10 +2,16 @@ package com.immocare.repository;
 
 import java.util.List;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import com.immocare.model.entity.ImportParser;
 
 public interface ImportParserRepository extends JpaRepository<ImportParser, Long> {
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "catalogue.queries") })
     List<ImportParser> findByActiveTrueOrderByLabelAsc();
 }
\ No newline at end of file
@@ -0,0 +1,28 @@
+package com.immocare.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.immocare.model.entity.LeaseIndexationHistory;
+
+public interface LeaseIndexationHistoryRepository extends JpaRepository<LeaseIndexationHistory, Long> {
+
+    /** Lease and anniversary of one applied indexation. */
+    interface AppliedIndexation {
+        Long getLeaseId();
+        LocalDate getApplicationDate();
+    }
+
+    List<LeaseIndexationHistory> findByLeaseIdOrderByApplicationDateDesc(Long leaseId);
+
+    @Query("""
+            SELECT h.lease.id AS leaseId, h.applicationDate AS applicationDate
+            FROM LeaseIndexationHistory h
+            WHERE h.applicationDate BETWEEN :from AND :to
+            """)
+    List<AppliedIndexation> findAppliedBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+}
@@ -4,6 +4,7 @@ import com.immocare.model.entity.LeaseRentAdjustment;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import java.util.Collection;
 import java.util.List;
 
 public interface LeaseRentAdjustmentRepository extends JpaRepository<LeaseRentAdjustment, Long> {
@@ -15,4 +16,16 @@ public interface LeaseRentAdjustmentRepository extends JpaRepository<LeaseRentAd
            "WHERE a.lease.id = :leaseId AND a.field = 'RENT' " +
            "AND YEAR(a.effectiveDate) = :year")
     boolean existsRentAdjustmentForYear(@Param("leaseId") Long leaseId, @Param("year") int year);
+
+    /** RENT adjustments of several leases, oldest first (indexation base rent). */
+    @Query("SELECT a FROM LeaseRentAdjustment a " +
+           "WHERE a.lease.id IN :leaseIds AND a.field = 'RENT' " +
+           "ORDER BY a.effectiveDate ASC, a.createdAt ASC")
+    List<LeaseRentAdjustment> findRentAdjustmentsByLeaseIdIn(@Param("leaseIds") Collection<Long> leaseIds);
+
+    /** CHARGES adjustments of several leases, oldest first (charge provisions). */
+    @Query("SELECT a FROM LeaseRentAdjustment a " +
+           "WHERE a.lease.id IN :leaseIds AND a.field = 'CHARGES' " +
+           "ORDER BY a.effectiveDate ASC, a.createdAt ASC")
+    List<LeaseRentAdjustment> findChargesAdjustmentsByLeaseIdIn(@Param("leaseIds") Collection<Long> leaseIds);
 }
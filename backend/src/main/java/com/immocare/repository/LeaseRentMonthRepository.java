@@ -0,0 +1,100 @@
+package com.immocare.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import com.immocare.model.entity.LeaseRentMonth;
+import com.immocare.model.entity.LeaseRentMonthId;
+
+public interface LeaseRentMonthRepository extends JpaRepository<LeaseRentMonth, LeaseRentMonthId> {
+
+    /** Expected and paid totals of one lease up to a month. */
+    interface LeaseBalance {
+        Long getLeaseId();
+        BigDecimal getExpected();
+        BigDecimal getPaid();
+    }
+
+    /** Booked rent payments of one lease in one accounting month. */
+    interface MonthlyPayment {
+        Long getLeaseId();
+        LocalDate getMonth();
+        BigDecimal getTotal();
+    }
+
+    /** Expected and paid rent of one lease month. */
+    interface ExpectedRent {
+        Long getLeaseId();
+        LocalDate getMonth();
+        BigDecimal getExpectedAmount();
+        BigDecimal getPaidAmount();
+    }
+
+    List<LeaseRentMonth> findByLeaseIdOrderByMonthAsc(Long leaseId);
+
+    /** Months from {@code from} to {@code to} with rent due (served by idx_lrm_month). */
+    @Query("""
+            SELECT m.leaseId AS leaseId, m.month AS month, m.expectedAmount AS expectedAmount,
+                   m.paidAmount AS paidAmount
+            FROM LeaseRentMonth m
+            WHERE m.month BETWEEN :from AND :to
+            AND m.expectedAmount > 0
+            """)
+    List<ExpectedRent> findExpectedBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    boolean existsByExpectedAmountGreaterThan(BigDecimal amount);
+
+    @Query("""
+            SELECT m.leaseId AS leaseId, SUM(m.expectedAmount) AS expected, SUM(m.paidAmount) AS paid
+            FROM LeaseRentMonth m
+            WHERE m.month <= :asOf
+            GROUP BY m.leaseId
+            HAVING SUM(m.paidAmount) < SUM(m.expectedAmount)
+            """)
+    List<LeaseBalance> findArrears(@Param("asOf") LocalDate asOf);
+
+    @Query("""
+            SELECT t.lease.id AS leaseId, t.accountingMonth AS month, SUM(t.amount) AS total
+            FROM FinancialTransaction t
+            WHERE t.lease IS NOT NULL
+            AND t.direction = com.immocare.model.enums.TransactionDirection.INCOME
+            AND t.status IN (com.immocare.model.enums.TransactionStatus.CONFIRMED,
+                             com.immocare.model.enums.TransactionStatus.RECONCILED)
+            GROUP BY t.lease.id, t.accountingMonth
+            """)
+    List<MonthlyPayment> findBookedPayments();
+
+    /**
+     * Adds a (possibly negative) payment delta to one lease month, creating the
+     * row if needed (PostgreSQL upsert, atomic under concurrent imports).
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "lease_rent_month"))
+    @Modifying
+    @Query(value = """
+            INSERT INTO lease_rent_month (lease_id, rent_month, expected_amount, paid_amount)
+            VALUES (:leaseId, :month, 0, :amount)
+            ON CONFLICT (lease_id, rent_month) DO UPDATE
+            SET paid_amount = lease_rent_month.paid_amount + EXCLUDED.paid_amount
+            """, nativeQuery = true)
+    void addPaid(@Param("leaseId") Long leaseId,
+            @Param("month") LocalDate month,
+            @Param("amount") BigDecimal amount);
+
+    @Modifying
+    @Query("DELETE FROM LeaseRentMonth m WHERE m.expectedAmount = 0 AND m.paidAmount = 0")
+    int deleteEmpty();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "lease_rent_month"))
+    @Modifying
+    @Query(value = "DELETE FROM lease_rent_month", nativeQuery = true)
+    int deleteAllRows();
+}
@@ -1,5 +1,7 @@
 package com.immocare.repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -28,6 +30,26 @@ public interface LeaseRepository extends JpaRepository<Lease, Long>, JpaSpecific
     @Query("SELECT l FROM Lease l JOIN FETCH l.tenants t JOIN FETCH t.person WHERE l.status = 'ACTIVE'")
     List<Lease> findAllActiveWithTenants();
 
+    /** ACTIVE leases with unit and building (batch indexation). */
+    @Query("""
+            SELECT l FROM Lease l
+            JOIN FETCH l.housingUnit u
+            JOIN FETCH u.building
+            WHERE l.status = com.immocare.model.enums.LeaseStatus.ACTIVE
+            """)
+    List<Lease> findAllActiveWithUnit();
+
+    /** Leases with unit, building and tenants in one query (rent ledger reports). */
+    @Query("""
+            SELECT DISTINCT l FROM Lease l
+            JOIN FETCH l.housingUnit u
+            JOIN FETCH u.building
+            LEFT JOIN FETCH l.tenants t
+            LEFT JOIN FETCH t.person
+            WHERE l.id IN :ids
+            """)
+    List<Lease> findAllWithUnitAndTenantsByIdIn(@Param("ids") Collection<Long> ids);
+
     /**
      * Paginated global list — delegates to JpaSpecificationExecutor.findAll(spec,
      * pageable).
@@ -50,4 +72,45 @@ public interface LeaseRepository extends JpaRepository<Lease, Long>, JpaSpecific
             """)
     List<Lease> findAllByTenantPersonIdOrderByStartDateDesc(@Param("personId") Long personId);
 
-}
\ No newline at end of file
+    /** Occupancy interval of one lease; endDate null means open-ended. */
+    interface OccupancyInterval {
+        Long getHousingUnitId();
+        LocalDate getStartDate();
+        LocalDate getEndDate();
+    }
+
+    /** Every lease that occupied or occupies its unit (ACTIVE or FINISHED), in one query. */
+    @Query("""
+            SELECT l.housingUnit.id AS housingUnitId, l.startDate AS startDate, l.endDate AS endDate
+            FROM Lease l
+            WHERE l.status IN ('ACTIVE', 'FINISHED') AND l.startDate IS NOT NULL
+            """)
+    List<OccupancyInterval> findOccupancyIntervals();
+
+    /** ACTIVE or FINISHED leases running on {@code date}, with their tenants. */
+    @Query("""
+            SELECT DISTINCT l FROM Lease l
+            LEFT JOIN FETCH l.tenants t
+            LEFT JOIN FETCH t.person
+            WHERE l.status IN ('ACTIVE', 'FINISHED')
+              AND l.startDate <= :date AND (l.endDate IS NULL OR l.endDate >= :date)
+            """)
+    List<Lease> findAllWithTenantsRunningOn(@Param("date") LocalDate date);
+
+    /**
+     * ACTIVE or FINISHED leases of a building with provisions for charges
+     * (not FORFAIT) overlapping [from, to], with their unit and tenants.
+     */
+    @Query("""
+            SELECT DISTINCT l FROM Lease l
+            JOIN FETCH l.housingUnit u
+            LEFT JOIN FETCH l.tenants t
+            LEFT JOIN FETCH t.person
+            WHERE u.building.id = :buildingId
+              AND l.status IN ('ACTIVE', 'FINISHED')
+              AND l.chargesType <> com.immocare.model.enums.ChargesType.FORFAIT
+              AND l.startDate <= :to AND l.endDate >= :from
+            """)
+    List<Lease> findChargeSettlementLeases(@Param("buildingId") Long buildingId,
+            @Param("from") LocalDate from, @Param("to") LocalDate to);
+}
@@ -0,0 +1,166 @@
+package com.immocare.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import com.immocare.model.entity.LedgerMonthlyRollup;
+import com.immocare.model.enums.TransactionDirection;
+import com.immocare.model.enums.TransactionStatus;
+
+public interface LedgerMonthlyRollupRepository
+        extends JpaRepository<LedgerMonthlyRollup, Long> {
+
+    /** Rollup rows summed over status, one per dimension key. */
+    interface SliceRow {
+        LocalDate getAccountingMonth();
+        Long getBuildingId();
+        Long getHousingUnitId();
+        Long getBankAccountId();
+        Long getSubcategoryId();
+        TransactionDirection getDirection();
+        BigDecimal getTotal();
+        Long getCount();
+    }
+
+    interface DirectionTotal {
+        TransactionDirection getDirection();
+        BigDecimal getTotal();
+    }
+
+    @Query("""
+            SELECT r.accountingMonth AS accountingMonth, r.buildingId AS buildingId,
+                   r.housingUnitId AS housingUnitId, r.bankAccountId AS bankAccountId,
+                   r.subcategoryId AS subcategoryId, r.direction AS direction,
+                   SUM(r.totalAmount) AS total, SUM(r.txCount) AS count
+            FROM LedgerMonthlyRollup r
+            WHERE r.status IN :statuses
+            AND (:from IS NULL OR r.accountingMonth >= :from)
+            AND (:to IS NULL OR r.accountingMonth <= :to)
+            AND (:buildingId IS NULL OR r.buildingId = :buildingId)
+            AND (:unitId IS NULL OR r.housingUnitId = :unitId)
+            AND (:bankAccountId IS NULL OR r.bankAccountId = :bankAccountId)
+            AND (:direction IS NULL OR r.direction = :direction)
+            GROUP BY r.accountingMonth, r.buildingId, r.housingUnitId, r.bankAccountId,
+                     r.subcategoryId, r.direction
+            HAVING SUM(r.txCount) > 0 OR SUM(r.totalAmount) <> 0
+            """)
+    List<SliceRow> findSlices(
+            @Param("statuses") Collection<TransactionStatus> statuses,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to,
+            @Param("buildingId") Long buildingId,
+            @Param("unitId") Long unitId,
+            @Param("bankAccountId") Long bankAccountId,
+            @Param("direction") TransactionDirection direction);
+
+    @Query("""
+            SELECT r.direction AS direction, SUM(r.totalAmount) AS total
+            FROM LedgerMonthlyRollup r
+            WHERE (:status IS NULL OR r.status = :status)
+            AND (:direction IS NULL OR r.direction = :direction)
+            AND (:from IS NULL OR r.accountingMonth >= :from)
+            AND (:to IS NULL OR r.accountingMonth <= :to)
+            AND (:buildingId IS NULL OR r.buildingId = :buildingId)
+            AND (:unitId IS NULL OR r.housingUnitId = :unitId)
+            AND (:bankAccountId IS NULL OR r.bankAccountId = :bankAccountId)
+            AND (:subcategoryId IS NULL OR r.subcategoryId = :subcategoryId)
+            AND (:categoryId IS NULL OR r.subcategoryId IN
+                    (SELECT s.id FROM TagSubcategory s WHERE s.category.id = :categoryId))
+            GROUP BY r.direction
+            """)
+    List<DirectionTotal> findTotals(
+            @Param("status") TransactionStatus status,
+            @Param("direction") TransactionDirection direction,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to,
+            @Param("buildingId") Long buildingId,
+            @Param("unitId") Long unitId,
+            @Param("bankAccountId") Long bankAccountId,
+            @Param("subcategoryId") Long subcategoryId,
+            @Param("categoryId") Long categoryId);
+
+    /**
+     * Adds a (possibly negative) delta to one rollup key, creating the row if
+     * needed. Atomic under concurrency thanks to the NULLS NOT DISTINCT key
+     * (PostgreSQL 15+).
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "ledger_monthly_rollup"))
+    @Modifying
+    @Query(value = """
+            INSERT INTO ledger_monthly_rollup (accounting_month, building_id, housing_unit_id,
+                bank_account_id, subcategory_id, direction, status, total_amount, tx_count)
+            VALUES (:month, CAST(:buildingId AS BIGINT), CAST(:unitId AS BIGINT),
+                CAST(:bankAccountId AS BIGINT), CAST(:subcategoryId AS BIGINT),
+                :direction, :status, :amount, :count)
+            ON CONFLICT ON CONSTRAINT uq_ledger_rollup_key DO UPDATE
+            SET total_amount = ledger_monthly_rollup.total_amount + EXCLUDED.total_amount,
+                tx_count     = ledger_monthly_rollup.tx_count + EXCLUDED.tx_count
+            """, nativeQuery = true)
+    void addDelta(@Param("month") LocalDate month,
+            @Param("buildingId") Long buildingId,
+            @Param("unitId") Long unitId,
+            @Param("bankAccountId") Long bankAccountId,
+            @Param("subcategoryId") Long subcategoryId,
+            @Param("direction") String direction,
+            @Param("status") String status,
+            @Param("amount") BigDecimal amount,
+            @Param("count") long count);
+
+    /**
+     * Removes rows left without transactions; allocation lines keep an amount with a zero count.
+     * Rows with a negative count are drift and are left for {@link #countNegative} to report.
+     */
+    @Modifying
+    @Query("DELETE FROM LedgerMonthlyRollup r WHERE r.txCount = 0 AND r.totalAmount = 0")
+    int deleteEmpty();
+
+    /** Rows of the given months whose count went below zero (the rollup drifted). */
+    @Query("SELECT COUNT(r) FROM LedgerMonthlyRollup r WHERE r.txCount < 0 AND r.accountingMonth IN :months")
+    long countNegative(@Param("months") Collection<LocalDate> months);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "ledger_monthly_rollup"))
+    @Modifying
+    @Query(value = "DELETE FROM ledger_monthly_rollup", nativeQuery = true)
+    int deleteAllRows();
+
+    /**
+     * Full recomputation from financial_transaction (portable SQL): allocated
+     * expenses contribute their lines instead of themselves, the first line
+     * carrying the count.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "ledger_monthly_rollup"))
+    @Modifying
+    @Query(value = """
+            INSERT INTO ledger_monthly_rollup (accounting_month, building_id, housing_unit_id,
+                bank_account_id, subcategory_id, direction, status, total_amount, tx_count)
+            SELECT accounting_month, building_id, housing_unit_id, bank_account_id,
+                   subcategory_id, direction, status, SUM(amount), SUM(n)
+            FROM (
+                SELECT t.accounting_month, t.building_id, t.housing_unit_id, t.bank_account_id,
+                       t.subcategory_id, t.direction, t.status, t.amount, 1 AS n
+                FROM financial_transaction t
+                WHERE NOT EXISTS (SELECT 1 FROM transaction_allocation a WHERE a.transaction_id = t.id)
+                UNION ALL
+                SELECT t.accounting_month, u.building_id, a.housing_unit_id, t.bank_account_id,
+                       t.subcategory_id, t.direction, t.status, a.amount,
+                       CASE WHEN a.line_no = 0 THEN 1 ELSE 0 END
+                FROM transaction_allocation a
+                JOIN financial_transaction t ON t.id = a.transaction_id
+                JOIN housing_unit u ON u.id = a.housing_unit_id
+            ) x
+            GROUP BY accounting_month, building_id, housing_unit_id, bank_account_id,
+                     subcategory_id, direction, status
+            HAVING SUM(n) > 0 OR SUM(amount) <> 0
+            """, nativeQuery = true)
+    int insertFromTransactions();
+}
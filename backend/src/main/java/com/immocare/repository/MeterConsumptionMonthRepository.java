@@ -0,0 +1,68 @@
+package com.immocare.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.immocare.model.entity.MeterConsumptionMonth;
+import com.immocare.model.entity.MeterConsumptionMonthId;
+
+public interface MeterConsumptionMonthRepository
+        extends JpaRepository<MeterConsumptionMonth, MeterConsumptionMonthId> {
+
+    /** Consumption of a set of meters in one month. */
+    interface MonthlyConsumption {
+        LocalDate getMonth();
+        BigDecimal getConsumption();
+    }
+
+    /** Consumption of one meter over a period. */
+    interface MeterConsumption {
+        Long getMeterId();
+        BigDecimal getConsumption();
+    }
+
+    /** Consumption of the meters of one owner over a period. */
+    interface OwnerConsumption {
+        Long getOwnerId();
+        BigDecimal getConsumption();
+    }
+
+    List<MeterConsumptionMonth> findByMeterIdIn(Collection<Long> meterIds);
+
+    @Query("""
+            SELECT c.month AS month, SUM(c.consumption) AS consumption
+            FROM MeterConsumptionMonth c
+            WHERE c.meterId IN :meterIds AND c.month BETWEEN :from AND :to
+            GROUP BY c.month
+            ORDER BY c.month
+            """)
+    List<MonthlyConsumption> sumByMonth(@Param("meterIds") Collection<Long> meterIds,
+            @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("""
+            SELECT c.meterId AS meterId, SUM(c.consumption) AS consumption
+            FROM MeterConsumptionMonth c
+            WHERE c.meterId IN :meterIds AND c.month BETWEEN :from AND :to
+            GROUP BY c.meterId
+            """)
+    List<MeterConsumption> sumByMeter(@Param("meterIds") Collection<Long> meterIds,
+            @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    /** Consumption of one meter type per owner, replaced meters included. */
+    @Query("""
+            SELECT m.ownerId AS ownerId, SUM(c.consumption) AS consumption
+            FROM MeterConsumptionMonth c JOIN Meter m ON m.id = c.meterId
+            WHERE m.ownerType = :ownerType AND m.ownerId IN :ownerIds AND m.type = :type
+              AND c.month BETWEEN :from AND :to
+            GROUP BY m.ownerId
+            """)
+    List<OwnerConsumption> sumByOwner(@Param("ownerType") String ownerType,
+            @Param("ownerIds") Collection<Long> ownerIds, @Param("type") String type,
+            @Param("from") LocalDate from, @Param("to") LocalDate to);
+}
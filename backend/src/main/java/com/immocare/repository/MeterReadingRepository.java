@@ -0,0 +1,21 @@
+package com.immocare.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.immocare.model.entity.MeterReading;
+
+/**
+ * Repository for {@link MeterReading}.
+ * Append-only — readings are never updated or deleted through the API.
+ */
+public interface MeterReadingRepository extends JpaRepository<MeterReading, Long> {
+
+    /** Readings of one meter, oldest first. */
+    List<MeterReading> findByMeterIdOrderByReadingDateAsc(Long meterId);
+
+    /** Readings of several meters, by meter then date (bulk import, replacement). */
+    List<MeterReading> findByMeterIdInOrderByMeterIdAscReadingDateAsc(Collection<Long> meterIds);
+}
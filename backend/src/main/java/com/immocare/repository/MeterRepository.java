@@ -2,8 +2,12 @@ package com.immocare.repository;
 
 import com.immocare.model.entity.Meter;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -27,4 +31,31 @@ public interface MeterRepository extends JpaRepository<Meter, Long> {
      * Used for replace (US040) and remove (US041) operations.
      */
     Optional<Meter> findByIdAndEndDateIsNull(Long id);
+
+    /** Meters matching a meter number or an EAN code (reading import). */
+    List<Meter> findByMeterNumberInOrEanCodeIn(Collection<String> meterNumbers, Collection<String> eanCodes);
+
+    /**
+     * Meters installed on {@code date}: a replaced or removed meter stops on
+     * its end date, the day its successor starts.
+     */
+    @Query("""
+            SELECT m FROM Meter m
+            WHERE m.startDate <= :date AND (m.endDate IS NULL OR m.endDate > :date)
+            ORDER BY m.type, m.startDate
+            """)
+    List<Meter> findActiveOn(@Param("date") LocalDate date);
+
+    /** Meters of one type on the given owners in service at some point of [from, to]. */
+    @Query("""
+            SELECT m FROM Meter m
+            WHERE m.ownerType = :ownerType AND m.ownerId IN :ownerIds AND m.type = :type
+              AND m.startDate <= :to AND (m.endDate IS NULL OR m.endDate >= :from)
+            ORDER BY m.startDate
+            """)
+    List<Meter> findInServiceBetween(@Param("ownerType") String ownerType,
+            @Param("ownerIds") Collection<Long> ownerIds,
+            @Param("type") String type,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to);
 }
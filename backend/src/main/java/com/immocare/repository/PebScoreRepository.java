@@ -1,9 +1,12 @@
 package com.immocare.repository;
 
 import com.immocare.model.entity.PebScoreHistory;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -21,4 +24,12 @@ public interface PebScoreRepository extends JpaRepository<PebScoreHistory, Long>
 
     /** Used to block housing unit deletion when PEB data exists. */
     boolean existsByHousingUnitId(Long housingUnitId);
+
+    /** Score in force on {@code date} for every unit: the latest one issued on or before it. */
+    @Query("""
+            SELECT p FROM PebScoreHistory p
+            WHERE p.scoreDate = (SELECT MAX(p2.scoreDate) FROM PebScoreHistory p2
+                                 WHERE p2.housingUnit = p.housingUnit AND p2.scoreDate <= :date)
+            """)
+    List<PebScoreHistory> findLatestAsOf(@Param("date") LocalDate date);
 }
@@ -1,5 +1,6 @@
 package com.immocare.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,6 +16,13 @@ import com.immocare.model.entity.Person;
 
 public interface PersonRepository extends JpaRepository<Person, Long>, JpaSpecificationExecutor<Person> {
 
+    /** Owner / tenant flags of one person. */
+    interface RoleFlags {
+        Long getPersonId();
+        Boolean getOwner();
+        Boolean getTenant();
+    }
+
     Optional<Person> findByNationalIdIgnoreCase(String nationalId);
 
     boolean existsByNationalIdIgnoreCaseAndIdNot(String nationalId, Long id);
@@ -56,4 +64,20 @@ public interface PersonRepository extends JpaRepository<Person, Long>, JpaSpecif
                 ORDER BY p.lastName, p.firstName
             """)
     Page<Person> searchPersons(@Param("search") String search, Pageable pageable);
-}
\ No newline at end of file
+
+    /**
+     * Owner / tenant flags for a page of persons in one query (owner of a
+     * building or of a unit directly; tenant on any lease).
+     */
+    @Query("""
+                SELECT p.id AS personId,
+                       CASE WHEN EXISTS (SELECT 1 FROM Building b WHERE b.owner = p)
+                              OR EXISTS (SELECT 1 FROM HousingUnit u WHERE u.owner = p)
+                            THEN true ELSE false END AS owner,
+                       CASE WHEN EXISTS (SELECT 1 FROM LeaseTenant lt WHERE lt.person = p)
+                            THEN true ELSE false END AS tenant
+                FROM Person p
+                WHERE p.id IN :ids
+            """)
+    List<RoleFlags> findRoleFlags(@Param("ids") Collection<Long> ids);
+}
@@ -1,6 +1,11 @@
 package com.immocare.repository;
 
+import java.util.List;
+
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import com.immocare.model.entity.PlatformConfig;
 
@@ -8,4 +13,11 @@ import com.immocare.model.entity.PlatformConfig;
  * Repository for UC012 — Platform Configuration.
  */
 public interface PlatformConfigRepository extends JpaRepository<PlatformConfig, String> {
+
+    /** Cached: the whole configuration is read on every CSV upload. */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "catalogue.queries") })
+    @Override
+    List<PlatformConfig> findAll();
 }
@@ -1,9 +1,13 @@
 package com.immocare.repository;
 
 import com.immocare.model.entity.RentHistory;
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 /**
  * Repository for {@link RentHistory}.
@@ -25,4 +29,30 @@ public interface RentHistoryRepository extends JpaRepository<RentHistory, Long>
      * Checks whether any rent record exists for a unit.
      */
     boolean existsByHousingUnitId(Long housingUnitId);
+
+    /** Rent period of a unit; effectiveTo null means current. */
+    interface RentInterval {
+        Long getHousingUnitId();
+        BigDecimal getMonthlyRent();
+        LocalDate getEffectiveFrom();
+        LocalDate getEffectiveTo();
+    }
+
+    /** All rent periods of all units, by unit then date. */
+    @Query("""
+            SELECT r.housingUnit.id AS housingUnitId, r.monthlyRent AS monthlyRent,
+                   r.effectiveFrom AS effectiveFrom, r.effectiveTo AS effectiveTo
+            FROM RentHistory r
+            ORDER BY r.housingUnit.id, r.effectiveFrom
+            """)
+    List<RentInterval> findAllRentIntervals();
+
+    /** Rent period of every unit in force on {@code date}. */
+    @Query("""
+            SELECT r.housingUnit.id AS housingUnitId, r.monthlyRent AS monthlyRent,
+                   r.effectiveFrom AS effectiveFrom, r.effectiveTo AS effectiveTo
+            FROM RentHistory r
+            WHERE r.effectiveFrom <= :date AND (r.effectiveTo IS NULL OR r.effectiveTo >= :date)
+            """)
+    List<RentInterval> findRentIntervalsAt(@Param("date") LocalDate date);
 }
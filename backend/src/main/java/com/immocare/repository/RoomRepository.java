@@ -2,6 +2,7 @@ package com.immocare.repository;
 
 import com.immocare.model.entity.Room;
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -15,6 +16,12 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface RoomRepository extends JpaRepository<Room, Long> {
 
+  /** Summed room surface of one housing unit. */
+  interface UnitSurface {
+    Long getHousingUnitId();
+    BigDecimal getSurface();
+  }
+
   /**
    * Find all rooms belonging to a housing unit, ordered by room type.
    */
@@ -32,6 +39,16 @@ public interface RoomRepository extends JpaRepository<Room, Long> {
   @Query("SELECT COALESCE(SUM(r.approximateSurface), 0) FROM Room r WHERE r.housingUnit.id = :unitId")
   BigDecimal sumApproximateSurfaceByHousingUnitId(@Param("unitId") Long unitId);
 
+  /**
+   * Sum of room surfaces per housing unit; units without rooms are absent.
+   */
+  @Query("""
+      SELECT r.housingUnit.id AS housingUnitId, COALESCE(SUM(r.approximateSurface), 0) AS surface
+      FROM Room r WHERE r.housingUnit.id IN :unitIds
+      GROUP BY r.housingUnit.id
+      """)
+  List<UnitSurface> sumApproximateSurfaceByHousingUnitIdIn(@Param("unitIds") Collection<Long> unitIds);
+
   /**
    * Delete all rooms belonging to a housing unit.
    */
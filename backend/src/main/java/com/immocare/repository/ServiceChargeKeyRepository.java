@@ -0,0 +1,27 @@
+package com.immocare.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.immocare.model.entity.ServiceChargeKey;
+
+public interface ServiceChargeKeyRepository extends JpaRepository<ServiceChargeKey, Long> {
+
+    /** Keys of a building with their subcategory and category. */
+    @Query("""
+            SELECT k FROM ServiceChargeKey k
+            JOIN FETCH k.subcategory s
+            JOIN FETCH s.category c
+            WHERE k.building.id = :buildingId
+            ORDER BY c.name, s.name
+            """)
+    List<ServiceChargeKey> findByBuildingIdWithSubcategory(@Param("buildingId") Long buildingId);
+
+    @Modifying
+    @Query("DELETE FROM ServiceChargeKey k WHERE k.building.id = :buildingId")
+    void deleteByBuildingId(@Param("buildingId") Long buildingId);
+}
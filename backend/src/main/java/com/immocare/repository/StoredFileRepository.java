@@ -0,0 +1,65 @@
+package com.immocare.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import com.immocare.model.entity.StoredFile;
+
+public interface StoredFileRepository extends JpaRepository<StoredFile, String> {
+
+    /**
+     * One more document references the content: creates the row or bumps its
+     * count (PostgreSQL upsert; the row lock orders it against the cleaner).
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "stored_file"))
+    @Modifying
+    @Query(value = """
+            INSERT INTO stored_file (sha256, size_bytes, ref_count, created_at, released_at)
+            VALUES (:sha256, :size, 1, NOW(), NULL)
+            ON CONFLICT (sha256) DO UPDATE
+            SET ref_count = stored_file.ref_count + 1, released_at = NULL
+            """, nativeQuery = true)
+    void acquire(@Param("sha256") String sha256, @Param("size") long size);
+
+    /** One document less; stamps released_at when the last one goes. */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "stored_file"))
+    @Modifying
+    @Query(value = """
+            UPDATE stored_file
+            SET ref_count = ref_count - 1,
+                released_at = CASE WHEN ref_count = 1 THEN NOW() ELSE released_at END
+            WHERE sha256 = :sha256 AND ref_count > 0
+            """, nativeQuery = true)
+    int release(@Param("sha256") String sha256);
+
+    /** Resets every count to the number of documents actually pointing at the content. */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "stored_file"))
+    @Modifying
+    @Query(value = """
+            UPDATE stored_file f
+            SET ref_count = c.n,
+                released_at = CASE WHEN c.n = 0 THEN COALESCE(f.released_at, NOW()) ELSE NULL END
+            FROM (
+                SELECT s.sha256, COUNT(d.id) AS n
+                FROM stored_file s LEFT JOIN document d ON d.sha256 = s.sha256
+                GROUP BY s.sha256
+            ) c
+            WHERE c.sha256 = f.sha256 AND c.n <> f.ref_count
+            """, nativeQuery = true)
+    int reconcileRefCounts();
+
+    @Query("SELECT f.sha256 FROM StoredFile f WHERE f.refCount = 0 AND f.releasedAt < :before")
+    List<String> findReleasedBefore(@Param("before") LocalDateTime before);
+
+    @Modifying
+    @Query("DELETE FROM StoredFile f WHERE f.sha256 = :sha256 AND f.refCount = 0")
+    int deleteIfUnreferenced(@Param("sha256") String sha256);
+}
@@ -1,12 +1,18 @@
 package com.immocare.repository;
 
 import com.immocare.model.entity.TagCategory;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.List;
 
 public interface TagCategoryRepository extends JpaRepository<TagCategory, Long> {
 
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "catalogue.queries") })
     List<TagCategory> findAllByOrderByNameAsc();
 
     boolean existsByNameIgnoreCase(String name);
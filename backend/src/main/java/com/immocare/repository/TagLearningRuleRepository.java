@@ -2,10 +2,15 @@ package com.immocare.repository;
 
 import com.immocare.model.entity.TagLearningRule;
 import com.immocare.model.enums.TagMatchField;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -25,4 +30,37 @@ public interface TagLearningRuleRepository extends JpaRepository<TagLearningRule
 
     Optional<TagLearningRule> findByMatchFieldAndMatchValueIgnoreCaseAndSubcategoryId(
         TagMatchField field, String value, Long subcategoryId);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "tag_learning_rule"))
+    @Modifying
+    @Query(value = "DELETE FROM tag_learning_rule", nativeQuery = true)
+    int deleteAllRows();
+
+    /**
+     * One COUNTERPARTY_ACCOUNT rule per (account, subcategory) of CONFIRMED or
+     * RECONCILED transactions; confidence is the number of transactions.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "tag_learning_rule"))
+    @Modifying
+    @Query(value = """
+        INSERT INTO tag_learning_rule (match_field, match_value, subcategory_id, confidence, last_matched_at)
+        SELECT 'COUNTERPARTY_ACCOUNT', MIN(counterparty_account), subcategory_id, COUNT(*), MAX(updated_at)
+        FROM financial_transaction
+        WHERE subcategory_id IS NOT NULL
+        AND TRIM(counterparty_account) <> ''
+        AND status IN ('CONFIRMED', 'RECONCILED')
+        GROUP BY LOWER(counterparty_account), subcategory_id
+        """, nativeQuery = true)
+    int insertFromTransactions();
+
+    @Modifying
+    @Query("""
+        UPDATE TagLearningRule r SET r.confidence = CASE WHEN r.confidence > 1 THEN r.confidence / 2 ELSE 1 END
+        WHERE r.lastMatchedAt < :before
+        """)
+    int halveConfidenceMatchedBefore(@Param("before") LocalDateTime before);
+
+    @Modifying
+    @Query("DELETE FROM TagLearningRule r WHERE r.lastMatchedAt < :before")
+    int deleteMatchedBefore(@Param("before") LocalDateTime before);
 }
@@ -1,22 +1,54 @@
 package com.immocare.repository;
 
 import com.immocare.model.entity.TagSubcategory;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
 public interface TagSubcategoryRepository extends JpaRepository<TagSubcategory, Long> {
 
+    /** Number of transactions tagged with one subcategory. */
+    interface UsageRow {
+        Long getSubcategoryId();
+        Long getCategoryId();
+        Long getCount();
+    }
+
+    /** Number of subcategories in one category. */
+    interface CategoryCount {
+        Long getCategoryId();
+        Long getCount();
+    }
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "catalogue.queries") })
     List<TagSubcategory> findByCategoryIdOrderByNameAsc(Long categoryId);
 
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "catalogue.queries") })
     List<TagSubcategory> findAllByOrderByCategoryNameAscNameAsc();
 
     boolean existsByCategoryIdAndNameIgnoreCase(Long categoryId, String name);
 
     boolean existsByCategoryIdAndNameIgnoreCaseAndIdNot(Long categoryId, String name, Long id);
 
-    @Query("SELECT COUNT(t) FROM FinancialTransaction t WHERE t.subcategory.id = :id")
-    long countUsage(@Param("id") Long id);
+    @Query("""
+            SELECT s.id AS subcategoryId, s.category.id AS categoryId, COUNT(t) AS count
+            FROM FinancialTransaction t JOIN t.subcategory s
+            GROUP BY s.id, s.category.id
+            """)
+    List<UsageRow> countUsageBySubcategory();
+
+    @Query("""
+            SELECT s.category.id AS categoryId, COUNT(s) AS count
+            FROM TagSubcategory s
+            GROUP BY s.category.id
+            """)
+    List<CategoryCount> countByCategory();
 }
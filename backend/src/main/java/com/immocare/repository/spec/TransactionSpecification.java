@@ -5,6 +5,7 @@ import java.time.LocalDate;
 import org.springframework.data.jpa.domain.Specification;
 
 import com.immocare.model.entity.FinancialTransaction;
+import com.immocare.model.entity.TransactionAllocation;
 import com.immocare.model.entity.TransactionAssetLink;
 import com.immocare.model.enums.AssetType;
 import com.immocare.model.enums.TransactionDirection;
@@ -49,12 +50,38 @@ public class TransactionSpecification {
         return (root, query, cb) -> cb.equal(root.get("bankAccount").get("id"), id);
     }
 
+    /**
+     * Transactions on the building: an expense split between units
+     * (transaction_allocation) matches through its lines' units instead, as
+     * in the ledger rollup.
+     */
     public static Specification<FinancialTransaction> withBuildingId(Long id) {
-        return (root, query, cb) -> cb.equal(root.get("building").get("id"), id);
+        return (root, query, cb) -> {
+            Subquery<Long> sub = query.subquery(Long.class);
+            var line = sub.from(TransactionAllocation.class);
+            sub.select(line.get("id"))
+                    .where(
+                            cb.equal(line.get("transaction"), root),
+                            cb.equal(line.get("housingUnit").get("building").get("id"), id));
+            return cb.or(
+                    cb.and(cb.isEmpty(root.get("allocations")), cb.equal(root.get("building").get("id"), id)),
+                    cb.exists(sub));
+        };
     }
 
+    /** Transactions on the unit, or split with a line on it; see {@link #withBuildingId}. */
     public static Specification<FinancialTransaction> withUnitId(Long id) {
-        return (root, query, cb) -> cb.equal(root.get("housingUnit").get("id"), id);
+        return (root, query, cb) -> {
+            Subquery<Long> sub = query.subquery(Long.class);
+            var line = sub.from(TransactionAllocation.class);
+            sub.select(line.get("id"))
+                    .where(
+                            cb.equal(line.get("transaction"), root),
+                            cb.equal(line.get("housingUnit").get("id"), id));
+            return cb.or(
+                    cb.and(cb.isEmpty(root.get("allocations")), cb.equal(root.get("housingUnit").get("id"), id)),
+                    cb.exists(sub));
+        };
     }
 
     public static Specification<FinancialTransaction> withStatus(TransactionStatus s) {
@@ -10,6 +10,7 @@ import com.immocare.model.dto.AlertDTO;
 import com.immocare.model.dto.BoilerDTO;
 import com.immocare.model.dto.LeaseAlertDTO;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 
 /**
@@ -27,6 +28,7 @@ public class AlertService {
 
         private final LeaseService leaseService;
         private final BoilerService boilerService;
+        private final MeterRegistry meterRegistry;
 
         // ─── Public API ──────────────────────────────────────────────────────────
 
@@ -35,12 +37,14 @@ public class AlertService {
          * Null deadlines are sorted last.
          */
         public List<AlertDTO> getAll() {
-                List<AlertDTO> alerts = new ArrayList<>();
-                alerts.addAll(leaseAlertsToDTO());
-                alerts.addAll(boilerAlertsToDTO());
-                alerts.sort(Comparator.comparing(AlertDTO::deadline,
-                                Comparator.nullsLast(Comparator.naturalOrder())));
-                return alerts;
+                return meterRegistry.timer("immocare.alerts.collect").record(() -> {
+                        List<AlertDTO> alerts = new ArrayList<>();
+                        alerts.addAll(leaseAlertsToDTO());
+                        alerts.addAll(boilerAlertsToDTO());
+                        alerts.sort(Comparator.comparing(AlertDTO::deadline,
+                                        Comparator.nullsLast(Comparator.naturalOrder())));
+                        return alerts;
+                });
         }
 
         /** Returns only the total count — used by the bell badge. */
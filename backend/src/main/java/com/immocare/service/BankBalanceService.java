@@ -0,0 +1,285 @@
+package com.immocare.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.immocare.exception.BankAccountNotFoundException;
+import com.immocare.model.dto.BankBalanceDTOs.BankBalanceDTO;
+import com.immocare.model.dto.BankBalanceDTOs.MonthlyBalanceDTO;
+import com.immocare.model.dto.BankBalanceDTOs.SaveStatementBalanceRequest;
+import com.immocare.model.dto.BankBalanceDTOs.StatementCheckDTO;
+import com.immocare.model.entity.BankAccount;
+import com.immocare.model.entity.BankBalanceMonth;
+import com.immocare.model.entity.BankStatementBalance;
+import com.immocare.model.entity.FinancialTransaction;
+import com.immocare.model.entity.ImportBatch;
+import com.immocare.model.enums.TransactionDirection;
+import com.immocare.repository.BankAccountRepository;
+import com.immocare.repository.BankBalanceMonthRepository;
+import com.immocare.repository.BankStatementBalanceRepository;
+import com.immocare.repository.FinancialTransactionRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Running balance of each bank account (bank_balance_month) and the check of
+ * statement closing balances against it.
+ *
+ * Checkpoints hold the running total of signed movements at the end of each
+ * month of transaction date, every status included: an imported DRAFT is a
+ * real bank movement. A write refreshes the checkpoints of the account from
+ * the first month it touches ({@link #refresh(Changes)}), one window-function
+ * INSERT under a lock on the bank_account row; {@link #rebuild()} recomputes
+ * all of them nightly.
+ *
+ * The balance at a date is the previous month's checkpoint (one index probe)
+ * plus the movements of that month up to the date — never a scan of the
+ * account's history. Movements are shifted by the earliest statement balance
+ * recorded, which anchors the account's opening balance.
+ */
+@Slf4j
+@Service
+@Transactional(readOnly = true)
+public class BankBalanceService {
+
+    private final BankBalanceMonthRepository checkpointRepository;
+    private final BankStatementBalanceRepository statementRepository;
+    private final FinancialTransactionRepository transactionRepository;
+    private final BankAccountRepository bankAccountRepository;
+    private final MeterRegistry meterRegistry;
+
+    public BankBalanceService(BankBalanceMonthRepository checkpointRepository,
+            BankStatementBalanceRepository statementRepository,
+            FinancialTransactionRepository transactionRepository,
+            BankAccountRepository bankAccountRepository,
+            MeterRegistry meterRegistry) {
+        this.checkpointRepository = checkpointRepository;
+        this.statementRepository = statementRepository;
+        this.transactionRepository = transactionRepository;
+        this.bankAccountRepository = bankAccountRepository;
+        this.meterRegistry = meterRegistry;
+    }
+
+    // ─── Changes ──────────────────────────────────────────────────────────────
+
+    /** What a transaction contributes to its account's balance; take it before mutating the entity. */
+    public record Movement(Long bankAccountId, LocalDate date, BigDecimal amount, TransactionDirection direction) {
+
+        public static Movement of(FinancialTransaction tx) {
+            return new Movement(tx.getBankAccount() != null ? tx.getBankAccount().getId() : null,
+                    tx.getTransactionDate(), tx.getAmount(), tx.getDirection());
+        }
+
+        boolean sameAs(Movement other) {
+            return Objects.equals(bankAccountId, other.bankAccountId) && Objects.equals(date, other.date)
+                    && direction == other.direction && amount.compareTo(other.amount) == 0;
+        }
+    }
+
+    /** Earliest date touched per bank account by one service call. */
+    public static final class Changes {
+
+        private final Map<Long, LocalDate> from = new LinkedHashMap<>();
+
+        public Changes add(Movement movement) {
+            if (movement.bankAccountId() != null) {
+                from.merge(movement.bankAccountId(), movement.date(),
+                        (a, b) -> a.isBefore(b) ? a : b);
+            }
+            return this;
+        }
+
+        public Changes add(FinancialTransaction tx) {
+            return add(Movement.of(tx));
+        }
+
+        /** Both sides of an edit, unless nothing affecting the balance changed. */
+        public Changes change(Movement before, FinancialTransaction after) {
+            Movement now = Movement.of(after);
+            if (!before.sameAs(now)) {
+                add(before);
+                add(now);
+            }
+            return this;
+        }
+
+        public boolean isEmpty() {
+            return from.isEmpty();
+        }
+    }
+
+    // ─── Maintenance ──────────────────────────────────────────────────────────
+
+    @Transactional
+    public void added(FinancialTransaction tx) {
+        refresh(new Changes().add(tx));
+    }
+
+    @Transactional
+    public void removed(Movement before) {
+        refresh(new Changes().add(before));
+    }
+
+    @Transactional
+    public void changed(Movement before, FinancialTransaction after) {
+        refresh(new Changes().change(before, after));
+    }
+
+    /**
+     * Recomputes the checkpoints of every touched account from the first
+     * month touched onwards, on top of the previous month's closing balance.
+     */
+    @Transactional
+    public void refresh(Changes changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        // The native INSERT reads financial_transaction: pending writes first
+        checkpointRepository.flush();
+        // One refresh per account at a time, so concurrent writes never insert the
+        // same checkpoint twice and the later one sees the earlier one's movements;
+        // accounts locked in id order
+        new TreeMap<>(changes.from).forEach((accountId, date) -> {
+            bankAccountRepository.lockById(accountId);
+            LocalDate month = date.withDayOfMonth(1);
+            BigDecimal base = checkpointRepository
+                    .findFirstByBankAccountIdAndMonthLessThanOrderByMonthDesc(accountId, month)
+                    .map(BankBalanceMonth::getClosingBalance)
+                    .orElse(BigDecimal.ZERO);
+            checkpointRepository.deleteFrom(accountId, month);
+            checkpointRepository.insertFrom(accountId, month, base);
+        });
+    }
+
+    /**
+     * Recomputes every checkpoint from financial_transaction in one database
+     * transaction, holding the lock of every account so no {@link #refresh}
+     * runs meanwhile.
+     *
+     * @return number of checkpoints written
+     */
+    @Transactional
+    public int rebuild() {
+        return meterRegistry.timer("immocare.bank-balance.rebuild").record(() -> {
+            checkpointRepository.flush();
+            bankAccountRepository.lockAll();
+            checkpointRepository.deleteAllRows();
+            int rows = checkpointRepository.insertFromTransactions();
+            log.info("Bank balance checkpoints rebuilt: {} rows", rows);
+            return rows;
+        });
+    }
+
+    /** Nightly reconciliation; schedule via immocare.bank-balance.rebuild-cron. */
+    @Scheduled(cron = "${immocare.bank-balance.rebuild-cron:0 45 3 * * *}")
+    @Transactional
+    public void scheduledRebuild() {
+        rebuild();
+    }
+
+    // ─── Statement balances ───────────────────────────────────────────────────
+
+    /** Records (or corrects) the closing balance stated for {@code date}. */
+    @Transactional
+    public void recordStatementBalance(BankAccount account, LocalDate date, BigDecimal balance,
+            ImportBatch batch) {
+        BankStatementBalance statement = statementRepository
+                .findByBankAccountIdAndBalanceDate(account.getId(), date)
+                .orElseGet(BankStatementBalance::new);
+        statement.setBankAccount(account);
+        statement.setBalanceDate(date);
+        statement.setBalance(balance);
+        statement.setImportBatch(batch);
+        statementRepository.save(statement);
+    }
+
+    @Transactional
+    public List<StatementCheckDTO> saveStatementBalance(Long bankAccountId, SaveStatementBalanceRequest req) {
+        BankAccount account = bankAccountRepository.findById(bankAccountId)
+                .orElseThrow(() -> new BankAccountNotFoundException("Bank account not found: " + bankAccountId));
+        recordStatementBalance(account, req.date(), req.balance(), null);
+        return checkStatements(bankAccountId);
+    }
+
+    /**
+     * Every recorded statement balance against the computed balance. The
+     * earliest one is the anchor; a non-zero drift flags missing or
+     * duplicated movements between a statement and the previous one.
+     */
+    public List<StatementCheckDTO> checkStatements(Long bankAccountId) {
+        requireAccount(bankAccountId);
+        List<BankStatementBalance> statements = statementRepository.findByBankAccountIdOrderByBalanceDate(bankAccountId);
+        List<StatementCheckDTO> checks = new ArrayList<>(statements.size());
+        BigDecimal opening = null;
+        BigDecimal previousDifference = BigDecimal.ZERO;
+        for (BankStatementBalance s : statements) {
+            BigDecimal movements = movementsAt(bankAccountId, s.getBalanceDate());
+            if (opening == null) {
+                opening = s.getBalance().subtract(movements);
+            }
+            BigDecimal computed = opening.add(movements);
+            BigDecimal difference = s.getBalance().subtract(computed);
+            BigDecimal drift = difference.subtract(previousDifference);
+            previousDifference = difference;
+            checks.add(new StatementCheckDTO(s.getId(), s.getBalanceDate(), s.getBalance(), computed,
+                    difference, drift, drift.signum() == 0,
+                    s.getImportBatch() != null ? s.getImportBatch().getId() : null));
+        }
+        return checks;
+    }
+
+    // ─── Reads ────────────────────────────────────────────────────────────────
+
+    /** Balance at the end of {@code date}. */
+    public BankBalanceDTO balanceAt(Long bankAccountId, LocalDate date) {
+        requireAccount(bankAccountId);
+        Optional<BigDecimal> opening = opening(bankAccountId);
+        return new BankBalanceDTO(bankAccountId, date,
+                opening.orElse(BigDecimal.ZERO).add(movementsAt(bankAccountId, date)), opening.isPresent());
+    }
+
+    /** Monthly checkpoints between two months, anchored like {@link #balanceAt}. */
+    public List<MonthlyBalanceDTO> monthlyBalances(Long bankAccountId, LocalDate from, LocalDate to) {
+        requireAccount(bankAccountId);
+        BigDecimal opening = opening(bankAccountId).orElse(BigDecimal.ZERO);
+        return checkpointRepository.findByBankAccountIdAndMonthBetweenOrderByMonth(bankAccountId,
+                from.withDayOfMonth(1), to.withDayOfMonth(1)).stream()
+                .map(c -> new MonthlyBalanceDTO(c.getMonth(), c.getNetAmount(), c.getTxCount(),
+                        opening.add(c.getClosingBalance())))
+                .toList();
+    }
+
+    /** Sum of the account's movements up to the end of {@code date}, from zero. */
+    BigDecimal movementsAt(Long bankAccountId, LocalDate date) {
+        LocalDate month = date.withDayOfMonth(1);
+        BigDecimal base = checkpointRepository
+                .findFirstByBankAccountIdAndMonthLessThanOrderByMonthDesc(bankAccountId, month)
+                .map(BankBalanceMonth::getClosingBalance)
+                .orElse(BigDecimal.ZERO);
+        return base.add(transactionRepository.sumSignedAmount(bankAccountId, month, date));
+    }
+
+    /** Opening balance implied by the earliest statement balance, if any. */
+    private Optional<BigDecimal> opening(Long bankAccountId) {
+        return statementRepository.findFirstByBankAccountIdOrderByBalanceDate(bankAccountId)
+                .map(s -> s.getBalance().subtract(movementsAt(bankAccountId, s.getBalanceDate())));
+    }
+
+    private void requireAccount(Long bankAccountId) {
+        if (!bankAccountRepository.existsById(bankAccountId)) {
+            throw new BankAccountNotFoundException("Bank account not found: " + bankAccountId);
+        }
+    }
+}
@@ -30,16 +30,19 @@ public class BuildingService {
   private final HousingUnitRepository housingUnitRepository;
   private final PersonRepository personRepository;
   private final BuildingMapper buildingMapper;
+  private final PortfolioVersion portfolioVersion;
 
   public BuildingService(
       BuildingRepository buildingRepository,
       HousingUnitRepository housingUnitRepository,
       PersonRepository personRepository,
-      BuildingMapper buildingMapper) {
+      BuildingMapper buildingMapper,
+      PortfolioVersion portfolioVersion) {
     this.buildingRepository = buildingRepository;
     this.housingUnitRepository = housingUnitRepository;
     this.personRepository = personRepository;
     this.buildingMapper = buildingMapper;
+    this.portfolioVersion = portfolioVersion;
   }
 
   public Page<BuildingDTO> getAllBuildings(String city, String search, Pageable pageable) {
@@ -81,6 +84,7 @@ public class BuildingService {
     buildingMapper.updateEntityFromRequest(request, building);
     building.setOwner(resolveOwner(request.ownerId()));
     Building updatedBuilding = buildingRepository.save(building);
+    portfolioVersion.bumpAfterCommit(); // building name shown in the rent roll
     long unitCount = housingUnitRepository.countByBuildingId(id);
     return buildingMapper.toDTOWithUnitCount(updatedBuilding, unitCount);
   }
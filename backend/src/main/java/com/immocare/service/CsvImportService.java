@@ -2,10 +2,8 @@ package com.immocare.service;
 
 import java.io.BufferedReader;
 import java.io.InputStreamReader;
-import java.math.BigDecimal;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Comparator;
@@ -15,15 +13,19 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.immocare.exception.ParseException;
 import com.immocare.model.dto.AccountingMonthSuggestionDTO;
 import com.immocare.model.dto.CsvMappingConfig;
 import com.immocare.model.dto.ImportBatchResultDTO;
 import com.immocare.model.dto.ParsedCsvRow;
 import com.immocare.model.dto.SubcategorySuggestionDTO;
 import com.immocare.model.entity.AppUser;
+import com.immocare.model.entity.ConfigurableCsvParser;
+import com.immocare.model.entity.CsvParsePlan;
 import com.immocare.model.entity.FinancialTransaction;
 import com.immocare.model.entity.ImportBatch;
 import com.immocare.model.entity.Lease;
+import com.immocare.model.entity.ParsedTransaction;
 import com.immocare.model.enums.LeaseStatus;
 import com.immocare.model.enums.TransactionDirection;
 import com.immocare.model.enums.TransactionSource;
@@ -41,84 +43,64 @@ public class CsvImportService {
     private final ImportBatchRepository importBatchRepository;
     private final BankAccountRepository bankAccountRepository;
     private final LearningService learningService;
-    private final PlatformConfigService platformConfigService;
     private final PersonBankAccountRepository personBankAccountRepository;
     private final LeaseRepository leaseRepository;
+    private final LedgerRollupService ledgerRollupService;
+    private final BankBalanceService bankBalanceService;
+    private final ConfigurableCsvParser csvParser;
 
     public CsvImportService(FinancialTransactionRepository transactionRepository,
             ImportBatchRepository importBatchRepository,
             BankAccountRepository bankAccountRepository,
             LearningService learningService,
-            PlatformConfigService platformConfigService,
             LeaseRepository leaseRepository,
-            PersonBankAccountRepository personBankAccountRepository) {
+            PersonBankAccountRepository personBankAccountRepository,
+            LedgerRollupService ledgerRollupService,
+            BankBalanceService bankBalanceService,
+            ConfigurableCsvParser csvParser) {
         this.transactionRepository = transactionRepository;
         this.importBatchRepository = importBatchRepository;
         this.bankAccountRepository = bankAccountRepository;
         this.learningService = learningService;
-        this.platformConfigService = platformConfigService;
         this.leaseRepository = leaseRepository;
         this.personBankAccountRepository = personBankAccountRepository;
+        this.ledgerRollupService = ledgerRollupService;
+        this.bankBalanceService = bankBalanceService;
+        this.csvParser = csvParser;
     }
 
+    /** Current csv.import.* settings, as compiled by the configurable CSV parser. */
     public CsvMappingConfig loadMappingConfig() {
-        return new CsvMappingConfig(
-                platformConfigService.getString("csv.import.delimiter", ";"),
-                platformConfigService.getString("csv.import.date_format", "dd/MM/yyyy"),
-                platformConfigService.getInt("csv.import.skip_header_rows", 1),
-                platformConfigService.getInt("csv.import.col.date", 0),
-                platformConfigService.getInt("csv.import.col.amount", 1),
-                platformConfigService.getInt("csv.import.col.description", 2),
-                platformConfigService.getInt("csv.import.col.counterparty_name", 3),
-                platformConfigService.getInt("csv.import.col.counterparty_account", 4),
-                platformConfigService.getInt("csv.import.col.external_reference", 5),
-                platformConfigService.getInt("csv.import.col.bank_account", 6),
-                platformConfigService.getInt("csv.import.col.value_date", -1),
-                platformConfigService.getInt("csv.import.suggestion.confidence.threshold", 3));
+        return csvParser.plan().config();
     }
 
     public List<ParsedCsvRow> parsePreview(MultipartFile file, CsvMappingConfig config) {
         List<ParsedCsvRow> rows = new ArrayList<>();
-        DateTimeFormatter fmt = DateTimeFormatter.ofPattern(config.dateFormat());
 
         try (BufferedReader reader = new BufferedReader(
                 new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8))) {
 
+            CsvParsePlan plan = config.equals(loadMappingConfig())
+                    ? csvParser.plan()
+                    : CsvParsePlan.compile(config);
+            CsvParsePlan.Cursor cursor = plan.cursor();
             String line;
             int rowNumber = 0;
-            int skipped = 0;
 
             while ((line = reader.readLine()) != null) {
                 rowNumber++;
-                if (skipped < config.skipHeaderRows()) {
-                    skipped++;
+                if (rowNumber <= plan.skipHeaderRows() || line.isBlank()) {
                     continue;
                 }
 
-                String rawLine = line;
-                String[] cols = line.split(config.delimiter(), -1);
-
                 try {
-                    LocalDate transactionDate = parseDate(cols, config.colDate(), fmt);
-                    BigDecimal rawAmount = parseDecimal(cols, config.colAmount());
-                    TransactionDirection direction = rawAmount.compareTo(BigDecimal.ZERO) >= 0
-                            ? TransactionDirection.INCOME
-                            : TransactionDirection.EXPENSE;
-                    BigDecimal amount = rawAmount.abs();
-                    String description = safeGet(cols, config.colDescription());
-                    String counterpartyName = safeGet(cols, config.colCounterpartyName());
-                    String counterpartyAccount = safeGet(cols, config.colCounterpartyAccount());
-                    String externalReference = safeGet(cols, config.colExternalReference());
-                    String bankAccountIban = safeGet(cols, config.colBankAccount());
-                    LocalDate valueDate = config.colValueDate() >= 0
-                            ? parseDate(cols, config.colValueDate(), fmt)
-                            : null;
-
-                    rows.add(new ParsedCsvRow(rowNumber, rawLine, transactionDate, valueDate,
-                            amount, direction, description, counterpartyName, counterpartyAccount,
-                            externalReference, bankAccountIban, null));
-                } catch (Exception e) {
-                    rows.add(new ParsedCsvRow(rowNumber, rawLine, null, null, null, null,
+                    ParsedTransaction p = plan.parse(line, rowNumber, cursor);
+                    rows.add(new ParsedCsvRow(rowNumber, line, p.getTransactionDate(), p.getValueDate(),
+                            p.getAmount(), TransactionDirection.valueOf(p.getDirection().name()),
+                            p.getDescription(), p.getCounterpartyName(), p.getCounterpartyAccount(),
+                            p.getExternalReference(), p.getAccountIban(), null));
+                } catch (ParseException e) {
+                    rows.add(new ParsedCsvRow(rowNumber, line, null, null, null, null,
                             null, null, null, null, null, e.getMessage()));
                 }
             }
@@ -131,8 +113,7 @@ public class CsvImportService {
 
     @Transactional
     public ImportBatchResultDTO importBatch(List<ParsedCsvRow> rows, AppUser currentUser) {
-        CsvMappingConfig config = loadMappingConfig();
-        int minConfidence = config.suggestionConfidenceThreshold();
+        int minConfidence = loadMappingConfig().suggestionConfidenceThreshold();
 
         ImportBatch batch = new ImportBatch();
         batch.setFilename("import");
@@ -144,6 +125,8 @@ public class CsvImportService {
         int duplicateCount = 0;
         int errorCount = 0;
         List<ImportBatchResultDTO.RowError> errors = new ArrayList<>();
+        LedgerRollupService.Delta rollup = new LedgerRollupService.Delta();
+        BankBalanceService.Changes balances = new BankBalanceService.Changes();
 
         for (ParsedCsvRow row : rows) {
             if (row.parseError() != null) {
@@ -206,6 +189,8 @@ public class CsvImportService {
                 suggestLease(tx, row.counterpartyAccount(), row.transactionDate());
 
                 transactionRepository.save(tx);
+                rollup.add(LedgerRollupService.Entry.of(tx));
+                balances.add(tx);
                 importedCount++;
             } catch (Exception e) {
                 errorCount++;
@@ -217,9 +202,11 @@ public class CsvImportService {
         batch.setDuplicateCount(duplicateCount);
         batch.setErrorCount(errorCount);
         importBatchRepository.save(batch);
+        ledgerRollupService.apply(rollup);
+        bankBalanceService.refresh(balances);
 
         return new ImportBatchResultDTO(batch.getId(), rows.size(), importedCount,
-                duplicateCount, errorCount, errors);
+                duplicateCount, errorCount, errors, List.of());
     }
 
     // ─── Private helpers ──────────────────────────────────────────────────────
@@ -284,16 +271,4 @@ public class CsvImportService {
             }
         });
     }
-
-    private LocalDate parseDate(String[] cols, int index, DateTimeFormatter fmt) {
-        return LocalDate.parse(safeGet(cols, index).trim(), fmt);
-    }
-
-    private BigDecimal parseDecimal(String[] cols, int index) {
-        return new BigDecimal(safeGet(cols, index).trim().replace(",", ".").replace(" ", ""));
-    }
-
-    private String safeGet(String[] cols, int index) {
-        return (index >= 0 && index < cols.length) ? cols[index].trim() : "";
-    }
 }
\ No newline at end of file
@@ -0,0 +1,413 @@
+package com.immocare.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.immocare.exception.DocumentNotFoundException;
+import com.immocare.model.dto.DocumentDTOs.DocumentCleanupDTO;
+import com.immocare.model.dto.DocumentDTOs.DocumentDTO;
+import com.immocare.model.dto.DocumentDTOs.DocumentSearchHitDTO;
+import com.immocare.model.entity.Document;
+import com.immocare.model.enums.AssetType;
+import com.immocare.model.enums.DocumentOwnerType;
+import com.immocare.model.enums.DocumentTextStatus;
+import com.immocare.repository.BoilerServiceRecordRepository;
+import com.immocare.repository.DocumentRepository;
+import com.immocare.repository.FinancialTransactionRepository;
+import com.immocare.repository.FireExtinguisherRevisionRepository;
+import com.immocare.repository.LeaseRepository;
+import com.immocare.repository.PebScoreRepository;
+import com.immocare.repository.StoredFileRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Documents (PEB reports, boiler certificates, invoices, …) attached to PEB
+ * scores, boiler services, fire extinguisher revisions, leases and
+ * financial transactions.
+ *
+ * The bytes live in the content-addressed {@link DocumentStore}; stored_file
+ * counts the documents referencing each content. Removing a document only
+ * decrements the count: {@link #cleanOrphans()} drops the documents of
+ * deleted owners, re-counts the references and deletes contents unreferenced
+ * for longer than {@code immocare.documents.orphan-grace}. The file itself is
+ * deleted after the cleaner's transaction commits, under the content's
+ * store lock, which an upload of the same content holds until its own
+ * transaction completes — so neither can remove what the other just stored.
+ *
+ * PDFs are queued for text extraction by the {@link DocumentTextIndexer}
+ * once the upload commits, and {@link #search} looks up their pages.
+ */
+@Slf4j
+@Service
+@Transactional(readOnly = true)
+public class DocumentService {
+
+    private static final String DEFAULT_CONTENT_TYPE = "application/octet-stream";
+    private static final String PDF = "application/pdf";
+    /** Served inline; anything else (HTML, SVG, …) is a download, never rendered on our origin. */
+    private static final Set<String> INLINE_TYPES = Set.of(PDF, "image/png", "image/jpeg", "image/gif", "image/webp");
+    private static final int DEFAULT_SEARCH_LIMIT = 20;
+    private static final int MAX_SEARCH_LIMIT = 100;
+
+    /** Bytes {@code start..end} (inclusive) of a file; {@code partial} for a 206 response. */
+    record ByteRange(long start, long end, boolean partial) {
+        long length() {
+            return end - start + 1;
+        }
+    }
+
+    private final DocumentRepository documentRepository;
+    private final StoredFileRepository storedFileRepository;
+    private final PebScoreRepository pebScoreRepository;
+    private final BoilerServiceRecordRepository boilerServiceRecordRepository;
+    private final FireExtinguisherRevisionRepository fireExtinguisherRevisionRepository;
+    private final LeaseRepository leaseRepository;
+    private final FinancialTransactionRepository transactionRepository;
+    private final DocumentStore store;
+    private final DocumentTextIndexer textIndexer;
+    private final MeterRegistry meterRegistry;
+    private final Duration orphanGrace;
+
+    public DocumentService(DocumentRepository documentRepository,
+            StoredFileRepository storedFileRepository,
+            PebScoreRepository pebScoreRepository,
+            BoilerServiceRecordRepository boilerServiceRecordRepository,
+            FireExtinguisherRevisionRepository fireExtinguisherRevisionRepository,
+            LeaseRepository leaseRepository,
+            FinancialTransactionRepository transactionRepository,
+            DocumentStore store,
+            DocumentTextIndexer textIndexer,
+            MeterRegistry meterRegistry,
+            @Value("${immocare.documents.orphan-grace:P1D}") Duration orphanGrace) {
+        this.documentRepository = documentRepository;
+        this.storedFileRepository = storedFileRepository;
+        this.pebScoreRepository = pebScoreRepository;
+        this.boilerServiceRecordRepository = boilerServiceRecordRepository;
+        this.fireExtinguisherRevisionRepository = fireExtinguisherRevisionRepository;
+        this.leaseRepository = leaseRepository;
+        this.transactionRepository = transactionRepository;
+        this.store = store;
+        this.textIndexer = textIndexer;
+        this.meterRegistry = meterRegistry;
+        this.orphanGrace = orphanGrace;
+    }
+
+    public List<DocumentDTO> list(DocumentOwnerType ownerType, Long ownerId) {
+        return documentRepository.findByOwnerTypeAndOwnerIdOrderByUploadedAtDesc(ownerType, ownerId).stream()
+                .map(DocumentService::toDTO)
+                .toList();
+    }
+
+    public DocumentDTO get(Long id) {
+        return toDTO(findOrThrow(id));
+    }
+
+    /**
+     * PDF documents with a page containing every word of {@code text}, best
+     * first, optionally limited to a building or to an asset (boiler, fire
+     * extinguisher or meter).
+     */
+    public List<DocumentSearchHitDTO> search(String text, Long buildingId, AssetType assetType, Long assetId,
+            Integer limit) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        boolean byAsset = assetType != null && assetId != null;
+        int max = limit == null ? DEFAULT_SEARCH_LIMIT : Math.clamp(limit, 1, MAX_SEARCH_LIMIT);
+        return meterRegistry.timer("immocare.documents.search").record(() -> documentRepository
+                .search(text.trim(), buildingId, byAsset ? assetType.name() : null, byAsset ? assetId : null, max)
+                .stream()
+                .map(h -> new DocumentSearchHitDTO(h.getDocumentId(), DocumentOwnerType.valueOf(h.getOwnerType()),
+                        h.getOwnerId(), h.getBuildingId(), h.getFileName(), h.getPageNumber(), h.getRank(),
+                        h.getSnippet()))
+                .toList());
+    }
+
+    /** Stores {@code content} (read to the end, not closed) and attaches it to the owner. */
+    @Transactional
+    public DocumentDTO upload(DocumentOwnerType ownerType, Long ownerId, String fileName, String contentType,
+            InputStream content) throws IOException {
+        requireOwner(ownerType, ownerId);
+        DocumentStore.Received received = store.receive(content);
+        String sha256 = received.sha256();
+
+        Lock lock = store.lock(sha256);
+        lock.lock();
+        boolean placed;
+        try {
+            storedFileRepository.acquire(sha256, received.size());
+            placed = store.place(received);
+        } catch (IOException | RuntimeException e) {
+            store.discard(received);
+            lock.unlock();
+            throw e;
+        }
+        unlockAfterCompletion(lock, sha256, placed);
+
+        Document document = new Document();
+        document.setOwnerType(ownerType);
+        document.setOwnerId(ownerId);
+        document.setSha256(sha256);
+        document.setFileName(fileName(fileName));
+        document.setContentType(contentType == null || contentType.isBlank() ? DEFAULT_CONTENT_TYPE : contentType);
+        document.setSizeBytes(received.size());
+        if (isPdf(document)) {
+            document.setTextStatus(DocumentTextStatus.PENDING);
+        }
+        documentRepository.save(document);
+        if (document.getTextStatus() != null) {
+            textIndexer.submitAfterCommit(document.getId());
+        }
+
+        meterRegistry.counter("immocare.documents.uploads", "stored", placed ? "new" : "duplicate").increment();
+        meterRegistry.summary("immocare.documents.upload.bytes").record(received.size());
+        return toDTO(document);
+    }
+
+    /** Extracts the text of a PDF document again, e.g. after a FAILED extraction. */
+    @Transactional
+    public DocumentDTO reindex(Long id) {
+        Document document = findOrThrow(id);
+        if (isPdf(document)) {
+            document.setTextStatus(DocumentTextStatus.PENDING);
+            textIndexer.submitAfterCommit(id);
+        }
+        return toDTO(document);
+    }
+
+    /** Detaches a document; its content goes with the next clean-up once nothing references it. */
+    @Transactional
+    public void delete(Long id) {
+        Document document = findOrThrow(id);
+        documentRepository.delete(document);
+        storedFileRepository.release(document.getSha256());
+    }
+
+    /**
+     * Writes the document, or the single byte range asked for, to the
+     * response. Runs outside a transaction so no connection is held while
+     * the file is sent.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void download(Long id, String rangeHeader, String ifNoneMatch, HttpServletResponse response)
+            throws IOException {
+        Document document = findOrThrow(id);
+        String etag = "\"" + document.getSha256() + "\"";
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, max-age=31536000, immutable");
+        if (etag.equals(ifNoneMatch)) {
+            response.setStatus(HttpStatus.NOT_MODIFIED.value());
+            return;
+        }
+
+        long size = document.getSizeBytes();
+        ByteRange range = range(rangeHeader, size);
+        if (range == null) {
+            response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+            return;
+        }
+        if (range.partial()) {
+            response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+            response.setHeader(HttpHeaders.CONTENT_RANGE,
+                    "bytes " + range.start() + "-" + range.end() + "/" + size);
+        }
+        String type = mediaType(document.getContentType());
+        boolean inline = INLINE_TYPES.contains(type);
+        response.setContentType(inline ? type : DEFAULT_CONTENT_TYPE);
+        response.setHeader("X-Content-Type-Options", "nosniff");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                (inline ? ContentDisposition.inline() : ContentDisposition.attachment())
+                        .filename(document.getFileName(), StandardCharsets.UTF_8).build().toString());
+        response.setContentLengthLong(range.length());
+        if (range.length() > 0) {
+            store.transferTo(document.getSha256(), range.start(), range.length(),
+                    Channels.newChannel(response.getOutputStream()));
+        }
+    }
+
+    // ─── Clean-up ─────────────────────────────────────────────────────────────
+
+    @Transactional
+    public DocumentCleanupDTO cleanOrphans() {
+        return meterRegistry.timer("immocare.documents.cleanup").record(() -> {
+            int orphans = documentRepository.deleteOrphans();
+            storedFileRepository.reconcileRefCounts();
+            List<String> released = new ArrayList<>();
+            for (String sha256 : storedFileRepository.findReleasedBefore(LocalDateTime.now().minus(orphanGrace))) {
+                if (storedFileRepository.deleteIfUnreferenced(sha256) == 1) {
+                    released.add(sha256);
+                }
+            }
+            deleteFilesAfterCommit(released);
+            log.info("Document clean-up: {} orphan documents, {} unreferenced files", orphans, released.size());
+            return new DocumentCleanupDTO(orphans, released.size());
+        });
+    }
+
+    /** Nightly clean-up; schedule via immocare.documents.cleanup-cron. */
+    @Scheduled(cron = "${immocare.documents.cleanup-cron:0 15 4 * * *}")
+    @Transactional
+    public void scheduledCleanup() {
+        cleanOrphans();
+    }
+
+    // ─── Private helpers ──────────────────────────────────────────────────────
+
+    /** Client-supplied content type without parameters, lower case. */
+    private static String mediaType(String contentType) {
+        if (contentType == null) {
+            return DEFAULT_CONTENT_TYPE;
+        }
+        int semicolon = contentType.indexOf(';');
+        return (semicolon < 0 ? contentType : contentType.substring(0, semicolon)).trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Keeps the content lock until the upload's transaction completes; on
+     * rollback the file this upload placed is removed again.
+     */
+    private void unlockAfterCompletion(Lock lock, String sha256, boolean placed) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            lock.unlock();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                try {
+                    if (status != STATUS_COMMITTED && placed) {
+                        store.delete(sha256);
+                    }
+                } catch (IOException e) {
+                    log.warn("Could not remove {} after a failed upload", sha256, e);
+                } finally {
+                    lock.unlock();
+                }
+            }
+        });
+    }
+
+    private void deleteFilesAfterCommit(List<String> released) {
+        if (released.isEmpty() || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                for (String sha256 : released) {
+                    Lock lock = store.lock(sha256);
+                    lock.lock();
+                    try {
+                        // Uploaded again since: the new row is committed, keep the file
+                        if (!storedFileRepository.existsById(sha256)) {
+                            store.delete(sha256);
+                        }
+                    } catch (IOException e) {
+                        log.warn("Could not delete unreferenced file {}", sha256, e);
+                    } finally {
+                        lock.unlock();
+                    }
+                }
+            }
+        });
+    }
+
+    private void requireOwner(DocumentOwnerType ownerType, Long ownerId) {
+        boolean exists = switch (ownerType) {
+            case PEB_SCORE -> pebScoreRepository.existsById(ownerId);
+            case BOILER_SERVICE -> boilerServiceRecordRepository.existsById(ownerId);
+            case FIRE_EXTINGUISHER_REVISION -> fireExtinguisherRevisionRepository.existsById(ownerId);
+            case LEASE -> leaseRepository.existsById(ownerId);
+            case FINANCIAL_TRANSACTION -> transactionRepository.existsById(ownerId);
+        };
+        if (!exists) {
+            throw new DocumentNotFoundException(ownerType, ownerId);
+        }
+    }
+
+    private Document findOrThrow(Long id) {
+        return documentRepository.findById(id).orElseThrow(() -> new DocumentNotFoundException(id));
+    }
+
+    /**
+     * The single range of a {@code Range: bytes=…} header; the whole file
+     * when there is none, it cannot be parsed or asks for several ranges;
+     * null when it starts beyond the end.
+     */
+    static ByteRange range(String header, long size) {
+        ByteRange whole = new ByteRange(0, size - 1, false);
+        if (header == null || !header.startsWith("bytes=") || header.indexOf(',') >= 0) {
+            return whole;
+        }
+        String spec = header.substring("bytes=".length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return whole;
+        }
+        try {
+            if (dash == 0) {
+                long suffix = Long.parseLong(spec.substring(1));
+                if (suffix <= 0 || size == 0) {
+                    return null;
+                }
+                return new ByteRange(Math.max(0, size - suffix), size - 1, true);
+            }
+            long start = Long.parseLong(spec.substring(0, dash));
+            String last = spec.substring(dash + 1);
+            long end = last.isEmpty() ? Long.MAX_VALUE : Long.parseLong(last);
+            if (end < start) {
+                return whole;
+            }
+            if (start >= size) {
+                return null;
+            }
+            return new ByteRange(start, Math.min(end, size - 1), true);
+        } catch (NumberFormatException e) {
+            return whole;
+        }
+    }
+
+    private static boolean isPdf(Document document) {
+        return PDF.equals(document.getContentType())
+                || document.getFileName().toLowerCase(Locale.ROOT).endsWith(".pdf");
+    }
+
+    /** Last path segment of the client's file name. */
+    private static String fileName(String original) {
+        if (original == null || original.isBlank()) {
+            return "document";
+        }
+        String name = original.substring(Math.max(original.lastIndexOf('/'), original.lastIndexOf('\\')) + 1);
+        return name.length() > 255 ? name.substring(name.length() - 255) : name;
+    }
+
+    private static DocumentDTO toDTO(Document d) {
+        return new DocumentDTO(d.getId(), d.getOwnerType(), d.getOwnerId(), d.getFileName(), d.getContentType(),
+                d.getSizeBytes(), d.getSha256(), d.getUploadedAt(), d.getTextStatus(), d.getPageCount());
+    }
+}
@@ -0,0 +1,147 @@
+package com.immocare.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Content-addressed file store on local disk.
+ *
+ * A file lives at {@code root/ab/cd/abcd…} after its SHA-256, so identical
+ * uploads share one file. Uploads are copied channel to channel into a
+ * temporary file while being hashed, then moved into place; reads go
+ * through {@link FileChannel#transferTo}, so no file is ever held in the
+ * heap. {@link #lock(String)} serialises placing and deleting the same
+ * content between an upload and the orphan cleaner.
+ */
+@Component
+public class DocumentStore {
+
+    private static final int LOCK_STRIPES = 64;
+    private static final long CHUNK = 1 << 20;
+
+    /** Hash, size and temporary location of a received upload. */
+    public record Received(String sha256, long size, Path temp) {
+    }
+
+    private final Path root;
+    private final Path tmp;
+    private final Lock[] locks = new Lock[LOCK_STRIPES];
+
+    public DocumentStore(@Value("${immocare.documents.root:data/documents}") Path root) {
+        this.root = root.toAbsolutePath();
+        this.tmp = this.root.resolve("tmp");
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        try {
+            Files.createDirectories(tmp);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create document store " + this.root, e);
+        }
+    }
+
+    /** Copies {@code in} to a temporary file and hashes it on the way. */
+    public Received receive(InputStream in) throws IOException {
+        MessageDigest digest = sha256();
+        Path temp = Files.createTempFile(tmp, "upload-", ".part");
+        try (ReadableByteChannel source = Channels.newChannel(new DigestInputStream(in, digest));
+                FileChannel target = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+            long size = 0;
+            long n;
+            while ((n = target.transferFrom(source, size, CHUNK)) > 0) {
+                size += n;
+            }
+            return new Received(HexFormat.of().formatHex(digest.digest()), size, temp);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+    }
+
+    /**
+     * Moves a received file to its content path; when the content is already
+     * stored the temporary file is dropped.
+     *
+     * @return true if the file was placed, false if it was already there
+     */
+    public boolean place(Received received) throws IOException {
+        Path target = path(received.sha256());
+        if (Files.exists(target)) {
+            Files.deleteIfExists(received.temp());
+            return false;
+        }
+        Files.createDirectories(target.getParent());
+        try {
+            Files.move(received.temp(), target, StandardCopyOption.ATOMIC_MOVE);
+            return true;
+        } catch (FileAlreadyExistsException e) {
+            Files.deleteIfExists(received.temp());
+            return false;
+        }
+    }
+
+    /** Writes {@code length} bytes from {@code offset} of a stored file to {@code out}. */
+    public void transferTo(String sha256, long offset, long length, WritableByteChannel out) throws IOException {
+        try (FileChannel file = FileChannel.open(path(sha256), StandardOpenOption.READ)) {
+            long position = offset;
+            long end = offset + length;
+            while (position < end) {
+                long n = file.transferTo(position, end - position, out);
+                if (n <= 0) {
+                    break;
+                }
+                position += n;
+            }
+        }
+    }
+
+    public boolean delete(String sha256) throws IOException {
+        return Files.deleteIfExists(path(sha256));
+    }
+
+    public void discard(Received received) {
+        try {
+            Files.deleteIfExists(received.temp());
+        } catch (IOException e) {
+            // A stale .part file in tmp is harmless
+        }
+    }
+
+    public Lock lock(String sha256) {
+        return locks[Math.floorMod(sha256.hashCode(), LOCK_STRIPES)];
+    }
+
+    Path path(String sha256) {
+        if (sha256.length() != 64 || !sha256.chars().allMatch(c -> Character.digit(c, 16) >= 0)) {
+            throw new IllegalStateException("Not a SHA-256 key: " + sha256);
+        }
+        return root.resolve(sha256.substring(0, 2)).resolve(sha256.substring(2, 4)).resolve(sha256);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.immocare.service;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.immocare.model.entity.Document;
+import com.immocare.model.enums.DocumentTextStatus;
+import com.immocare.repository.DocumentRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Background text extraction of PDF documents into the full-text index
+ * (document_page, searched through PostgreSQL tsvector).
+ *
+ * Uploads queue their document after commit on a bounded pool of
+ * {@code immocare.documents.text.workers} threads. PDFBox reads the stored
+ * file from disk and extracts one page at a time; each page is written in
+ * its own transaction, so a long document becomes searchable while it is
+ * read and a worker never holds more than one page of text. When the queue
+ * is full the document simply stays PENDING: the periodic sweep queues
+ * pending documents again, which also covers a restart.
+ *
+ * Throughput: immocare.documents.text.page (per-page extraction time; its
+ * count is the pages extracted), immocare.documents.text.bytes (PDF bytes
+ * processed) and immocare.documents.text.extract per document and outcome.
+ */
+@Slf4j
+@Service
+public class DocumentTextIndexer {
+
+    /** Text kept per page; a tsvector is limited to 1 MB. */
+    static final int MAX_PAGE_CHARS = 100_000;
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final DocumentRepository documentRepository;
+    private final DocumentStore store;
+    private final MeterRegistry meterRegistry;
+    private final ThreadPoolExecutor executor;
+    private final Set<Long> queued = ConcurrentHashMap.newKeySet();
+    private final Timer pageTimer;
+    private final Counter bytesCounter;
+
+    public DocumentTextIndexer(DocumentRepository documentRepository,
+            DocumentStore store,
+            MeterRegistry meterRegistry,
+            @Value("${immocare.documents.text.workers:2}") int workers,
+            @Value("${immocare.documents.text.queue-capacity:200}") int queueCapacity) {
+        this.documentRepository = documentRepository;
+        this.store = store;
+        this.meterRegistry = meterRegistry;
+        AtomicInteger threads = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), r -> {
+                    Thread t = new Thread(r, "document-text-" + threads.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+        this.pageTimer = meterRegistry.timer("immocare.documents.text.page");
+        this.bytesCounter = meterRegistry.counter("immocare.documents.text.bytes");
+        meterRegistry.gauge("immocare.documents.text.queue", executor, e -> e.getQueue().size());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /** Queues a document for extraction once the current transaction commits. */
+    public void submitAfterCommit(Long documentId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    submit(documentId);
+                }
+            });
+        } else {
+            submit(documentId);
+        }
+    }
+
+    /** @return false if the document is already queued or the queue is full */
+    public boolean submit(Long documentId) {
+        if (!queued.add(documentId)) {
+            return false;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    extract(documentId);
+                } finally {
+                    queued.remove(documentId);
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            queued.remove(documentId);
+            meterRegistry.counter("immocare.documents.text.rejected").increment();
+            return false;
+        }
+    }
+
+    /** Queues PENDING documents; schedule via immocare.documents.text.sweep-cron. */
+    @Scheduled(cron = "${immocare.documents.text.sweep-cron:0 */10 * * * *}")
+    public void sweepPending() {
+        int submitted = 0;
+        for (Long id : documentRepository.findIdsByTextStatus(DocumentTextStatus.PENDING)) {
+            if (executor.getQueue().remainingCapacity() == 0) {
+                break;
+            }
+            if (submit(id)) {
+                submitted++;
+            }
+        }
+        if (submitted > 0) {
+            log.info("Queued {} pending documents for text extraction", submitted);
+        }
+    }
+
+    /** Extracts and indexes one PENDING document, page by page. */
+    void extract(Long documentId) {
+        Document document = documentRepository.findById(documentId).orElse(null);
+        if (document == null || document.getTextStatus() != DocumentTextStatus.PENDING) {
+            return;
+        }
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "indexed";
+        try (PDDocument pdf = Loader.loadPDF(store.path(document.getSha256()).toFile())) {
+            int pages = pdf.getNumberOfPages();
+            PDFTextStripper stripper = new PDFTextStripper();
+            for (int page = 1; page <= pages; page++) {
+                stripper.setStartPage(page);
+                stripper.setEndPage(page);
+                String text = pageTimer.recordCallable(() -> normalise(stripper.getText(pdf)));
+                if (!text.isEmpty()) {
+                    documentRepository.upsertPage(documentId, page, text);
+                }
+            }
+            documentRepository.deletePagesAfter(documentId, pages);
+            documentRepository.updateTextStatus(documentId, DocumentTextStatus.INDEXED, pages);
+            bytesCounter.increment(document.getSizeBytes());
+        } catch (DataIntegrityViolationException e) {
+            outcome = "deleted"; // removed while being read
+        } catch (Exception e) {
+            outcome = "failed";
+            log.warn("Text extraction failed for document {} ({})", documentId, document.getFileName(), e);
+            documentRepository.updateTextStatus(documentId, DocumentTextStatus.FAILED, null);
+        }
+        sample.stop(meterRegistry.timer("immocare.documents.text.extract", "outcome", outcome));
+    }
+
+    /** Single-spaced text without NUL characters (rejected by PostgreSQL), capped at {@link #MAX_PAGE_CHARS}. */
+    static String normalise(String text) {
+        String s = WHITESPACE.matcher(text.replace('\u0000', ' ')).replaceAll(" ").trim();
+        return s.length() > MAX_PAGE_CHARS ? s.substring(0, MAX_PAGE_CHARS) : s;
+    }
+}
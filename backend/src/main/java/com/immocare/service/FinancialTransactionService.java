@@ -5,7 +5,9 @@ import java.io.PrintWriter;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import org.springframework.data.domain.Page;
@@ -29,6 +31,7 @@ import com.immocare.model.dto.FinancialTransactionSummaryDTO;
 import com.immocare.model.dto.PagedTransactionResponse;
 import com.immocare.model.dto.SaveAssetLinkRequest;
 import com.immocare.model.dto.StatisticsFilter;
+import com.immocare.model.dto.TransactionAllocationDTO;
 import com.immocare.model.dto.TransactionAssetLinkDTO;
 import com.immocare.model.dto.TransactionFilter;
 import com.immocare.model.dto.TransactionStatisticsDTO;
@@ -39,6 +42,7 @@ import com.immocare.model.entity.FinancialTransaction;
 import com.immocare.model.entity.FireExtinguisher;
 import com.immocare.model.entity.HousingUnit;
 import com.immocare.model.entity.TagSubcategory;
+import com.immocare.model.entity.TransactionAllocation;
 import com.immocare.model.entity.TransactionAssetLink;
 import com.immocare.model.enums.AssetType;
 import com.immocare.model.enums.BankAccountType;
@@ -52,12 +56,15 @@ import com.immocare.repository.BuildingRepository;
 import com.immocare.repository.FinancialTransactionRepository;
 import com.immocare.repository.FireExtinguisherRepository;
 import com.immocare.repository.HousingUnitRepository;
+import com.immocare.repository.LedgerMonthlyRollupRepository;
 import com.immocare.repository.LeaseRepository;
 import com.immocare.repository.MeterRepository;
 import com.immocare.repository.TagSubcategoryRepository;
 import com.immocare.repository.TransactionAssetLinkRepository;
 import com.immocare.repository.spec.TransactionSpecification;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.http.HttpServletResponse;
 
 @Service
@@ -77,6 +84,10 @@ public class FinancialTransactionService {
     private final HousingUnitRepository housingUnitRepository;
     private final BuildingRepository buildingRepository;
     private final LeaseRepository leaseRepository;
+    private final LedgerRollupService ledgerRollupService;
+    private final TransactionAllocationService allocationService;
+    private final BankBalanceService bankBalanceService;
+    private final MeterRegistry meterRegistry;
 
     public FinancialTransactionService(FinancialTransactionRepository transactionRepository,
             TagSubcategoryRepository tagSubcategoryRepository,
@@ -87,7 +98,11 @@ public class FinancialTransactionService {
             FireExtinguisherRepository fireExtinguisherRepository,
             MeterRepository meterRepository,
             HousingUnitRepository housingUnitRepository,
-            BuildingRepository buildingRepository, LeaseRepository leaseRepository) {
+            BuildingRepository buildingRepository, LeaseRepository leaseRepository,
+            LedgerRollupService ledgerRollupService,
+            TransactionAllocationService allocationService,
+            BankBalanceService bankBalanceService,
+            MeterRegistry meterRegistry) {
         this.transactionRepository = transactionRepository;
         this.tagSubcategoryRepository = tagSubcategoryRepository;
         this.bankAccountRepository = bankAccountRepository;
@@ -99,15 +114,28 @@ public class FinancialTransactionService {
         this.housingUnitRepository = housingUnitRepository;
         this.buildingRepository = buildingRepository;
         this.leaseRepository = leaseRepository;
+        this.ledgerRollupService = ledgerRollupService;
+        this.allocationService = allocationService;
+        this.bankBalanceService = bankBalanceService;
+        this.meterRegistry = meterRegistry;
     }
 
     public PagedTransactionResponse getAll(TransactionFilter filter, Pageable pageable) {
         Specification<FinancialTransaction> spec = buildSpec(filter);
         Page<FinancialTransaction> page = transactionRepository.findAll(spec, pageable);
 
-        // Aggregate totals over full filter (all pages)
-        BigDecimal totalIncome = computeTotal(spec, TransactionDirection.INCOME);
-        BigDecimal totalExpenses = computeTotal(spec, TransactionDirection.EXPENSE);
+        // Aggregate totals over full filter (all pages) — from the rollup when
+        // the filter only uses rollup dimensions
+        BigDecimal totalIncome;
+        BigDecimal totalExpenses;
+        if (ledgerRollupService.supportsTotals(filter)) {
+            Map<TransactionDirection, BigDecimal> totals = ledgerRollupService.totals(filter);
+            totalIncome = totals.get(TransactionDirection.INCOME);
+            totalExpenses = totals.get(TransactionDirection.EXPENSE);
+        } else {
+            totalIncome = computeTotal(spec, filter, TransactionDirection.INCOME);
+            totalExpenses = computeTotal(spec, filter, TransactionDirection.EXPENSE);
+        }
         BigDecimal netBalance = totalIncome.subtract(totalExpenses);
 
         List<FinancialTransactionSummaryDTO> content = page.getContent().stream()
@@ -145,6 +173,7 @@ public class FinancialTransactionService {
         if (tx.getHousingUnit() != null) {
             tx.setBuilding(tx.getHousingUnit().getBuilding());
         }
+        allocationService.allocate(tx, req.allocation());
 
         // Generate reference
         String year = String.valueOf(req.transactionDate().getYear());
@@ -165,6 +194,8 @@ public class FinancialTransactionService {
         }
 
         FinancialTransaction saved = transactionRepository.save(tx);
+        ledgerRollupService.added(saved);
+        bankBalanceService.added(saved);
         reinforceLearning(saved);
         return toDTO(saved);
     }
@@ -177,6 +208,8 @@ public class FinancialTransactionService {
         }
         validateTransactionRequest(req.direction(), req.leaseId(), req.subcategoryId(),
                 req.housingUnitId(), req.assetLinks());
+        LedgerRollupService.Entry before = LedgerRollupService.Entry.of(tx);
+        BankBalanceService.Movement movement = BankBalanceService.Movement.of(tx);
 
         tx.setDirection(req.direction());
         tx.setTransactionDate(req.transactionDate());
@@ -192,6 +225,11 @@ public class FinancialTransactionService {
         if (tx.getHousingUnit() != null) {
             tx.setBuilding(tx.getHousingUnit().getBuilding());
         }
+        if (req.allocation() != null || req.removeAllocation()) {
+            allocationService.allocate(tx, req.allocation());
+        } else {
+            allocationService.reallocate(tx);
+        }
 
         tx.getAssetLinks().clear();
         if (req.assetLinks() != null) {
@@ -207,6 +245,8 @@ public class FinancialTransactionService {
         }
 
         FinancialTransaction saved = transactionRepository.save(tx);
+        ledgerRollupService.changed(before, saved);
+        bankBalanceService.changed(movement, saved);
         reinforceLearning(saved);
         return toDTO(saved);
     }
@@ -217,7 +257,11 @@ public class FinancialTransactionService {
         if (tx.getStatus() == TransactionStatus.RECONCILED) {
             throw new TransactionNotEditableException("Reconciled transactions cannot be modified");
         }
+        LedgerRollupService.Entry before = LedgerRollupService.Entry.of(tx);
+        BankBalanceService.Movement movement = BankBalanceService.Movement.of(tx);
         transactionRepository.delete(tx);
+        ledgerRollupService.removed(before);
+        bankBalanceService.removed(movement);
     }
 
     @Transactional
@@ -226,6 +270,7 @@ public class FinancialTransactionService {
         if (tx.getStatus() == TransactionStatus.RECONCILED) {
             throw new TransactionNotEditableException("Reconciled transactions cannot be modified");
         }
+        LedgerRollupService.Entry before = LedgerRollupService.Entry.of(tx);
         if (req.subcategoryId() != null) {
             tx.setSubcategory(tagSubcategoryRepository.getReferenceById(req.subcategoryId()));
         }
@@ -241,6 +286,8 @@ public class FinancialTransactionService {
         if (req.housingUnitId() != null) {
             tx.setHousingUnit(housingUnitRepository.getReferenceById(req.housingUnitId()));
             tx.setBuilding(tx.getHousingUnit().getBuilding());
+            // booking on a single unit replaces any split
+            tx.getAllocations().clear();
         }
         // Promote suggested lease
         if (tx.getSuggestedLease() != null && req.leaseId() == null) {
@@ -253,6 +300,7 @@ public class FinancialTransactionService {
         }
         tx.setStatus(TransactionStatus.CONFIRMED);
         FinancialTransaction saved = transactionRepository.save(tx);
+        ledgerRollupService.changed(before, saved);
         reinforceLearning(saved);
         return toDTO(saved);
     }
@@ -262,14 +310,18 @@ public class FinancialTransactionService {
         Page<FinancialTransaction> drafts = transactionRepository.findByImportBatchId(
                 batchId, Pageable.unpaged());
         int count = 0;
+        LedgerRollupService.Delta delta = new LedgerRollupService.Delta();
         for (FinancialTransaction tx : drafts) {
             if (tx.getStatus() == TransactionStatus.DRAFT) {
+                LedgerRollupService.Entry before = LedgerRollupService.Entry.of(tx);
                 tx.setStatus(TransactionStatus.CONFIRMED);
                 transactionRepository.save(tx);
+                delta.change(before, tx);
                 reinforceLearning(tx);
                 count++;
             }
         }
+        ledgerRollupService.apply(delta);
         return count;
     }
 
@@ -301,6 +353,7 @@ public class FinancialTransactionService {
         List<FinancialTransaction> transactions = transactionRepository.findAllById(req.ids());
 
         int updated = 0, skipped = 0;
+        LedgerRollupService.Delta delta = new LedgerRollupService.Delta();
 
         for (FinancialTransaction tx : transactions) {
             if (tx.getStatus() == TransactionStatus.RECONCILED) {
@@ -308,6 +361,7 @@ public class FinancialTransactionService {
                 continue;
             }
 
+            LedgerRollupService.Entry before = LedgerRollupService.Entry.of(tx);
             boolean changed = false;
 
             // Apply status
@@ -333,6 +387,8 @@ public class FinancialTransactionService {
                         tx.setSubcategory(resolvedSub);
                         changed = true;
                     } else {
+                        // a status change above is still flushed by dirty checking
+                        delta.change(before, tx);
                         skipped++;
                         continue;
                     }
@@ -341,6 +397,7 @@ public class FinancialTransactionService {
 
             if (changed) {
                 transactionRepository.save(tx);
+                delta.change(before, tx);
                 if (req.status() == TransactionStatus.CONFIRMED) {
                     reinforceLearning(tx);
                 }
@@ -348,115 +405,125 @@ public class FinancialTransactionService {
             }
         }
 
+        ledgerRollupService.apply(delta);
         return new BulkPatchTransactionResult(updated, skipped);
     }
 
     public TransactionStatisticsDTO getStatistics(StatisticsFilter filter) {
-        Specification<FinancialTransaction> base = TransactionSpecification.confirmedOrReconciled();
-        if (filter.accountingFrom() != null)
-            base = base.and(TransactionSpecification.withAccountingFrom(filter.accountingFrom()));
-        if (filter.accountingTo() != null)
-            base = base.and(TransactionSpecification.withAccountingTo(filter.accountingTo()));
-        if (filter.buildingId() != null)
-            base = base.and(TransactionSpecification.withBuildingId(filter.buildingId()));
-        if (filter.unitId() != null)
-            base = base.and(TransactionSpecification.withUnitId(filter.unitId()));
-        if (filter.bankAccountId() != null)
-            base = base.and(TransactionSpecification.withBankAccountId(filter.bankAccountId()));
-        if (filter.direction() != null)
-            base = base.and(TransactionSpecification.withDirection(filter.direction()));
-
-        List<FinancialTransaction> all = transactionRepository.findAll(base);
+        return meterRegistry.timer("immocare.transactions.statistics")
+                .record(() -> computeStatistics(filter));
+    }
+
+    private TransactionStatisticsDTO computeStatistics(StatisticsFilter filter) {
+        if (ledgerRollupService.isEnabled()) {
+            return aggregateSlices(ledgerRollupService.statisticsSlices(filter));
+        }
+        // Grouped in SQL: unallocated transactions, then allocation lines on their units
+        List<LedgerMonthlyRollupRepository.SliceRow> rows = new ArrayList<>(
+                transactionRepository.sumStatisticsSlices(filter.accountingFrom(), filter.accountingTo(),
+                        filter.buildingId(), filter.unitId(), filter.bankAccountId(), filter.direction()));
+        rows.addAll(transactionRepository.sumAllocatedStatisticsSlices(filter.accountingFrom(),
+                filter.accountingTo(), filter.buildingId(), filter.unitId(), filter.bankAccountId(),
+                filter.direction()));
+        return aggregateSlices(ledgerRollupService.resolve(rows));
+    }
 
+    /**
+     * Totals, per category / subcategory, building, unit, bank account and
+     * accounting month, from pre-grouped slices (rollup rows or single
+     * transactions).
+     */
+    static TransactionStatisticsDTO aggregateSlices(List<LedgerRollupService.Slice> all) {
         BigDecimal totalIncome = sum(all, TransactionDirection.INCOME);
         BigDecimal totalExpenses = sum(all, TransactionDirection.EXPENSE);
         BigDecimal netBalance = totalIncome.subtract(totalExpenses);
 
         // byCategory
         var byCategory = all.stream()
-                .filter(t -> t.getSubcategory() != null)
-                .collect(Collectors.groupingBy(t -> t.getSubcategory().getCategory().getId()))
+                .filter(t -> t.subcategory() != null)
+                .collect(Collectors.groupingBy(t -> t.subcategory().getCategory().getId()))
                 .entrySet().stream()
                 .map(entry -> {
-                    var txs = entry.getValue();
-                    String catName = txs.get(0).getSubcategory().getCategory().getName();
-                    BigDecimal catTotal = txs.stream().map(FinancialTransaction::getAmount)
+                    var slices = entry.getValue();
+                    String catName = slices.get(0).subcategory().getCategory().getName();
+                    BigDecimal catTotal = slices.stream().map(LedgerRollupService.Slice::amount)
                             .reduce(BigDecimal.ZERO, BigDecimal::add);
-                    var subs = txs.stream()
-                            .collect(Collectors.groupingBy(t -> t.getSubcategory().getId()))
+                    var subs = slices.stream()
+                            .collect(Collectors.groupingBy(t -> t.subcategory().getId()))
                             .entrySet().stream()
                             .map(se -> {
-                                var stxs = se.getValue();
-                                BigDecimal subAmt = stxs.stream().map(FinancialTransaction::getAmount)
+                                var sslices = se.getValue();
+                                BigDecimal subAmt = sslices.stream().map(LedgerRollupService.Slice::amount)
                                         .reduce(BigDecimal.ZERO, BigDecimal::add);
+                                long subCount = sslices.stream().mapToLong(LedgerRollupService.Slice::count).sum();
                                 double pct = catTotal.compareTo(BigDecimal.ZERO) == 0 ? 0
                                         : subAmt.doubleValue() / catTotal.doubleValue() * 100.0;
                                 return new TransactionStatisticsDTO.SubcategoryBreakdownDTO(
-                                        se.getKey(), stxs.get(0).getSubcategory().getName(),
-                                        stxs.get(0).getSubcategory().getDirection(),
-                                        subAmt, stxs.size(), pct);
+                                        se.getKey(), sslices.get(0).subcategory().getName(),
+                                        sslices.get(0).subcategory().getDirection(),
+                                        subAmt, subCount, pct);
                             }).toList();
                     return new TransactionStatisticsDTO.CategoryBreakdownDTO(entry.getKey(), catName, subs, catTotal);
                 }).toList();
 
         // byBuilding
         var byBuilding = all.stream()
-                .collect(Collectors.groupingBy(t -> t.getBuilding() != null ? t.getBuilding().getId() : -1L))
+                .collect(Collectors.groupingBy(t -> t.building() != null ? t.building().getId() : -1L))
                 .entrySet().stream()
                 .map(e -> {
-                    var txs = e.getValue();
+                    var slices = e.getValue();
                     String name = e.getKey() == -1L ? "Unassigned"
-                            : txs.get(0).getBuilding().getName();
+                            : slices.get(0).building().getName();
                     Long bid = e.getKey() == -1L ? null : e.getKey();
                     return new TransactionStatisticsDTO.BuildingBreakdownDTO(bid, name,
-                            sum(txs, TransactionDirection.INCOME),
-                            sum(txs, TransactionDirection.EXPENSE),
-                            sum(txs, TransactionDirection.INCOME).subtract(sum(txs, TransactionDirection.EXPENSE)));
+                            sum(slices, TransactionDirection.INCOME),
+                            sum(slices, TransactionDirection.EXPENSE),
+                            sum(slices, TransactionDirection.INCOME).subtract(sum(slices, TransactionDirection.EXPENSE)));
                 }).toList();
 
         // byUnit
         var byUnit = all.stream()
-                .filter(t -> t.getHousingUnit() != null)
-                .collect(Collectors.groupingBy(t -> t.getHousingUnit().getId()))
+                .filter(t -> t.unit() != null)
+                .collect(Collectors.groupingBy(t -> t.unit().getId()))
                 .entrySet().stream()
                 .map(e -> {
-                    var txs = e.getValue();
-                    HousingUnit u = txs.get(0).getHousingUnit();
+                    var slices = e.getValue();
+                    HousingUnit u = slices.get(0).unit();
                     return new TransactionStatisticsDTO.UnitBreakdownDTO(e.getKey(),
                             u.getUnitNumber(), u.getBuilding().getName(),
-                            sum(txs, TransactionDirection.INCOME),
-                            sum(txs, TransactionDirection.EXPENSE),
-                            sum(txs, TransactionDirection.INCOME).subtract(sum(txs, TransactionDirection.EXPENSE)));
+                            sum(slices, TransactionDirection.INCOME),
+                            sum(slices, TransactionDirection.EXPENSE),
+                            sum(slices, TransactionDirection.INCOME).subtract(sum(slices, TransactionDirection.EXPENSE)));
                 }).toList();
 
         // byBankAccount
         var byBankAccount = all.stream()
-                .collect(Collectors.groupingBy(t -> t.getBankAccount() != null ? t.getBankAccount().getId() : -1L))
+                .collect(Collectors.groupingBy(t -> t.bankAccount() != null ? t.bankAccount().getId() : -1L))
                 .entrySet().stream()
                 .map(e -> {
-                    var txs = e.getValue();
+                    var slices = e.getValue();
                     Long baId = e.getKey() == -1L ? null : e.getKey();
-                    String label = e.getKey() == -1L ? "Unassigned" : txs.get(0).getBankAccount().getLabel();
-                    BankAccountType type = e.getKey() == -1L ? null : txs.get(0).getBankAccount().getType();
+                    String label = e.getKey() == -1L ? "Unassigned" : slices.get(0).bankAccount().getLabel();
+                    BankAccountType type = e.getKey() == -1L ? null : slices.get(0).bankAccount().getType();
                     return new TransactionStatisticsDTO.BankAccountBreakdownDTO(baId, label, type,
-                            sum(txs, TransactionDirection.INCOME),
-                            sum(txs, TransactionDirection.EXPENSE),
-                            sum(txs, TransactionDirection.INCOME).subtract(sum(txs, TransactionDirection.EXPENSE)));
+                            sum(slices, TransactionDirection.INCOME),
+                            sum(slices, TransactionDirection.EXPENSE),
+                            sum(slices, TransactionDirection.INCOME).subtract(sum(slices, TransactionDirection.EXPENSE)));
                 }).toList();
 
         // monthlyTrend
         var monthlyTrend = all.stream()
                 .collect(Collectors.groupingBy(
-                        t -> t.getAccountingMonth().getYear() * 100 + t.getAccountingMonth().getMonthValue()))
+                        t -> t.accountingMonth().getYear() * 100 + t.accountingMonth().getMonthValue()))
                 .entrySet().stream()
                 .sorted(java.util.Map.Entry.comparingByKey())
                 .map(e -> {
-                    var txs = e.getValue();
+                    var slices = e.getValue();
                     int year = e.getKey() / 100;
                     int month = e.getKey() % 100;
                     return new TransactionStatisticsDTO.MonthlyTrendDTO(year, month,
-                            sum(txs, TransactionDirection.INCOME),
-                            sum(txs, TransactionDirection.EXPENSE));
+                            sum(slices, TransactionDirection.INCOME),
+                            sum(slices, TransactionDirection.EXPENSE));
                 }).toList();
 
         return new TransactionStatisticsDTO(totalIncome, totalExpenses, netBalance,
@@ -464,6 +531,15 @@ public class FinancialTransactionService {
     }
 
     public void exportCsv(TransactionFilter filter, HttpServletResponse response) throws IOException {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            writeCsv(filter, response);
+        } finally {
+            sample.stop(meterRegistry.timer("immocare.transactions.export"));
+        }
+    }
+
+    private void writeCsv(TransactionFilter filter, HttpServletResponse response) throws IOException {
         response.setContentType("text/csv; charset=UTF-8");
         response.setHeader("Content-Disposition", "attachment; filename=\"transactions.csv\"");
         Specification<FinancialTransaction> spec = buildSpec(filter);
@@ -538,16 +614,33 @@ public class FinancialTransactionService {
         return spec;
     }
 
-    private BigDecimal computeTotal(Specification<FinancialTransaction> baseSpec, TransactionDirection direction) {
+    private BigDecimal computeTotal(Specification<FinancialTransaction> baseSpec, TransactionFilter f,
+            TransactionDirection direction) {
         Specification<FinancialTransaction> spec = baseSpec.and(TransactionSpecification.withDirection(direction));
         return transactionRepository.findAll(spec).stream()
-                .map(FinancialTransaction::getAmount)
+                .map(tx -> share(tx, f))
                 .reduce(BigDecimal.ZERO, BigDecimal::add);
     }
 
-    private BigDecimal sum(List<FinancialTransaction> txs, TransactionDirection dir) {
-        return txs.stream().filter(t -> t.getDirection() == dir)
-                .map(FinancialTransaction::getAmount).reduce(BigDecimal.ZERO, BigDecimal::add);
+    /**
+     * Part of a transaction counted in the totals: with a building or unit
+     * filter, a split expense counts only its lines there, as in the rollup.
+     */
+    private static BigDecimal share(FinancialTransaction tx, TransactionFilter f) {
+        if (tx.getAllocations().isEmpty() || (f.buildingId() == null && f.unitId() == null)) {
+            return tx.getAmount();
+        }
+        return tx.getAllocations().stream()
+                .filter(a -> f.unitId() == null || f.unitId().equals(a.getHousingUnit().getId()))
+                .filter(a -> f.buildingId() == null
+                        || f.buildingId().equals(a.getHousingUnit().getBuilding().getId()))
+                .map(TransactionAllocation::getAmount)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    private static BigDecimal sum(List<LedgerRollupService.Slice> slices, TransactionDirection dir) {
+        return slices.stream().filter(t -> t.direction() == dir)
+                .map(LedgerRollupService.Slice::amount).reduce(BigDecimal.ZERO, BigDecimal::add);
     }
 
     private void applyRelations(FinancialTransaction tx, Long bankAccountId, Long subcategoryId,
@@ -611,6 +704,10 @@ public class FinancialTransactionService {
     }
 
     private void reinforceLearning(FinancialTransaction tx) {
+        if (tx.getSubcategory() != null && (tx.getStatus() == TransactionStatus.CONFIRMED
+                || tx.getStatus() == TransactionStatus.RECONCILED)) {
+            learningService.learnText(tx.getSubcategory().getId(), tx.getCounterpartyName(), tx.getDescription());
+        }
         if (tx.getSubcategory() != null && tx.getCounterpartyAccount() != null
                 && !tx.getCounterpartyAccount().isBlank()) {
             learningService.reinforceTagRule(tx.getSubcategory().getId(), tx.getCounterpartyAccount());
@@ -661,6 +758,11 @@ public class FinancialTransactionService {
                 .map(l -> new TransactionAssetLinkDTO(l.getId(), l.getAssetType(), l.getAssetId(),
                         resolveAssetLabel(l.getAssetType(), l.getAssetId()), l.getNotes()))
                 .toList();
+        List<TransactionAllocationDTO> allocations = tx.getAllocations().stream()
+                .map(a -> new TransactionAllocationDTO(a.getId(), a.getHousingUnit().getId(),
+                        a.getHousingUnit().getUnitNumber(), a.getHousingUnit().getBuilding().getName(),
+                        a.getAmount(), a.getMethod()))
+                .toList();
         return new FinancialTransactionDTO(
                 tx.getId(), tx.getReference(), tx.getExternalReference(),
                 tx.getTransactionDate(), tx.getValueDate(), tx.getAccountingMonth(),
@@ -680,6 +782,7 @@ public class FinancialTransactionService {
                 tx.getBuilding() != null ? tx.getBuilding().getName() : null,
                 tx.getImportBatch() != null ? tx.getImportBatch().getId() : null,
                 links,
+                allocations,
                 tx.getStatus() != TransactionStatus.RECONCILED,
                 tx.getCreatedAt(), tx.getUpdatedAt());
     }
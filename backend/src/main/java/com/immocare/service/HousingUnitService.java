@@ -41,6 +41,7 @@ public class HousingUnitService {
   private final HousingUnitMapper housingUnitMapper;
   private final RoomRepository roomRepository;
   private final LeaseRepository leaseRepository;
+  private final PortfolioVersion portfolioVersion;
   @Autowired
   private RentHistoryRepository rentHistoryRepository;
   @Autowired
@@ -50,13 +51,15 @@ public class HousingUnitService {
       BuildingRepository buildingRepository,
       PersonRepository personRepository,
       HousingUnitMapper housingUnitMapper,
-      RoomRepository roomRepository, LeaseRepository leaseRepository) {
+      RoomRepository roomRepository, LeaseRepository leaseRepository,
+      PortfolioVersion portfolioVersion) {
     this.housingUnitRepository = housingUnitRepository;
     this.buildingRepository = buildingRepository;
     this.personRepository = personRepository;
     this.housingUnitMapper = housingUnitMapper;
     this.roomRepository = roomRepository;
     this.leaseRepository = leaseRepository;
+    this.portfolioVersion = portfolioVersion;
   }
 
   // ─── Queries ────────────────────────────────────────────────────────────────
@@ -112,6 +115,7 @@ public class HousingUnitService {
       // greater than 0.");
     }
 
+    portfolioVersion.bumpAfterCommit();
     HousingUnit saved = housingUnitRepository.save(unit);
     return toEnrichedDTO(saved);
   }
@@ -155,6 +159,7 @@ public class HousingUnitService {
     }
 
     HousingUnit updated = housingUnitRepository.save(unit);
+    portfolioVersion.bumpAfterCommit();
     return toEnrichedDTO(updated);
   }
 
@@ -165,6 +170,7 @@ public class HousingUnitService {
     if (roomCount > 0) {
       throw new HousingUnitHasDataException(id, roomCount);
     }
+    portfolioVersion.bumpAfterCommit();
     housingUnitRepository.delete(unit);
   }
 
@@ -0,0 +1,293 @@
+package com.immocare.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.immocare.exception.IndexationException;
+import com.immocare.model.dto.IndexationDTOs.HealthIndexDTO;
+import com.immocare.model.dto.IndexationDTOs.IndexationLineDTO;
+import com.immocare.model.dto.IndexationDTOs.IndexationLineStatus;
+import com.immocare.model.dto.IndexationDTOs.IndexationRunDTO;
+import com.immocare.model.entity.HealthIndex;
+import com.immocare.model.entity.Lease;
+import com.immocare.model.entity.LeaseIndexationHistory;
+import com.immocare.model.entity.LeaseRentAdjustment;
+import com.immocare.repository.HealthIndexRepository;
+import com.immocare.repository.LeaseIndexationHistoryRepository;
+import com.immocare.repository.LeaseRentAdjustmentRepository;
+import com.immocare.repository.LeaseRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Batch rent indexation of the portfolio (Belgian formula):
+ *
+ * new rent = base rent × new index / base index
+ *
+ * - base rent: rent at signature — the old value of the lease's first RENT
+ * adjustment, else its current rent;
+ * - base index: {@code lease.baseIndexValue}, else the health index of the
+ * month before signature;
+ * - new index: health index of the month before the anniversary.
+ *
+ * A run covers the ACTIVE leases whose anniversary of entry into force falls
+ * in a window of at most one year and that were not indexed for that
+ * anniversary yet. The whole run is computed from a handful of queries (leases,
+ * RENT adjustments, applied indexations, index series); applying it writes
+ * one RENT adjustment and one lease_indexation_history row per lease in the
+ * same transaction, refreshes the rent schedules and bumps the
+ * {@link PortfolioVersion} once it commits.
+ */
+@Slf4j
+@Service
+@Transactional(readOnly = true)
+public class IndexationService {
+
+    private final LeaseRepository leaseRepository;
+    private final LeaseRentAdjustmentRepository adjustmentRepository;
+    private final LeaseIndexationHistoryRepository historyRepository;
+    private final HealthIndexRepository healthIndexRepository;
+    private final RentLedgerService rentLedgerService;
+    private final PortfolioVersion portfolioVersion;
+    private final MeterRegistry meterRegistry;
+
+    public IndexationService(LeaseRepository leaseRepository,
+            LeaseRentAdjustmentRepository adjustmentRepository,
+            LeaseIndexationHistoryRepository historyRepository,
+            HealthIndexRepository healthIndexRepository,
+            RentLedgerService rentLedgerService,
+            PortfolioVersion portfolioVersion,
+            MeterRegistry meterRegistry) {
+        this.leaseRepository = leaseRepository;
+        this.adjustmentRepository = adjustmentRepository;
+        this.historyRepository = historyRepository;
+        this.healthIndexRepository = healthIndexRepository;
+        this.rentLedgerService = rentLedgerService;
+        this.portfolioVersion = portfolioVersion;
+        this.meterRegistry = meterRegistry;
+    }
+
+    // ─── Health index series ──────────────────────────────────────────────────
+
+    public List<HealthIndexDTO> getHealthIndex() {
+        return healthIndexRepository.findAllByOrderByMonthAsc().stream()
+                .map(h -> new HealthIndexDTO(h.getMonth(), h.getValue()))
+                .toList();
+    }
+
+    /** Adds or corrects months of the series; other months are kept. */
+    @Transactional
+    public List<HealthIndexDTO> saveHealthIndex(List<HealthIndexDTO> values) {
+        Map<LocalDate, BigDecimal> byMonth = new HashMap<>();
+        for (HealthIndexDTO v : values) {
+            if (v.month() == null || v.value() == null || v.value().signum() <= 0) {
+                throw new IndexationException("Each health index needs a month and a positive value");
+            }
+            byMonth.put(v.month().withDayOfMonth(1), v.value());
+        }
+        Map<LocalDate, HealthIndex> existing = healthIndexRepository.findAllById(byMonth.keySet()).stream()
+                .collect(Collectors.toMap(HealthIndex::getMonth, Function.identity()));
+        List<HealthIndex> changed = new ArrayList<>();
+        byMonth.forEach((month, value) -> {
+            HealthIndex row = existing.get(month);
+            if (row == null) {
+                changed.add(new HealthIndex(month, value));
+            } else if (row.getValue().compareTo(value) != 0) {
+                row.setValue(value);
+                changed.add(row);
+            }
+        });
+        healthIndexRepository.saveAll(changed);
+        return getHealthIndex();
+    }
+
+    // ─── Indexation run ───────────────────────────────────────────────────────
+
+    /** Dry run: what {@link #apply} would write for the same window. */
+    public IndexationRunDTO preview(LocalDate from, LocalDate to, Collection<Long> leaseIds) {
+        return meterRegistry.timer("immocare.indexation.run", "dryRun", "true")
+                .record(() -> run(from, to, leaseIds, false));
+    }
+
+    /** Indexes every READY lease of the window in one transaction. */
+    @Transactional
+    public IndexationRunDTO apply(LocalDate from, LocalDate to, Collection<Long> leaseIds) {
+        return meterRegistry.timer("immocare.indexation.run", "dryRun", "false")
+                .record(() -> run(from, to, leaseIds, true));
+    }
+
+    private IndexationRunDTO run(LocalDate from, LocalDate to, Collection<Long> leaseIds, boolean write) {
+        if (from == null || to == null || to.isBefore(from)) {
+            throw new IndexationException("Indexation window: 'to' must not be before 'from'");
+        }
+        if (!to.isBefore(from.plusYears(1))) {
+            throw new IndexationException("Indexation window must be shorter than one year");
+        }
+
+        Set<Long> wanted = leaseIds == null ? Set.of() : new HashSet<>(leaseIds);
+        Map<Lease, LocalDate> anniversaries = new HashMap<>();
+        for (Lease lease : leaseRepository.findAllActiveWithUnit()) {
+            if (!wanted.isEmpty() && !wanted.contains(lease.getId())) {
+                continue;
+            }
+            LocalDate anniversary = anniversaryIn(lease, from, to);
+            if (anniversary != null) {
+                anniversaries.put(lease, anniversary);
+            }
+        }
+
+        Set<String> applied = historyRepository.findAppliedBetween(from, to).stream()
+                .map(h -> h.getLeaseId() + "@" + h.getApplicationDate())
+                .collect(Collectors.toSet());
+        Map<Long, BigDecimal> firstRents = new HashMap<>();
+        if (!anniversaries.isEmpty()) {
+            for (LeaseRentAdjustment a : adjustmentRepository.findRentAdjustmentsByLeaseIdIn(
+                    anniversaries.keySet().stream().map(Lease::getId).toList())) {
+                firstRents.putIfAbsent(a.getLease().getId(), a.getOldValue());
+            }
+        }
+        NavigableMap<LocalDate, BigDecimal> series = new TreeMap<>();
+        healthIndexRepository.findAll().forEach(h -> series.put(h.getMonth(), h.getValue()));
+
+        List<IndexationLineDTO> lines = new ArrayList<>();
+        List<LeaseRentAdjustment> adjustments = new ArrayList<>();
+        List<LeaseIndexationHistory> history = new ArrayList<>();
+        LocalDate today = LocalDate.now();
+
+        anniversaries.entrySet().stream()
+                .sorted(Comparator.comparing((Map.Entry<Lease, LocalDate> e) -> e.getValue())
+                        .thenComparing(e -> e.getKey().getId()))
+                .forEach(e -> {
+                    Lease lease = e.getKey();
+                    LocalDate anniversary = e.getValue();
+                    IndexationLineDTO line = compute(lease, anniversary,
+                            firstRents.getOrDefault(lease.getId(), lease.getMonthlyRent()), series,
+                            applied.contains(lease.getId() + "@" + anniversary));
+                    if (write && line.status() == IndexationLineStatus.READY) {
+                        adjustments.add(adjustment(lease, line));
+                        history.add(history(lease, line, today));
+                        lease.setMonthlyRent(line.newRent());
+                        line = withStatus(line, IndexationLineStatus.APPLIED);
+                    }
+                    lines.add(line);
+                });
+
+        if (write && !adjustments.isEmpty()) {
+            adjustmentRepository.saveAll(adjustments);
+            historyRepository.saveAll(history);
+            for (LeaseRentAdjustment a : adjustments) {
+                rentLedgerService.refreshSchedule(a.getLease());
+            }
+            portfolioVersion.bumpAfterCommit();
+            log.info("Indexation {}..{}: {} leases indexed", from, to, adjustments.size());
+        }
+
+        int indexed = (int) lines.stream().filter(l -> l.status() != IndexationLineStatus.SKIPPED).count();
+        return new IndexationRunDTO(from, to, !write, indexed, lines.size() - indexed, lines);
+    }
+
+    /** Anniversary of entry into force within [from, to], from the first year on; null if none. */
+    static LocalDate anniversaryIn(Lease lease, LocalDate from, LocalDate to) {
+        return anniversaryIn(lease.getStartDate(), lease.getEndDate(), from, to);
+    }
+
+    static LocalDate anniversaryIn(LocalDate start, LocalDate end, LocalDate from, LocalDate to) {
+        if (start == null) {
+            return null;
+        }
+        for (int year = from.getYear(); year <= to.getYear(); year++) {
+            LocalDate anniversary = start.withYear(year);
+            if (!anniversary.isBefore(from) && !anniversary.isAfter(to) && anniversary.isAfter(start)
+                    && (end == null || !anniversary.isAfter(end))) {
+                return anniversary;
+            }
+        }
+        return null;
+    }
+
+    private static IndexationLineDTO compute(Lease lease, LocalDate anniversary, BigDecimal baseRent,
+            NavigableMap<LocalDate, BigDecimal> series, boolean alreadyIndexed) {
+        LocalDate baseMonth = lease.getBaseIndexMonth() != null ? lease.getBaseIndexMonth().withDayOfMonth(1)
+                : lease.getSignatureDate().minusMonths(1).withDayOfMonth(1);
+        BigDecimal baseIndex = lease.getBaseIndexValue() != null ? lease.getBaseIndexValue() : series.get(baseMonth);
+        LocalDate newMonth = anniversary.minusMonths(1).withDayOfMonth(1);
+        BigDecimal newIndex = series.get(newMonth);
+
+        String skipped = null;
+        BigDecimal newRent = null;
+        if (alreadyIndexed) {
+            skipped = "Already indexed for this anniversary";
+        } else if (baseIndex == null) {
+            skipped = "No health index for base month " + baseMonth;
+        } else if (newIndex == null) {
+            skipped = "No health index for " + newMonth + " yet";
+        } else {
+            newRent = indexedRent(baseRent, baseIndex, newIndex);
+            if (newRent.compareTo(lease.getMonthlyRent()) == 0) {
+                skipped = "Rent unchanged";
+            }
+        }
+        return new IndexationLineDTO(lease.getId(),
+                lease.getHousingUnit().getBuilding().getId(), lease.getHousingUnit().getBuilding().getName(),
+                lease.getHousingUnit().getId(), lease.getHousingUnit().getUnitNumber(),
+                anniversary, lease.getMonthlyRent(), baseRent, baseMonth, baseIndex, newMonth, newIndex, newRent,
+                skipped == null ? IndexationLineStatus.READY : IndexationLineStatus.SKIPPED, skipped);
+    }
+
+    /** base rent × new index / base index, to the cent. */
+    static BigDecimal indexedRent(BigDecimal baseRent, BigDecimal baseIndex, BigDecimal newIndex) {
+        return baseRent.multiply(newIndex).divide(baseIndex, 2, RoundingMode.HALF_UP);
+    }
+
+    private static LeaseRentAdjustment adjustment(Lease lease, IndexationLineDTO line) {
+        LeaseRentAdjustment a = new LeaseRentAdjustment();
+        a.setLease(lease);
+        a.setField("RENT");
+        a.setOldValue(line.currentRent());
+        a.setNewValue(line.newRent());
+        a.setReason(formula(line));
+        a.setEffectiveDate(line.anniversary());
+        return a;
+    }
+
+    private static LeaseIndexationHistory history(Lease lease, IndexationLineDTO line, LocalDate today) {
+        LeaseIndexationHistory h = new LeaseIndexationHistory();
+        h.setLease(lease);
+        h.setCalculationDate(today);
+        h.setApplicationDate(line.anniversary());
+        h.setOldRent(line.currentRent());
+        h.setNewIndexValue(line.newIndex());
+        h.setNewIndexMonth(line.newIndexMonth());
+        h.setAppliedRent(line.newRent());
+        h.setNotes(formula(line));
+        return h;
+    }
+
+    private static String formula(IndexationLineDTO line) {
+        return "Indexation " + line.anniversary() + ": " + line.baseRent() + " × " + line.newIndex()
+                + " / " + line.baseIndex();
+    }
+
+    private static IndexationLineDTO withStatus(IndexationLineDTO l, IndexationLineStatus status) {
+        return new IndexationLineDTO(l.leaseId(), l.buildingId(), l.buildingName(), l.housingUnitId(),
+                l.unitNumber(), l.anniversary(), l.currentRent(), l.baseRent(), l.baseIndexMonth(), l.baseIndex(),
+                l.newIndexMonth(), l.newIndex(), l.newRent(), status, l.message());
+    }
+}
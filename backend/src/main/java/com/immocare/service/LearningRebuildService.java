@@ -0,0 +1,87 @@
+package com.immocare.service;
+
+import java.time.LocalDateTime;
+import java.time.Period;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.immocare.repository.AccountingMonthRuleRepository;
+import com.immocare.repository.TagLearningRuleRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Rebuilds the learning rules (tag_learning_rule, accounting_month_rule) from
+ * all CONFIRMED and RECONCILED transactions with set-based SQL, instead of
+ * replaying one reinforcement per transaction. Used after a bulk
+ * recategorisation or an imported history.
+ *
+ * Both tables are emptied and refilled in one transaction, so readers keep
+ * seeing the previous rules until commit. With decay enabled, rules not
+ * matched for {@code immocare.learning.decay.halve-after} have their
+ * confidence halved and rules idle for
+ * {@code immocare.learning.decay.prune-after} are dropped. Since the
+ * confidences are recomputed on every rebuild, decay never compounds.
+ */
+@Service
+@Transactional(readOnly = true)
+public class LearningRebuildService {
+
+    private static final Logger log = LoggerFactory.getLogger(LearningRebuildService.class);
+
+    /** Rules kept by one rebuild, and how many the decay pass touched. */
+    public record Result(int tagRules, int accountingMonthRules, int decayed, int pruned) {
+    }
+
+    private final TagLearningRuleRepository learningRuleRepository;
+    private final AccountingMonthRuleRepository accountingMonthRuleRepository;
+    private final MeterRegistry meterRegistry;
+    private final boolean decayEnabled;
+    private final Period halveAfter;
+    private final Period pruneAfter;
+
+    public LearningRebuildService(TagLearningRuleRepository learningRuleRepository,
+            AccountingMonthRuleRepository accountingMonthRuleRepository,
+            MeterRegistry meterRegistry,
+            @Value("${immocare.learning.decay.enabled:false}") boolean decayEnabled,
+            @Value("${immocare.learning.decay.halve-after:P1Y}") Period halveAfter,
+            @Value("${immocare.learning.decay.prune-after:P3Y}") Period pruneAfter) {
+        this.learningRuleRepository = learningRuleRepository;
+        this.accountingMonthRuleRepository = accountingMonthRuleRepository;
+        this.meterRegistry = meterRegistry;
+        this.decayEnabled = decayEnabled;
+        this.halveAfter = halveAfter;
+        this.pruneAfter = pruneAfter;
+    }
+
+    @Transactional
+    public Result rebuild() {
+        return meterRegistry.timer("immocare.learning.rebuild").record(() -> {
+            learningRuleRepository.deleteAllRows();
+            accountingMonthRuleRepository.deleteAllRows();
+            int tagRules = learningRuleRepository.insertFromTransactions();
+            int monthRules = accountingMonthRuleRepository.insertFromTransactions();
+
+            int decayed = 0, pruned = 0;
+            if (decayEnabled) {
+                LocalDateTime now = LocalDateTime.now();
+                LocalDateTime pruneBefore = now.minus(pruneAfter);
+                int prunedTag = learningRuleRepository.deleteMatchedBefore(pruneBefore);
+                int prunedMonth = accountingMonthRuleRepository.deleteMatchedBefore(pruneBefore);
+                tagRules -= prunedTag;
+                monthRules -= prunedMonth;
+                pruned = prunedTag + prunedMonth;
+                LocalDateTime halveBefore = now.minus(halveAfter);
+                decayed = learningRuleRepository.halveConfidenceMatchedBefore(halveBefore)
+                        + accountingMonthRuleRepository.halveConfidenceMatchedBefore(halveBefore);
+            }
+            log.info("Learning rules rebuilt: {} tag rules, {} accounting month rules, {} decayed, {} pruned",
+                    tagRules, monthRules, decayed, pruned);
+            return new Result(tagRules, monthRules, decayed, pruned);
+        });
+    }
+}
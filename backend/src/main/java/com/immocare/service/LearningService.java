@@ -11,6 +11,7 @@ import com.immocare.model.enums.TransactionDirection;
 import com.immocare.repository.AccountingMonthRuleRepository;
 import com.immocare.repository.TagLearningRuleRepository;
 import com.immocare.repository.TagSubcategoryRepository;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -25,15 +26,27 @@ public class LearningService {
     private final TagLearningRuleRepository learningRuleRepository;
     private final AccountingMonthRuleRepository accountingMonthRuleRepository;
     private final TagSubcategoryRepository tagSubcategoryRepository;
+    private final TextMatchIndex textMatchIndex;
+    private final MeterRegistry meterRegistry;
 
     public LearningService(TagLearningRuleRepository learningRuleRepository,
                            AccountingMonthRuleRepository accountingMonthRuleRepository,
-                           TagSubcategoryRepository tagSubcategoryRepository) {
+                           TagSubcategoryRepository tagSubcategoryRepository,
+                           TextMatchIndex textMatchIndex,
+                           MeterRegistry meterRegistry) {
         this.learningRuleRepository = learningRuleRepository;
         this.accountingMonthRuleRepository = accountingMonthRuleRepository;
         this.tagSubcategoryRepository = tagSubcategoryRepository;
+        this.textMatchIndex = textMatchIndex;
+        this.meterRegistry = meterRegistry;
     }
 
+    /**
+     * Ranked subcategory suggestions: exact rules on the counterparty account,
+     * then similar free text (counterparty name, description) from the
+     * in-memory {@link TextMatchIndex}. A subcategory keeps its highest
+     * confidence.
+     */
     public List<SubcategorySuggestionDTO> suggestSubcategory(
         String counterpartyAccount, String counterpartyName,
         String description, TransactionDirection direction, int minConfidence) {
@@ -44,10 +57,10 @@ public class LearningService {
             findSuggestionsForField(TagMatchField.COUNTERPARTY_ACCOUNT, counterpartyAccount, direction, minConfidence, best);
         }
         if (counterpartyName != null && !counterpartyName.isBlank()) {
-            findSuggestionsForField(TagMatchField.COUNTERPARTY_NAME, counterpartyName, direction, minConfidence, best);
+            findTextMatches(TagMatchField.COUNTERPARTY_NAME, counterpartyName, direction, minConfidence, best);
         }
         if (description != null && !description.isBlank()) {
-            findSuggestionsForField(TagMatchField.DESCRIPTION, description, direction, minConfidence, best);
+            findTextMatches(TagMatchField.DESCRIPTION, description, direction, minConfidence, best);
         }
 
         return best.values().stream()
@@ -57,7 +70,9 @@ public class LearningService {
 
     private void findSuggestionsForField(TagMatchField field, String value, TransactionDirection direction,
                                           int minConf, Map<Long, SubcategorySuggestionDTO> best) {
-        learningRuleRepository.findSuggestions(field, value, minConf).forEach(rule -> {
+        List<TagLearningRule> rules = meterRegistry.timer("immocare.learning.suggest", "field", field.name())
+            .record(() -> learningRuleRepository.findSuggestions(field, value, minConf));
+        rules.forEach(rule -> {
             TagSubcategory sub = rule.getSubcategory();
             if (isCompatible(sub.getDirection(), direction)) {
                 best.merge(sub.getId(),
@@ -68,6 +83,23 @@ public class LearningService {
         });
     }
 
+    private void findTextMatches(TagMatchField field, String value, TransactionDirection direction,
+                                 int minConf, Map<Long, SubcategorySuggestionDTO> best) {
+        List<TextMatchIndex.Match> matches = meterRegistry.timer("immocare.learning.suggest", "field", field.name())
+            .record(() -> textMatchIndex.search(field, value));
+        matches.forEach(match -> {
+            if (match.confidence() < minConf) return;
+            // Second-level cached: no SQL once the catalogue is warm
+            TagSubcategory sub = tagSubcategoryRepository.findById(match.subcategoryId()).orElse(null);
+            if (sub != null && isCompatible(sub.getDirection(), direction)) {
+                best.merge(sub.getId(),
+                    new SubcategorySuggestionDTO(sub.getId(), sub.getName(),
+                        sub.getCategory().getId(), sub.getCategory().getName(), match.confidence()),
+                    (existing, newer) -> existing.confidence() >= newer.confidence() ? existing : newer);
+            }
+        });
+    }
+
     private boolean isCompatible(SubcategoryDirection subDir, TransactionDirection txDir) {
         return subDir == SubcategoryDirection.BOTH
             || (subDir == SubcategoryDirection.INCOME && txDir == TransactionDirection.INCOME)
@@ -124,6 +156,11 @@ public class LearningService {
         learningRuleRepository.save(rule);
     }
 
+    /** Feeds a confirmed transaction's free text to the {@link TextMatchIndex}. */
+    public void learnText(Long subcategoryId, String counterpartyName, String description) {
+        textMatchIndex.add(subcategoryId, counterpartyName, description);
+    }
+
     @Transactional
     public void reinforceAccountingMonthRule(Long subcategoryId, String counterpartyAccount, int offset) {
         TagSubcategory sub = tagSubcategoryRepository.findById(subcategoryId).orElse(null);
@@ -0,0 +1,235 @@
+package com.immocare.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.immocare.model.entity.Lease;
+import com.immocare.model.entity.LeaseTenant;
+import com.immocare.model.entity.ParsedTransaction;
+import com.immocare.model.entity.Person;
+import com.immocare.repository.LeaseRentMonthRepository;
+import com.immocare.repository.LeaseRentMonthRepository.ExpectedRent;
+import com.immocare.repository.LeaseRepository;
+
+/**
+ * Suggests a lease for an incoming payment whose IBAN belongs to no known
+ * tenant (card payment, new account, CAF/OCMW paying for the tenant), from
+ * the amount and the date alone.
+ *
+ * The expected amounts come from lease_rent_month, which already applies
+ * rent adjustments and pro rata months. The months around the file's dates
+ * are loaded once and sorted by (amount, month), so each row costs a binary
+ * search per month whose payment window — {@code days-before} the 1st of
+ * the month to {@code days-after} — holds its date.
+ *
+ * Several leases expecting the same amount are ranked by tenant-name
+ * similarity with the counterparty, then by whether the month is still
+ * unpaid; a lease is only suggested when it is the single candidate or
+ * clearly ahead of the others.
+ */
+@Service
+@Transactional(readOnly = true)
+public class LeaseAmountMatcher {
+
+    /** Name similarity needed to pick one lease among several. */
+    static final double MIN_NAME_SCORE = 0.5;
+
+    private static final double UNPAID_BONUS = 0.25;
+
+    /** Suggested lease and the tenant whose name fits the counterparty best. */
+    public record Match(Lease lease, Person tenant) {
+    }
+
+    /** One lease month due in a row's payment window. */
+    private record Candidate(long leaseId, boolean unpaid) {
+    }
+
+    private record Ranked(Lease lease, Person tenant, double nameScore, double score) {
+    }
+
+    private final LeaseRentMonthRepository monthRepository;
+    private final LeaseRepository leaseRepository;
+    private final int daysBefore;
+    private final int daysAfter;
+
+    public LeaseAmountMatcher(LeaseRentMonthRepository monthRepository,
+            LeaseRepository leaseRepository,
+            @Value("${immocare.import.lease-match.days-before:10}") int daysBefore,
+            @Value("${immocare.import.lease-match.days-after:20}") int daysAfter) {
+        this.monthRepository = monthRepository;
+        this.leaseRepository = leaseRepository;
+        this.daysBefore = daysBefore;
+        this.daysAfter = daysAfter;
+    }
+
+    /** Suggestion for each row that has one; rows without date or amount are ignored. */
+    public Map<ParsedTransaction, Match> match(Collection<ParsedTransaction> rows) {
+        Map<ParsedTransaction, Match> matches = new IdentityHashMap<>();
+        List<ParsedTransaction> checked = rows.stream()
+                .filter(p -> p.getTransactionDate() != null && p.getAmount() != null)
+                .toList();
+        if (checked.isEmpty()) {
+            return matches;
+        }
+
+        LocalDate from = checked.stream().map(ParsedTransaction::getTransactionDate)
+                .min(Comparator.naturalOrder()).orElseThrow();
+        LocalDate to = checked.stream().map(ParsedTransaction::getTransactionDate)
+                .max(Comparator.naturalOrder()).orElseThrow();
+        ExpectedRentIndex index = ExpectedRentIndex.of(monthRepository.findExpectedBetween(
+                from.minusDays(daysAfter).withDayOfMonth(1), to.plusDays(daysBefore).withDayOfMonth(1)));
+
+        Map<ParsedTransaction, Collection<Candidate>> candidates = new IdentityHashMap<>();
+        Set<Long> leaseIds = new HashSet<>();
+        for (ParsedTransaction row : checked) {
+            Collection<Candidate> found = candidates(index, row);
+            if (!found.isEmpty()) {
+                candidates.put(row, found);
+                found.forEach(c -> leaseIds.add(c.leaseId()));
+            }
+        }
+        if (leaseIds.isEmpty()) {
+            return matches;
+        }
+
+        Map<Long, Lease> leases = leaseRepository.findAllWithUnitAndTenantsByIdIn(leaseIds).stream()
+                .collect(Collectors.toMap(Lease::getId, Function.identity()));
+        candidates.forEach((row, found) -> {
+            Match best = pick(row.getCounterpartyName(), found, leases);
+            if (best != null) {
+                matches.put(row, best);
+            }
+        });
+        return matches;
+    }
+
+    /** Leases expecting the row's amount in a month whose payment window holds its date. */
+    private Collection<Candidate> candidates(ExpectedRentIndex index, ParsedTransaction row) {
+        LocalDate date = row.getTransactionDate();
+        Map<Long, Candidate> byLease = new LinkedHashMap<>();
+        for (LocalDate month = date.minusDays(daysAfter).withDayOfMonth(1);
+                !month.isAfter(date.plusDays(daysBefore)); month = month.plusMonths(1)) {
+            if (date.isBefore(month.minusDays(daysBefore)) || date.isAfter(month.plusDays(daysAfter))) {
+                continue;
+            }
+            index.forEach(row.getAmount(), month, (leaseId, unpaid) -> byLease.merge(leaseId,
+                    new Candidate(leaseId, unpaid),
+                    (a, b) -> a.unpaid() ? a : b));
+        }
+        return byLease.values();
+    }
+
+    private static Match pick(String counterpartyName, Collection<Candidate> found, Map<Long, Lease> leases) {
+        List<Ranked> ranked = new ArrayList<>();
+        for (Candidate candidate : found) {
+            Lease lease = leases.get(candidate.leaseId());
+            if (lease != null) {
+                ranked.add(rank(counterpartyName, lease, candidate.unpaid()));
+            }
+        }
+        if (ranked.isEmpty()) {
+            return null;
+        }
+        ranked.sort(Comparator.comparingDouble(Ranked::score).reversed());
+        Ranked best = ranked.get(0);
+        if (ranked.size() > 1 && (best.nameScore() < MIN_NAME_SCORE || best.score() <= ranked.get(1).score())) {
+            return null;
+        }
+        return new Match(best.lease(), best.tenant());
+    }
+
+    private static Ranked rank(String counterpartyName, Lease lease, boolean unpaid) {
+        Person tenant = null;
+        double nameScore = -1;
+        for (LeaseTenant lt : lease.getTenants()) {
+            Person person = lt.getPerson();
+            double score = Math.max(
+                    NearDuplicateDetector.similarity(counterpartyName, person.getLastName() + " " + person.getFirstName()),
+                    NearDuplicateDetector.similarity(counterpartyName, person.getFirstName() + " " + person.getLastName()));
+            if (score > nameScore) {
+                nameScore = score;
+                tenant = person;
+            }
+        }
+        nameScore = Math.max(nameScore, 0);
+        return new Ranked(lease, tenant, nameScore, nameScore + (unpaid ? UNPAID_BONUS : 0));
+    }
+
+    /**
+     * Lease months sorted by (expected amount in cents, month): a lookup is a
+     * binary search on the packed key, then a scan of the equal keys.
+     */
+    static final class ExpectedRentIndex {
+
+        interface Visitor {
+            void visit(long leaseId, boolean unpaid);
+        }
+
+        private final long[] keys;
+        private final long[] leaseIds;
+        private final boolean[] unpaid;
+
+        private ExpectedRentIndex(long[] keys, long[] leaseIds, boolean[] unpaid) {
+            this.keys = keys;
+            this.leaseIds = leaseIds;
+            this.unpaid = unpaid;
+        }
+
+        static ExpectedRentIndex of(List<ExpectedRent> months) {
+            ExpectedRent[] sorted = months.stream()
+                    .sorted(Comparator.comparingLong(m -> key(m.getExpectedAmount(), m.getMonth())))
+                    .toArray(ExpectedRent[]::new);
+            long[] keys = new long[sorted.length];
+            long[] leaseIds = new long[sorted.length];
+            boolean[] unpaid = new boolean[sorted.length];
+            for (int i = 0; i < sorted.length; i++) {
+                keys[i] = key(sorted[i].getExpectedAmount(), sorted[i].getMonth());
+                leaseIds[i] = sorted[i].getLeaseId();
+                unpaid[i] = sorted[i].getPaidAmount().compareTo(sorted[i].getExpectedAmount()) < 0;
+            }
+            return new ExpectedRentIndex(keys, leaseIds, unpaid);
+        }
+
+        int size() {
+            return keys.length;
+        }
+
+        /** Visits every lease expecting {@code amount} for {@code month}. */
+        void forEach(BigDecimal amount, LocalDate month, Visitor visitor) {
+            long key = key(amount, month);
+            int i = Arrays.binarySearch(keys, key);
+            if (i < 0) {
+                return;
+            }
+            while (i > 0 && keys[i - 1] == key) {
+                i--;
+            }
+            for (; i < keys.length && keys[i] == key; i++) {
+                visitor.visit(leaseIds[i], unpaid[i]);
+            }
+        }
+
+        /** Cents in the high bits, months since year 0 in the low 20 bits. */
+        private static long key(BigDecimal amount, LocalDate month) {
+            long cents = amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValue();
+            return (cents << 20) | (month.getYear() * 12L + month.getMonthValue() - 1);
+        }
+    }
+}
@@ -62,17 +62,23 @@ public class LeaseService {
     private final LeaseTenantRepository leaseTenantRepository;
     private final HousingUnitRepository housingUnitRepository;
     private final PersonRepository personRepository;
+    private final RentLedgerService rentLedgerService;
+    private final PortfolioVersion portfolioVersion;
 
     public LeaseService(LeaseRepository leaseRepository,
             LeaseRentAdjustmentRepository adjustmentRepository,
             LeaseTenantRepository leaseTenantRepository,
             HousingUnitRepository housingUnitRepository,
-            PersonRepository personRepository) {
+            PersonRepository personRepository,
+            RentLedgerService rentLedgerService,
+            PortfolioVersion portfolioVersion) {
         this.leaseRepository = leaseRepository;
         this.adjustmentRepository = adjustmentRepository;
         this.leaseTenantRepository = leaseTenantRepository;
         this.housingUnitRepository = housingUnitRepository;
         this.personRepository = personRepository;
+        this.rentLedgerService = rentLedgerService;
+        this.portfolioVersion = portfolioVersion;
     }
 
     // ---- Get ----
@@ -191,6 +197,8 @@ public class LeaseService {
                     .orElseThrow(() -> new IllegalArgumentException("Person not found: " + tr.getPersonId()));
             leaseTenantRepository.save(new LeaseTenant(saved, person, TenantRole.valueOf(tr.getRole())));
         }
+        rentLedgerService.refreshSchedule(saved);
+        portfolioVersion.bumpAfterCommit();
 
         return toDTO(leaseRepository.findById(saved.getId()).orElseThrow());
     }
@@ -205,7 +213,10 @@ public class LeaseService {
         applyUpdateRequest(lease, req);
         // endDate is provided directly by the frontend — no auto-recalculation
         lease.setEndDate(req.getEndDate());
-        return toDTO(leaseRepository.save(lease));
+        Lease saved = leaseRepository.save(lease);
+        rentLedgerService.refreshSchedule(saved);
+        portfolioVersion.bumpAfterCommit();
+        return toDTO(saved);
     }
 
     // ---- Status ----
@@ -216,7 +227,10 @@ public class LeaseService {
         LeaseStatus to = LeaseStatus.valueOf(req.getTargetStatus());
         validateTransition(lease.getStatus(), to, id, lease);
         lease.setStatus(to);
-        return toDTO(leaseRepository.save(lease));
+        Lease saved = leaseRepository.save(lease);
+        rentLedgerService.refreshSchedule(saved);
+        portfolioVersion.bumpAfterCommit();
+        return toDTO(saved);
     }
 
     private void validateTransition(LeaseStatus from, LeaseStatus to, Long id, Lease lease) {
@@ -243,6 +257,7 @@ public class LeaseService {
         Person person = personRepository.findById(req.getPersonId())
                 .orElseThrow(() -> new IllegalArgumentException("Person not found: " + req.getPersonId()));
         lease.getTenants().add(new LeaseTenant(lease, person, TenantRole.valueOf(req.getRole())));
+        portfolioVersion.bumpAfterCommit();
         return toDTO(leaseRepository.save(lease));
     }
 
@@ -261,6 +276,7 @@ public class LeaseService {
                 throw new IllegalStateException("Cannot remove the last PRIMARY tenant.");
         }
         lease.getTenants().remove(target);
+        portfolioVersion.bumpAfterCommit();
         return toDTO(leaseRepository.save(lease));
     }
 
@@ -293,7 +309,10 @@ public class LeaseService {
         else
             lease.setMonthlyCharges(newValue);
 
-        return toDTO(leaseRepository.save(lease));
+        Lease saved = leaseRepository.save(lease);
+        rentLedgerService.refreshSchedule(saved);
+        portfolioVersion.bumpAfterCommit();
+        return toDTO(saved);
     }
 
     // ---- Alerts ----
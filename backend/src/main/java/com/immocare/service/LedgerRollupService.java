@@ -0,0 +1,388 @@
+package com.immocare.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.immocare.model.dto.StatisticsFilter;
+import com.immocare.model.dto.TransactionFilter;
+import com.immocare.model.entity.BankAccount;
+import com.immocare.model.entity.Building;
+import com.immocare.model.entity.FinancialTransaction;
+import com.immocare.model.entity.HousingUnit;
+import com.immocare.model.entity.LeaseRentMonthId;
+import com.immocare.model.entity.TagSubcategory;
+import com.immocare.model.entity.TransactionAllocation;
+import com.immocare.model.enums.TransactionDirection;
+import com.immocare.model.enums.TransactionStatus;
+import com.immocare.repository.BankAccountRepository;
+import com.immocare.repository.BuildingRepository;
+import com.immocare.repository.HousingUnitRepository;
+import com.immocare.repository.LedgerMonthlyRollupRepository;
+import com.immocare.repository.TagSubcategoryRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Maintains and reads the monthly ledger rollup (ledger_monthly_rollup).
+ *
+ * Every write to financial_transaction goes through {@link #apply(Delta)}:
+ * the old key is decremented and the new key incremented in the same database
+ * transaction, so the rollup stays exact. {@link #rebuild()} recomputes it from
+ * scratch (nightly and on demand) to reconcile any drift, e.g. after
+ * ON DELETE SET NULL on a building or subcategory.
+ *
+ * An expense split between units (transaction_allocation) contributes one
+ * part per allocation line, on the line's unit and building; the first line
+ * carries the transaction count, so rows may hold an amount with a zero count.
+ *
+ * Booked INCOME linked to a lease is forwarded to the rent ledger
+ * ({@link RentLedgerService#applyPayments}) from the same delta, and a change
+ * in any subcategory's count evicts the cached tag usage
+ * ({@link TagUsageService}).
+ */
+@Slf4j
+@Service
+@Transactional(readOnly = true)
+public class LedgerRollupService {
+
+    private static final List<TransactionStatus> BOOKED =
+            List.of(TransactionStatus.CONFIRMED, TransactionStatus.RECONCILED);
+
+    private final LedgerMonthlyRollupRepository rollupRepository;
+    private final BuildingRepository buildingRepository;
+    private final HousingUnitRepository housingUnitRepository;
+    private final BankAccountRepository bankAccountRepository;
+    private final TagSubcategoryRepository tagSubcategoryRepository;
+    private final RentLedgerService rentLedgerService;
+    private final TagUsageService tagUsageService;
+    private final MeterRegistry meterRegistry;
+    private final boolean readEnabled;
+
+    public LedgerRollupService(LedgerMonthlyRollupRepository rollupRepository,
+            BuildingRepository buildingRepository,
+            HousingUnitRepository housingUnitRepository,
+            BankAccountRepository bankAccountRepository,
+            TagSubcategoryRepository tagSubcategoryRepository,
+            RentLedgerService rentLedgerService,
+            TagUsageService tagUsageService,
+            MeterRegistry meterRegistry,
+            @Value("${immocare.ledger-rollup.read-enabled:true}") boolean readEnabled) {
+        this.rollupRepository = rollupRepository;
+        this.buildingRepository = buildingRepository;
+        this.housingUnitRepository = housingUnitRepository;
+        this.bankAccountRepository = bankAccountRepository;
+        this.tagSubcategoryRepository = tagSubcategoryRepository;
+        this.rentLedgerService = rentLedgerService;
+        this.tagUsageService = tagUsageService;
+        this.meterRegistry = meterRegistry;
+        this.readEnabled = readEnabled;
+    }
+
+    // ─── Keys and deltas ──────────────────────────────────────────────────────
+
+    /** Rollup dimension key of a transaction. */
+    public record Key(LocalDate accountingMonth, Long buildingId, Long unitId, Long bankAccountId,
+            Long subcategoryId, TransactionDirection direction, TransactionStatus status) {
+
+        static Key of(FinancialTransaction tx) {
+            return new Key(tx.getAccountingMonth(),
+                    tx.getBuilding() != null ? tx.getBuilding().getId() : null,
+                    tx.getHousingUnit() != null ? tx.getHousingUnit().getId() : null,
+                    tx.getBankAccount() != null ? tx.getBankAccount().getId() : null,
+                    tx.getSubcategory() != null ? tx.getSubcategory().getId() : null,
+                    tx.getDirection(), tx.getStatus());
+        }
+
+        /** Key of one allocation line: the line's unit and its building replace the transaction's. */
+        static Key of(FinancialTransaction tx, TransactionAllocation line) {
+            HousingUnit unit = line.getHousingUnit();
+            return new Key(tx.getAccountingMonth(), unit.getBuilding().getId(), unit.getId(),
+                    tx.getBankAccount() != null ? tx.getBankAccount().getId() : null,
+                    tx.getSubcategory() != null ? tx.getSubcategory().getId() : null,
+                    tx.getDirection(), tx.getStatus());
+        }
+    }
+
+    /** Share of a transaction on one key; only the first part counts the transaction. */
+    public record Part(Key key, BigDecimal amount, long count) {}
+
+    /**
+     * What a transaction contributes to the rollup; take it before mutating the
+     * entity. A single part, or one part per allocation line.
+     */
+    public record Entry(List<Part> parts, BigDecimal amount, Long leaseId) {
+
+        public static Entry of(FinancialTransaction tx) {
+            List<Part> parts = tx.getAllocations().isEmpty()
+                    ? List.of(new Part(Key.of(tx), tx.getAmount(), 1))
+                    : tx.getAllocations().stream()
+                            .map(a -> new Part(Key.of(tx, a), a.getAmount(), a.getLineNo() == 0 ? 1 : 0))
+                            .toList();
+            return new Entry(parts, tx.getAmount(), tx.getLease() != null ? tx.getLease().getId() : null);
+        }
+
+        /** Key carrying the transaction count. */
+        Key key() {
+            return parts.get(0).key();
+        }
+
+        /** Rent payment: booked INCOME linked to a lease. */
+        boolean isRentPayment() {
+            return leaseId != null && key().direction() == TransactionDirection.INCOME
+                    && BOOKED.contains(key().status());
+        }
+
+        boolean sameAs(Entry other) {
+            if (parts.size() != other.parts.size() || !Objects.equals(leaseId, other.leaseId)) {
+                return false;
+            }
+            for (int i = 0; i < parts.size(); i++) {
+                Part a = parts.get(i);
+                Part b = other.parts.get(i);
+                if (!a.key().equals(b.key()) || a.count() != b.count() || a.amount().compareTo(b.amount()) != 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /** Accumulated changes of one service call, applied in a single pass. */
+    public static final class Delta {
+
+        private final Map<Key, BigDecimal> amounts = new LinkedHashMap<>();
+        private final Map<Key, Long> counts = new LinkedHashMap<>();
+        private final Map<LeaseRentMonthId, BigDecimal> payments = new LinkedHashMap<>();
+
+        public Delta add(Entry entry) {
+            return merge(entry, 1);
+        }
+
+        public Delta remove(Entry entry) {
+            return merge(entry, -1);
+        }
+
+        /** Moves a transaction from its previous contribution to its current state. */
+        public Delta change(Entry before, FinancialTransaction after) {
+            Entry now = Entry.of(after);
+            if (!before.sameAs(now)) {
+                remove(before);
+                add(now);
+            }
+            return this;
+        }
+
+        public boolean isEmpty() {
+            return counts.isEmpty() && payments.isEmpty();
+        }
+
+        /** Whether the number of transactions of some subcategory changes. */
+        boolean changesSubcategoryUsage() {
+            Map<Long, Long> bySubcategory = new LinkedHashMap<>();
+            counts.forEach((k, c) -> {
+                if (k.subcategoryId() != null) {
+                    bySubcategory.merge(k.subcategoryId(), c, Long::sum);
+                }
+            });
+            return bySubcategory.values().stream().anyMatch(c -> c != 0);
+        }
+
+        private Delta merge(Entry entry, int sign) {
+            for (Part part : entry.parts()) {
+                Key key = part.key();
+                amounts.merge(key, sign > 0 ? part.amount() : part.amount().negate(), BigDecimal::add);
+                counts.merge(key, sign * part.count(), Long::sum);
+                // Drop keys that cancel out (e.g. status toggled back and forth)
+                if (counts.get(key) == 0 && amounts.get(key).signum() == 0) {
+                    counts.remove(key);
+                    amounts.remove(key);
+                }
+            }
+            if (entry.isRentPayment()) {
+                BigDecimal amount = sign > 0 ? entry.amount() : entry.amount().negate();
+                LeaseRentMonthId month = new LeaseRentMonthId(entry.leaseId(), entry.key().accountingMonth());
+                payments.merge(month, amount, BigDecimal::add);
+                if (payments.get(month).signum() == 0) {
+                    payments.remove(month);
+                }
+            }
+            return this;
+        }
+    }
+
+    // ─── Maintenance ──────────────────────────────────────────────────────────
+
+    @Transactional
+    public void added(FinancialTransaction tx) {
+        apply(new Delta().add(Entry.of(tx)));
+    }
+
+    @Transactional
+    public void removed(Entry before) {
+        apply(new Delta().remove(before));
+    }
+
+    @Transactional
+    public void changed(Entry before, FinancialTransaction after) {
+        apply(new Delta().change(before, after));
+    }
+
+    @Transactional
+    public void apply(Delta delta) {
+        if (delta.isEmpty()) {
+            return;
+        }
+        boolean emptied = false;
+        Set<LocalDate> decremented = new HashSet<>();
+        for (Map.Entry<Key, Long> e : delta.counts.entrySet()) {
+            Key k = e.getKey();
+            rollupRepository.addDelta(k.accountingMonth(), k.buildingId(), k.unitId(), k.bankAccountId(),
+                    k.subcategoryId(), k.direction().name(), k.status().name(),
+                    delta.amounts.get(k), e.getValue());
+            // allocation lines past the first move an amount without a count
+            emptied |= e.getValue() < 0 || (e.getValue() == 0 && delta.amounts.get(k).signum() < 0);
+            if (e.getValue() < 0) {
+                decremented.add(k.accountingMonth());
+            }
+        }
+        if (emptied) {
+            rollupRepository.deleteEmpty();
+        }
+        if (!decremented.isEmpty()) {
+            long negative = rollupRepository.countNegative(decremented);
+            if (negative > 0) {
+                // Kept for the nightly rebuild to reconcile; failing here would roll back the user's write
+                meterRegistry.counter("immocare.rollup.negative").increment(negative);
+                log.warn("Ledger rollup drift: {} row(s) with a negative count in {}", negative, decremented);
+            }
+        }
+        if (!delta.payments.isEmpty()) {
+            rentLedgerService.applyPayments(delta.payments);
+        }
+        if (delta.changesSubcategoryUsage()) {
+            tagUsageService.invalidate();
+        }
+    }
+
+    /**
+     * Recomputes the whole rollup from financial_transaction in one database
+     * transaction. Readers keep seeing the previous rows until commit.
+     *
+     * @return number of rollup rows written
+     */
+    @Transactional
+    public int rebuild() {
+        return meterRegistry.timer("immocare.rollup.rebuild").record(() -> {
+            rollupRepository.deleteAllRows();
+            int rows = rollupRepository.insertFromTransactions();
+            tagUsageService.invalidate();
+            log.info("Ledger rollup rebuilt: {} rows", rows);
+            return rows;
+        });
+    }
+
+    /** Nightly reconciliation; schedule via immocare.ledger-rollup.rebuild-cron. */
+    @Scheduled(cron = "${immocare.ledger-rollup.rebuild-cron:0 30 3 * * *}")
+    @Transactional
+    public void scheduledRebuild() {
+        rebuild();
+    }
+
+    // ─── Reads ────────────────────────────────────────────────────────────────
+
+    public boolean isEnabled() {
+        return readEnabled;
+    }
+
+    /**
+     * Whether the list totals for this filter can be answered from the rollup:
+     * only filters on rollup dimensions (no transaction date, free-text search,
+     * import batch or asset link).
+     */
+    public boolean supportsTotals(TransactionFilter f) {
+        return readEnabled && f.from() == null && f.to() == null
+                && (f.search() == null || f.search().isBlank())
+                && f.importBatchId() == null
+                && (f.assetType() == null || f.assetId() == null);
+    }
+
+    /** Income / expense totals for the filter; see {@link #supportsTotals}. */
+    public Map<TransactionDirection, BigDecimal> totals(TransactionFilter f) {
+        Map<TransactionDirection, BigDecimal> totals = new EnumMap<>(TransactionDirection.class);
+        for (TransactionDirection d : TransactionDirection.values()) {
+            totals.put(d, BigDecimal.ZERO);
+        }
+        rollupRepository.findTotals(f.status(), f.direction(), f.accountingFrom(), f.accountingTo(),
+                f.buildingId(), f.unitId(), f.bankAccountId(), f.subcategoryId(), f.categoryId())
+                .forEach(t -> totals.put(t.getDirection(), t.getTotal()));
+        return totals;
+    }
+
+    /** Statistics input: CONFIRMED and RECONCILED rollup rows resolved to their entities. */
+    public List<Slice> statisticsSlices(StatisticsFilter f) {
+        return resolve(rollupRepository.findSlices(BOOKED, f.accountingFrom(), f.accountingTo(),
+                f.buildingId(), f.unitId(), f.bankAccountId(), f.direction()));
+    }
+
+    /** Resolves grouped rows (from the rollup or straight from the ledger) to statistics slices. */
+    public List<Slice> resolve(List<? extends LedgerMonthlyRollupRepository.SliceRow> rows) {
+        Map<Long, HousingUnit> units = byId(housingUnitRepository.findAllById(
+                ids(rows, LedgerMonthlyRollupRepository.SliceRow::getHousingUnitId)), HousingUnit::getId);
+        Set<Long> buildingIds = ids(rows, LedgerMonthlyRollupRepository.SliceRow::getBuildingId);
+        units.values().forEach(u -> buildingIds.add(u.getBuilding().getId()));
+        Map<Long, Building> buildings = byId(buildingRepository.findAllById(buildingIds), Building::getId);
+        Map<Long, BankAccount> accounts = byId(bankAccountRepository.findAllById(
+                ids(rows, LedgerMonthlyRollupRepository.SliceRow::getBankAccountId)), BankAccount::getId);
+        Map<Long, TagSubcategory> subcategories = byId(tagSubcategoryRepository.findAllById(
+                ids(rows, LedgerMonthlyRollupRepository.SliceRow::getSubcategoryId)), TagSubcategory::getId);
+
+        return rows.stream()
+                .map(r -> new Slice(r.getAccountingMonth(),
+                        lookup(buildings, r.getBuildingId()),
+                        lookup(units, r.getHousingUnitId()),
+                        lookup(accounts, r.getBankAccountId()),
+                        lookup(subcategories, r.getSubcategoryId()),
+                        r.getDirection(), r.getTotal(), r.getCount()))
+                .toList();
+    }
+
+    /**
+     * One group of transactions sharing every statistics dimension. Missing
+     * dimensions (or ids whose row no longer exists) are null.
+     */
+    public record Slice(LocalDate accountingMonth, Building building, HousingUnit unit,
+            BankAccount bankAccount, TagSubcategory subcategory, TransactionDirection direction,
+            BigDecimal amount, long count) {
+    }
+
+    // ─── Private helpers ──────────────────────────────────────────────────────
+
+    private static Set<Long> ids(List<? extends LedgerMonthlyRollupRepository.SliceRow> rows,
+            Function<LedgerMonthlyRollupRepository.SliceRow, Long> getter) {
+        return rows.stream().map(getter).filter(Objects::nonNull)
+                .collect(Collectors.toCollection(HashSet::new));
+    }
+
+    private static <T> Map<Long, T> byId(List<T> entities, Function<T, Long> id) {
+        return entities.stream().collect(Collectors.toMap(id, Function.identity()));
+    }
+
+    private static <T> T lookup(Map<Long, T> map, Long id) {
+        return id != null ? map.get(id) : null;
+    }
+}
@@ -0,0 +1,536 @@
+package com.immocare.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.immocare.exception.BuildingNotFoundException;
+import com.immocare.exception.HousingUnitNotFoundException;
+import com.immocare.exception.InvalidDateRangeException;
+import com.immocare.exception.MeterBusinessRuleException;
+import com.immocare.exception.MeterNotFoundException;
+import com.immocare.model.dto.ImportRowErrorDTO;
+import com.immocare.model.dto.MeterReadingDTOs.ConsumptionDTO;
+import com.immocare.model.dto.MeterReadingDTOs.MeterConsumptionDTO;
+import com.immocare.model.dto.MeterReadingDTOs.MeterReadingDTO;
+import com.immocare.model.dto.MeterReadingDTOs.MeterReadingImportResultDTO;
+import com.immocare.model.dto.MeterReadingDTOs.MonthlyConsumptionDTO;
+import com.immocare.model.entity.Meter;
+import com.immocare.model.entity.MeterConsumptionMonth;
+import com.immocare.model.entity.MeterConsumptionMonthId;
+import com.immocare.model.entity.MeterReading;
+import com.immocare.repository.BuildingRepository;
+import com.immocare.repository.HousingUnitRepository;
+import com.immocare.repository.MeterConsumptionMonthRepository;
+import com.immocare.repository.MeterConsumptionMonthRepository.MeterConsumption;
+import com.immocare.repository.MeterRepository;
+import com.immocare.repository.MeterReadingRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Meter readings (append-only index values) and the consumption derived
+ * from them.
+ *
+ * <ul>
+ * <li>A reading must fall within the meter's life (start date to end date,
+ * both inclusive), not in the future, and keep the index non-decreasing
+ * against the readings before and after it.</li>
+ * <li>Each reading stores its delta since the previous reading of the same
+ * meter; the first reading of a meter is its baseline (delta 0).</li>
+ * <li>Deltas are spread evenly over the days since the previous reading and
+ * summed per calendar month into meter_consumption_month, rebuilt for the
+ * meters a write touched. Consumption queries read only that table.</li>
+ * <li>A replaced meter keeps its readings; the replacement starts from its
+ * own opening index. Consumption of an owner sums every meter of the type
+ * in service during the period, so the series continues across the
+ * replacement.</li>
+ * </ul>
+ */
+@Service
+@Transactional(readOnly = true)
+public class MeterReadingService {
+
+    private static final String OWNER_HOUSING_UNIT = "HOUSING_UNIT";
+    private static final String OWNER_BUILDING = "BUILDING";
+    private static final Set<String> METER_TYPES = Set.of("WATER", "GAS", "ELECTRICITY");
+    private static final DateTimeFormatter BE_DATE = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    private final MeterReadingRepository readingRepository;
+    private final MeterConsumptionMonthRepository consumptionRepository;
+    private final MeterRepository meterRepository;
+    private final HousingUnitRepository housingUnitRepository;
+    private final BuildingRepository buildingRepository;
+    private final MeterRegistry meterRegistry;
+
+    /** A reading to append, with the CSV line it came from (0 outside imports). */
+    record NewReading(int rowNumber, String rawLine, Meter meter, LocalDate date, BigDecimal value) {
+    }
+
+    public MeterReadingService(MeterReadingRepository readingRepository,
+            MeterConsumptionMonthRepository consumptionRepository,
+            MeterRepository meterRepository,
+            HousingUnitRepository housingUnitRepository,
+            BuildingRepository buildingRepository,
+            MeterRegistry meterRegistry) {
+        this.readingRepository = readingRepository;
+        this.consumptionRepository = consumptionRepository;
+        this.meterRepository = meterRepository;
+        this.housingUnitRepository = housingUnitRepository;
+        this.buildingRepository = buildingRepository;
+        this.meterRegistry = meterRegistry;
+    }
+
+    // ─── Readings ────────────────────────────────────────────────────────────
+
+    public List<MeterReadingDTO> getReadings(Long meterId) {
+        if (!meterRepository.existsById(meterId)) {
+            throw new MeterNotFoundException(meterId);
+        }
+        return readingRepository.findByMeterIdOrderByReadingDateAsc(meterId).stream().map(this::toDTO).toList();
+    }
+
+    @Transactional
+    public MeterReadingDTO addReading(Long meterId, LocalDate date, BigDecimal value) {
+        Meter meter = meterRepository.findById(meterId).orElseThrow(() -> new MeterNotFoundException(meterId));
+        List<MeterReading> added = appendOrThrow(
+                List.of(new NewReading(0, null, meter, date, value)), MeterReading.SOURCE_MANUAL);
+        return added.isEmpty()
+                ? readingRepository.findByMeterIdOrderByReadingDateAsc(meterId).stream()
+                        .filter(r -> r.getReadingDate().equals(date)).map(this::toDTO).findFirst().orElseThrow()
+                : toDTO(added.get(0));
+    }
+
+    /**
+     * Closing index of a replaced meter and opening index of its replacement,
+     * both on the replacement date. Either may be null.
+     */
+    @Transactional
+    public void recordReplacement(Meter replaced, Meter replacement, BigDecimal closingValue, BigDecimal openingValue) {
+        List<NewReading> readings = new ArrayList<>();
+        if (closingValue != null) {
+            readings.add(new NewReading(0, null, replaced, replacement.getStartDate(), closingValue));
+        }
+        if (openingValue != null) {
+            readings.add(new NewReading(0, null, replacement, replacement.getStartDate(), openingValue));
+        }
+        if (!readings.isEmpty()) {
+            appendOrThrow(readings, MeterReading.SOURCE_REPLACEMENT);
+        }
+    }
+
+    /**
+     * Imports a CSV with a header naming the {@code meter} (meter number or
+     * EAN code), {@code date} (ISO or dd/MM/yyyy) and {@code value} columns,
+     * separated by ';' or ','. Valid rows are stored, identical readings
+     * skipped and invalid rows reported.
+     */
+    @Transactional
+    public MeterReadingImportResultDTO importCsv(MultipartFile file) {
+        return meterRegistry.timer("immocare.meter-readings.import").record(() -> {
+            List<ImportRowErrorDTO> errors = new ArrayList<>();
+            List<String[]> rows = new ArrayList<>();
+            List<String> lines = new ArrayList<>();
+            int[] columns;
+            char separator;
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8))) {
+                String header = reader.readLine();
+                if (header == null) {
+                    throw new MeterBusinessRuleException("The file is empty");
+                }
+                header = header.replace("\uFEFF", "");
+                separator = header.indexOf(';') >= 0 ? ';' : ',';
+                columns = columns(split(header, separator));
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    lines.add(line);
+                }
+            } catch (IOException e) {
+                throw new MeterBusinessRuleException("Cannot read the file: " + e.getMessage());
+            }
+            for (String line : lines) {
+                rows.add(line.isBlank() ? null : split(line, separator));
+            }
+
+            Set<String> identifiers = new HashSet<>();
+            for (String[] row : rows) {
+                if (row != null && row.length > columns[0]) {
+                    identifiers.add(row[columns[0]]);
+                }
+            }
+            Map<String, List<Meter>> metersById = new HashMap<>();
+            if (!identifiers.isEmpty()) {
+                for (Meter m : meterRepository.findByMeterNumberInOrEanCodeIn(identifiers, identifiers)) {
+                    Set<String> keys = new LinkedHashSet<>();
+                    keys.add(m.getMeterNumber());
+                    if (m.getEanCode() != null) {
+                        keys.add(m.getEanCode());
+                    }
+                    keys.forEach(k -> metersById.computeIfAbsent(k, x -> new ArrayList<>()).add(m));
+                }
+            }
+
+            List<NewReading> readings = new ArrayList<>();
+            for (int i = 0; i < rows.size(); i++) {
+                String[] row = rows.get(i);
+                if (row == null) {
+                    continue;
+                }
+                int rowNumber = i + 2;
+                String raw = lines.get(i);
+                try {
+                    if (row.length <= Math.max(columns[0], Math.max(columns[1], columns[2]))) {
+                        throw new MeterBusinessRuleException("Missing columns");
+                    }
+                    LocalDate date = parseDate(row[columns[1]]);
+                    BigDecimal value = parseValue(row[columns[2]], separator);
+                    Meter meter = resolve(metersById.getOrDefault(row[columns[0]], List.of()), row[columns[0]], date);
+                    readings.add(new NewReading(rowNumber, raw, meter, date, value));
+                } catch (MeterBusinessRuleException e) {
+                    errors.add(new ImportRowErrorDTO(rowNumber, raw, e.getMessage()));
+                }
+            }
+
+            int[] duplicates = new int[1];
+            List<MeterReading> added = append(readings, MeterReading.SOURCE_CSV, errors, duplicates);
+            errors.sort((a, b) -> Integer.compare(a.rowNumber(), b.rowNumber()));
+            return new MeterReadingImportResultDTO(added.size(), duplicates[0], errors);
+        });
+    }
+
+    // ─── Consumption ─────────────────────────────────────────────────────────
+
+    /**
+     * Consumption of the meters of {@code type} on a unit or building, per
+     * month from the month of {@code from} to the month of {@code to}. With
+     * {@code includeUnits}, a building's figure adds the meters of its units.
+     */
+    public ConsumptionDTO getConsumption(String ownerType, Long ownerId, String type,
+            LocalDate from, LocalDate to, boolean includeUnits) {
+        if (to.isBefore(from)) {
+            throw new InvalidDateRangeException(from, to);
+        }
+        if (!METER_TYPES.contains(type)) {
+            throw new MeterBusinessRuleException("Invalid meter type: " + type
+                    + ". Allowed values: WATER, GAS, ELECTRICITY");
+        }
+        validateOwnerExists(ownerType, ownerId);
+        LocalDate fromMonth = from.withDayOfMonth(1);
+        LocalDate toMonth = to.withDayOfMonth(1);
+        LocalDate lastDay = toMonth.plusMonths(1).minusDays(1);
+
+        List<Meter> meters = new ArrayList<>(
+                meterRepository.findInServiceBetween(ownerType, List.of(ownerId), type, fromMonth, lastDay));
+        if (OWNER_BUILDING.equals(ownerType) && includeUnits) {
+            List<Long> unitIds = housingUnitRepository.findIdsByBuildingId(ownerId);
+            if (!unitIds.isEmpty()) {
+                meters.addAll(meterRepository.findInServiceBetween(OWNER_HOUSING_UNIT, unitIds, type, fromMonth, lastDay));
+            }
+        }
+        if (meters.isEmpty()) {
+            return new ConsumptionDTO(ownerType, ownerId, type, fromMonth, toMonth, BigDecimal.ZERO, List.of(), List.of());
+        }
+
+        List<Long> meterIds = meters.stream().map(Meter::getId).toList();
+        List<MonthlyConsumptionDTO> months = consumptionRepository.sumByMonth(meterIds, fromMonth, toMonth).stream()
+                .map(m -> new MonthlyConsumptionDTO(m.getMonth(), m.getConsumption()))
+                .toList();
+        Map<Long, BigDecimal> perMeter = consumptionRepository.sumByMeter(meterIds, fromMonth, toMonth).stream()
+                .collect(Collectors.toMap(MeterConsumption::getMeterId, MeterConsumption::getConsumption));
+        List<MeterConsumptionDTO> byMeter = meters.stream()
+                .map(m -> new MeterConsumptionDTO(m.getId(), m.getMeterNumber(), m.getOwnerType(), m.getOwnerId(),
+                        m.getStartDate(), m.getEndDate(), perMeter.getOrDefault(m.getId(), BigDecimal.ZERO)))
+                .toList();
+        BigDecimal total = months.stream().map(MonthlyConsumptionDTO::consumption)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        return new ConsumptionDTO(ownerType, ownerId, type, fromMonth, toMonth, total, months, byMeter);
+    }
+
+    // ─── Append ──────────────────────────────────────────────────────────────
+
+    private List<MeterReading> appendOrThrow(List<NewReading> readings, String source) {
+        List<ImportRowErrorDTO> errors = new ArrayList<>();
+        List<MeterReading> added = append(readings, source, errors, new int[1]);
+        if (!errors.isEmpty()) {
+            throw new MeterBusinessRuleException(errors.get(0).errorMessage());
+        }
+        return added;
+    }
+
+    /**
+     * Validates and stores readings against the stored readings of their
+     * meters, then recomputes deltas and monthly consumption of the meters
+     * touched. Returns the stored readings.
+     */
+    private List<MeterReading> append(List<NewReading> readings, String source,
+            List<ImportRowErrorDTO> errors, int[] duplicates) {
+        if (readings.isEmpty()) {
+            return List.of();
+        }
+        Set<Long> meterIds = readings.stream().map(r -> r.meter().getId()).collect(Collectors.toSet());
+        Map<Long, TreeMap<LocalDate, MeterReading>> byMeter = new HashMap<>();
+        for (MeterReading r : readingRepository.findByMeterIdInOrderByMeterIdAscReadingDateAsc(meterIds)) {
+            byMeter.computeIfAbsent(r.getMeterId(), id -> new TreeMap<>()).put(r.getReadingDate(), r);
+        }
+
+        List<MeterReading> added = new ArrayList<>();
+        Set<Long> touched = new HashSet<>();
+        LocalDate today = LocalDate.now();
+        for (NewReading r : readings) {
+            TreeMap<LocalDate, MeterReading> series = byMeter.computeIfAbsent(r.meter().getId(), id -> new TreeMap<>());
+            String error = check(r, series, today);
+            if (error == null) {
+                MeterReading reading = new MeterReading(r.meter().getId(), r.date(), r.value(), source);
+                series.put(r.date(), reading);
+                added.add(reading);
+                touched.add(r.meter().getId());
+            } else if (error.isEmpty()) {
+                duplicates[0]++;
+            } else {
+                errors.add(new ImportRowErrorDTO(r.rowNumber(), r.rawLine(), error));
+            }
+        }
+        if (touched.isEmpty()) {
+            return added;
+        }
+
+        List<MeterReading> changed = new ArrayList<>();
+        Map<Long, SortedMap<LocalDate, BigDecimal>> months = new HashMap<>();
+        for (Long meterId : touched) {
+            List<MeterReading> series = new ArrayList<>(byMeter.get(meterId).values());
+            changed.addAll(recomputeDeltas(series));
+            months.put(meterId, monthly(series));
+        }
+        readingRepository.saveAll(changed);
+        refreshMonths(months);
+        return added;
+    }
+
+    /** Error message, "" for an identical stored reading, null when the reading can be added. */
+    private static String check(NewReading r, TreeMap<LocalDate, MeterReading> series, LocalDate today) {
+        Meter meter = r.meter();
+        if (r.date() == null || r.value() == null) {
+            return "Reading date and value are required";
+        }
+        if (r.value().signum() < 0) {
+            return "Reading value cannot be negative";
+        }
+        if (r.date().isAfter(today)) {
+            return "Reading date cannot be in the future";
+        }
+        if (r.date().isBefore(meter.getStartDate())
+                || (meter.getEndDate() != null && r.date().isAfter(meter.getEndDate()))) {
+            return "Meter " + meter.getMeterNumber() + " was not in service on " + r.date();
+        }
+        MeterReading same = series.get(r.date());
+        if (same != null) {
+            return same.getReadingValue().compareTo(r.value()) == 0 ? ""
+                    : "Meter " + meter.getMeterNumber() + " already has the reading "
+                            + same.getReadingValue().toPlainString() + " on " + r.date();
+        }
+        Map.Entry<LocalDate, MeterReading> before = series.lowerEntry(r.date());
+        if (before != null && r.value().compareTo(before.getValue().getReadingValue()) < 0) {
+            return "Reading " + r.value().toPlainString() + " is lower than the reading of " + before.getKey()
+                    + " (" + before.getValue().getReadingValue().toPlainString() + ")";
+        }
+        Map.Entry<LocalDate, MeterReading> after = series.higherEntry(r.date());
+        if (after != null && r.value().compareTo(after.getValue().getReadingValue()) > 0) {
+            return "Reading " + r.value().toPlainString() + " is higher than the reading of " + after.getKey()
+                    + " (" + after.getValue().getReadingValue().toPlainString() + ")";
+        }
+        return null;
+    }
+
+    /** Sets each reading's delta from its predecessor; returns new and changed readings. */
+    static List<MeterReading> recomputeDeltas(List<MeterReading> sorted) {
+        List<MeterReading> changed = new ArrayList<>();
+        BigDecimal previous = null;
+        for (MeterReading r : sorted) {
+            BigDecimal delta = previous == null ? BigDecimal.ZERO : r.getReadingValue().subtract(previous);
+            if (r.getId() == null || delta.compareTo(r.getConsumption()) != 0) {
+                r.setConsumption(delta);
+                changed.add(r);
+            }
+            previous = r.getReadingValue();
+        }
+        return changed;
+    }
+
+    /**
+     * Consumption per calendar month: each delta spread evenly over the days
+     * after the previous reading up to its own date; the last month of a
+     * delta takes the rounding remainder so months add up to the readings.
+     */
+    static SortedMap<LocalDate, BigDecimal> monthly(List<MeterReading> sorted) {
+        SortedMap<LocalDate, BigDecimal> months = new TreeMap<>();
+        for (int i = 1; i < sorted.size(); i++) {
+            LocalDate previous = sorted.get(i - 1).getReadingDate();
+            LocalDate date = sorted.get(i).getReadingDate();
+            BigDecimal delta = sorted.get(i).getConsumption();
+            if (delta.signum() == 0) {
+                continue;
+            }
+            long days = ChronoUnit.DAYS.between(previous, date);
+            BigDecimal remaining = delta;
+            LocalDate day = previous.plusDays(1);
+            while (!day.isAfter(date)) {
+                LocalDate monthEnd = day.withDayOfMonth(day.lengthOfMonth());
+                LocalDate end = monthEnd.isBefore(date) ? monthEnd : date;
+                BigDecimal share = end.equals(date) ? remaining
+                        : delta.multiply(BigDecimal.valueOf(ChronoUnit.DAYS.between(day, end) + 1))
+                                .divide(BigDecimal.valueOf(days), 3, RoundingMode.HALF_UP);
+                remaining = remaining.subtract(share);
+                months.merge(day.withDayOfMonth(1), share, BigDecimal::add);
+                day = end.plusDays(1);
+            }
+        }
+        months.values().removeIf(v -> v.signum() == 0);
+        return months;
+    }
+
+    /** Replaces the stored months of the given meters by the computed ones. */
+    private void refreshMonths(Map<Long, SortedMap<LocalDate, BigDecimal>> computed) {
+        Map<MeterConsumptionMonthId, BigDecimal> target = new HashMap<>();
+        computed.forEach((meterId, months) -> months.forEach(
+                (month, value) -> target.put(new MeterConsumptionMonthId(meterId, month), value)));
+
+        List<MeterConsumptionMonth> changed = new ArrayList<>();
+        List<MeterConsumptionMonth> stale = new ArrayList<>();
+        for (MeterConsumptionMonth row : consumptionRepository.findByMeterIdIn(computed.keySet())) {
+            BigDecimal value = target.remove(row.getId());
+            if (value == null) {
+                stale.add(row);
+            } else if (value.compareTo(row.getConsumption()) != 0) {
+                row.setConsumption(value);
+                changed.add(row);
+            }
+        }
+        target.forEach((id, value) -> {
+            MeterConsumptionMonth row = new MeterConsumptionMonth(id.getMeterId(), id.getMonth());
+            row.setConsumption(value);
+            changed.add(row);
+        });
+        consumptionRepository.saveAll(changed);
+        consumptionRepository.deleteAll(stale);
+    }
+
+    // ─── CSV ─────────────────────────────────────────────────────────────────
+
+    /** Indexes of the meter, date and value columns. */
+    private static int[] columns(String[] header) {
+        Map<String, Integer> names = new HashMap<>();
+        for (int i = 0; i < header.length; i++) {
+            names.put(header[i].toLowerCase(Locale.ROOT).replace(' ', '_'), i);
+        }
+        Function<List<String>, Integer> find = aliases -> aliases.stream()
+                .filter(names::containsKey).map(names::get).findFirst().orElse(-1);
+        int[] columns = {
+                find.apply(List.of("meter", "meter_number", "ean", "ean_code")),
+                find.apply(List.of("date", "reading_date")),
+                find.apply(List.of("value", "reading_value", "index"))
+        };
+        for (int c : columns) {
+            if (c < 0) {
+                throw new MeterBusinessRuleException("The header must name the meter, date and value columns");
+            }
+        }
+        return columns;
+    }
+
+    private static String[] split(String line, char separator) {
+        String[] fields = line.split(String.valueOf(separator), -1);
+        for (int i = 0; i < fields.length; i++) {
+            String f = fields[i].trim();
+            if (f.length() >= 2 && f.startsWith("\"") && f.endsWith("\"")) {
+                f = f.substring(1, f.length() - 1).trim();
+            }
+            fields[i] = f;
+        }
+        return fields;
+    }
+
+    private static LocalDate parseDate(String s) {
+        try {
+            return s.contains("/") ? LocalDate.parse(s, BE_DATE) : LocalDate.parse(s);
+        } catch (DateTimeParseException e) {
+            throw new MeterBusinessRuleException("Invalid date: " + s);
+        }
+    }
+
+    /** Decimal comma (with optional '.' thousands) accepted in ';'-separated files. */
+    private static BigDecimal parseValue(String s, char separator) {
+        String v = s.replace(" ", "").replace("\u00A0", "");
+        if (separator == ';' && v.indexOf(',') >= 0) {
+            v = v.replace(".", "").replace(',', '.');
+        }
+        try {
+            return new BigDecimal(v);
+        } catch (NumberFormatException e) {
+            throw new MeterBusinessRuleException("Invalid value: " + s);
+        }
+    }
+
+    /** The meter with this number or EAN that was in service on the date. */
+    private static Meter resolve(Collection<Meter> candidates, String identifier, LocalDate date) {
+        if (candidates.isEmpty()) {
+            throw new MeterBusinessRuleException("Unknown meter: " + identifier);
+        }
+        List<Meter> inService = candidates.stream()
+                .filter(m -> !date.isBefore(m.getStartDate()) && (m.getEndDate() == null || !date.isAfter(m.getEndDate())))
+                .distinct()
+                .toList();
+        if (inService.size() > 1) {
+            throw new MeterBusinessRuleException("Several meters " + identifier + " were in service on " + date);
+        }
+        // Out of service: let check() report it against the most recent one
+        return inService.isEmpty() ? candidates.stream()
+                .max((a, b) -> a.getStartDate().compareTo(b.getStartDate())).orElseThrow()
+                : inService.get(0);
+    }
+
+    private void validateOwnerExists(String ownerType, Long ownerId) {
+        switch (ownerType) {
+            case OWNER_HOUSING_UNIT -> {
+                if (!housingUnitRepository.existsById(ownerId)) {
+                    throw new HousingUnitNotFoundException(ownerId);
+                }
+            }
+            case OWNER_BUILDING -> {
+                if (!buildingRepository.existsById(ownerId)) {
+                    throw new BuildingNotFoundException(ownerId);
+                }
+            }
+            default -> throw new MeterBusinessRuleException("Invalid owner type: " + ownerType);
+        }
+    }
+
+    private MeterReadingDTO toDTO(MeterReading r) {
+        return new MeterReadingDTO(r.getId(), r.getMeterId(), r.getReadingDate(), r.getReadingValue(),
+                r.getConsumption(), r.getSource(), r.getCreatedAt());
+    }
+}
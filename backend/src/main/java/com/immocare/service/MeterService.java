@@ -45,6 +45,7 @@ public class MeterService {
     private final HousingUnitRepository housingUnitRepository;
     private final BuildingRepository buildingRepository;
     private final MeterMapper meterMapper;
+    private final MeterReadingService meterReadingService;
 
     // ─────────────────────────────────────────────────────────────────────────
     // READ
@@ -170,8 +171,13 @@ public class MeterService {
         newMeter.setOwnerId(ownerId);
         newMeter.setStartDate(request.newStartDate());
         newMeter.setEndDate(null);
+        Meter saved = meterRepository.save(newMeter);
 
-        return meterMapper.toDTO(meterRepository.save(newMeter));
+        if (request.closingReading() != null || request.openingReading() != null) {
+            meterReadingService.recordReplacement(current, saved,
+                    request.closingReading(), request.openingReading());
+        }
+        return meterMapper.toDTO(saved);
     }
 
     // ─────────────────────────────────────────────────────────────────────────
@@ -0,0 +1,282 @@
+package com.immocare.service;
+
+import java.math.BigDecimal;
+import java.text.Normalizer;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.immocare.model.entity.ParsedTransaction;
+import com.immocare.model.enums.TransactionDirection;
+import com.immocare.repository.FinancialTransactionRepository;
+import com.immocare.repository.FinancialTransactionRepository.DuplicateCandidate;
+
+/**
+ * Flags imported rows that are probably already in the ledger under another
+ * fingerprint — typically the same statement imported once as CSV and once
+ * as CODA or PDF, where the text fields differ slightly.
+ *
+ * Blocking: one query fetches every transaction whose amount appears in the
+ * file, booked within {@code window-days} of the file's date range. The
+ * candidates are grouped by amount and sorted by date, so each row only
+ * looks at the few transactions of its amount inside its own date window
+ * (binary search) and, when both sides have one, the same bank account.
+ *
+ * Scoring (0..1): equal bank references score 1; otherwise counterparty
+ * (IBAN equality, else name trigram similarity) and description trigram
+ * similarity weigh 0.45 each and date proximity 0.10. A side without the
+ * field counts as neutral (0.5).
+ */
+@Service
+@Transactional(readOnly = true)
+public class NearDuplicateDetector {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^a-z0-9]+");
+
+    /** Amounts per candidate query (IN list size). */
+    static final int AMOUNT_CHUNK = 500;
+
+    private static final double NEUTRAL = 0.5;
+
+    /** Best existing transaction resembling a row. */
+    public record Match(Long transactionId, double score) {
+    }
+
+    /** Candidates of one amount, sorted by booking date. */
+    private record Block(List<DuplicateCandidate> candidates, long[] epochDays) {
+
+        static Block of(List<DuplicateCandidate> candidates) {
+            candidates.sort(Comparator.comparing(DuplicateCandidate::getTransactionDate));
+            long[] days = new long[candidates.size()];
+            for (int i = 0; i < days.length; i++) {
+                days[i] = candidates.get(i).getTransactionDate().toEpochDay();
+            }
+            return new Block(candidates, days);
+        }
+
+        /** Index of the first candidate booked on or after {@code epochDay}. */
+        int lowerBound(long epochDay) {
+            int index = Arrays.binarySearch(epochDays, epochDay);
+            if (index < 0) {
+                return -index - 1;
+            }
+            while (index > 0 && epochDays[index - 1] == epochDay) {
+                index--;
+            }
+            return index;
+        }
+    }
+
+    private final FinancialTransactionRepository transactionRepo;
+    private final int windowDays;
+    private final double minScore;
+
+    public NearDuplicateDetector(FinancialTransactionRepository transactionRepo,
+            @Value("${immocare.import.near-duplicate.window-days:3}") int windowDays,
+            @Value("${immocare.import.near-duplicate.min-score:0.6}") double minScore) {
+        this.transactionRepo = transactionRepo;
+        this.windowDays = windowDays;
+        this.minScore = minScore;
+    }
+
+    /**
+     * Best match of at least {@code min-score} for each row that has one.
+     *
+     * @param accountOf own bank account id of a row, or null when unknown
+     *                  (then any account matches)
+     */
+    public Map<ParsedTransaction, Match> detect(Collection<ParsedTransaction> rows,
+            Function<ParsedTransaction, Long> accountOf) {
+
+        Map<ParsedTransaction, Match> matches = new IdentityHashMap<>();
+        List<ParsedTransaction> checked = rows.stream()
+                .filter(p -> p.getTransactionDate() != null && p.getAmount() != null)
+                .toList();
+        if (checked.isEmpty()) {
+            return matches;
+        }
+
+        Map<BigDecimal, Block> blocks = loadBlocks(checked);
+        for (ParsedTransaction row : checked) {
+            Block block = blocks.get(amountKey(row.getAmount()));
+            if (block == null) {
+                continue;
+            }
+            Long accountId = accountOf.apply(row);
+            long day = row.getTransactionDate().toEpochDay();
+
+            Match best = null;
+            for (int i = block.lowerBound(day - windowDays); i < block.epochDays().length
+                    && block.epochDays()[i] <= day + windowDays; i++) {
+                DuplicateCandidate candidate = block.candidates().get(i);
+                if (accountId != null && candidate.getBankAccountId() != null
+                        && !accountId.equals(candidate.getBankAccountId())) {
+                    continue;
+                }
+                double score = score(row, candidate, windowDays);
+                if (score >= minScore && (best == null || score > best.score())) {
+                    best = new Match(candidate.getId(), score);
+                }
+            }
+            if (best != null) {
+                matches.put(row, best);
+            }
+        }
+        return matches;
+    }
+
+    private Map<BigDecimal, Block> loadBlocks(List<ParsedTransaction> rows) {
+        LocalDate from = rows.get(0).getTransactionDate();
+        LocalDate to = from;
+        Set<BigDecimal> amounts = new TreeSet<>();
+        for (ParsedTransaction row : rows) {
+            LocalDate date = row.getTransactionDate();
+            from = date.isBefore(from) ? date : from;
+            to = date.isAfter(to) ? date : to;
+            amounts.add(amountKey(row.getAmount()));
+        }
+
+        Map<BigDecimal, List<DuplicateCandidate>> byAmount = new HashMap<>();
+        List<BigDecimal> chunk = new ArrayList<>(AMOUNT_CHUNK);
+        for (BigDecimal amount : amounts) {
+            chunk.add(amount);
+            if (chunk.size() == AMOUNT_CHUNK) {
+                fetch(chunk, from, to, byAmount);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            fetch(chunk, from, to, byAmount);
+        }
+
+        Map<BigDecimal, Block> blocks = new HashMap<>(byAmount.size() * 2);
+        byAmount.forEach((amount, candidates) -> blocks.put(amount, Block.of(candidates)));
+        return blocks;
+    }
+
+    private void fetch(List<BigDecimal> amounts, LocalDate from, LocalDate to,
+            Map<BigDecimal, List<DuplicateCandidate>> byAmount) {
+        for (DuplicateCandidate candidate : transactionRepo.findDuplicateCandidates(
+                amounts, from.minusDays(windowDays), to.plusDays(windowDays))) {
+            byAmount.computeIfAbsent(amountKey(candidate.getAmount()), k -> new ArrayList<>()).add(candidate);
+        }
+    }
+
+    /** 850, 850.0 and 850.00 are the same block. */
+    private static BigDecimal amountKey(BigDecimal amount) {
+        return amount.stripTrailingZeros();
+    }
+
+    // ─── Scoring ──────────────────────────────────────────────────────────────
+
+    static double score(ParsedTransaction row, DuplicateCandidate candidate, int windowDays) {
+        if (row.getDirection() != null && candidate.getDirection() != null
+                && !sameDirection(row.getDirection(), candidate.getDirection())) {
+            return 0;
+        }
+        if (!isBlank(row.getExternalReference())
+                && row.getExternalReference().strip().equals(strip(candidate.getExternalReference()))) {
+            return 1;
+        }
+
+        double counterparty;
+        if (!isBlank(row.getCounterpartyAccount()) && !isBlank(candidate.getCounterpartyAccount())) {
+            counterparty = compactIban(row.getCounterpartyAccount())
+                    .equals(compactIban(candidate.getCounterpartyAccount())) ? 1 : 0;
+        } else {
+            counterparty = similarity(row.getCounterpartyName(), candidate.getCounterpartyName());
+        }
+        double description = similarity(row.getDescription(), candidate.getDescription());
+        long days = Math.abs(ChronoUnit.DAYS.between(row.getTransactionDate(), candidate.getTransactionDate()));
+        double proximity = 1 - (double) days / (windowDays + 1);
+
+        return 0.45 * counterparty + 0.45 * description + 0.10 * proximity;
+    }
+
+    /**
+     * Dice coefficient of the character trigrams of both normalised texts;
+     * neutral when either side is blank.
+     */
+    static double similarity(String a, String b) {
+        if (isBlank(a) || isBlank(b)) {
+            return NEUTRAL;
+        }
+        long[] left = trigrams(normalize(a));
+        long[] right = trigrams(normalize(b));
+        if (left.length == 0 || right.length == 0) {
+            return NEUTRAL;
+        }
+        int common = 0;
+        for (int i = 0, j = 0; i < left.length && j < right.length;) {
+            if (left[i] == right[j]) {
+                common++;
+                i++;
+                j++;
+            } else if (left[i] < right[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return 2.0 * common / (left.length + right.length);
+    }
+
+    /** Lower-cased, accent-free words and numbers separated by single blanks. */
+    static String normalize(String text) {
+        String folded = DIACRITICS.matcher(Normalizer.normalize(text.toLowerCase(), Normalizer.Form.NFD))
+                .replaceAll("");
+        return SEPARATORS.matcher(folded).replaceAll(" ").strip();
+    }
+
+    /** Distinct trigrams of " text ", each packed into a long, sorted. */
+    private static long[] trigrams(String text) {
+        if (text.isEmpty()) {
+            return new long[0];
+        }
+        String padded = " " + text + " ";
+        long[] grams = new long[padded.length() - 2];
+        for (int i = 0; i < grams.length; i++) {
+            grams[i] = ((long) padded.charAt(i) << 32) | ((long) padded.charAt(i + 1) << 16) | padded.charAt(i + 2);
+        }
+        Arrays.sort(grams);
+        int distinct = 0;
+        for (int i = 0; i < grams.length; i++) {
+            if (i == 0 || grams[i] != grams[i - 1]) {
+                grams[distinct++] = grams[i];
+            }
+        }
+        return Arrays.copyOf(grams, distinct);
+    }
+
+    private static boolean sameDirection(ParsedTransaction.Direction parsed, TransactionDirection stored) {
+        return parsed.name().equals(stored.name());
+    }
+
+    private static String compactIban(String iban) {
+        return iban.replace(" ", "").toUpperCase();
+    }
+
+    private static String strip(String text) {
+        return text == null ? null : text.strip();
+    }
+
+    private static boolean isBlank(String text) {
+        return text == null || text.isBlank();
+    }
+}
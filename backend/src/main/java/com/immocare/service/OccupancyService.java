@@ -0,0 +1,304 @@
+package com.immocare.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.immocare.exception.InvalidDateRangeException;
+import com.immocare.model.dto.OccupancyDTOs.BuildingOccupancyDTO;
+import com.immocare.model.dto.OccupancyDTOs.OccupancyPointDTO;
+import com.immocare.model.dto.OccupancyDTOs.PortfolioOccupancyDTO;
+import com.immocare.model.dto.OccupancyDTOs.UnitOccupancyDTO;
+import com.immocare.model.dto.OccupancyDTOs.VacancyPeriodDTO;
+import com.immocare.repository.HousingUnitRepository;
+import com.immocare.repository.HousingUnitRepository.UnitRef;
+import com.immocare.repository.LeaseRepository;
+import com.immocare.repository.LeaseRepository.OccupancyInterval;
+import com.immocare.repository.RentHistoryRepository;
+import com.immocare.repository.RentHistoryRepository.RentInterval;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Occupancy and vacancy of every unit, building and of the whole portfolio
+ * over any period.
+ *
+ * All lease intervals (ACTIVE and FINISHED leases, end date inclusive, no end
+ * date = open-ended), units and rent history periods are read once per
+ * {@link PortfolioVersion} and each unit's leases are merged into sorted,
+ * disjoint occupied intervals. A report then clips those intervals to the
+ * period: the gaps are the vacancy periods, valued at the rent history amount
+ * prorated per calendar month like the rent schedule; a sweep over the start
+ * and end events of all units gives the number of occupied units over time.
+ *
+ * The last {@value #MAX_CACHED_REPORTS} reports are kept until the portfolio
+ * version changes.
+ */
+@Service
+@Transactional(readOnly = true)
+public class OccupancyService {
+
+    static final int MAX_CACHED_REPORTS = 32;
+
+    private static final long[] NONE = new long[0];
+    private static final long OPEN_END = Long.MAX_VALUE;
+
+    private record Range(LocalDate from, LocalDate to) {
+    }
+
+    private final LeaseRepository leaseRepository;
+    private final HousingUnitRepository housingUnitRepository;
+    private final RentHistoryRepository rentHistoryRepository;
+    private final PortfolioVersion portfolioVersion;
+    private final MeterRegistry meterRegistry;
+
+    /** Guarded by {@code this}. */
+    private Snapshot snapshot;
+    private final Map<Range, PortfolioOccupancyDTO> reports = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Range, PortfolioOccupancyDTO> eldest) {
+            return size() > MAX_CACHED_REPORTS;
+        }
+    };
+
+    public OccupancyService(LeaseRepository leaseRepository,
+            HousingUnitRepository housingUnitRepository,
+            RentHistoryRepository rentHistoryRepository,
+            PortfolioVersion portfolioVersion,
+            MeterRegistry meterRegistry) {
+        this.leaseRepository = leaseRepository;
+        this.housingUnitRepository = housingUnitRepository;
+        this.rentHistoryRepository = rentHistoryRepository;
+        this.portfolioVersion = portfolioVersion;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /** Occupancy from {@code from} to {@code to}, both inclusive. */
+    public PortfolioOccupancyDTO getOccupancy(LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new InvalidDateRangeException(from, to);
+        }
+        Range range = new Range(from, to);
+        Snapshot data = snapshot();
+        synchronized (this) {
+            PortfolioOccupancyDTO cached = data == snapshot ? reports.get(range) : null;
+            if (cached != null) {
+                return cached;
+            }
+        }
+        PortfolioOccupancyDTO report = meterRegistry.timer("immocare.occupancy.report")
+                .record(() -> report(data, from, to));
+        synchronized (this) {
+            if (data == snapshot) {
+                reports.put(range, report);
+            }
+        }
+        return report;
+    }
+
+    private synchronized Snapshot snapshot() {
+        long version = portfolioVersion.current();
+        if (snapshot == null || snapshot.version != version) {
+            snapshot = Snapshot.of(version, housingUnitRepository.findAllUnitRefs(),
+                    leaseRepository.findOccupancyIntervals(), rentHistoryRepository.findAllRentIntervals());
+            reports.clear();
+        }
+        return snapshot;
+    }
+
+    // ─── Report ──────────────────────────────────────────────────────────────
+
+    private static PortfolioOccupancyDTO report(Snapshot data, LocalDate from, LocalDate to) {
+        long first = from.toEpochDay();
+        long last = to.toEpochDay();
+        long span = last - first + 1;
+
+        Map<Long, List<UnitOccupancyDTO>> unitsByBuilding = new LinkedHashMap<>();
+        Map<Long, String> buildingNames = new HashMap<>();
+        long[] events = new long[16];
+        int eventCount = 0;
+
+        for (UnitRef unit : data.units) {
+            long[] occupied = data.occupied.getOrDefault(unit.getId(), NONE);
+            List<RentInterval> rents = data.rents.getOrDefault(unit.getId(), List.of());
+            List<VacancyPeriodDTO> vacancies = new ArrayList<>();
+            long occupiedDays = 0;
+            long cursor = first;
+            for (int i = 0; i < occupied.length && occupied[i] <= last; i += 2) {
+                long start = Math.max(occupied[i], first);
+                long end = Math.min(occupied[i + 1], last);
+                if (start > end) {
+                    continue;
+                }
+                if (start > cursor) {
+                    vacancies.add(vacancy(cursor, start - 1, rents));
+                }
+                occupiedDays += end - start + 1;
+                cursor = end + 1;
+                if (eventCount + 2 > events.length) {
+                    events = Arrays.copyOf(events, events.length * 2);
+                }
+                events[eventCount++] = start << 1 | 1;
+                if (end < last) {
+                    events[eventCount++] = (end + 1) << 1;
+                }
+            }
+            if (cursor <= last) {
+                vacancies.add(vacancy(cursor, last, rents));
+            }
+            BigDecimal lostRent = vacancies.stream().map(VacancyPeriodDTO::lostRent)
+                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+            unitsByBuilding.computeIfAbsent(unit.getBuildingId(), id -> new ArrayList<>())
+                    .add(new UnitOccupancyDTO(unit.getId(), unit.getUnitNumber(), occupiedDays,
+                            span - occupiedDays, rate(occupiedDays, span), lostRent, vacancies));
+            buildingNames.putIfAbsent(unit.getBuildingId(), unit.getBuildingName());
+        }
+
+        List<BuildingOccupancyDTO> buildings = new ArrayList<>();
+        long occupiedDays = 0;
+        BigDecimal lostRent = BigDecimal.ZERO;
+        for (Map.Entry<Long, List<UnitOccupancyDTO>> e : unitsByBuilding.entrySet()) {
+            List<UnitOccupancyDTO> units = e.getValue();
+            long buildingOccupied = units.stream().mapToLong(UnitOccupancyDTO::occupiedDays).sum();
+            long buildingDays = span * units.size();
+            BigDecimal buildingLost = units.stream().map(UnitOccupancyDTO::lostRent)
+                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+            buildings.add(new BuildingOccupancyDTO(e.getKey(), buildingNames.get(e.getKey()), units.size(),
+                    buildingOccupied, buildingDays - buildingOccupied, rate(buildingOccupied, buildingDays),
+                    buildingLost, units));
+            occupiedDays += buildingOccupied;
+            lostRent = lostRent.add(buildingLost);
+        }
+
+        long totalDays = span * data.units.size();
+        return new PortfolioOccupancyDTO(from, to, data.units.size(), occupiedDays, totalDays - occupiedDays,
+                rate(occupiedDays, totalDays), lostRent, timeline(events, eventCount, first), buildings);
+    }
+
+    /**
+     * Sweep over the (day, start/end) events of all units: the number of
+     * occupied units on the first day, then at every day it changes.
+     */
+    static List<OccupancyPointDTO> timeline(long[] events, int count, long first) {
+        Arrays.sort(events, 0, count);
+        List<OccupancyPointDTO> points = new ArrayList<>();
+        int occupied = 0;
+        int i = 0;
+        while (i < count && events[i] >> 1 == first) {
+            occupied += (events[i++] & 1) == 1 ? 1 : -1;
+        }
+        points.add(new OccupancyPointDTO(LocalDate.ofEpochDay(first), occupied));
+        while (i < count) {
+            long day = events[i] >> 1;
+            int before = occupied;
+            for (; i < count && events[i] >> 1 == day; i++) {
+                occupied += (events[i] & 1) == 1 ? 1 : -1;
+            }
+            if (occupied != before) {
+                points.add(new OccupancyPointDTO(LocalDate.ofEpochDay(day), occupied));
+            }
+        }
+        return points;
+    }
+
+    private static VacancyPeriodDTO vacancy(long first, long last, List<RentInterval> rents) {
+        BigDecimal lost = BigDecimal.ZERO;
+        for (RentInterval rent : rents) {
+            long start = Math.max(first, rent.getEffectiveFrom().toEpochDay());
+            long end = Math.min(last, rent.getEffectiveTo() != null ? rent.getEffectiveTo().toEpochDay() : OPEN_END);
+            if (start <= end) {
+                lost = lost.add(prorated(rent.getMonthlyRent(), start, end));
+            }
+        }
+        return new VacancyPeriodDTO(LocalDate.ofEpochDay(first), LocalDate.ofEpochDay(last), last - first + 1,
+                lost.setScale(2, RoundingMode.HALF_UP));
+    }
+
+    /** Monthly rent × covered days / days in month, summed over the months of [first, last]. */
+    static BigDecimal prorated(BigDecimal monthlyRent, long first, long last) {
+        BigDecimal total = BigDecimal.ZERO;
+        LocalDate day = LocalDate.ofEpochDay(first);
+        LocalDate end = LocalDate.ofEpochDay(last);
+        while (!day.isAfter(end)) {
+            LocalDate monthEnd = day.withDayOfMonth(day.lengthOfMonth());
+            LocalDate to = monthEnd.isBefore(end) ? monthEnd : end;
+            long covered = to.toEpochDay() - day.toEpochDay() + 1;
+            total = covered == day.lengthOfMonth()
+                    ? total.add(monthlyRent)
+                    : total.add(monthlyRent.multiply(BigDecimal.valueOf(covered))
+                            .divide(BigDecimal.valueOf(day.lengthOfMonth()), 10, RoundingMode.HALF_UP));
+            day = to.plusDays(1);
+        }
+        return total;
+    }
+
+    private static double rate(long occupied, long total) {
+        return total == 0 ? 0 : Math.round(occupied * 10_000.0 / total) / 10_000.0;
+    }
+
+    // ─── Snapshot ────────────────────────────────────────────────────────────
+
+    /** Units, merged occupied intervals and rent periods at one portfolio version. */
+    static final class Snapshot {
+
+        final long version;
+        final List<UnitRef> units;
+        /** Unit id → disjoint [start, end] epoch days, sorted, flattened. */
+        final Map<Long, long[]> occupied;
+        final Map<Long, List<RentInterval>> rents;
+
+        private Snapshot(long version, List<UnitRef> units, Map<Long, long[]> occupied,
+                Map<Long, List<RentInterval>> rents) {
+            this.version = version;
+            this.units = units;
+            this.occupied = occupied;
+            this.rents = rents;
+        }
+
+        static Snapshot of(long version, List<UnitRef> units, List<OccupancyInterval> leases,
+                List<RentInterval> rents) {
+            Map<Long, List<OccupancyInterval>> byUnit = new HashMap<>();
+            for (OccupancyInterval lease : leases) {
+                if (lease.getEndDate() == null || !lease.getEndDate().isBefore(lease.getStartDate())) {
+                    byUnit.computeIfAbsent(lease.getHousingUnitId(), id -> new ArrayList<>()).add(lease);
+                }
+            }
+            Map<Long, long[]> occupied = new HashMap<>();
+            byUnit.forEach((unitId, intervals) -> occupied.put(unitId, merge(intervals)));
+
+            Map<Long, List<RentInterval>> rentsByUnit = new HashMap<>();
+            for (RentInterval rent : rents) {
+                rentsByUnit.computeIfAbsent(rent.getHousingUnitId(), id -> new ArrayList<>()).add(rent);
+            }
+            return new Snapshot(version, List.copyOf(units), occupied, rentsByUnit);
+        }
+
+        /** Overlapping or adjacent leases of one unit as one occupied interval. */
+        static long[] merge(List<OccupancyInterval> intervals) {
+            intervals.sort(Comparator.comparing(OccupancyInterval::getStartDate));
+            long[] merged = new long[intervals.size() * 2];
+            int n = 0;
+            for (OccupancyInterval interval : intervals) {
+                long start = interval.getStartDate().toEpochDay();
+                long end = interval.getEndDate() != null ? interval.getEndDate().toEpochDay() : OPEN_END;
+                if (n > 0 && start - 1 <= merged[n - 1]) {
+                    merged[n - 1] = Math.max(merged[n - 1], end);
+                } else {
+                    merged[n++] = start;
+                    merged[n++] = end;
+                }
+            }
+            return Arrays.copyOf(merged, n);
+        }
+    }
+}
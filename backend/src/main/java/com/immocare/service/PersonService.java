@@ -1,6 +1,8 @@
 package com.immocare.service;
 
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.springframework.data.domain.Page;
@@ -34,19 +36,22 @@ public class PersonService {
     private final HousingUnitRepository housingUnitRepository;
     private final LeaseTenantRepository leaseTenantRepository;
     private final PersonBankAccountRepository personBankAccountRepository;
+    private final PortfolioVersion portfolioVersion;
 
     public PersonService(PersonRepository personRepository,
             PersonMapper personMapper,
             BuildingRepository buildingRepository,
             HousingUnitRepository housingUnitRepository,
             LeaseTenantRepository leaseTenantRepository,
-            PersonBankAccountRepository personBankAccountRepository) {
+            PersonBankAccountRepository personBankAccountRepository,
+            PortfolioVersion portfolioVersion) {
         this.personRepository = personRepository;
         this.personMapper = personMapper;
         this.buildingRepository = buildingRepository;
         this.housingUnitRepository = housingUnitRepository;
         this.leaseTenantRepository = leaseTenantRepository;
         this.personBankAccountRepository = personBankAccountRepository;
+        this.portfolioVersion = portfolioVersion;
     }
 
     @Transactional(readOnly = true)
@@ -54,11 +59,9 @@ public class PersonService {
         Page<Person> page = (search != null && !search.isBlank())
                 ? personRepository.searchPersons(search.trim(), pageable)
                 : personRepository.findAll(pageable);
-        return page.map(p -> {
-            PersonSummaryDTO dto = personMapper.toSummaryDTO(p);
-            enrichSummaryFlags(dto, p.getId());
-            return dto;
-        });
+        Page<PersonSummaryDTO> result = page.map(personMapper::toSummaryDTO);
+        enrichSummaryFlags(result.getContent());
+        return result;
     }
 
     @Transactional(readOnly = true)
@@ -67,7 +70,7 @@ public class PersonService {
             return List.of();
         List<PersonSummaryDTO> results = personRepository
                 .searchForPicker(q.trim(), PageRequest.of(0, 10));
-        results.forEach(dto -> enrichSummaryFlags(dto, dto.getId()));
+        enrichSummaryFlags(results);
         return results;
     }
 
@@ -95,6 +98,7 @@ public class PersonService {
         validateNationalIdUniquenessOnUpdate(request.getNationalId(), id);
         personMapper.updateEntity(request, person);
         person = personRepository.save(person);
+        portfolioVersion.bumpAfterCommit(); // tenant names shown in the rent roll
         return buildFullDTO(person);
     }
 
@@ -122,13 +126,6 @@ public class PersonService {
     private PersonDTO buildFullDTO(Person person) {
         PersonDTO dto = personMapper.toDTO(person);
 
-        // Owner / tenant flags
-        boolean isOwner = buildingRepository.existsByOwnerId(person.getId())
-                || housingUnitRepository.existsByOwnerId(person.getId());
-        boolean isTenant = leaseTenantRepository.existsByPersonId(person.getId());
-        dto.setOwner(isOwner);
-        dto.setTenant(isTenant);
-
         // Owned buildings
         List<PersonDTO.OwnedBuildingDTO> buildings = buildingRepository.findByOwnerId(person.getId())
                 .stream()
@@ -136,7 +133,7 @@ public class PersonService {
                 .collect(Collectors.toList());
         dto.setOwnedBuildings(buildings);
 
-        // Owned units
+        // Owned units (building fetched in the same query)
         List<PersonDTO.OwnedUnitDTO> units = housingUnitRepository.findByOwnerId(person.getId())
                 .stream()
                 .map(u -> new PersonDTO.OwnedUnitDTO(
@@ -145,7 +142,7 @@ public class PersonService {
                 .collect(Collectors.toList());
         dto.setOwnedUnits(units);
 
-        // Leases as tenant
+        // Leases as tenant (lease, unit and building fetched in the same query)
         List<PersonDTO.TenantLeaseDTO> leases = leaseTenantRepository
                 .findByPersonId(person.getId())
                 .stream()
@@ -170,15 +167,26 @@ public class PersonService {
                 .collect(Collectors.toList());
         dto.setBankAccounts(bankAccounts);
 
+        // Owner / tenant flags follow from the lists above
+        dto.setOwner(!buildings.isEmpty() || !units.isEmpty());
+        dto.setTenant(!leases.isEmpty());
+
         return dto;
     }
 
-    private void enrichSummaryFlags(PersonSummaryDTO dto, Long personId) {
-        boolean isOwner = buildingRepository.existsByOwnerId(personId)
-                || housingUnitRepository.existsByOwnerId(personId);
-        boolean isTenant = leaseTenantRepository.existsByPersonId(personId);
-        dto.setOwner(isOwner);
-        dto.setTenant(isTenant);
+    /** Sets owner / tenant flags for a whole list with a single query. */
+    private void enrichSummaryFlags(List<PersonSummaryDTO> dtos) {
+        if (dtos.isEmpty())
+            return;
+        Map<Long, PersonRepository.RoleFlags> flags = personRepository
+                .findRoleFlags(dtos.stream().map(PersonSummaryDTO::getId).toList())
+                .stream()
+                .collect(Collectors.toMap(PersonRepository.RoleFlags::getPersonId, Function.identity()));
+        for (PersonSummaryDTO dto : dtos) {
+            PersonRepository.RoleFlags f = flags.get(dto.getId());
+            dto.setOwner(f != null && Boolean.TRUE.equals(f.getOwner()));
+            dto.setTenant(f != null && Boolean.TRUE.equals(f.getTenant()));
+        }
     }
 
     /**
@@ -1,9 +1,12 @@
 package com.immocare.service;
 
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import com.immocare.exception.PlatformConfigNotFoundException;
 import com.immocare.model.dto.PlatformConfigDTOs.BulkUpdateConfigRequest;
@@ -24,6 +27,9 @@ public class PlatformConfigService {
 
     private final PlatformConfigRepository configRepository;
 
+    /** Bumped after every committed update; lets callers cache values derived from the config. */
+    private final AtomicLong version = new AtomicLong();
+
     // ─── READ ────────────────────────────────────────────────────────────────
 
     public List<PlatformConfigDTO> getAllConfigs() {
@@ -62,6 +68,15 @@ public class PlatformConfigService {
                 .orElse(defaultValue);
     }
 
+    /**
+     * Changes whenever a config value was updated (after commit). Callers
+     * that compile settings into a structure keep it while the version is
+     * unchanged instead of re-reading every key.
+     */
+    public long version() {
+        return version.get();
+    }
+
     // ─── UPDATE ──────────────────────────────────────────────────────────────
 
     @Transactional
@@ -69,11 +84,13 @@ public class PlatformConfigService {
         PlatformConfig config = configRepository.findById(key)
                 .orElseThrow(() -> new PlatformConfigNotFoundException(key));
         config.setConfigValue(req.configValue().trim());
+        bumpVersionAfterCommit();
         return toDTO(configRepository.save(config));
     }
 
     @Transactional
     public List<PlatformConfigDTO> bulkUpdate(BulkUpdateConfigRequest req) {
+        bumpVersionAfterCommit();
         return req.entries().stream().map(entry -> {
             PlatformConfig config = configRepository.findById(entry.configKey())
                     .orElseThrow(() -> new PlatformConfigNotFoundException(entry.configKey()));
@@ -84,6 +101,19 @@ public class PlatformConfigService {
 
     // ─── HELPERS ─────────────────────────────────────────────────────────────
 
+    private void bumpVersionAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    version.incrementAndGet();
+                }
+            });
+        } else {
+            version.incrementAndGet();
+        }
+    }
+
     private PlatformConfigDTO toDTO(PlatformConfig c) {
         return new PlatformConfigDTO(c.getConfigKey(), c.getConfigValue(), c.getDescription(), c.getUpdatedAt());
     }
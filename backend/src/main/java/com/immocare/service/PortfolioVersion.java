@@ -0,0 +1,41 @@
+package com.immocare.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Change counter for the data that occupancy and rent views are built from:
+ * leases (dates, status, rent), rent history, housing units, the paid
+ * side of the rent ledger, and the building and person names the rent
+ * roll shows.
+ *
+ * Services writing those call {@link #bumpAfterCommit()}; readers keep a
+ * result computed at version {@code v} while {@link #current()} is still
+ * {@code v}. A rolled-back write leaves the version unchanged.
+ */
+@Component
+public class PortfolioVersion {
+
+    private final AtomicLong version = new AtomicLong();
+
+    public long current() {
+        return version.get();
+    }
+
+    /** Bumps the version once the current transaction commits, or now outside a transaction. */
+    public void bumpAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    version.incrementAndGet();
+                }
+            });
+        } else {
+            version.incrementAndGet();
+        }
+    }
+}
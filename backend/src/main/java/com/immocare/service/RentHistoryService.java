@@ -29,13 +29,16 @@ public class RentHistoryService {
     private final RentHistoryRepository rentHistoryRepository;
     private final HousingUnitRepository housingUnitRepository;
     private final RentHistoryMapper rentHistoryMapper;
+    private final PortfolioVersion portfolioVersion;
 
     public RentHistoryService(RentHistoryRepository rentHistoryRepository,
             HousingUnitRepository housingUnitRepository,
-            RentHistoryMapper rentHistoryMapper) {
+            RentHistoryMapper rentHistoryMapper,
+            PortfolioVersion portfolioVersion) {
         this.rentHistoryRepository = rentHistoryRepository;
         this.housingUnitRepository = housingUnitRepository;
         this.rentHistoryMapper = rentHistoryMapper;
+        this.portfolioVersion = portfolioVersion;
     }
 
     // -------------------------------------------------------------------------
@@ -111,6 +114,7 @@ public class RentHistoryService {
                 request.effectiveFrom(),
                 newEffectiveTo,
                 request.notes());
+        portfolioVersion.bumpAfterCommit();
         return rentHistoryMapper.toDTO(rentHistoryRepository.save(newRecord));
     }
 
@@ -167,6 +171,7 @@ public class RentHistoryService {
         record.setEffectiveTo(newEffectiveTo);
         record.setNotes(request.notes());
 
+        portfolioVersion.bumpAfterCommit();
         return rentHistoryMapper.toDTO(rentHistoryRepository.save(record));
     }
 
@@ -203,6 +208,7 @@ public class RentHistoryService {
             rentHistoryRepository.save(prev);
         }
 
+        portfolioVersion.bumpAfterCommit();
         rentHistoryRepository.delete(record);
     }
 
@@ -0,0 +1,215 @@
+package com.immocare.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.immocare.exception.LeaseNotFoundException;
+import com.immocare.model.dto.RentLedgerDTOs.LeaseRentLedgerDTO;
+import com.immocare.model.dto.RentLedgerDTOs.RentArrearsDTO;
+import com.immocare.model.dto.RentLedgerDTOs.RentLedgerMonthDTO;
+import com.immocare.model.entity.Lease;
+import com.immocare.model.entity.LeaseRentAdjustment;
+import com.immocare.model.entity.LeaseRentMonth;
+import com.immocare.model.entity.LeaseRentMonthId;
+import com.immocare.model.enums.LeaseStatus;
+import com.immocare.model.enums.TenantRole;
+import com.immocare.repository.LeaseRentAdjustmentRepository;
+import com.immocare.repository.LeaseRentMonthRepository;
+import com.immocare.repository.LeaseRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Expected vs paid rent per lease and month (lease_rent_month).
+ *
+ * The expected side is the lease's {@link RentSchedule}, rewritten whenever
+ * the lease, its status or its rent adjustments change. The paid side is fed
+ * by {@link LedgerRollupService#apply} with every booked INCOME transaction
+ * linked to a lease. Balances "as of" a date are then a sum over the months up
+ * to that date — no nightly job and no scan of financial_transaction.
+ */
+@Slf4j
+@Service
+@Transactional(readOnly = true)
+public class RentLedgerService {
+
+    private static final List<LeaseStatus> SCHEDULED = List.of(LeaseStatus.ACTIVE, LeaseStatus.FINISHED);
+
+    private final LeaseRentMonthRepository monthRepository;
+    private final LeaseRepository leaseRepository;
+    private final LeaseRentAdjustmentRepository adjustmentRepository;
+    private final PortfolioVersion portfolioVersion;
+    private final MeterRegistry meterRegistry;
+
+    public RentLedgerService(LeaseRentMonthRepository monthRepository,
+            LeaseRepository leaseRepository,
+            LeaseRentAdjustmentRepository adjustmentRepository,
+            PortfolioVersion portfolioVersion,
+            MeterRegistry meterRegistry) {
+        this.monthRepository = monthRepository;
+        this.leaseRepository = leaseRepository;
+        this.adjustmentRepository = adjustmentRepository;
+        this.portfolioVersion = portfolioVersion;
+        this.meterRegistry = meterRegistry;
+    }
+
+    // ─── Maintenance ──────────────────────────────────────────────────────────
+
+    /** Rewrites the expected amounts of one lease; paid amounts are kept. */
+    @Transactional
+    public void refreshSchedule(Lease lease) {
+        SortedMap<LocalDate, BigDecimal> expected = RentSchedule.expected(lease,
+                adjustmentRepository.findByLeaseIdOrderByEffectiveDateDescCreatedAtDesc(lease.getId()));
+        List<LeaseRentMonth> changed = new ArrayList<>();
+        List<LeaseRentMonth> empty = new ArrayList<>();
+
+        for (LeaseRentMonth row : monthRepository.findByLeaseIdOrderByMonthAsc(lease.getId())) {
+            BigDecimal due = expected.remove(row.getMonth());
+            if (due == null) {
+                due = BigDecimal.ZERO;
+            }
+            if (due.signum() == 0 && row.getPaidAmount().signum() == 0) {
+                empty.add(row);
+            } else if (due.compareTo(row.getExpectedAmount()) != 0) {
+                row.setExpectedAmount(due);
+                changed.add(row);
+            }
+        }
+        expected.forEach((month, due) -> {
+            LeaseRentMonth row = new LeaseRentMonth(lease.getId(), month);
+            row.setExpectedAmount(due);
+            changed.add(row);
+        });
+        monthRepository.saveAll(changed);
+        monthRepository.deleteAll(empty);
+        if (!changed.isEmpty() || !empty.isEmpty()) {
+            portfolioVersion.bumpAfterCommit();
+        }
+    }
+
+    /** Adds booked payment deltas (by lease and accounting month). */
+    @Transactional
+    public void applyPayments(Map<LeaseRentMonthId, BigDecimal> payments) {
+        boolean emptied = false;
+        for (Map.Entry<LeaseRentMonthId, BigDecimal> e : payments.entrySet()) {
+            monthRepository.addPaid(e.getKey().getLeaseId(), e.getKey().getMonth(), e.getValue());
+            emptied |= e.getValue().signum() < 0;
+        }
+        if (emptied) {
+            monthRepository.deleteEmpty();
+        }
+        if (!payments.isEmpty()) {
+            portfolioVersion.bumpAfterCommit();
+        }
+    }
+
+    /**
+     * Recomputes the whole ledger: schedules of ACTIVE and FINISHED leases and
+     * booked payments, swapped in one database transaction.
+     *
+     * @return number of lease months written
+     */
+    @Transactional
+    public int rebuildAll() {
+        return meterRegistry.timer("immocare.rent-ledger.rebuild").record(() -> {
+            Map<Long, List<LeaseRentAdjustment>> adjustments = adjustmentRepository.findAll().stream()
+                    .collect(Collectors.groupingBy(a -> a.getLease().getId()));
+            Map<LeaseRentMonthId, LeaseRentMonth> rows = new HashMap<>();
+
+            for (Lease lease : leaseRepository.findByStatusIn(SCHEDULED)) {
+                RentSchedule.expected(lease, adjustments.getOrDefault(lease.getId(), List.of()))
+                        .forEach((month, due) -> row(rows, lease.getId(), month).setExpectedAmount(due));
+            }
+            for (LeaseRentMonthRepository.MonthlyPayment p : monthRepository.findBookedPayments()) {
+                row(rows, p.getLeaseId(), p.getMonth()).setPaidAmount(p.getTotal());
+            }
+            rows.values().removeIf(r -> r.getExpectedAmount().signum() == 0 && r.getPaidAmount().signum() == 0);
+
+            monthRepository.deleteAllRows();
+            monthRepository.saveAll(rows.values());
+            portfolioVersion.bumpAfterCommit();
+            log.info("Rent ledger rebuilt: {} lease months", rows.size());
+            return rows.size();
+        });
+    }
+
+    /** First start after the migration: the schedule is computed by the application. */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void initialiseIfEmpty() {
+        if (!monthRepository.existsByExpectedAmountGreaterThan(BigDecimal.ZERO)
+                && !leaseRepository.findByStatusIn(SCHEDULED).isEmpty()) {
+            rebuildAll();
+        }
+    }
+
+    // ─── Reads ────────────────────────────────────────────────────────────────
+
+    public LeaseRentLedgerDTO getLedger(Long leaseId, LocalDate asOf) {
+        if (!leaseRepository.existsById(leaseId)) {
+            throw new LeaseNotFoundException(leaseId);
+        }
+        LocalDate until = asOf.withDayOfMonth(1);
+        BigDecimal expected = BigDecimal.ZERO;
+        BigDecimal paid = BigDecimal.ZERO;
+        List<RentLedgerMonthDTO> months = new ArrayList<>();
+        for (LeaseRentMonth m : monthRepository.findByLeaseIdOrderByMonthAsc(leaseId)) {
+            if (m.getMonth().isAfter(until)) {
+                break;
+            }
+            expected = expected.add(m.getExpectedAmount());
+            paid = paid.add(m.getPaidAmount());
+            months.add(new RentLedgerMonthDTO(m.getMonth(), m.getExpectedAmount(), m.getPaidAmount(),
+                    m.getPaidAmount().subtract(m.getExpectedAmount()), paid.subtract(expected)));
+        }
+        return new LeaseRentLedgerDTO(leaseId, asOf, expected, paid, paid.subtract(expected), months);
+    }
+
+    /** Leases whose payments up to asOf are below what was due, largest arrears first. */
+    public List<RentArrearsDTO> getArrears(LocalDate asOf) {
+        List<LeaseRentMonthRepository.LeaseBalance> balances = monthRepository.findArrears(asOf.withDayOfMonth(1));
+        if (balances.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Lease> leases = leaseRepository.findAllWithUnitAndTenantsByIdIn(
+                balances.stream().map(LeaseRentMonthRepository.LeaseBalance::getLeaseId).toList())
+                .stream().collect(Collectors.toMap(Lease::getId, Function.identity()));
+
+        return balances.stream()
+                .filter(b -> leases.containsKey(b.getLeaseId()))
+                .map(b -> toArrears(leases.get(b.getLeaseId()), b))
+                .sorted(Comparator.comparing(RentArrearsDTO::balance))
+                .toList();
+    }
+
+    // ─── Private helpers ──────────────────────────────────────────────────────
+
+    private static LeaseRentMonth row(Map<LeaseRentMonthId, LeaseRentMonth> rows, Long leaseId, LocalDate month) {
+        return rows.computeIfAbsent(new LeaseRentMonthId(leaseId, month), id -> new LeaseRentMonth(leaseId, month));
+    }
+
+    private static RentArrearsDTO toArrears(Lease lease, LeaseRentMonthRepository.LeaseBalance b) {
+        String tenants = lease.getTenants().stream()
+                .filter(t -> t.getRole() == TenantRole.PRIMARY || t.getRole() == TenantRole.CO_TENANT)
+                .map(t -> t.getPerson().getLastName() + " " + t.getPerson().getFirstName())
+                .collect(Collectors.joining(", "));
+        return new RentArrearsDTO(lease.getId(), lease.getStatus(),
+                lease.getHousingUnit().getBuilding().getId(), lease.getHousingUnit().getBuilding().getName(),
+                lease.getHousingUnit().getId(), lease.getHousingUnit().getUnitNumber(), tenants,
+                b.getExpected(), b.getPaid(), b.getPaid().subtract(b.getExpected()));
+    }
+}
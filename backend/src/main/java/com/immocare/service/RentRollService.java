@@ -0,0 +1,207 @@
+package com.immocare.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.immocare.model.dto.RentRollDTOs.RentRollDTO;
+import com.immocare.model.dto.RentRollDTOs.RentRollRowDTO;
+import com.immocare.repository.HousingUnitRepository;
+import com.immocare.repository.HousingUnitRepository.RentRollRow;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Rent roll: every housing unit with its building, ACTIVE lease, tenants,
+ * rent, charges, deposit, next indexation date and arrears on a date.
+ *
+ * The rows come from one projection query
+ * ({@link HousingUnitRepository#streamRentRoll}); arrears are read from the
+ * rent ledger (lease_rent_month), the next indexation is the next anniversary
+ * of entry into force as in {@link IndexationService}. The last
+ * {@value #MAX_CACHED_REPORTS} reports are kept until the
+ * {@link PortfolioVersion} changes. Exports write each row as it is fetched
+ * (or from a cached report), so memory does not grow with the portfolio.
+ */
+@Service
+@Transactional(readOnly = true)
+public class RentRollService {
+
+    static final int MAX_CACHED_REPORTS = 8;
+
+    public enum Format { CSV, XLSX }
+
+    private static final String[] HEADER = { "Building", "Unit", "Floor", "Surface", "ListedRent", "Lease",
+            "LeaseStart", "LeaseEnd", "Tenants", "Rent", "Charges", "ChargesType", "Deposit", "DepositType",
+            "NextIndexation", "Arrears" };
+
+    /** Receives the export rows one at a time. */
+    private interface RowSink {
+        void accept(RentRollRowDTO row) throws IOException;
+    }
+
+    private final HousingUnitRepository housingUnitRepository;
+    private final PortfolioVersion portfolioVersion;
+    private final MeterRegistry meterRegistry;
+
+    /** Guarded by {@code this}. */
+    private long cachedVersion = -1;
+    private final Map<LocalDate, RentRollDTO> reports = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<LocalDate, RentRollDTO> eldest) {
+            return size() > MAX_CACHED_REPORTS;
+        }
+    };
+
+    public RentRollService(HousingUnitRepository housingUnitRepository,
+            PortfolioVersion portfolioVersion,
+            MeterRegistry meterRegistry) {
+        this.housingUnitRepository = housingUnitRepository;
+        this.portfolioVersion = portfolioVersion;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public RentRollDTO getRentRoll(LocalDate asOf) {
+        long version = portfolioVersion.current();
+        RentRollDTO cached = cached(version, asOf);
+        if (cached != null) {
+            return cached;
+        }
+        RentRollDTO report = meterRegistry.timer("immocare.rent-roll.build").record(() -> build(asOf));
+        synchronized (this) {
+            if (cachedVersion != version) {
+                reports.clear();
+                cachedVersion = version;
+            }
+            reports.put(asOf, report);
+        }
+        return report;
+    }
+
+    public void export(LocalDate asOf, Format format, HttpServletResponse response) throws IOException {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            if (format == Format.XLSX) {
+                writeXlsx(asOf, response);
+            } else {
+                writeCsv(asOf, response);
+            }
+        } finally {
+            sample.stop(meterRegistry.timer("immocare.rent-roll.export", "format", format.name()));
+        }
+    }
+
+    // ─── Report ──────────────────────────────────────────────────────────────
+
+    private synchronized RentRollDTO cached(long version, LocalDate asOf) {
+        return cachedVersion == version ? reports.get(asOf) : null;
+    }
+
+    private RentRollDTO build(LocalDate asOf) {
+        List<RentRollRowDTO> rows;
+        try (Stream<RentRollRow> stream = housingUnitRepository.streamRentRoll(asOf, asOf.withDayOfMonth(1))) {
+            rows = stream.map(r -> toRow(r, asOf)).toList();
+        }
+        int leased = 0;
+        BigDecimal rent = BigDecimal.ZERO;
+        BigDecimal charges = BigDecimal.ZERO;
+        BigDecimal arrears = BigDecimal.ZERO;
+        for (RentRollRowDTO row : rows) {
+            if (row.leaseId() != null) {
+                leased++;
+                rent = rent.add(row.monthlyRent());
+                charges = charges.add(row.monthlyCharges());
+                arrears = arrears.add(row.arrears());
+            }
+        }
+        return new RentRollDTO(asOf, rows.size(), leased, rent, charges, arrears, rows);
+    }
+
+    static RentRollRowDTO toRow(RentRollRow r, LocalDate asOf) {
+        boolean leased = r.getLeaseId() != null;
+        BigDecimal due = r.getDue() != null ? r.getDue() : BigDecimal.ZERO;
+        return new RentRollRowDTO(r.getBuildingId(), r.getBuildingName(), r.getHousingUnitId(), r.getUnitNumber(),
+                r.getFloor(), r.getSurface(), r.getListedRent(),
+                r.getLeaseId(), r.getStartDate(), r.getEndDate(), r.getTenants(),
+                r.getMonthlyRent(), r.getMonthlyCharges(), r.getChargesType(),
+                r.getDepositAmount(), r.getDepositType(),
+                leased ? IndexationService.anniversaryIn(r.getStartDate(), r.getEndDate(),
+                        asOf, asOf.plusYears(1).minusDays(1)) : null,
+                leased ? due.max(BigDecimal.ZERO) : null);
+    }
+
+    // ─── Export ──────────────────────────────────────────────────────────────
+
+    /** Feeds the cached report for the current version, else each row as the query yields it. */
+    private void forEachRow(LocalDate asOf, RowSink sink) throws IOException {
+        RentRollDTO cached = cached(portfolioVersion.current(), asOf);
+        if (cached != null) {
+            for (RentRollRowDTO row : cached.rows()) {
+                sink.accept(row);
+            }
+            return;
+        }
+        try (Stream<RentRollRow> stream = housingUnitRepository.streamRentRoll(asOf, asOf.withDayOfMonth(1))) {
+            for (RentRollRow r : (Iterable<RentRollRow>) stream::iterator) {
+                sink.accept(toRow(r, asOf));
+            }
+        }
+    }
+
+    private void writeCsv(LocalDate asOf, HttpServletResponse response) throws IOException {
+        response.setContentType("text/csv; charset=UTF-8");
+        response.setHeader("Content-Disposition", "attachment; filename=\"rent-roll-" + asOf + ".csv\"");
+        Writer writer = new BufferedWriter(new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8));
+        // UTF-8 BOM
+        writer.write('\uFEFF');
+        writer.write(String.join(";", HEADER));
+        writer.write("\r\n");
+        forEachRow(asOf, row -> {
+            Object[] cells = cells(row);
+            for (int i = 0; i < cells.length; i++) {
+                if (i > 0) {
+                    writer.write(';');
+                }
+                writer.write(csv(cells[i]));
+            }
+            writer.write("\r\n");
+        });
+        writer.flush();
+    }
+
+    private void writeXlsx(LocalDate asOf, HttpServletResponse response) throws IOException {
+        response.setContentType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
+        response.setHeader("Content-Disposition", "attachment; filename=\"rent-roll-" + asOf + ".xlsx\"");
+        try (XlsxStreamWriter xlsx = new XlsxStreamWriter(response.getOutputStream(), "Rent roll")) {
+            xlsx.row((Object[]) HEADER);
+            forEachRow(asOf, row -> xlsx.row(cells(row)));
+        }
+    }
+
+    private static Object[] cells(RentRollRowDTO r) {
+        return new Object[] { r.buildingName(), r.unitNumber(), r.floor(), r.surface(), r.listedRent(),
+                r.leaseId(), r.leaseStartDate(), r.leaseEndDate(), r.tenants(), r.monthlyRent(),
+                r.monthlyCharges(), r.chargesType(), r.depositAmount(), r.depositType(),
+                r.nextIndexationDate(), r.arrears() };
+    }
+
+    private static String csv(Object value) {
+        if (value == null)
+            return "";
+        String s = value.toString().replace("\"", "\"\"");
+        return s.contains(";") || s.contains("\"") || s.contains("\n") ? "\"" + s + "\"" : s;
+    }
+}
@@ -0,0 +1,96 @@
+package com.immocare.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import com.immocare.model.entity.Lease;
+import com.immocare.model.entity.LeaseRentAdjustment;
+import com.immocare.model.enums.LeaseStatus;
+
+/**
+ * Expected monthly amounts (rent + charges) of a lease over its whole term.
+ *
+ * The amount of a month is the rent and charges in effect on its first
+ * covered day: the value before the first adjustment of each field is that
+ * adjustment's old value, then every adjustment applies from its effective
+ * date. First and last months are pro rata when the lease starts or ends
+ * mid-month. DRAFT and CANCELLED leases have no schedule.
+ */
+public final class RentSchedule {
+
+    private RentSchedule() {
+    }
+
+    public static SortedMap<LocalDate, BigDecimal> expected(Lease lease, List<LeaseRentAdjustment> adjustments) {
+        return schedule(lease, adjustments, true);
+    }
+
+    /** Charges part only: the provisions called from a PROVISION lease, per month. */
+    public static SortedMap<LocalDate, BigDecimal> charges(Lease lease, List<LeaseRentAdjustment> adjustments) {
+        return schedule(lease, adjustments, false);
+    }
+
+    private static SortedMap<LocalDate, BigDecimal> schedule(Lease lease, List<LeaseRentAdjustment> adjustments,
+            boolean withRent) {
+        SortedMap<LocalDate, BigDecimal> schedule = new TreeMap<>();
+        if (lease.getStatus() == LeaseStatus.DRAFT || lease.getStatus() == LeaseStatus.CANCELLED
+                || lease.getStartDate() == null || lease.getEndDate() == null
+                || lease.getEndDate().isBefore(lease.getStartDate())) {
+            return schedule;
+        }
+        List<LeaseRentAdjustment> rent = byEffectiveDate(adjustments, "RENT");
+        List<LeaseRentAdjustment> charges = byEffectiveDate(adjustments, "CHARGES");
+
+        LocalDate start = lease.getStartDate();
+        LocalDate end = lease.getEndDate();
+        for (LocalDate month = start.withDayOfMonth(1); !month.isAfter(end); month = month.plusMonths(1)) {
+            LocalDate monthEnd = month.plusMonths(1).minusDays(1);
+            LocalDate from = start.isAfter(month) ? start : month;
+            LocalDate to = end.isBefore(monthEnd) ? end : monthEnd;
+
+            BigDecimal due = valueAt(charges, lease.getMonthlyCharges(), from);
+            if (withRent) {
+                due = due.add(valueAt(rent, lease.getMonthlyRent(), from));
+            }
+            long covered = ChronoUnit.DAYS.between(from, to) + 1;
+            int days = month.lengthOfMonth();
+            if (covered < days) {
+                due = due.multiply(BigDecimal.valueOf(covered))
+                        .divide(BigDecimal.valueOf(days), 2, RoundingMode.HALF_UP);
+            }
+            schedule.put(month, due.setScale(2, RoundingMode.HALF_UP));
+        }
+        return schedule;
+    }
+
+    /** Value of one field on a date, replaying its adjustments (sorted by effective date). */
+    static BigDecimal valueAt(List<LeaseRentAdjustment> sorted, BigDecimal current, LocalDate date) {
+        if (sorted.isEmpty()) {
+            return current != null ? current : BigDecimal.ZERO;
+        }
+        BigDecimal value = sorted.get(0).getOldValue();
+        for (LeaseRentAdjustment a : sorted) {
+            if (a.getEffectiveDate().isAfter(date)) {
+                break;
+            }
+            value = a.getNewValue();
+        }
+        return value;
+    }
+
+    private static List<LeaseRentAdjustment> byEffectiveDate(List<LeaseRentAdjustment> adjustments,
+            String field) {
+        return adjustments.stream()
+                .filter(a -> field.equals(a.getField()))
+                .sorted(Comparator.comparing(LeaseRentAdjustment::getEffectiveDate)
+                        .thenComparing(LeaseRentAdjustment::getCreatedAt,
+                                Comparator.nullsLast(Comparator.naturalOrder())))
+                .toList();
+    }
+}
@@ -0,0 +1,334 @@
+package com.immocare.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.Year;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.immocare.exception.BuildingNotFoundException;
+import com.immocare.exception.ServiceChargeKeyException;
+import com.immocare.exception.SubcategoryNotFoundException;
+import com.immocare.model.dto.ServiceChargeDTOs.BuildingSettlementDTO;
+import com.immocare.model.dto.ServiceChargeDTOs.CostPoolDTO;
+import com.immocare.model.dto.ServiceChargeDTOs.LeaseSettlementDTO;
+import com.immocare.model.dto.ServiceChargeDTOs.SaveServiceChargeKeyRequest;
+import com.immocare.model.dto.ServiceChargeDTOs.ServiceChargeKeyDTO;
+import com.immocare.model.dto.ServiceChargeDTOs.SettlementLineDTO;
+import com.immocare.model.entity.Building;
+import com.immocare.model.entity.HousingUnit;
+import com.immocare.model.entity.Lease;
+import com.immocare.model.entity.LeaseRentAdjustment;
+import com.immocare.model.entity.LeaseTenant;
+import com.immocare.model.entity.ServiceChargeKey;
+import com.immocare.model.entity.TagSubcategory;
+import com.immocare.model.enums.AllocationKey;
+import com.immocare.model.enums.SubcategoryDirection;
+import com.immocare.model.enums.TenantRole;
+import com.immocare.repository.BuildingRepository;
+import com.immocare.repository.FinancialTransactionRepository;
+import com.immocare.repository.FinancialTransactionRepository.ChargeCost;
+import com.immocare.repository.FinancialTransactionRepository.LinkedChargeCost;
+import com.immocare.repository.HousingUnitRepository;
+import com.immocare.repository.LeaseRentAdjustmentRepository;
+import com.immocare.repository.LeaseRepository;
+import com.immocare.repository.MeterConsumptionMonthRepository;
+import com.immocare.repository.MeterConsumptionMonthRepository.OwnerConsumption;
+import com.immocare.repository.ServiceChargeKeyRepository;
+import com.immocare.repository.TagSubcategoryRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Annual service-charge settlement of the PROVISION leases of a building.
+ *
+ * <ul>
+ * <li>Actual costs are the CONFIRMED or RECONCILED expenses of the
+ * subcategories keyed for the building, by accounting month within the
+ * year: booked on the building (shared), on a unit (that unit only), or,
+ * without building or unit, linked to a meter or boiler of either.</li>
+ * <li>A shared cost is split between all units of the building by the
+ * subcategory's key: total surface, consumption of the key's meter type
+ * (from the monthly consumption table) or equal shares. A basis that is
+ * zero for every unit falls back to equal shares.</li>
+ * <li>A unit's yearly cost goes to its leases pro rata of the days they
+ * ran in the year; vacant days and FORFAIT leases stay with the owner.</li>
+ * <li>Provisions are the charges part of the lease schedule for the
+ * months of the year, adjustments included.</li>
+ * </ul>
+ *
+ * Costs, consumption, leases and adjustments are each read with one query
+ * for the whole building, whatever the number of leases.
+ */
+@Service
+@Transactional(readOnly = true)
+public class ServiceChargeService {
+
+    private static final String OWNER_HOUSING_UNIT = "HOUSING_UNIT";
+    private static final String OWNER_BUILDING = "BUILDING";
+    private static final Set<String> METER_TYPES = Set.of("WATER", "GAS", "ELECTRICITY");
+    private static final int SHARE_SCALE = 6;
+    private static final int WORK_SCALE = 10;
+
+    private final ServiceChargeKeyRepository keyRepository;
+    private final BuildingRepository buildingRepository;
+    private final TagSubcategoryRepository subcategoryRepository;
+    private final HousingUnitRepository housingUnitRepository;
+    private final FinancialTransactionRepository transactionRepository;
+    private final MeterConsumptionMonthRepository consumptionRepository;
+    private final LeaseRepository leaseRepository;
+    private final LeaseRentAdjustmentRepository adjustmentRepository;
+    private final MeterRegistry meterRegistry;
+
+    public ServiceChargeService(ServiceChargeKeyRepository keyRepository,
+            BuildingRepository buildingRepository,
+            TagSubcategoryRepository subcategoryRepository,
+            HousingUnitRepository housingUnitRepository,
+            FinancialTransactionRepository transactionRepository,
+            MeterConsumptionMonthRepository consumptionRepository,
+            LeaseRepository leaseRepository,
+            LeaseRentAdjustmentRepository adjustmentRepository,
+            MeterRegistry meterRegistry) {
+        this.keyRepository = keyRepository;
+        this.buildingRepository = buildingRepository;
+        this.subcategoryRepository = subcategoryRepository;
+        this.housingUnitRepository = housingUnitRepository;
+        this.transactionRepository = transactionRepository;
+        this.consumptionRepository = consumptionRepository;
+        this.leaseRepository = leaseRepository;
+        this.adjustmentRepository = adjustmentRepository;
+        this.meterRegistry = meterRegistry;
+    }
+
+    // ─── Keys ────────────────────────────────────────────────────────────────
+
+    public List<ServiceChargeKeyDTO> getKeys(Long buildingId) {
+        if (!buildingRepository.existsById(buildingId)) {
+            throw new BuildingNotFoundException(buildingId);
+        }
+        return keyRepository.findByBuildingIdWithSubcategory(buildingId).stream().map(this::toDTO).toList();
+    }
+
+    /** Replaces the keys of a building. */
+    @Transactional
+    public List<ServiceChargeKeyDTO> saveKeys(Long buildingId, List<SaveServiceChargeKeyRequest> requests) {
+        Building building = buildingRepository.findById(buildingId)
+                .orElseThrow(() -> new BuildingNotFoundException(buildingId));
+        Set<Long> seen = new HashSet<>();
+        List<ServiceChargeKey> keys = new ArrayList<>();
+        for (SaveServiceChargeKeyRequest req : requests) {
+            if (!seen.add(req.subcategoryId())) {
+                throw new ServiceChargeKeyException("Subcategory " + req.subcategoryId() + " is listed twice");
+            }
+            TagSubcategory sub = subcategoryRepository.findById(req.subcategoryId())
+                    .orElseThrow(() -> new SubcategoryNotFoundException("Subcategory not found: " + req.subcategoryId()));
+            if (sub.getDirection() == SubcategoryDirection.INCOME) {
+                throw new ServiceChargeKeyException("Subcategory '" + sub.getName() + "' is not an expense");
+            }
+            boolean consumption = req.allocationKey() == AllocationKey.CONSUMPTION;
+            if (consumption && (req.meterType() == null || !METER_TYPES.contains(req.meterType()))) {
+                throw new ServiceChargeKeyException(
+                        "A CONSUMPTION key needs a meter type: WATER, GAS or ELECTRICITY");
+            }
+            ServiceChargeKey key = new ServiceChargeKey();
+            key.setBuilding(building);
+            key.setSubcategory(sub);
+            key.setAllocationKey(req.allocationKey());
+            key.setMeterType(consumption ? req.meterType() : null);
+            keys.add(key);
+        }
+        keyRepository.deleteByBuildingId(buildingId);
+        keyRepository.saveAll(keys);
+        return getKeys(buildingId);
+    }
+
+    // ─── Settlement ──────────────────────────────────────────────────────────
+
+    public BuildingSettlementDTO settle(Long buildingId, int year) {
+        return meterRegistry.timer("immocare.service-charges.settlement").record(() -> compute(buildingId, year));
+    }
+
+    /** Costs of one keyed subcategory: shared amount and amounts booked per unit. */
+    private static final class Pool {
+        final ServiceChargeKey key;
+        BigDecimal shared = BigDecimal.ZERO;
+        final Map<Long, BigDecimal> perUnit = new HashMap<>();
+        AllocationKey applied;
+        Map<Long, BigDecimal> shares = Map.of();
+
+        Pool(ServiceChargeKey key) {
+            this.key = key;
+        }
+    }
+
+    private BuildingSettlementDTO compute(Long buildingId, int year) {
+        Building building = buildingRepository.findById(buildingId)
+                .orElseThrow(() -> new BuildingNotFoundException(buildingId));
+        LocalDate from = LocalDate.of(year, 1, 1);
+        LocalDate to = LocalDate.of(year, 12, 31);
+
+        Map<Long, Pool> pools = new LinkedHashMap<>();
+        for (ServiceChargeKey key : keyRepository.findByBuildingIdWithSubcategory(buildingId)) {
+            pools.put(key.getSubcategory().getId(), new Pool(key));
+        }
+        List<HousingUnit> units = housingUnitRepository.findByBuildingIdOrderByFloorAscUnitNumberAsc(buildingId);
+        if (!pools.isEmpty()) {
+            collectCosts(buildingId, pools, from, to);
+            allocate(pools.values(), units, from, to);
+        }
+
+        List<Lease> leases = leaseRepository.findChargeSettlementLeases(buildingId, from, to);
+        Map<Long, List<LeaseRentAdjustment>> adjustments = leases.isEmpty() ? Map.of()
+                : adjustmentRepository.findChargesAdjustmentsByLeaseIdIn(leases.stream().map(Lease::getId).toList())
+                        .stream().collect(Collectors.groupingBy(a -> a.getLease().getId()));
+
+        int yearDays = Year.of(year).length();
+        List<LeaseSettlementDTO> settlements = leases.stream()
+                .sorted(Comparator.comparing((Lease l) -> l.getHousingUnit().getUnitNumber())
+                        .thenComparing(Lease::getStartDate))
+                .map(lease -> settleLease(lease, pools.values(),
+                        adjustments.getOrDefault(lease.getId(), List.of()), from, to, yearDays))
+                .toList();
+
+        List<CostPoolDTO> poolDTOs = pools.values().stream()
+                .map(p -> new CostPoolDTO(p.key.getSubcategory().getId(), p.key.getSubcategory().getName(),
+                        p.applied, p.shared, sum(p.perUnit.values())))
+                .toList();
+        BigDecimal totalCosts = poolDTOs.stream().map(p -> p.sharedAmount().add(p.unitAmount()))
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        BigDecimal settled = sum(settlements.stream().map(LeaseSettlementDTO::costs).toList());
+        BigDecimal provisions = sum(settlements.stream().map(LeaseSettlementDTO::provisions).toList());
+        return new BuildingSettlementDTO(buildingId, building.getName(), year, totalCosts, settled, provisions,
+                settled.subtract(provisions), poolDTOs, settlements);
+    }
+
+    private void collectCosts(Long buildingId, Map<Long, Pool> pools, LocalDate from, LocalDate to) {
+        Set<Long> subcategoryIds = pools.keySet();
+        List<ChargeCost> costs = new ArrayList<>(transactionRepository.sumChargeCosts(buildingId, subcategoryIds, from, to));
+        costs.addAll(transactionRepository.sumAllocatedChargeCosts(buildingId, subcategoryIds, from, to));
+        for (ChargeCost c : costs) {
+            Pool pool = pools.get(c.getSubcategoryId());
+            if (c.getHousingUnitId() == null) {
+                pool.shared = pool.shared.add(c.getAmount());
+            } else {
+                pool.perUnit.merge(c.getHousingUnitId(), c.getAmount(), BigDecimal::add);
+            }
+        }
+        // An expense linked to several assets of the building is split equally between them
+        Map<Long, List<LinkedChargeCost>> byTransaction = transactionRepository
+                .findLinkedChargeCosts(buildingId, subcategoryIds, from, to).stream()
+                .collect(Collectors.groupingBy(LinkedChargeCost::getTransactionId));
+        for (List<LinkedChargeCost> links : byTransaction.values()) {
+            BigDecimal amount = links.get(0).getAmount();
+            BigDecimal part = amount.divide(BigDecimal.valueOf(links.size()), 2, RoundingMode.DOWN);
+            BigDecimal remaining = amount;
+            for (int i = 0; i < links.size(); i++) {
+                LinkedChargeCost link = links.get(i);
+                BigDecimal share = i == links.size() - 1 ? remaining : part;
+                remaining = remaining.subtract(share);
+                Pool pool = pools.get(link.getSubcategoryId());
+                if (OWNER_BUILDING.equals(link.getOwnerType())) {
+                    pool.shared = pool.shared.add(share);
+                } else {
+                    pool.perUnit.merge(link.getOwnerId(), share, BigDecimal::add);
+                }
+            }
+        }
+    }
+
+    /** Sets each pool's unit shares of its shared amount. */
+    private void allocate(Collection<Pool> pools, List<HousingUnit> units, LocalDate from, LocalDate to) {
+        List<Long> unitIds = units.stream().map(HousingUnit::getId).toList();
+        Map<AllocationKey, Map<Long, BigDecimal>> bases = new EnumMap<>(AllocationKey.class);
+        Map<String, Map<Long, BigDecimal>> consumption = new HashMap<>();
+        for (Pool pool : pools) {
+            Map<Long, BigDecimal> basis = switch (pool.key.getAllocationKey()) {
+                case SURFACE -> bases.computeIfAbsent(AllocationKey.SURFACE, k -> units.stream().collect(
+                        Collectors.toMap(HousingUnit::getId,
+                                u -> u.getTotalSurface() != null ? u.getTotalSurface() : BigDecimal.ZERO)));
+                case EQUAL -> bases.computeIfAbsent(AllocationKey.EQUAL, k -> equal(unitIds));
+                case CONSUMPTION -> consumption.computeIfAbsent(pool.key.getMeterType(), type -> unitIds.isEmpty()
+                        ? Map.of()
+                        : consumptionRepository.sumByOwner(OWNER_HOUSING_UNIT, unitIds, type, from, to).stream()
+                                .collect(Collectors.toMap(OwnerConsumption::getOwnerId,
+                                        OwnerConsumption::getConsumption)));
+            };
+            pool.applied = pool.key.getAllocationKey();
+            if (sum(basis.values()).signum() == 0) {
+                pool.applied = AllocationKey.EQUAL;
+                basis = bases.computeIfAbsent(AllocationKey.EQUAL, k -> equal(unitIds));
+            }
+            pool.shares = shares(basis);
+        }
+    }
+
+    private LeaseSettlementDTO settleLease(Lease lease, Collection<Pool> pools, List<LeaseRentAdjustment> adjustments,
+            LocalDate from, LocalDate to, int yearDays) {
+        Long unitId = lease.getHousingUnit().getId();
+        LocalDate periodFrom = lease.getStartDate().isAfter(from) ? lease.getStartDate() : from;
+        LocalDate periodTo = lease.getEndDate().isBefore(to) ? lease.getEndDate() : to;
+        int days = (int) ChronoUnit.DAYS.between(periodFrom, periodTo) + 1;
+        BigDecimal fraction = BigDecimal.valueOf(days).divide(BigDecimal.valueOf(yearDays), WORK_SCALE,
+                RoundingMode.HALF_UP);
+
+        List<SettlementLineDTO> lines = new ArrayList<>();
+        for (Pool pool : pools) {
+            BigDecimal share = pool.shares.getOrDefault(unitId, BigDecimal.ZERO);
+            BigDecimal unitCost = pool.shared.multiply(share)
+                    .add(pool.perUnit.getOrDefault(unitId, BigDecimal.ZERO));
+            BigDecimal amount = unitCost.multiply(fraction).setScale(2, RoundingMode.HALF_UP);
+            if (amount.signum() != 0) {
+                lines.add(new SettlementLineDTO(pool.key.getSubcategory().getId(),
+                        pool.key.getSubcategory().getName(), pool.applied,
+                        share.setScale(SHARE_SCALE, RoundingMode.HALF_UP), amount));
+            }
+        }
+        BigDecimal costs = sum(lines.stream().map(SettlementLineDTO::amount).toList());
+        BigDecimal provisions = sum(RentSchedule.charges(lease, adjustments)
+                .subMap(from, to.plusDays(1)).values());
+        String tenants = lease.getTenants().stream()
+                .filter(t -> t.getRole() != TenantRole.GUARANTOR)
+                .sorted(Comparator.comparing(LeaseTenant::getRole))
+                .map(t -> t.getPerson().getLastName() + " " + t.getPerson().getFirstName())
+                .collect(Collectors.joining(", "));
+        return new LeaseSettlementDTO(lease.getId(), unitId, lease.getHousingUnit().getUnitNumber(), tenants,
+                periodFrom, periodTo, days, provisions, costs, costs.subtract(provisions), lines);
+    }
+
+    /** Fraction of the basis total per unit. */
+    static Map<Long, BigDecimal> shares(Map<Long, BigDecimal> basis) {
+        BigDecimal total = sum(basis.values());
+        Map<Long, BigDecimal> shares = new HashMap<>();
+        basis.forEach((unitId, weight) -> shares.put(unitId,
+                weight.divide(total, WORK_SCALE, RoundingMode.HALF_UP)));
+        return shares;
+    }
+
+    private static Map<Long, BigDecimal> equal(List<Long> unitIds) {
+        return unitIds.stream().collect(Collectors.toMap(id -> id, id -> BigDecimal.ONE));
+    }
+
+    private static BigDecimal sum(Collection<BigDecimal> values) {
+        return values.stream().reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    private ServiceChargeKeyDTO toDTO(ServiceChargeKey key) {
+        TagSubcategory sub = key.getSubcategory();
+        return new ServiceChargeKeyDTO(key.getId(), sub.getId(), sub.getName(), sub.getCategory().getName(),
+                key.getAllocationKey(), key.getMeterType());
+    }
+}
@@ -11,6 +11,8 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional(readOnly = true)
@@ -18,16 +20,22 @@ public class TagCategoryService {
 
     private final TagCategoryRepository tagCategoryRepository;
     private final TagSubcategoryRepository tagSubcategoryRepository;
+    private final TagUsageService tagUsageService;
 
     public TagCategoryService(TagCategoryRepository tagCategoryRepository,
-                              TagSubcategoryRepository tagSubcategoryRepository) {
+                              TagSubcategoryRepository tagSubcategoryRepository,
+                              TagUsageService tagUsageService) {
         this.tagCategoryRepository = tagCategoryRepository;
         this.tagSubcategoryRepository = tagSubcategoryRepository;
+        this.tagUsageService = tagUsageService;
     }
 
     public List<TagCategoryDTO> getAll() {
+        Map<Long, Long> subcategoryCounts = tagSubcategoryRepository.countByCategory().stream()
+            .collect(Collectors.toMap(TagSubcategoryRepository.CategoryCount::getCategoryId,
+                TagSubcategoryRepository.CategoryCount::getCount));
         return tagCategoryRepository.findAllByOrderByNameAsc().stream()
-            .map(c -> toDTO(c, c.getSubcategories().size()))
+            .map(c -> toDTO(c, subcategoryCounts.getOrDefault(c.getId(), 0L).intValue()))
             .toList();
     }
 
@@ -68,6 +76,7 @@ public class TagCategoryService {
 
     private TagCategoryDTO toDTO(TagCategory c, int subcategoryCount) {
         return new TagCategoryDTO(c.getId(), c.getName(), c.getDescription(),
-            subcategoryCount, c.getCreatedAt(), c.getUpdatedAt());
+            subcategoryCount, tagUsageService.usage().category(c.getId()),
+            c.getCreatedAt(), c.getUpdatedAt());
     }
 }
@@ -21,18 +21,22 @@ public class TagSubcategoryService {
 
     private final TagSubcategoryRepository tagSubcategoryRepository;
     private final TagCategoryRepository tagCategoryRepository;
+    private final TagUsageService tagUsageService;
 
     public TagSubcategoryService(TagSubcategoryRepository tagSubcategoryRepository,
-            TagCategoryRepository tagCategoryRepository) {
+            TagCategoryRepository tagCategoryRepository,
+            TagUsageService tagUsageService) {
         this.tagSubcategoryRepository = tagSubcategoryRepository;
         this.tagCategoryRepository = tagCategoryRepository;
+        this.tagUsageService = tagUsageService;
     }
 
     public List<TagSubcategoryDTO> getAll(Long categoryId) {
         List<TagSubcategory> list = categoryId != null
                 ? tagSubcategoryRepository.findByCategoryIdOrderByNameAsc(categoryId)
                 : tagSubcategoryRepository.findAllByOrderByCategoryNameAscNameAsc();
-        return list.stream().map(this::toDTO).toList();
+        TagUsageService.Usage usage = tagUsageService.usage();
+        return list.stream().map(s -> toDTO(s, usage.subcategory(s.getId()))).toList();
     }
 
     @Transactional
@@ -47,7 +51,7 @@ public class TagSubcategoryService {
         sub.setName(req.name());
         sub.setDirection(req.direction());
         sub.setDescription(req.description());
-        return toDTO(tagSubcategoryRepository.save(sub));
+        return toDTO(tagSubcategoryRepository.save(sub), 0);
     }
 
     @Transactional
@@ -60,21 +64,26 @@ public class TagSubcategoryService {
             throw new IllegalArgumentException("A subcategory with this name already exists in the category.");
         }
         // BR-US086-AC9: direction change safety — only allowed if no usage
-        if (!sub.getDirection().equals(req.direction()) && tagSubcategoryRepository.countUsage(id) > 0) {
+        long usage = tagUsageService.subcategoryUsage(id);
+        if (!sub.getDirection().equals(req.direction()) && usage > 0) {
             throw new IllegalArgumentException("Cannot change direction: subcategory is already in use.");
         }
+        if (usage > 0 && !sub.getCategory().getId().equals(category.getId())) {
+            // Usage moves to the other category
+            tagUsageService.invalidate();
+        }
         sub.setCategory(category);
         sub.setName(req.name());
         sub.setDirection(req.direction());
         sub.setDescription(req.description());
-        return toDTO(tagSubcategoryRepository.save(sub));
+        return toDTO(tagSubcategoryRepository.save(sub), usage);
     }
 
     @Transactional
     public void delete(Long id) {
         TagSubcategory sub = tagSubcategoryRepository.findById(id)
                 .orElseThrow(() -> new SubcategoryNotFoundException("Subcategory not found: " + id));
-        long usage = tagSubcategoryRepository.countUsage(id);
+        long usage = tagUsageService.subcategoryUsage(id);
         if (usage > 0) {
             throw new SubcategoryInUseException(
                     "This subcategory is used on " + usage + " transaction(s) and cannot be deleted.");
@@ -82,8 +91,7 @@ public class TagSubcategoryService {
         tagSubcategoryRepository.delete(sub);
     }
 
-    private TagSubcategoryDTO toDTO(TagSubcategory s) {
-        long usage = tagSubcategoryRepository.countUsage(s.getId());
+    private TagSubcategoryDTO toDTO(TagSubcategory s, long usage) {
         return new TagSubcategoryDTO(
                 s.getId(), s.getCategory().getId(), s.getCategory().getName(),
                 s.getName(), s.getDirection(), s.getDescription(),
@@ -0,0 +1,96 @@
+package com.immocare.service;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.immocare.repository.TagSubcategoryRepository;
+
+/**
+ * Cached transaction counts per subcategory and per category, loaded with one
+ * GROUP BY over financial_transaction.
+ *
+ * The counts are dropped when a transaction write changes a subcategory's
+ * count ({@link LedgerRollupService#apply}) or a subcategory moves between
+ * categories. Eviction happens after commit so that a concurrent reader cannot
+ * re-cache the state before the write.
+ */
+@Service
+@Transactional(readOnly = true)
+public class TagUsageService {
+
+    /** Usage snapshot; ids without transactions are absent. */
+    public record Usage(Map<Long, Long> bySubcategory, Map<Long, Long> byCategory) {
+
+        public long subcategory(Long id) {
+            return bySubcategory.getOrDefault(id, 0L);
+        }
+
+        public long category(Long id) {
+            return byCategory.getOrDefault(id, 0L);
+        }
+    }
+
+    private final TagSubcategoryRepository tagSubcategoryRepository;
+
+    private final Object lock = new Object();
+    private Usage cached;
+    private long version;
+
+    public TagUsageService(TagSubcategoryRepository tagSubcategoryRepository) {
+        this.tagSubcategoryRepository = tagSubcategoryRepository;
+    }
+
+    public Usage usage() {
+        long loadVersion;
+        synchronized (lock) {
+            if (cached != null) {
+                return cached;
+            }
+            loadVersion = version;
+        }
+        Map<Long, Long> bySubcategory = new HashMap<>();
+        Map<Long, Long> byCategory = new HashMap<>();
+        for (TagSubcategoryRepository.UsageRow row : tagSubcategoryRepository.countUsageBySubcategory()) {
+            bySubcategory.put(row.getSubcategoryId(), row.getCount());
+            byCategory.merge(row.getCategoryId(), row.getCount(), Long::sum);
+        }
+        Usage usage = new Usage(Map.copyOf(bySubcategory), Map.copyOf(byCategory));
+        synchronized (lock) {
+            // Don't cache a load that raced with an eviction
+            if (version == loadVersion) {
+                cached = usage;
+            }
+        }
+        return usage;
+    }
+
+    public long subcategoryUsage(Long subcategoryId) {
+        return usage().subcategory(subcategoryId);
+    }
+
+    /** Drops the counts once the current transaction completes (immediately outside one). */
+    public void invalidate() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict();
+                }
+            });
+        } else {
+            evict();
+        }
+    }
+
+    private void evict() {
+        synchronized (lock) {
+            version++;
+            cached = null;
+        }
+    }
+}
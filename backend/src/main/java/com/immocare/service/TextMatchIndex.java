@@ -0,0 +1,284 @@
+package com.immocare.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.immocare.model.enums.TagMatchField;
+import com.immocare.repository.FinancialTransactionRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * In-memory BM25 index of the free-text fields (description, counterparty
+ * name) of confirmed transactions, used to suggest a subcategory when the
+ * text of a new row is similar but not equal to what was learned ("Loyer
+ * mars" → "Loyer avril").
+ *
+ * Each subcategory is one document per field: the normalised tokens of all
+ * its confirmed transactions, each token counted once per transaction. A
+ * query is a handful of postings lookups, so scoring a row takes
+ * microseconds and no SQL. Only subcategory ids are indexed; names come
+ * from the cached catalogue, so renames need no reindexing.
+ *
+ * The index is loaded on first use, extended after commit when a transaction
+ * is confirmed ({@link #add}) and rebuilt nightly, which drops transactions
+ * that were since re-tagged or deleted.
+ */
+@Service
+@Transactional(readOnly = true)
+public class TextMatchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(TextMatchIndex.class);
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^a-z0-9]+");
+
+    /** Tokens that change every month or carry no meaning (FR/NL/EN, legal forms). */
+    private static final Set<String> STOP_WORDS = Set.of(
+            "janvier", "fevrier", "mars", "avril", "mai", "juin", "juillet", "aout",
+            "septembre", "octobre", "novembre", "decembre",
+            "januari", "februari", "maart", "april", "mei", "juni", "juli", "augustus",
+            "september", "oktober", "november", "december",
+            "january", "february", "march", "may", "june", "july", "august",
+            "october", "jan", "feb", "fev", "mar", "apr", "avr", "jun", "jul", "aug",
+            "sep", "sept", "oct", "okt", "nov", "dec",
+            "de", "du", "des", "la", "le", "les", "et", "en", "pour", "par", "au", "aux",
+            "van", "het", "een", "voor", "the", "of", "and", "to", "for",
+            "sa", "sprl", "srl", "scrl", "asbl", "nv", "bv", "bvba", "vzw");
+
+    // BM25 parameters (usual defaults)
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    /** Share of the query's IDF weight that must match for a suggestion. */
+    static final double MIN_COVERAGE = 0.5;
+
+    private static final int MAX_RESULTS = 5;
+
+    /** Ranked match; confidence is comparable to a learning rule's confidence. */
+    public record Match(Long subcategoryId, double score, int confidence) {
+    }
+
+    /** One field's postings: token → (subcategory → transactions carrying it). */
+    private static final class FieldIndex {
+        final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+        final Map<Long, Integer> lengths = new HashMap<>();
+        long totalLength;
+
+        void add(Long subcategoryId, Set<String> tokens) {
+            for (String token : tokens) {
+                postings.computeIfAbsent(token, t -> new HashMap<>()).merge(subcategoryId, 1, Integer::sum);
+            }
+            lengths.merge(subcategoryId, tokens.size(), Integer::sum);
+            totalLength += tokens.size();
+        }
+    }
+
+    private final FinancialTransactionRepository transactionRepository;
+    private final MeterRegistry meterRegistry;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Map<TagMatchField, FieldIndex> fields;
+
+    public TextMatchIndex(FinancialTransactionRepository transactionRepository, MeterRegistry meterRegistry) {
+        this.transactionRepository = transactionRepository;
+        this.meterRegistry = meterRegistry;
+    }
+
+    // ─── Queries ──────────────────────────────────────────────────────────────
+
+    /**
+     * Subcategories whose learned text for {@code field} resembles
+     * {@code text}, best first.
+     */
+    public List<Match> search(TagMatchField field, String text) {
+        Set<String> query = tokenize(text);
+        if (query.isEmpty()) {
+            return List.of();
+        }
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            FieldIndex index = fields.get(field);
+            int n = index.lengths.size();
+            if (n == 0) {
+                return List.of();
+            }
+            double avgLength = (double) index.totalLength / n;
+
+            double queryWeight = 0;
+            Map<Long, double[]> scores = new HashMap<>(); // score, matched weight, best idf, support
+            for (String token : query) {
+                Map<Long, Integer> posting = index.postings.getOrDefault(token, Map.of());
+                // An unseen word weighs as much as the rarest known one, not more
+                double idf = idf(n, Math.max(1, posting.size()));
+                queryWeight += idf;
+                for (Map.Entry<Long, Integer> e : posting.entrySet()) {
+                    int tf = e.getValue();
+                    double norm = 1 - B + B * index.lengths.get(e.getKey()) / avgLength;
+                    double[] s = scores.computeIfAbsent(e.getKey(), id -> new double[4]);
+                    s[0] += idf * tf * (K1 + 1) / (tf + K1 * norm);
+                    s[1] += idf;
+                    if (idf > s[2]) {
+                        s[2] = idf;
+                        s[3] = tf;
+                    }
+                }
+            }
+
+            List<Match> matches = new ArrayList<>();
+            for (Map.Entry<Long, double[]> e : scores.entrySet()) {
+                double[] s = e.getValue();
+                double coverage = s[1] / queryWeight;
+                if (coverage < MIN_COVERAGE) {
+                    continue;
+                }
+                // Transactions backing the most specific matched token, scaled by the match quality
+                int confidence = Math.max(1, (int) Math.round(coverage * s[3]));
+                matches.add(new Match(e.getKey(), s[0], confidence));
+            }
+            return matches.stream()
+                    .sorted(Comparator.comparingDouble(Match::score).reversed())
+                    .limit(MAX_RESULTS)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ─── Maintenance ──────────────────────────────────────────────────────────
+
+    /**
+     * Learns the text of a transaction confirmed with a subcategory, once the
+     * current transaction commits. Ignored until the index is loaded, since
+     * the load will read the transaction itself.
+     */
+    public void add(Long subcategoryId, String counterpartyName, String description) {
+        Set<String> nameTokens = tokenize(counterpartyName);
+        Set<String> descriptionTokens = tokenize(description);
+        Runnable apply = () -> {
+            lock.writeLock().lock();
+            try {
+                if (fields != null) {
+                    addTokens(fields, subcategoryId, nameTokens, descriptionTokens);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply.run();
+                }
+            });
+        } else {
+            apply.run();
+        }
+    }
+
+    /** Reloads the index from CONFIRMED and RECONCILED transactions. */
+    public void rebuild() {
+        meterRegistry.timer("immocare.learning.text-index.rebuild").record(() -> {
+            Map<TagMatchField, FieldIndex> built = emptyFields();
+            long[] count = { 0 };
+            try (Stream<FinancialTransactionRepository.LearningText> rows =
+                    transactionRepository.streamLearningTexts()) {
+                rows.forEach(r -> {
+                    addTokens(built, r.getSubcategoryId(),
+                            tokenize(r.getCounterpartyName()), tokenize(r.getDescription()));
+                    count[0]++;
+                });
+            }
+            lock.writeLock().lock();
+            try {
+                fields = built;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.info("Text match index rebuilt: {} transactions, {} description tokens", count[0],
+                    built.get(TagMatchField.DESCRIPTION).postings.size());
+        });
+    }
+
+    /** Nightly reconciliation; schedule via immocare.learning.text-index-rebuild-cron. */
+    @Scheduled(cron = "${immocare.learning.text-index-rebuild-cron:0 45 3 * * *}")
+    public void scheduledRebuild() {
+        rebuild();
+    }
+
+    private void ensureLoaded() {
+        lock.readLock().lock();
+        try {
+            if (fields != null) {
+                return;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        synchronized (this) {
+            if (fields == null) {
+                rebuild();
+            }
+        }
+    }
+
+    private static Map<TagMatchField, FieldIndex> emptyFields() {
+        return Map.of(TagMatchField.COUNTERPARTY_NAME, new FieldIndex(),
+                TagMatchField.DESCRIPTION, new FieldIndex());
+    }
+
+    private static void addTokens(Map<TagMatchField, FieldIndex> fields, Long subcategoryId,
+            Set<String> nameTokens, Set<String> descriptionTokens) {
+        if (!nameTokens.isEmpty()) {
+            fields.get(TagMatchField.COUNTERPARTY_NAME).add(subcategoryId, nameTokens);
+        }
+        if (!descriptionTokens.isEmpty()) {
+            fields.get(TagMatchField.DESCRIPTION).add(subcategoryId, descriptionTokens);
+        }
+    }
+
+    // ─── Scoring helpers ──────────────────────────────────────────────────────
+
+    private static double idf(int documents, int documentFrequency) {
+        return Math.log(1 + (documents - documentFrequency + 0.5) / (documentFrequency + 0.5));
+    }
+
+    /**
+     * Lower-cased, accent-free words of at least two letters; words holding
+     * digits (dates, references, amounts) and month names are dropped.
+     */
+    static Set<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return Set.of();
+        }
+        String folded = DIACRITICS.matcher(Normalizer.normalize(text.toLowerCase(), Normalizer.Form.NFD))
+                .replaceAll("");
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String token : SEPARATORS.split(folded)) {
+            if (token.length() >= 2 && !STOP_WORDS.contains(token) && token.chars().noneMatch(Character::isDigit)) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,170 @@
+package com.immocare.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.immocare.exception.HousingUnitNotFoundException;
+import com.immocare.exception.TransactionValidationException;
+import com.immocare.model.dto.SaveAllocationRequest;
+import com.immocare.model.entity.FinancialTransaction;
+import com.immocare.model.entity.HousingUnit;
+import com.immocare.model.entity.TransactionAllocation;
+import com.immocare.model.enums.AllocationMethod;
+import com.immocare.model.enums.TransactionDirection;
+import com.immocare.repository.HousingUnitRepository;
+import com.immocare.repository.RoomRepository;
+
+/**
+ * Splits a grouped expense (one invoice for several apartments) into
+ * allocation lines, one per housing unit.
+ *
+ * Lines either carry the amounts entered (FIXED) or are computed pro rata of
+ * the units' total surface (UNIT_SURFACE) or summed room surfaces
+ * (ROOM_SURFACE), truncated to the cent with the remainder on the last line,
+ * so they always add up to the transaction amount.
+ */
+@Service
+@Transactional(readOnly = true)
+public class TransactionAllocationService {
+
+    private final HousingUnitRepository housingUnitRepository;
+    private final RoomRepository roomRepository;
+
+    public TransactionAllocationService(HousingUnitRepository housingUnitRepository,
+            RoomRepository roomRepository) {
+        this.housingUnitRepository = housingUnitRepository;
+        this.roomRepository = roomRepository;
+    }
+
+    /**
+     * Replaces the allocation lines of {@code tx}; a null request removes
+     * them. Call after the amount, direction, unit and building are set.
+     * Fills in the building when every unit belongs to the same one.
+     */
+    public void allocate(FinancialTransaction tx, SaveAllocationRequest req) {
+        tx.getAllocations().clear();
+        if (req == null) {
+            return;
+        }
+        if (tx.getDirection() != TransactionDirection.EXPENSE) {
+            throw new TransactionValidationException("Only expenses can be allocated to several units");
+        }
+        if (tx.getHousingUnit() != null) {
+            throw new TransactionValidationException("An allocated expense cannot also be booked on a single unit");
+        }
+        List<Long> unitIds = req.lines().stream().map(SaveAllocationRequest.Line::housingUnitId).toList();
+        if (new HashSet<>(unitIds).size() != unitIds.size()) {
+            throw new TransactionValidationException("Each unit may appear only once in an allocation");
+        }
+        Map<Long, HousingUnit> units = housingUnitRepository.findAllById(unitIds).stream()
+                .collect(Collectors.toMap(HousingUnit::getId, Function.identity()));
+        List<HousingUnit> ordered = new ArrayList<>();
+        for (Long id : unitIds) {
+            HousingUnit unit = units.get(id);
+            if (unit == null) {
+                throw new HousingUnitNotFoundException(id);
+            }
+            ordered.add(unit);
+        }
+
+        Long buildingId = ordered.get(0).getBuilding().getId();
+        boolean sameBuilding = ordered.stream().allMatch(u -> u.getBuilding().getId().equals(buildingId));
+        if (tx.getBuilding() != null) {
+            Long txBuildingId = tx.getBuilding().getId();
+            ordered.stream().filter(u -> !u.getBuilding().getId().equals(txBuildingId)).findFirst()
+                    .ifPresent(u -> {
+                        throw new TransactionValidationException(
+                                "Unit " + u.getUnitNumber() + " does not belong to building " + txBuildingId);
+                    });
+        } else if (sameBuilding) {
+            tx.setBuilding(ordered.get(0).getBuilding());
+        }
+
+        List<BigDecimal> amounts = switch (req.method()) {
+            case FIXED -> fixedAmounts(tx.getAmount(), req.lines());
+            case UNIT_SURFACE -> split(tx.getAmount(), ordered.stream()
+                    .map(u -> u.getTotalSurface() != null ? u.getTotalSurface() : BigDecimal.ZERO)
+                    .toList());
+            case ROOM_SURFACE -> {
+                Map<Long, BigDecimal> surfaces = roomRepository.sumApproximateSurfaceByHousingUnitIdIn(unitIds)
+                        .stream().collect(Collectors.toMap(RoomRepository.UnitSurface::getHousingUnitId,
+                                RoomRepository.UnitSurface::getSurface));
+                yield split(tx.getAmount(), unitIds.stream()
+                        .map(id -> surfaces.getOrDefault(id, BigDecimal.ZERO)).toList());
+            }
+        };
+
+        for (int i = 0; i < ordered.size(); i++) {
+            TransactionAllocation line = new TransactionAllocation();
+            line.setTransaction(tx);
+            line.setHousingUnit(ordered.get(i));
+            line.setLineNo(i);
+            line.setAmount(amounts.get(i));
+            line.setMethod(req.method());
+            tx.getAllocations().add(line);
+        }
+    }
+
+    /**
+     * Splits {@code tx} again over the units and method of its current lines,
+     * after its amount or relations changed; FIXED lines must still add up.
+     * Does nothing when the transaction is not allocated.
+     */
+    public void reallocate(FinancialTransaction tx) {
+        if (tx.getAllocations().isEmpty()) {
+            return;
+        }
+        List<SaveAllocationRequest.Line> lines = tx.getAllocations().stream()
+                .sorted(Comparator.comparingInt(TransactionAllocation::getLineNo))
+                .map(l -> new SaveAllocationRequest.Line(l.getHousingUnit().getId(), l.getAmount()))
+                .toList();
+        allocate(tx, new SaveAllocationRequest(tx.getAllocations().get(0).getMethod(), lines));
+    }
+
+    private static List<BigDecimal> fixedAmounts(BigDecimal total, List<SaveAllocationRequest.Line> lines) {
+        List<BigDecimal> amounts = new ArrayList<>();
+        for (SaveAllocationRequest.Line line : lines) {
+            if (line.amount() == null) {
+                throw new TransactionValidationException(
+                        "Amount is required for unit " + line.housingUnitId() + " with method " + AllocationMethod.FIXED);
+            }
+            amounts.add(line.amount().setScale(2, RoundingMode.HALF_UP));
+        }
+        BigDecimal sum = amounts.stream().reduce(BigDecimal.ZERO, BigDecimal::add);
+        if (sum.compareTo(total) != 0) {
+            throw new TransactionValidationException(
+                    "Allocated amounts (" + sum + ") must add up to the transaction amount (" + total + ")");
+        }
+        return amounts;
+    }
+
+    /**
+     * Splits {@code amount} pro rata of {@code weights}: each share truncated
+     * to the cent, the remainder on the last line.
+     */
+    static List<BigDecimal> split(BigDecimal amount, List<BigDecimal> weights) {
+        BigDecimal total = weights.stream().reduce(BigDecimal.ZERO, BigDecimal::add);
+        if (total.signum() <= 0) {
+            throw new TransactionValidationException("The selected units have no surface to allocate by");
+        }
+        List<BigDecimal> shares = new ArrayList<>();
+        BigDecimal remaining = amount;
+        for (int i = 0; i < weights.size(); i++) {
+            BigDecimal share = i == weights.size() - 1 ? remaining
+                    : amount.multiply(weights.get(i)).divide(total, 2, RoundingMode.DOWN);
+            shares.add(share);
+            remaining = remaining.subtract(share);
+        }
+        return shares;
+    }
+}
@@ -2,10 +2,18 @@ package com.immocare.service;
 
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -14,6 +22,7 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import com.immocare.exception.ParseException;
+import com.immocare.model.dto.BankBalanceDTOs.StatementCheckDTO;
 import com.immocare.model.dto.ImportBatchResultDTO;
 import com.immocare.model.dto.ImportPreviewRowDTO;
 import com.immocare.model.dto.ImportRowEnrichmentDTO;
@@ -23,6 +32,7 @@ import com.immocare.model.entity.BankAccount;
 import com.immocare.model.entity.FinancialTransaction;
 import com.immocare.model.entity.ImportBatch;
 import com.immocare.model.entity.Lease;
+import com.immocare.model.entity.ParsedBalance;
 import com.immocare.model.entity.ParsedTransaction;
 import com.immocare.model.entity.TransactionParser;
 import com.immocare.model.enums.LeaseStatus;
@@ -36,6 +46,9 @@ import com.immocare.repository.LeaseRepository;
 import com.immocare.repository.PersonBankAccountRepository;
 import com.immocare.repository.TransactionParserRegistry;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -54,6 +67,15 @@ public class TransactionImportService {
     private final com.immocare.repository.TagSubcategoryRepository subcategoryRepo;
     private final com.immocare.repository.HousingUnitRepository housingUnitRepo;
     private final com.immocare.repository.BuildingRepository buildingRepo;
+    private final LedgerRollupService ledgerRollupService;
+    private final BankBalanceService bankBalanceService;
+    private final NearDuplicateDetector nearDuplicateDetector;
+    private final LeaseAmountMatcher leaseAmountMatcher;
+    private final MeterRegistry meterRegistry;
+    private final EntityManager entityManager;
+
+    /** Rows persisted between two flushes of an import. */
+    static final int IMPORT_CHUNK_SIZE = 500;
 
     // ─── Preview ──────────────────────────────────────────────────────────────
 
@@ -61,36 +83,61 @@ public class TransactionImportService {
      * Parse the file and return enriched preview rows — nothing is persisted.
      * Each row carries:
      * - duplicate flag (fingerprint already in DB)
+     * - possible duplicate (similar transaction of the same amount and account
+     * booked a few days apart, see {@link NearDuplicateDetector})
      * - suggested subcategory (from learning rules)
-     * - suggested lease (from counterparty IBAN → person → lease)
+     * - suggested lease (from counterparty IBAN → person → lease; for incoming
+     * rows from an unknown IBAN, from the expected rent amount, see
+     * {@link LeaseAmountMatcher})
+     *
+     * @param bankAccountId own bank account the file belongs to (optional);
+     *                      rows naming their own IBAN use that account instead
      */
-    public List<ImportPreviewRowDTO> previewFile(MultipartFile file, String parserCode)
+    public List<ImportPreviewRowDTO> previewFile(MultipartFile file, String parserCode, Long bankAccountId)
             throws ParseException {
 
         TransactionParser parser = parserRegistry.getOrThrow(parserCode);
-
-        List<ParsedTransaction> parsed;
-        try {
-            parsed = parser.parse(file.getInputStream());
-        } catch (ParseException e) {
-            throw e;
-        } catch (Exception e) {
-            throw new ParseException("File parsing failed: " + e.getMessage(), e);
+        Timer.Sample sample = Timer.start(meterRegistry);
+
+        List<ParsedTransaction> parsed = parse(parser, file, balance -> { });
+
+        // Exact duplicates first; only the other rows are checked for near duplicates
+        Map<String, Long> duplicateIds = new HashMap<>();
+        List<String> fingerprints = parsed.stream().map(ParsedTransaction::getFingerprint)
+                .filter(Objects::nonNull).distinct().toList();
+        for (int i = 0; i < fingerprints.size(); i += IMPORT_CHUNK_SIZE) {
+            transactionRepo.findByImportFingerprintIn(
+                    fingerprints.subList(i, Math.min(i + IMPORT_CHUNK_SIZE, fingerprints.size())))
+                    .forEach(f -> duplicateIds.put(f.getFingerprint(), f.getId()));
         }
-
-        return parsed.stream().map(p -> {
+        List<ParsedTransaction> fresh = parsed.stream()
+                .filter(p -> p.getFingerprint() != null && !duplicateIds.containsKey(p.getFingerprint()))
+                .toList();
+        Map<String, Optional<BankAccount>> accountsByIban = new HashMap<>();
+        Map<ParsedTransaction, NearDuplicateDetector.Match> nearDuplicates = nearDuplicateDetector.detect(fresh,
+                p -> p.getAccountIban() == null ? bankAccountId
+                        : accountsByIban.computeIfAbsent(p.getAccountIban(), bankAccountRepo::findByAccountNumber)
+                                .map(BankAccount::getId)
+                                .orElse(bankAccountId));
+        Map<ParsedTransaction, LeaseAmountMatcher.Match> amountMatches = leaseAmountMatcher.match(fresh.stream()
+                .filter(p -> p.getDirection() != ParsedTransaction.Direction.EXPENSE)
+                .toList());
+
+        List<ImportPreviewRowDTO> rows = parsed.stream().map(p -> {
             if (p.getFingerprint() == null) {
+                countRows("preview", parserCode, "error", 1);
                 return new ImportPreviewRowDTO(
                         p.getRowNumber(), p.getRawLine(), null, null, null,
-                        null, null, null, null, false, null, null, null,
+                        null, null, null, null, false, null, null, null, null, null,
                         "Parse error: missing fingerprint");
             }
 
             // Duplicate check
-            boolean duplicate = transactionRepo.existsByImportFingerprint(p.getFingerprint());
-            Long duplicateTxId = duplicate
-                    ? transactionRepo.findIdByImportFingerprint(p.getFingerprint())
-                    : null;
+            boolean duplicate = duplicateIds.containsKey(p.getFingerprint());
+            Long duplicateTxId = duplicateIds.get(p.getFingerprint());
+            NearDuplicateDetector.Match nearDuplicate = nearDuplicates.get(p);
+            countRows("preview", parserCode,
+                    duplicate ? "duplicate" : nearDuplicate != null ? "possible-duplicate" : "new", 1);
 
             // Subcategory suggestion
             TransactionDirection dir = toDirection(p.getDirection());
@@ -102,6 +149,9 @@ public class TransactionImportService {
             // Lease suggestion
             ImportPreviewRowDTO.SuggestedLeaseDTO leaseSuggestion = suggestLeaseForPreview(p.getCounterpartyAccount(),
                     p.getTransactionDate());
+            if (leaseSuggestion == null && amountMatches.containsKey(p)) {
+                leaseSuggestion = toSuggestedLease(amountMatches.get(p));
+            }
 
             return new ImportPreviewRowDTO(
                     p.getRowNumber(),
@@ -115,10 +165,15 @@ public class TransactionImportService {
                     p.getFingerprint(),
                     duplicate,
                     duplicateTxId,
+                    nearDuplicate != null ? nearDuplicate.transactionId() : null,
+                    nearDuplicate != null ? Math.round(nearDuplicate.score() * 100) / 100.0 : null,
                     subcatSuggestion,
                     leaseSuggestion,
                     null);
         }).collect(Collectors.toList());
+
+        sample.stop(meterRegistry.timer("immocare.import.preview", "parser", parserCode));
+        return rows;
     }
 
     // ─── Import ───────────────────────────────────────────────────────────────
@@ -130,6 +185,13 @@ public class TransactionImportService {
      * If an enrichment exists for a fingerprint, it is applied (subcategory,
      * lease, unit, building, direction override).
      * Rows with enrichments are saved as CONFIRMED; others as DRAFT.
+     * Closing balances carried by the statement are recorded and checked
+     * against the refreshed running balance of their account.
+     *
+     * Rows are imported as the parser yields them, {@link #IMPORT_CHUNK_SIZE}
+     * at a time: one fingerprint lookup and one reference sequence fetch per
+     * chunk, then a flush and clear of the persistence context, so a large
+     * statement is imported in constant memory.
      */
     @Transactional
     public ImportBatchResultDTO importFile(
@@ -141,20 +203,12 @@ public class TransactionImportService {
             AppUser currentUser) throws ParseException {
 
         TransactionParser parser = parserRegistry.getOrThrow(parserCode);
+        Timer.Sample sample = Timer.start(meterRegistry);
 
         BankAccount bankAccount = bankAccountId != null
                 ? bankAccountRepo.findById(bankAccountId).orElse(null)
                 : null;
 
-        List<ParsedTransaction> parsed;
-        try {
-            parsed = parser.parse(file.getInputStream());
-        } catch (ParseException e) {
-            throw e;
-        } catch (Exception e) {
-            throw new ParseException("File parsing failed: " + e.getMessage(), e);
-        }
-
         // Index enrichments by fingerprint for O(1) lookup
         Map<String, ImportRowEnrichmentDTO> enrichmentMap = enrichments == null
                 ? Map.of()
@@ -167,34 +221,112 @@ public class TransactionImportService {
 
         ImportBatch batch = new ImportBatch();
         batch.setFilename(file.getOriginalFilename());
-        batch.setTotalRows(parsed.size());
         batch.setCreatedBy(currentUser);
         importBatchRepo.save(batch);
 
-        int imported = 0, duplicates = 0;
+        ImportRun run = new ImportRun(batch, bankAccount, enrichmentMap, selectedFingerprints);
+        List<ParsedBalance> statementBalances = new ArrayList<>();
+        List<ParsedTransaction> chunk = new ArrayList<>(IMPORT_CHUNK_SIZE);
+        int total = parse(parser, file, p -> {
+            chunk.add(p);
+            if (chunk.size() == IMPORT_CHUNK_SIZE) {
+                importChunk(chunk, run);
+                chunk.clear();
+            }
+        }, statementBalances::add);
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, run);
+        }
+
+        batch.setTotalRows(total);
+        batch.setImportedCount(run.imported);
+        batch.setDuplicateCount(run.duplicates);
+        batch.setErrorCount(0);
+        batch = importBatchRepo.save(batch);
+        ledgerRollupService.apply(run.rollup);
+        bankBalanceService.refresh(run.balanceChanges);
+        List<StatementCheckDTO> balanceChecks = recordStatementBalances(statementBalances, bankAccount,
+                run.accountsByIban, batch);
+
+        log.info("Import complete: batchId={} imported={} duplicates={}",
+                batch.getId(), run.imported, run.duplicates);
+
+        countRows("import", parserCode, "imported", run.imported);
+        countRows("import", parserCode, "duplicate", run.duplicates);
+        countRows("import", parserCode, "unselected", total - run.imported - run.duplicates);
+        sample.stop(meterRegistry.timer("immocare.import.file", "parser", parserCode));
+
+        return new ImportBatchResultDTO(
+                batch.getId(), total, run.imported, run.duplicates, 0, List.of(), balanceChecks);
+    }
+
+    /** State of one import carried across its chunks. */
+    private static final class ImportRun {
+
+        final ImportBatch batch;
+        final BankAccount bankAccount;
+        final Map<String, ImportRowEnrichmentDTO> enrichments;
+        final Set<String> selectedFingerprints;
+        final LedgerRollupService.Delta rollup = new LedgerRollupService.Delta();
+        final BankBalanceService.Changes balanceChanges = new BankBalanceService.Changes();
+        // Multi-account statements (CAMT.053): own IBAN → bank account
+        final Map<String, Optional<BankAccount>> accountsByIban = new HashMap<>();
+        int imported;
+        int duplicates;
+
+        ImportRun(ImportBatch batch, BankAccount bankAccount, Map<String, ImportRowEnrichmentDTO> enrichments,
+                Set<String> selectedFingerprints) {
+            this.batch = batch;
+            this.bankAccount = bankAccount;
+            this.enrichments = enrichments;
+            this.selectedFingerprints = selectedFingerprints;
+        }
 
-        for (ParsedTransaction p : parsed) {
+        boolean selected(ParsedTransaction p) {
+            return selectedFingerprints == null || selectedFingerprints.isEmpty()
+                    || selectedFingerprints.contains(p.getFingerprint());
+        }
+    }
 
+    /**
+     * Persists the selected, not yet imported rows of one chunk, then flushes
+     * and clears the persistence context. Earlier chunks are in the database
+     * by then, so the fingerprint lookup also catches rows repeated in the file.
+     */
+    private void importChunk(List<ParsedTransaction> chunk, ImportRun run) {
+        Set<String> seen = transactionRepo.findByImportFingerprintIn(chunk.stream()
+                        .map(ParsedTransaction::getFingerprint)
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toSet())).stream()
+                .map(FinancialTransactionRepository.ImportedFingerprint::getFingerprint)
+                .collect(Collectors.toCollection(HashSet::new));
+
+        List<ParsedTransaction> rows = new ArrayList<>(chunk.size());
+        for (ParsedTransaction p : chunk) {
             // Skip rows not selected by user (when selection is non-empty)
-            if (selectedFingerprints != null && !selectedFingerprints.isEmpty()
-                    && !selectedFingerprints.contains(p.getFingerprint())) {
+            if (!run.selected(p)) {
                 continue;
             }
-
             // Duplicate check by fingerprint
-            if (p.getFingerprint() != null
-                    && transactionRepo.existsByImportFingerprint(p.getFingerprint())) {
+            if (p.getFingerprint() != null && !seen.add(p.getFingerprint())) {
                 log.debug("Duplicate skipped: fingerprint={}", p.getFingerprint());
-                duplicates++;
+                run.duplicates++;
                 continue;
             }
+            rows.add(p);
+        }
+        if (rows.isEmpty()) {
+            return;
+        }
 
+        Iterator<Long> sequences = transactionRepo.nextRefSequences(rows.size()).iterator();
+        for (ParsedTransaction p : rows) {
             log.debug("Saving row {}: date={} amount={} direction={} counterparty={}",
                     p.getRowNumber(), p.getTransactionDate(), p.getAmount(),
                     p.getDirection(), p.getCounterpartyName());
 
             ImportRowEnrichmentDTO enrichment = p.getFingerprint() != null
-                    ? enrichmentMap.get(p.getFingerprint())
+                    ? run.enrichments.get(p.getFingerprint())
                     : null;
 
             // Resolve direction: enrichment override > parser > INCOME default
@@ -203,10 +335,11 @@ public class TransactionImportService {
             FinancialTransaction tx = new FinancialTransaction();
 
             String year = String.valueOf(p.getTransactionDate().getYear());
-            long seq = transactionRepo.nextRefSequence();
-            tx.setReference("TXN-" + year + "-" + String.format("%05d", seq));
+            tx.setReference("TXN-" + year + "-" + String.format("%05d", sequences.next()));
 
             tx.setTransactionDate(p.getTransactionDate());
+            tx.setValueDate(p.getValueDate());
+            tx.setExternalReference(p.getExternalReference());
             tx.setAccountingMonth(p.getTransactionDate().withDayOfMonth(1));
             tx.setAmount(p.getAmount());
             tx.setDirection(direction);
@@ -215,8 +348,10 @@ public class TransactionImportService {
             tx.setCounterpartyAccount(p.getCounterpartyAccount());
             tx.setImportFingerprint(p.getFingerprint());
             tx.setSource(TransactionSource.IMPORT);
-            tx.setImportBatch(batch);
-            tx.setBankAccount(bankAccount);
+            tx.setImportBatch(run.batch);
+            tx.setBankAccount(p.getAccountIban() == null ? run.bankAccount
+                    : run.accountsByIban.computeIfAbsent(p.getAccountIban(), bankAccountRepo::findByAccountNumber)
+                            .orElse(run.bankAccount));
 
             // Apply enrichments
             if (enrichment != null) {
@@ -229,22 +364,121 @@ public class TransactionImportService {
             }
 
             transactionRepo.save(tx);
-            imported++;
+            run.rollup.add(LedgerRollupService.Entry.of(tx));
+            run.balanceChanges.add(tx);
+            if (tx.getStatus() == TransactionStatus.CONFIRMED && tx.getSubcategory() != null) {
+                learningService.learnText(tx.getSubcategory().getId(), tx.getCounterpartyName(),
+                        tx.getDescription());
+            }
+            run.imported++;
         }
+        // The batch, accounts and catalogue entities stay usable detached: new rows only reference them
+        transactionRepo.flush();
+        entityManager.clear();
+    }
 
-        batch.setImportedCount(imported);
-        batch.setDuplicateCount(duplicates);
-        batch.setErrorCount(0);
-        importBatchRepo.save(batch);
+    // ─── Private helpers ──────────────────────────────────────────────────────
 
-        log.info("Import complete: batchId={} imported={} duplicates={}",
-                batch.getId(), imported, duplicates);
+    /**
+     * Records the statement closing balances of an imported file on their
+     * account (own IBAN, else the account chosen for the import) and returns
+     * their check against the computed balance. Inconsistent ones are logged.
+     */
+    private List<StatementCheckDTO> recordStatementBalances(List<ParsedBalance> balances,
+            BankAccount bankAccount, Map<String, Optional<BankAccount>> accountsByIban, ImportBatch batch) {
+        Set<Long> accountIds = new LinkedHashSet<>();
+        for (ParsedBalance b : balances) {
+            BankAccount account = b.accountIban() == null ? bankAccount
+                    : accountsByIban.computeIfAbsent(b.accountIban(), bankAccountRepo::findByAccountNumber)
+                            .orElse(bankAccount);
+            if (account == null) {
+                log.debug("Statement balance of {} skipped: no bank account", b.date());
+                continue;
+            }
+            bankBalanceService.recordStatementBalance(account, b.date(), b.balance(), batch);
+            accountIds.add(account.getId());
+        }
+        List<StatementCheckDTO> checks = new ArrayList<>();
+        for (Long accountId : accountIds) {
+            bankBalanceService.checkStatements(accountId).stream()
+                    .filter(c -> batch.getId().equals(c.importBatchId()))
+                    .forEach(c -> {
+                        if (!c.consistent()) {
+                            log.warn("Statement balance mismatch: account={} date={} drift={}",
+                                    accountId, c.date(), c.drift());
+                        }
+                        checks.add(c);
+                    });
+        }
+        return checks;
+    }
 
-        return new ImportBatchResultDTO(
-                batch.getId(), parsed.size(), imported, duplicates, 0, List.of());
+    /**
+     * Runs the parser, recording {@code immocare.import.parse} (tagged by parser
+     * code and outcome) and the number of rows the parser produced.
+     */
+    private List<ParsedTransaction> parse(TransactionParser parser, MultipartFile file,
+            Consumer<ParsedBalance> balances) throws ParseException {
+        List<ParsedTransaction> parsed = new ArrayList<>();
+        parse(parser, file, parsed::add, balances);
+        return parsed;
     }
 
-    // ─── Private helpers ──────────────────────────────────────────────────────
+    /**
+     * Streaming variant: hands each row to {@code rows} as the parser reads it.
+     * Failures of {@code rows} itself propagate unchanged, not as a ParseException.
+     *
+     * @return number of rows parsed
+     */
+    private int parse(TransactionParser parser, MultipartFile file, Consumer<ParsedTransaction> rows,
+            Consumer<ParsedBalance> balances) throws ParseException {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        int[] count = { 0 };
+        try {
+            parser.parse(file.getInputStream(), p -> {
+                count[0]++;
+                try {
+                    rows.accept(p);
+                } catch (RuntimeException e) {
+                    throw new SinkException(e);
+                }
+            }, balances);
+            outcome = "success";
+            meterRegistry.counter("immocare.import.parsed.rows", "parser", parser.getCode())
+                    .increment(count[0]);
+            return count[0];
+        } catch (SinkException e) {
+            throw e.getCause();
+        } catch (ParseException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new ParseException("File parsing failed: " + e.getMessage(), e);
+        } finally {
+            sample.stop(meterRegistry.timer("immocare.import.parse",
+                    "parser", parser.getCode(), "outcome", outcome));
+        }
+    }
+
+    /** Carries a failure of the row consumer through the parser. */
+    private static final class SinkException extends RuntimeException {
+
+        SinkException(RuntimeException cause) {
+            super(cause);
+        }
+
+        @Override
+        public synchronized RuntimeException getCause() {
+            return (RuntimeException) super.getCause();
+        }
+    }
+
+    private void countRows(String phase, String parserCode, String result, int count) {
+        if (count > 0) {
+            meterRegistry.counter("immocare.import.rows",
+                    "phase", phase, "parser", parserCode, "result", result).increment(count);
+        }
+    }
 
     /**
      * Lease suggestion for the preview endpoint — returns a lightweight DTO,
@@ -279,11 +513,26 @@ public class TransactionImportService {
                             best.getHousingUnit().getBuilding().getId(),
                             best.getHousingUnit().getBuilding().getName(),
                             pba.getPerson().getId(),
-                            personName);
+                            personName,
+                            ImportPreviewRowDTO.SuggestedLeaseDTO.MATCHED_BY_IBAN);
                 })
                 .orElse(null);
     }
 
+    /** Preview DTO of a lease matched on the expected rent amount. */
+    private static ImportPreviewRowDTO.SuggestedLeaseDTO toSuggestedLease(LeaseAmountMatcher.Match match) {
+        Lease lease = match.lease();
+        return new ImportPreviewRowDTO.SuggestedLeaseDTO(
+                lease.getId(),
+                lease.getHousingUnit().getId(),
+                lease.getHousingUnit().getUnitNumber(),
+                lease.getHousingUnit().getBuilding().getId(),
+                lease.getHousingUnit().getBuilding().getName(),
+                match.tenant() != null ? match.tenant().getId() : null,
+                match.tenant() != null ? match.tenant().getLastName() + " " + match.tenant().getFirstName() : null,
+                ImportPreviewRowDTO.SuggestedLeaseDTO.MATCHED_BY_AMOUNT);
+    }
+
     /**
      * Lease suggestion for the import endpoint — sets fields directly on the tx.
      * Result stored in suggested_lease_id only — user confirms during review.
@@ -319,8 +568,10 @@ public class TransactionImportService {
      * 1. Exactly one lease covers the date → use it.
      * 2. Several cover it → prefer ACTIVE, then most recent startDate.
      * 3. None covers it → closest endDate (historical import).
+     *
+     * Package-private for the JMH benchmarks.
      */
-    private Lease pickBestLease(List<Lease> leases, LocalDate transactionDate) {
+    static Lease pickBestLease(List<Lease> leases, LocalDate transactionDate) {
         List<Lease> covering = leases.stream()
                 .filter(l -> !transactionDate.isBefore(l.getStartDate())
                         && !transactionDate.isAfter(l.getEndDate()))
@@ -0,0 +1,120 @@
+package com.immocare.service;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Writes a single-sheet .xlsx workbook row by row.
+ *
+ * The fixed package parts are written first and the sheet XML is streamed
+ * into the last zip entry, so memory does not grow with the number of rows.
+ * Cells are inline strings or numbers; dates and other values are written as
+ * their text.
+ */
+final class XlsxStreamWriter implements Closeable {
+
+    private final ZipOutputStream zip;
+    private final Writer sheet;
+
+    XlsxStreamWriter(OutputStream out, String sheetName) throws IOException {
+        zip = new ZipOutputStream(out, StandardCharsets.UTF_8);
+        part("[Content_Types].xml", """
+                <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+                <Types xmlns="http://schemas.openxmlformats.org/package/2006/content-types">\
+                <Default Extension="rels" ContentType="application/vnd.openxmlformats-package.relationships+xml"/>\
+                <Default Extension="xml" ContentType="application/xml"/>\
+                <Override PartName="/xl/workbook.xml" \
+                ContentType="application/vnd.openxmlformats-officedocument.spreadsheetml.sheet.main+xml"/>\
+                <Override PartName="/xl/worksheets/sheet1.xml" \
+                ContentType="application/vnd.openxmlformats-officedocument.spreadsheetml.worksheet+xml"/>\
+                </Types>""");
+        part("_rels/.rels", """
+                <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+                <Relationships xmlns="http://schemas.openxmlformats.org/package/2006/relationships">\
+                <Relationship Id="rId1" \
+                Type="http://schemas.openxmlformats.org/officeDocument/2006/relationships/officeDocument" \
+                Target="xl/workbook.xml"/>\
+                </Relationships>""");
+        part("xl/workbook.xml", """
+                <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+                <workbook xmlns="http://schemas.openxmlformats.org/spreadsheetml/2006/main" \
+                xmlns:r="http://schemas.openxmlformats.org/officeDocument/2006/relationships">\
+                <sheets><sheet name="%s" sheetId="1" r:id="rId1"/></sheets>\
+                </workbook>""".formatted(escape(sheetName)));
+        part("xl/_rels/workbook.xml.rels", """
+                <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+                <Relationships xmlns="http://schemas.openxmlformats.org/package/2006/relationships">\
+                <Relationship Id="rId1" \
+                Type="http://schemas.openxmlformats.org/officeDocument/2006/relationships/worksheet" \
+                Target="worksheets/sheet1.xml"/>\
+                </Relationships>""");
+
+        zip.putNextEntry(new ZipEntry("xl/worksheets/sheet1.xml"));
+        sheet = new BufferedWriter(new OutputStreamWriter(zip, StandardCharsets.UTF_8));
+        sheet.write("""
+                <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+                <worksheet xmlns="http://schemas.openxmlformats.org/spreadsheetml/2006/main"><sheetData>""");
+    }
+
+    /** Appends one row; null values leave the cell empty. */
+    void row(Object... values) throws IOException {
+        sheet.write("<row>");
+        for (Object value : values) {
+            if (value == null) {
+                sheet.write("<c/>");
+            } else if (value instanceof BigDecimal || value instanceof Integer || value instanceof Long) {
+                sheet.write("<c><v>");
+                sheet.write(value instanceof BigDecimal d ? d.toPlainString() : value.toString());
+                sheet.write("</v></c>");
+            } else {
+                sheet.write("<c t=\"inlineStr\"><is><t xml:space=\"preserve\">");
+                sheet.write(escape(value.toString()));
+                sheet.write("</t></is></c>");
+            }
+        }
+        sheet.write("</row>");
+    }
+
+    /** Ends the sheet and the zip; the underlying stream is left to its owner. */
+    @Override
+    public void close() throws IOException {
+        sheet.write("</sheetData></worksheet>");
+        sheet.flush();
+        zip.closeEntry();
+        zip.finish();
+    }
+
+    private void part(String name, String xml) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        zip.write(xml.getBytes(StandardCharsets.UTF_8));
+        zip.closeEntry();
+    }
+
+    /** XML text escaping; control characters XML 1.0 cannot carry are dropped. */
+    static String escape(String s) {
+        StringBuilder out = new StringBuilder(s.length());
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '&' -> out.append("&amp;");
+                case '<' -> out.append("&lt;");
+                case '>' -> out.append("&gt;");
+                case '"' -> out.append("&quot;");
+                default -> {
+                    if (c >= 0x20 || c == '\t' || c == '\n' || c == '\r') {
+                        out.append(c);
+                    }
+                }
+            }
+        }
+        return out.toString();
+    }
+}
@@ -0,0 +1,37 @@
+-- ============================================================
+-- V016 — UC014-ext: Monthly ledger rollup
+-- Pre-aggregated financial_transaction sums per accounting month and
+-- (building, unit, bank account, subcategory, direction, status).
+-- Maintained incrementally by LedgerRollupService on every transaction
+-- write; rebuildable at any time from financial_transaction.
+-- No foreign keys: the rollup is derived data. Ids whose row was deleted
+-- (financial_transaction uses ON DELETE SET NULL) are read as "unassigned"
+-- until the next rebuild.
+-- ============================================================
+
+CREATE TABLE ledger_monthly_rollup (
+    id               BIGSERIAL     PRIMARY KEY,
+    accounting_month DATE          NOT NULL,
+    building_id      BIGINT,
+    housing_unit_id  BIGINT,
+    bank_account_id  BIGINT,
+    subcategory_id   BIGINT,
+    direction        VARCHAR(10)   NOT NULL CHECK (direction IN ('INCOME','EXPENSE')),
+    status           VARCHAR(20)   NOT NULL CHECK (status IN ('DRAFT','CONFIRMED','RECONCILED')),
+    total_amount     NUMERIC(14,2) NOT NULL DEFAULT 0,
+    tx_count         BIGINT        NOT NULL DEFAULT 0,
+    CONSTRAINT uq_ledger_rollup_key UNIQUE NULLS NOT DISTINCT
+        (accounting_month, building_id, housing_unit_id, bank_account_id, subcategory_id, direction, status)
+);
+
+CREATE INDEX idx_lmr_building    ON ledger_monthly_rollup (building_id, accounting_month);
+CREATE INDEX idx_lmr_unit        ON ledger_monthly_rollup (housing_unit_id, accounting_month);
+CREATE INDEX idx_lmr_bank        ON ledger_monthly_rollup (bank_account_id, accounting_month);
+CREATE INDEX idx_lmr_subcategory ON ledger_monthly_rollup (subcategory_id);
+
+INSERT INTO ledger_monthly_rollup (accounting_month, building_id, housing_unit_id, bank_account_id,
+                                   subcategory_id, direction, status, total_amount, tx_count)
+SELECT accounting_month, building_id, housing_unit_id, bank_account_id,
+       subcategory_id, direction, status, SUM(amount), COUNT(*)
+FROM financial_transaction
+GROUP BY accounting_month, building_id, housing_unit_id, bank_account_id, subcategory_id, direction, status;
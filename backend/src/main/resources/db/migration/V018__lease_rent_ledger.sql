@@ -0,0 +1,29 @@
+-- ============================================================
+-- V017 — UC010-ext: Lease rent ledger (expected vs paid)
+-- One row per lease and month:
+--   expected_amount  rent + charges due (schedule from monthly_rent,
+--                    monthly_charges and lease_rent_adjustment history,
+--                    pro rata for partial first/last months)
+--   paid_amount      confirmed/reconciled INCOME transactions linked to the
+--                    lease, by accounting month
+-- Maintained by RentLedgerService; the expected schedule is computed by the
+-- application (initialised on first start), paid amounts are backfilled here.
+-- ============================================================
+
+CREATE TABLE lease_rent_month (
+    lease_id        BIGINT        NOT NULL REFERENCES lease (id) ON DELETE CASCADE,
+    rent_month      DATE          NOT NULL,
+    expected_amount NUMERIC(12,2) NOT NULL DEFAULT 0,
+    paid_amount     NUMERIC(12,2) NOT NULL DEFAULT 0,
+    PRIMARY KEY (lease_id, rent_month)
+);
+
+CREATE INDEX idx_lrm_month ON lease_rent_month (rent_month);
+
+INSERT INTO lease_rent_month (lease_id, rent_month, paid_amount)
+SELECT lease_id, accounting_month, SUM(amount)
+FROM financial_transaction
+WHERE lease_id IS NOT NULL
+  AND direction = 'INCOME'
+  AND status IN ('CONFIRMED', 'RECONCILED')
+GROUP BY lease_id, accounting_month;
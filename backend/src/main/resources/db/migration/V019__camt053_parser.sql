@@ -0,0 +1,20 @@
+-- ============================================================
+-- V018 — UC015-ext: ISO 20022 CAMT.053 statement import
+-- XML becomes an import format; the streaming CAMT.053 parser is
+-- registered (one file may hold statements of several accounts,
+-- matched on bank_account.account_number).
+-- ============================================================
+
+ALTER TABLE import_parser DROP CONSTRAINT import_parser_format_check;
+ALTER TABLE import_parser
+    ADD CONSTRAINT import_parser_format_check CHECK (format IN ('CSV', 'PDF', 'XML'));
+
+INSERT INTO import_parser (code, label, description, format, bank_hint) VALUES
+(
+    'camt053-xml-20261019',
+    'CAMT.053 XML (ISO 20022)',
+    'Relevé ISO 20022 camt.053.001.02 à .08 — sens crédit/débit explicite, IBAN, communication structurée, plusieurs comptes par fichier',
+    'XML',
+    'Toutes banques (Belfius, BNP Paribas Fortis, ING, KBC…)'
+)
+ON CONFLICT (code) DO NOTHING;
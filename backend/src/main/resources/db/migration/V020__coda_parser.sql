@@ -0,0 +1,20 @@
+-- ============================================================
+-- V019 — UC015-ext: Belgian CODA statement import
+-- CODA (Febelfin 128-character records) becomes an import format;
+-- the streaming CODA parser is registered (one archive may hold
+-- statements of several days and accounts).
+-- ============================================================
+
+ALTER TABLE import_parser DROP CONSTRAINT import_parser_format_check;
+ALTER TABLE import_parser
+    ADD CONSTRAINT import_parser_format_check CHECK (format IN ('CSV', 'PDF', 'XML', 'CODA'));
+
+INSERT INTO import_parser (code, label, description, format, bank_hint) VALUES
+(
+    'coda-txt-20261019',
+    'CODA (Febelfin)',
+    'Relevé CODA version 2 — mouvements 21/22/23 et informations 31/32/33, communication structurée, plusieurs jours et comptes par fichier',
+    'CODA',
+    'Toutes banques belges (Belfius, BNP Paribas Fortis, ING, KBC…)'
+)
+ON CONFLICT (code) DO NOTHING;
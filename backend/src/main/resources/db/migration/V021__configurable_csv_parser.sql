@@ -0,0 +1,30 @@
+-- ============================================================
+-- V020 — UC015-ext: configurable CSV import
+-- The csv.import.* mapping becomes a regular import parser; its
+-- settings are seeded so they can be edited from the settings screen.
+-- Column indexes start at 0, -1 = column absent.
+-- ============================================================
+
+INSERT INTO platform_config (config_key, config_value, value_type, description) VALUES
+    ('csv.import.delimiter',                    ';',          'STRING',  'Configurable CSV: field delimiter (literal text, \t = tab)'),
+    ('csv.import.date_format',                  'dd/MM/yyyy', 'STRING',  'Configurable CSV: date pattern (java.time)'),
+    ('csv.import.skip_header_rows',             '1',          'INTEGER', 'Configurable CSV: header rows to skip'),
+    ('csv.import.col.date',                     '0',          'INTEGER', 'Configurable CSV: transaction date column'),
+    ('csv.import.col.amount',                   '1',          'INTEGER', 'Configurable CSV: signed amount column (negative = expense)'),
+    ('csv.import.col.description',              '2',          'INTEGER', 'Configurable CSV: description column'),
+    ('csv.import.col.counterparty_name',        '3',          'INTEGER', 'Configurable CSV: counterparty name column'),
+    ('csv.import.col.counterparty_account',     '4',          'INTEGER', 'Configurable CSV: counterparty IBAN column'),
+    ('csv.import.col.external_reference',       '5',          'INTEGER', 'Configurable CSV: bank reference column'),
+    ('csv.import.col.bank_account',             '6',          'INTEGER', 'Configurable CSV: own account IBAN column'),
+    ('csv.import.col.value_date',               '-1',         'INTEGER', 'Configurable CSV: value date column')
+ON CONFLICT (config_key) DO NOTHING;
+
+INSERT INTO import_parser (code, label, description, format, bank_hint) VALUES
+(
+    'configurable-csv-20261019',
+    'CSV configurable',
+    'Colonnes, séparateur et format de date définis dans Paramètres › Import — montant signé (négatif = dépense)',
+    'CSV',
+    'Toutes banques'
+)
+ON CONFLICT (code) DO NOTHING;
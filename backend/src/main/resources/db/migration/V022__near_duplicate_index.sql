@@ -0,0 +1,7 @@
+-- ============================================================
+-- V021 — UC015-ext: near-duplicate detection on import
+-- Candidates are blocked on (amount, booking date ± N days); the
+-- bank account is compared in memory.
+-- ============================================================
+
+CREATE INDEX idx_ft_duplicate_block ON financial_transaction (amount, transaction_date, bank_account_id);
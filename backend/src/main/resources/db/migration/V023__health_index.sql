@@ -0,0 +1,18 @@
+-- ============================================================
+-- V022 — UC010-ext: batch rent indexation
+-- Health index series (Statbel, one value per month) used by the
+-- Belgian indexation formula; lease_indexation_history (V009)
+-- records every applied indexation.
+-- ============================================================
+
+CREATE TABLE health_index (
+    index_month DATE         PRIMARY KEY,
+    index_value NUMERIC(8,4) NOT NULL CHECK (index_value > 0),
+    updated_at  TIMESTAMP    NOT NULL DEFAULT NOW(),
+
+    CONSTRAINT chk_health_index_month CHECK (EXTRACT(DAY FROM index_month) = 1)
+);
+
+-- A lease is indexed at most once per anniversary, even if two runs overlap
+CREATE UNIQUE INDEX uq_indexation_lease_application
+    ON lease_indexation_history (lease_id, application_date);
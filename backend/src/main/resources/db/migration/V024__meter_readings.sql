@@ -0,0 +1,34 @@
+-- ============================================================
+-- V023 — UC008-ext: Meter readings and monthly consumption
+--
+-- meter_reading is append-only: one index value per meter and day. The
+-- consumption column holds the delta since the meter's previous reading
+-- (0 for its first one, e.g. the opening index of a replacement meter),
+-- so consumption over readings is a SUM and no query has to pair
+-- consecutive rows. It is derived data: inserting a backdated reading
+-- recomputes the delta of the next one.
+--
+-- meter_consumption_month spreads every delta evenly over the days since
+-- the previous reading and sums it per calendar month. Maintained by
+-- MeterReadingService; dashboards read only this table.
+-- ============================================================
+
+CREATE TABLE meter_reading (
+    id            BIGSERIAL     PRIMARY KEY,
+    meter_id      BIGINT        NOT NULL REFERENCES meter (id) ON DELETE RESTRICT,
+    reading_date  DATE          NOT NULL,
+    reading_value NUMERIC(14,3) NOT NULL CHECK (reading_value >= 0),
+    consumption   NUMERIC(14,3) NOT NULL DEFAULT 0 CHECK (consumption >= 0),
+    source        VARCHAR(20)   NOT NULL CHECK (source IN ('MANUAL','CSV','REPLACEMENT')),
+    created_at    TIMESTAMP     NOT NULL DEFAULT NOW(),
+    CONSTRAINT uq_meter_reading_meter_date UNIQUE (meter_id, reading_date)
+);
+
+CREATE TABLE meter_consumption_month (
+    meter_id          BIGINT        NOT NULL REFERENCES meter (id) ON DELETE CASCADE,
+    consumption_month DATE          NOT NULL CHECK (EXTRACT(DAY FROM consumption_month) = 1),
+    consumption       NUMERIC(14,3) NOT NULL,
+    PRIMARY KEY (meter_id, consumption_month)
+);
+
+CREATE INDEX idx_mcm_month ON meter_consumption_month (consumption_month);
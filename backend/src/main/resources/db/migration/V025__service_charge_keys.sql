@@ -0,0 +1,24 @@
+-- ============================================================
+-- V024 — UC014-ext: Annual service-charge settlement
+--
+-- service_charge_key lists, per building, the expense subcategories that
+-- are recoverable from tenants and how a shared cost of that subcategory
+-- is split between the building's units:
+--   SURFACE      — pro rata of housing_unit.total_surface
+--   CONSUMPTION  — pro rata of the units' metered consumption of
+--                  meter_type over the year (meter_consumption_month)
+--   EQUAL        — same share for every unit
+-- Costs booked on a unit (or on a meter or boiler of a unit) are charged
+-- to that unit only. Subcategories without a key are not settled.
+-- ============================================================
+
+CREATE TABLE service_charge_key (
+    id              BIGSERIAL   PRIMARY KEY,
+    building_id     BIGINT      NOT NULL REFERENCES building (id) ON DELETE CASCADE,
+    subcategory_id  BIGINT      NOT NULL REFERENCES tag_subcategory (id) ON DELETE CASCADE,
+    allocation_key  VARCHAR(20) NOT NULL CHECK (allocation_key IN ('SURFACE','CONSUMPTION','EQUAL')),
+    meter_type      VARCHAR(20) CHECK (meter_type IN ('WATER','GAS','ELECTRICITY')),
+    CONSTRAINT uq_service_charge_key UNIQUE (building_id, subcategory_id),
+    CONSTRAINT chk_service_charge_key_meter CHECK (
+        (allocation_key = 'CONSUMPTION') = (meter_type IS NOT NULL))
+);
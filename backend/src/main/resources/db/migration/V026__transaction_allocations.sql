@@ -0,0 +1,24 @@
+-- ============================================================
+-- V025 — UC014-ext: Grouped-invoice cost allocation
+--
+-- transaction_allocation splits one expense between several housing
+-- units. The lines of a transaction always sum to its amount; method
+-- records how they were obtained:
+--   FIXED         — amounts entered per unit
+--   UNIT_SURFACE  — pro rata of housing_unit.total_surface
+--   ROOM_SURFACE  — pro rata of the units' summed room.approximate_surface
+-- Line 0 carries the transaction in the rollup counts (tx_count), the
+-- other lines only their amount, so per-subcategory counts stay exact.
+-- ============================================================
+
+CREATE TABLE transaction_allocation (
+    id               BIGSERIAL     PRIMARY KEY,
+    transaction_id   BIGINT        NOT NULL REFERENCES financial_transaction (id) ON DELETE CASCADE,
+    housing_unit_id  BIGINT        NOT NULL REFERENCES housing_unit (id) ON DELETE CASCADE,
+    line_no          INT           NOT NULL,
+    amount           NUMERIC(12,2) NOT NULL CHECK (amount >= 0),
+    method           VARCHAR(20)   NOT NULL CHECK (method IN ('FIXED','UNIT_SURFACE','ROOM_SURFACE'))
+);
+
+CREATE INDEX idx_ta_transaction ON transaction_allocation (transaction_id);
+CREATE INDEX idx_ta_unit        ON transaction_allocation (housing_unit_id);
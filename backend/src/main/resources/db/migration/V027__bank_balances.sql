@@ -0,0 +1,49 @@
+-- ============================================================
+-- V026 — UC014-ext: Running bank balances
+--
+-- bank_balance_month holds one checkpoint per bank account and month of
+-- transaction_date: the signed movements of the month (INCOME +,
+-- EXPENSE -, every status) and the running total at month end, computed
+-- with a window function. The balance at any date is the previous
+-- checkpoint plus at most one month of transactions.
+-- Derived data, no foreign keys: refreshed from the first changed month
+-- on every write and rebuilt nightly by BankBalanceService.
+--
+-- bank_statement_balance records closing balances read from statements
+-- (CAMT.053 CLBD, Keytrade PDF "Nouveau solde") or entered by hand. The
+-- earliest one anchors the running total; a change in the difference
+-- between two consecutive statements reveals a gap or a duplicate.
+-- ============================================================
+
+CREATE TABLE bank_balance_month (
+    bank_account_id  BIGINT        NOT NULL,
+    balance_month    DATE          NOT NULL,
+    net_amount       NUMERIC(14,2) NOT NULL,
+    tx_count         BIGINT        NOT NULL,
+    closing_balance  NUMERIC(14,2) NOT NULL,
+    PRIMARY KEY (bank_account_id, balance_month)
+);
+
+CREATE TABLE bank_statement_balance (
+    id               BIGSERIAL     PRIMARY KEY,
+    bank_account_id  BIGINT        NOT NULL REFERENCES bank_account (id) ON DELETE CASCADE,
+    balance_date     DATE          NOT NULL,
+    balance          NUMERIC(14,2) NOT NULL,
+    import_batch_id  BIGINT        REFERENCES import_batch (id) ON DELETE SET NULL,
+    created_at       TIMESTAMP     NOT NULL DEFAULT NOW(),
+    CONSTRAINT uq_bank_statement_balance UNIQUE (bank_account_id, balance_date)
+);
+
+CREATE INDEX idx_ft_bank_date ON financial_transaction (bank_account_id, transaction_date);
+
+INSERT INTO bank_balance_month (bank_account_id, balance_month, net_amount, tx_count, closing_balance)
+SELECT bank_account_id, balance_month, net_amount, tx_count,
+       SUM(net_amount) OVER (PARTITION BY bank_account_id ORDER BY balance_month)
+FROM (
+    SELECT bank_account_id, CAST(date_trunc('month', transaction_date) AS DATE) AS balance_month,
+           SUM(CASE WHEN direction = 'INCOME' THEN amount ELSE -amount END) AS net_amount,
+           COUNT(*) AS tx_count
+    FROM financial_transaction
+    WHERE bank_account_id IS NOT NULL
+    GROUP BY bank_account_id, CAST(date_trunc('month', transaction_date) AS DATE)
+) m;
@@ -0,0 +1,42 @@
+-- ============================================================
+-- V027 — Documents: content-addressed store
+--
+-- stored_file has one row per distinct content, keyed by its SHA-256.
+-- The bytes are on local disk under immocare.documents.root, named after
+-- the hash, so uploading the same file twice stores it once.
+-- ref_count is the number of document rows pointing at the content;
+-- released_at is when it last dropped to zero. DocumentService.cleanOrphans()
+-- deletes files that have been unreferenced for longer than a grace period.
+--
+-- document attaches a stored file to a PEB score, boiler service,
+-- fire extinguisher revision, lease or financial transaction. The owner
+-- is polymorphic (owner_type, owner_id) without a foreign key. Documents
+-- of deleted owners are removed by the same cleaner.
+-- ============================================================
+
+CREATE TABLE stored_file (
+    sha256       VARCHAR(64)  PRIMARY KEY,
+    size_bytes   BIGINT       NOT NULL,
+    ref_count    INTEGER      NOT NULL DEFAULT 0,
+    created_at   TIMESTAMP    NOT NULL DEFAULT NOW(),
+    released_at  TIMESTAMP,
+    CONSTRAINT chk_stored_file_ref_count CHECK (ref_count >= 0)
+);
+
+CREATE INDEX idx_stored_file_released ON stored_file (released_at) WHERE ref_count = 0;
+
+CREATE TABLE document (
+    id            BIGSERIAL     PRIMARY KEY,
+    owner_type    VARCHAR(30)   NOT NULL,
+    owner_id      BIGINT        NOT NULL,
+    sha256        VARCHAR(64)   NOT NULL REFERENCES stored_file (sha256),
+    file_name     VARCHAR(255)  NOT NULL,
+    content_type  VARCHAR(100)  NOT NULL,
+    size_bytes    BIGINT        NOT NULL,
+    uploaded_at   TIMESTAMP     NOT NULL DEFAULT NOW(),
+    CONSTRAINT chk_document_owner_type CHECK (owner_type IN
+        ('PEB_SCORE', 'BOILER_SERVICE', 'FIRE_EXTINGUISHER_REVISION', 'LEASE', 'FINANCIAL_TRANSACTION'))
+);
+
+CREATE INDEX idx_document_owner ON document (owner_type, owner_id);
+CREATE INDEX idx_document_sha256 ON document (sha256);
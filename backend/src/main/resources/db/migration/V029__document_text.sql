@@ -0,0 +1,33 @@
+-- ============================================================
+-- V028 — Full-text index over PDF documents
+--
+-- PDF documents are queued for text extraction on upload (text_status
+-- PENDING). A bounded worker pool extracts them page by page, and each page
+-- is committed on its own, so a long document becomes searchable while it
+-- is still being read. content_tsv uses the 'simple' configuration: texts
+-- mix French, Dutch and English, and serial numbers or EAN codes must
+-- match as written, without stemming.
+--
+-- Building and asset scope are not stored here; they are resolved from the
+-- document's owner at query time.
+-- ============================================================
+
+ALTER TABLE document
+    ADD COLUMN text_status VARCHAR(20),
+    ADD COLUMN page_count  INTEGER,
+    ADD CONSTRAINT chk_document_text_status CHECK (text_status IN ('PENDING', 'INDEXED', 'FAILED'));
+
+CREATE INDEX idx_document_text_pending ON document (id) WHERE text_status = 'PENDING';
+
+CREATE TABLE document_page (
+    document_id  BIGINT   NOT NULL REFERENCES document (id) ON DELETE CASCADE,
+    page_number  INTEGER  NOT NULL,
+    content      TEXT     NOT NULL,
+    content_tsv  TSVECTOR GENERATED ALWAYS AS (to_tsvector('simple', content)) STORED,
+    PRIMARY KEY (document_id, page_number)
+);
+
+CREATE INDEX idx_document_page_tsv ON document_page USING GIN (content_tsv);
+
+-- PDFs uploaded before this migration are picked up by the pending sweep
+UPDATE document SET text_status = 'PENDING' WHERE content_type = 'application/pdf';
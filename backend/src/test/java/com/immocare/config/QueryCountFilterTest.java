@@ -0,0 +1,101 @@
+package com.immocare.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.core.Ordered;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+@DisplayName("QueryCountFilter")
+class QueryCountFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final QueryCountInspector inspector = new QueryCountInspector();
+    private final QueryCountFilter filter = new QueryCountFilter(meterRegistry);
+
+    @AfterEach
+    void tearDown() {
+        QueryCountInspector.clear();
+    }
+
+    /** Runs a request through the filter; the handler prepares {@code statements} SQL statements. */
+    private void perform(String method, String uri, String pattern, int statements) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        MockFilterChain chain = new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) {
+                req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, pattern);
+                for (int i = 0; i < statements; i++) {
+                    inspector.inspect("select 1");
+                }
+            }
+        });
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+    }
+
+    private DistributionSummary summary(String method, String uri) {
+        return meterRegistry.find(QueryCountFilter.METRIC).tag("method", method).tag("uri", uri).summary();
+    }
+
+    @Test
+    @DisplayName("records the statements of each request, reset between requests")
+    void recordsPerRequest() throws Exception {
+        inspector.inspect("select stale"); // left over on the pooled thread, must not be counted
+
+        perform("GET", "/api/v1/buildings/7", "/api/v1/buildings/{id}", 3);
+        perform("GET", "/api/v1/buildings/8", "/api/v1/buildings/{id}", 1);
+
+        DistributionSummary summary = summary("GET", "/api/v1/buildings/{id}");
+        assertThat(summary).isNotNull();
+        assertThat(summary.count()).isEqualTo(2);
+        assertThat(summary.totalAmount()).isEqualTo(4);
+        assertThat(summary.max()).isEqualTo(3);
+        assertThat(QueryCountInspector.current()).isZero();
+    }
+
+    @Test
+    @DisplayName("tags requests without a matched handler as UNKNOWN")
+    void unknownPattern() throws Exception {
+        perform("POST", "/api/v1/nowhere", null, 0);
+
+        assertThat(summary("POST", "UNKNOWN").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("ignores requests outside /api")
+    void ignoresNonApi() throws Exception {
+        perform("GET", "/actuator/health", "/actuator/health", 2);
+
+        assertThat(meterRegistry.find(QueryCountFilter.METRIC).summaries()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("MetricsConfig registers the inspector and maps the filter outermost on /api")
+    void metricsConfigWiring() {
+        MetricsConfig config = new MetricsConfig();
+        Map<String, Object> properties = new HashMap<>();
+        config.queryCountInspectorCustomizer().customize(properties);
+
+        FilterRegistrationBean<QueryCountFilter> registration = config.queryCountFilter(meterRegistry);
+
+        assertThat(properties.get("hibernate.session_factory.statement_inspector"))
+                .isInstanceOf(QueryCountInspector.class);
+        assertThat(registration.getUrlPatterns()).containsExactly("/api/*");
+        assertThat(registration.getOrder()).isEqualTo(Ordered.HIGHEST_PRECEDENCE);
+    }
+}
@@ -0,0 +1,250 @@
+package com.immocare.model.entity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.immocare.exception.ParseException;
+
+@DisplayName("Camt053XmlParser")
+class Camt053XmlParserTest {
+
+    private final Camt053XmlParser parser = new Camt053XmlParser();
+
+    private static final String STATEMENTS = """
+            <?xml version="1.0" encoding="UTF-8"?>
+            <Document xmlns="urn:iso:std:iso:20022:tech:xsd:camt.053.001.02">
+              <BkToCstmrStmt>
+                <Stmt>
+                  <Acct><Id><IBAN>BE68539007547034</IBAN></Id></Acct>
+                  <Bal><Tp><CdOrPrtry><Cd>CLBD</Cd></CdOrPrtry></Tp><Amt Ccy="EUR">1500.00</Amt></Bal>
+                  <Ntry>
+                    <Amt Ccy="EUR">850.00</Amt>
+                    <CdtDbtInd>CRDT</CdtDbtInd>
+                    <Sts>BOOK</Sts>
+                    <BookgDt><Dt>2026-03-02</Dt></BookgDt>
+                    <ValDt><Dt>2026-03-03</Dt></ValDt>
+                    <AcctSvcrRef>REF-001</AcctSvcrRef>
+                    <BkTxCd><Domn><Cd>PMNT</Cd></Domn></BkTxCd>
+                    <NtryDtls><TxDtls>
+                      <RltdPties>
+                        <Dbtr><Nm>Jean Dupont</Nm></Dbtr>
+                        <DbtrAcct><Id><IBAN>BE71096123456769</IBAN></Id></DbtrAcct>
+                        <Cdtr><Nm>Immo SRL</Nm></Cdtr>
+                      </RltdPties>
+                      <RmtInf><Ustrd>Loyer mars</Ustrd><Ustrd>appartement 2B</Ustrd></RmtInf>
+                    </TxDtls></NtryDtls>
+                  </Ntry>
+                  <Ntry>
+                    <Amt Ccy="EUR">120.50</Amt>
+                    <CdtDbtInd>DBIT</CdtDbtInd>
+                    <Sts>PDNG</Sts>
+                    <BookgDt><Dt>2026-03-04</Dt></BookgDt>
+                  </Ntry>
+                </Stmt>
+                <Stmt>
+                  <Acct><Id><IBAN>BE43068999999501</IBAN></Id></Acct>
+                  <Ntry>
+                    <Amt Ccy="EUR">99.99</Amt>
+                    <CdtDbtInd>DBIT</CdtDbtInd>
+                    <Sts><Cd>BOOK</Cd></Sts>
+                    <BookgDt><DtTm>2026-03-05T10:15:00</DtTm></BookgDt>
+                    <NtryDtls><TxDtls>
+                      <Refs><EndToEndId>E2E-42</EndToEndId></Refs>
+                      <RltdPties>
+                        <Cdtr><Pty><Nm>Vivaqua</Nm></Pty></Cdtr>
+                        <CdtrAcct><Id><IBAN>BE10000000000404</IBAN></Id></CdtrAcct>
+                      </RltdPties>
+                      <RmtInf><Strd><CdtrRefInf><Ref>090933755493</Ref></CdtrRefInf></Strd></RmtInf>
+                    </TxDtls></NtryDtls>
+                  </Ntry>
+                  <Ntry>
+                    <Amt Ccy="EUR">300.00</Amt>
+                    <CdtDbtInd>CRDT</CdtDbtInd>
+                    <Sts>BOOK</Sts>
+                    <BookgDt><Dt>2026-03-06</Dt></BookgDt>
+                    <NtryDtls>
+                      <TxDtls>
+                        <AmtDtls><TxAmt><Amt Ccy="EUR">100.00</Amt></TxAmt></AmtDtls>
+                        <RltdPties><Dbtr><Nm>Tenant A</Nm></Dbtr></RltdPties>
+                      </TxDtls>
+                      <TxDtls>
+                        <AmtDtls><TxAmt><Amt Ccy="EUR">200.00</Amt></TxAmt></AmtDtls>
+                        <RltdPties><Dbtr><Nm>Tenant B</Nm></Dbtr></RltdPties>
+                      </TxDtls>
+                    </NtryDtls>
+                  </Ntry>
+                </Stmt>
+              </BkToCstmrStmt>
+            </Document>
+            """;
+
+    private List<ParsedTransaction> parse(String xml) throws ParseException {
+        return parser.parse(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    @DisplayName("credit entry → INCOME from the debtor, with own account and bank reference")
+    void creditEntry() throws ParseException {
+        ParsedTransaction p = parse(STATEMENTS).get(0);
+
+        assertThat(p.getTransactionDate()).isEqualTo(LocalDate.of(2026, 3, 2));
+        assertThat(p.getValueDate()).isEqualTo(LocalDate.of(2026, 3, 3));
+        assertThat(p.getAmount()).isEqualByComparingTo("850.00");
+        assertThat(p.getDirection()).isEqualTo(ParsedTransaction.Direction.INCOME);
+        assertThat(p.getCounterpartyName()).isEqualTo("Jean Dupont");
+        assertThat(p.getCounterpartyAccount()).isEqualTo("BE71096123456769");
+        assertThat(p.getDescription()).isEqualTo("Loyer mars appartement 2B");
+        assertThat(p.getAccountIban()).isEqualTo("BE68539007547034");
+        assertThat(p.getExternalReference()).isEqualTo("REF-001");
+        assertThat(p.getFingerprint()).isEqualTo(FingerprintUtil.compute(p.getTransactionDate(),
+                new BigDecimal("850.00"), "BE71096123456769", "Jean Dupont", "Loyer mars appartement 2B"));
+    }
+
+    @Test
+    @DisplayName("debit entry (v8 status and party) → EXPENSE to the creditor, structured reference")
+    void debitEntry_structuredReference() throws ParseException {
+        ParsedTransaction p = parse(STATEMENTS).get(1);
+
+        assertThat(p.getDirection()).isEqualTo(ParsedTransaction.Direction.EXPENSE);
+        assertThat(p.getTransactionDate()).isEqualTo(LocalDate.of(2026, 3, 5));
+        assertThat(p.getCounterpartyName()).isEqualTo("Vivaqua");
+        assertThat(p.getCounterpartyAccount()).isEqualTo("BE10000000000404");
+        assertThat(p.getDescription()).isEqualTo("+++090/9337/55493+++");
+        assertThat(p.getAccountIban()).isEqualTo("BE43068999999501");
+        assertThat(p.getExternalReference()).isEqualTo("E2E-42");
+    }
+
+    @Test
+    @DisplayName("pending entries are skipped and batches split per transaction detail")
+    void pendingSkipped_batchSplit() throws ParseException {
+        List<ParsedTransaction> rows = parse(STATEMENTS);
+
+        assertThat(rows).hasSize(4);
+        assertThat(rows.subList(2, 4)).extracting(ParsedTransaction::getCounterpartyName)
+                .containsExactly("Tenant A", "Tenant B");
+        assertThat(rows.subList(2, 4)).extracting(ParsedTransaction::getAmount)
+                .usingElementComparator(BigDecimal::compareTo)
+                .containsExactly(new BigDecimal("100.00"), new BigDecimal("200.00"));
+    }
+
+    @Test
+    @DisplayName("rows reach the sink in file order")
+    void streamsToSink() throws ParseException {
+        List<String> names = new ArrayList<>();
+        parser.parse(new ByteArrayInputStream(STATEMENTS.getBytes(StandardCharsets.UTF_8)),
+                p -> names.add(p.getCounterpartyName()));
+
+        assertThat(names).containsExactly("Jean Dupont", "Vivaqua", "Tenant A", "Tenant B");
+    }
+
+    @Test
+    @DisplayName("closing booked balances reach the balance sink, signed; other balance types are ignored")
+    void closingBalances() throws ParseException {
+        String xml = """
+                <?xml version="1.0" encoding="UTF-8"?>
+                <Document><BkToCstmrStmt>
+                  <Stmt>
+                    <Acct><Id><IBAN>BE68539007547034</IBAN></Id></Acct>
+                    <Bal><Tp><CdOrPrtry><Cd>OPBD</Cd></CdOrPrtry></Tp><Amt Ccy="EUR">100.00</Amt>
+                      <CdtDbtInd>CRDT</CdtDbtInd><Dt><Dt>2026-02-28</Dt></Dt></Bal>
+                    <Bal><Tp><CdOrPrtry><Cd>CLBD</Cd></CdOrPrtry></Tp><Amt Ccy="EUR">950.00</Amt>
+                      <CdtDbtInd>CRDT</CdtDbtInd><Dt><Dt>2026-03-31</Dt></Dt></Bal>
+                  </Stmt>
+                  <Stmt>
+                    <Acct><Id><IBAN>BE43068999999501</IBAN></Id></Acct>
+                    <Bal><Tp><CdOrPrtry><Cd>CLBD</Cd></CdOrPrtry></Tp><Amt Ccy="EUR">42.10</Amt>
+                      <CdtDbtInd>DBIT</CdtDbtInd><Dt><DtTm>2026-03-31T23:59:59</DtTm></Dt></Bal>
+                  </Stmt>
+                </BkToCstmrStmt></Document>
+                """;
+        List<ParsedBalance> balances = new ArrayList<>();
+        parser.parse(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)), p -> { }, balances::add);
+
+        assertThat(balances).containsExactly(
+                new ParsedBalance("BE68539007547034", LocalDate.of(2026, 3, 31), new BigDecimal("950.00")),
+                new ParsedBalance("BE43068999999501", LocalDate.of(2026, 3, 31), new BigDecimal("-42.10")));
+    }
+
+    @Test
+    @DisplayName("reversed debit (CRDT with RvslInd) → INCOME from the original creditor")
+    void reversalKeepsIndicatorDirection() throws ParseException {
+        String xml = """
+                <?xml version="1.0" encoding="UTF-8"?>
+                <Document><BkToCstmrStmt><Stmt>
+                  <Acct><Id><IBAN>BE43068999999501</IBAN></Id></Acct>
+                  <Ntry>
+                    <Amt Ccy="EUR">99.99</Amt>
+                    <CdtDbtInd>CRDT</CdtDbtInd>
+                    <RvslInd>true</RvslInd>
+                    <Sts>BOOK</Sts>
+                    <BookgDt><Dt>2026-03-09</Dt></BookgDt>
+                    <NtryDtls><TxDtls>
+                      <RltdPties>
+                        <Dbtr><Nm>Immo SRL</Nm></Dbtr>
+                        <Cdtr><Nm>Vivaqua</Nm></Cdtr>
+                        <CdtrAcct><Id><IBAN>BE10000000000404</IBAN></Id></CdtrAcct>
+                      </RltdPties>
+                    </TxDtls></NtryDtls>
+                  </Ntry>
+                </Stmt></BkToCstmrStmt></Document>
+                """;
+
+        ParsedTransaction p = parse(xml).get(0);
+
+        assertThat(p.getDirection()).isEqualTo(ParsedTransaction.Direction.INCOME);
+        assertThat(p.getCounterpartyName()).isEqualTo("Vivaqua");
+        assertThat(p.getCounterpartyAccount()).isEqualTo("BE10000000000404");
+        assertThat(p.getRawLine()).contains("CRDT RVSL");
+    }
+
+    @Test
+    @DisplayName("malformed booking date fails that entry only")
+    void malformedDateFailsEntryOnly() throws ParseException {
+        String xml = """
+                <?xml version="1.0" encoding="UTF-8"?>
+                <Document><BkToCstmrStmt><Stmt>
+                  <Ntry><Amt>10.00</Amt><CdtDbtInd>DBIT</CdtDbtInd><Sts>BOOK</Sts>
+                    <BookgDt><Dt>2026-3</Dt></BookgDt></Ntry>
+                  <Ntry><Amt>20.00</Amt><CdtDbtInd>DBIT</CdtDbtInd><Sts>BOOK</Sts>
+                    <BookgDt><Dt>2026-03-10</Dt></BookgDt><ValDt><DtTm>2026-03-11T08:00:00</DtTm></ValDt></Ntry>
+                </Stmt></BkToCstmrStmt></Document>
+                """;
+
+        List<ParsedTransaction> rows = parse(xml);
+
+        assertThat(rows).singleElement().satisfies(p -> {
+            assertThat(p.getAmount()).isEqualByComparingTo("20.00");
+            assertThat(p.getValueDate()).isEqualTo(LocalDate.of(2026, 3, 11));
+        });
+    }
+
+    @Test
+    @DisplayName("external entities are not resolved")
+    void rejectsDoctype() {
+        String xxe = """
+                <?xml version="1.0"?>
+                <!DOCTYPE Document [<!ENTITY xxe SYSTEM "file:///etc/passwd">]>
+                <Document><BkToCstmrStmt><Stmt><Ntry><Amt>1</Amt><CdtDbtInd>CRDT</CdtDbtInd>
+                <BookgDt><Dt>2026-01-01</Dt></BookgDt><AddtlNtryInf>&xxe;</AddtlNtryInf></Ntry></Stmt>
+                </BkToCstmrStmt></Document>
+                """;
+
+        assertThatThrownBy(() -> parse(xxe)).isInstanceOf(ParseException.class);
+    }
+
+    @Test
+    @DisplayName("malformed XML → ParseException")
+    void malformed() {
+        assertThatThrownBy(() -> parse("<Document><BkToCstmrStmt>")).isInstanceOf(ParseException.class);
+    }
+}
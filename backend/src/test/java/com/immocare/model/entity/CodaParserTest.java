@@ -0,0 +1,171 @@
+package com.immocare.model.entity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.immocare.exception.ParseException;
+
+@DisplayName("CodaParser")
+class CodaParserTest {
+
+    private final CodaParser parser = new CodaParser();
+
+    private static final String HEADER = rec(1, "0", 6, "020326", 128, "2");
+    private static final String OLD_BALANCE = rec(1, "12", 6, "BE68539007547034 EUR", 43, "0",
+            44, "000000001500000", 59, "010326");
+    private static final String NEW_BALANCE = rec(1, "8", 42, "0", 43, "000000002229500", 58, "020326");
+    private static final String TRAILER = rec(1, "9");
+
+    @Test
+    @DisplayName("credit with structured communication and counterparty from record 2.3")
+    void parse_structuredCredit() throws ParseException {
+        List<ParsedTransaction> rows = parse(
+                HEADER, OLD_BALANCE,
+                rec(1, "21", 3, "0001", 7, "0000", 11, "BNK0001", 32, "0", 33, "000000000850000",
+                        48, "030326", 54, "00150000", 62, "1", 63, "101", 66, "090933755493",
+                        116, "020326", 126, "1"),
+                rec(1, "23", 3, "0001", 7, "0000", 11, "BE71096123456769 EUR", 48, "Jean Dupont"),
+                NEW_BALANCE, TRAILER);
+
+        assertThat(rows).hasSize(1);
+        ParsedTransaction tx = rows.get(0);
+        assertThat(tx.getTransactionDate()).isEqualTo(LocalDate.of(2026, 3, 2));
+        assertThat(tx.getValueDate()).isEqualTo(LocalDate.of(2026, 3, 3));
+        assertThat(tx.getAmount()).isEqualByComparingTo("850.00");
+        assertThat(tx.getDirection()).isEqualTo(ParsedTransaction.Direction.INCOME);
+        assertThat(tx.getDescription()).isEqualTo("+++090/9337/55493+++");
+        assertThat(tx.getCounterpartyName()).isEqualTo("Jean Dupont");
+        assertThat(tx.getCounterpartyAccount()).isEqualTo("BE71096123456769");
+        assertThat(tx.getAccountIban()).isEqualTo("BE68539007547034");
+        assertThat(tx.getExternalReference()).isEqualTo("BNK0001");
+        assertThat(tx.getFingerprint()).hasSize(64);
+    }
+
+    @Test
+    @DisplayName("debit free communication spans 2.1/2.2; information record 3.1 supplies the name")
+    void parse_freeCommunicationAndInformation() throws ParseException {
+        List<ParsedTransaction> rows = parse(
+                HEADER, OLD_BALANCE,
+                rec(1, "21", 3, "0002", 7, "0000", 11, "BNK0002", 32, "1", 33, "000000000120500",
+                        48, "020326", 62, "0", 63, "Facture eau periode", 116, "020326", 126, "1", 128, "1"),
+                rec(1, "22", 3, "0002", 7, "0000", 11, "janvier"),
+                rec(1, "23", 3, "0002", 7, "0000", 11, "BE10000000000404 EUR"),
+                rec(1, "31", 3, "0002", 7, "0000", 11, "BNK0002", 32, "00150000", 40, "1",
+                        41, "001", 44, "VIVAQUA SCRL"),
+                rec(1, "32", 3, "0002", 7, "0000", 11, "Boulevard de l'Impératrice 17"),
+                NEW_BALANCE, TRAILER);
+
+        assertThat(rows).hasSize(1);
+        ParsedTransaction tx = rows.get(0);
+        assertThat(tx.getDirection()).isEqualTo(ParsedTransaction.Direction.EXPENSE);
+        assertThat(tx.getAmount()).isEqualByComparingTo("120.50");
+        assertThat(tx.getDescription()).isEqualTo("Facture eau periode janvier");
+        assertThat(tx.getCounterpartyName()).isEqualTo("VIVAQUA SCRL");
+        assertThat(tx.getCounterpartyAccount()).isEqualTo("BE10000000000404");
+    }
+
+    @Test
+    @DisplayName("globalised movement followed by its details → one row per detail")
+    void parse_globalisationReplacedByDetails() throws ParseException {
+        List<ParsedTransaction> rows = parse(
+                HEADER, OLD_BALANCE,
+                rec(1, "21", 3, "0003", 7, "0000", 11, "BNK0003", 32, "0", 33, "000000000300000",
+                        48, "020326", 62, "0", 63, "Virements groupes", 116, "020326", 125, "1"),
+                rec(1, "21", 3, "0003", 7, "0001", 11, "BNK0003", 32, "0", 33, "000000000100000",
+                        48, "020326", 62, "0", 63, "Loyer A", 116, "020326"),
+                rec(1, "21", 3, "0003", 7, "0002", 11, "BNK0003", 32, "0", 33, "000000000200000",
+                        48, "020326", 62, "0", 63, "Loyer B", 116, "020326"),
+                rec(1, "21", 3, "0004", 7, "0000", 11, "BNK0004", 32, "0", 33, "000000000050000",
+                        48, "020326", 62, "0", 63, "Globalise sans detail", 116, "020326", 125, "1"),
+                NEW_BALANCE, TRAILER);
+
+        assertThat(rows).extracting(ParsedTransaction::getDescription)
+                .containsExactly("Loyer A", "Loyer B", "Globalise sans detail");
+        assertThat(rows).extracting(ParsedTransaction::getAmount)
+                .usingElementComparator(BigDecimal::compareTo)
+                .containsExactly(new BigDecimal("100.00"), new BigDecimal("200.00"), new BigDecimal("50.00"));
+    }
+
+    @Test
+    @DisplayName("multi-day archive across buffer refills, with CRLF or without line breaks")
+    void parse_largeArchive() throws ParseException {
+        int days = 40, perDay = 100;
+        List<String> records = new ArrayList<>();
+        for (int d = 0; d < days; d++) {
+            String date = String.format("%02d03%02d", 1 + d % 28, 26);
+            records.add(HEADER);
+            records.add(rec(1, "12", 6, (d % 2 == 0 ? "BE68539007547034" : "BE43068999999501") + " EUR"));
+            for (int i = 1; i <= perDay; i++) {
+                String seq = String.format("%04d", i);
+                records.add(rec(1, "21", 3, seq, 7, "0000", 11, "B" + d + "-" + i, 32, "1",
+                        33, String.format("%015d", i * 1000L), 48, date, 62, "0", 63, "Paiement " + i,
+                        116, date, 126, "1"));
+                records.add(rec(1, "23", 3, seq, 7, "0000", 11, "BE10000000000404 EUR", 48, "Fournisseur " + i));
+            }
+            records.add(NEW_BALANCE);
+            records.add(TRAILER);
+        }
+
+        for (String separator : List.of("\r\n", "")) {
+            List<ParsedTransaction> rows = new ArrayList<>();
+            parser.parse(new ByteArrayInputStream(
+                    String.join(separator, records).getBytes(StandardCharsets.ISO_8859_1)), rows::add);
+
+            assertThat(rows).hasSize(days * perDay);
+            assertThat(rows.stream().map(ParsedTransaction::getAmount).reduce(BigDecimal.ZERO, BigDecimal::add))
+                    .isEqualByComparingTo(BigDecimal.valueOf(days * perDay * (perDay + 1) / 2));
+            assertThat(rows.get(perDay).getAccountIban()).isEqualTo("BE43068999999501");
+            assertThat(rows.get(rows.size() - 1).getCounterpartyName()).isEqualTo("Fournisseur " + perDay);
+        }
+    }
+
+    @Test
+    @DisplayName("malformed movement skipped when others parse")
+    void parse_skipsMalformedMovement() throws ParseException {
+        List<ParsedTransaction> rows = parse(
+                HEADER, OLD_BALANCE,
+                rec(1, "21", 3, "0001", 7, "0000", 32, "0", 33, "00000000085X000", 116, "020326"),
+                rec(1, "21", 3, "0002", 7, "0000", 32, "0", 33, "000000000010000", 116, "020326"),
+                TRAILER);
+
+        assertThat(rows).extracting(ParsedTransaction::getAmount)
+                .usingElementComparator(BigDecimal::compareTo)
+                .containsExactly(new BigDecimal("10.00"));
+    }
+
+    @Test
+    @DisplayName("file not starting with a header record → ParseException")
+    void parse_notCoda() {
+        assertThatThrownBy(() -> parse("Date;Description;Montant", "01/03/2026;Loyer;850,00"))
+                .isInstanceOf(ParseException.class)
+                .hasMessageContaining("Not a CODA file");
+    }
+
+    private List<ParsedTransaction> parse(String... records) throws ParseException {
+        return parser.parse(new ByteArrayInputStream(
+                String.join("\n", records).getBytes(StandardCharsets.ISO_8859_1)));
+    }
+
+    /** 128-character record with values at 1-based positions. */
+    private static String rec(Object... positionsAndValues) {
+        char[] record = new char[128];
+        Arrays.fill(record, ' ');
+        for (int i = 0; i < positionsAndValues.length; i += 2) {
+            int pos = (Integer) positionsAndValues[i];
+            String value = (String) positionsAndValues[i + 1];
+            value.getChars(0, value.length(), record, pos - 1);
+        }
+        return new String(record);
+    }
+}
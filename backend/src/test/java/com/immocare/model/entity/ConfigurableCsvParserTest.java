@@ -0,0 +1,146 @@
+package com.immocare.model.entity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import com.immocare.exception.ParseException;
+import com.immocare.model.dto.CsvMappingConfig;
+import com.immocare.service.PlatformConfigService;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("ConfigurableCsvParser")
+class ConfigurableCsvParserTest {
+
+    @Mock
+    PlatformConfigService platformConfigService;
+
+    private ConfigurableCsvParser parser;
+
+    @BeforeEach
+    void setUp() {
+        // Defaults: ";" / dd/MM/yyyy / 1 header row / columns 0..6, no value date
+        when(platformConfigService.getString(anyString(), anyString()))
+                .thenAnswer(inv -> inv.getArgument(1));
+        when(platformConfigService.getInt(anyString(), anyInt()))
+                .thenAnswer(inv -> inv.getArgument(1));
+        parser = new ConfigurableCsvParser(platformConfigService);
+    }
+
+    @Test
+    @DisplayName("maps configured columns; sign gives the direction")
+    void parse_mapsColumns() throws ParseException {
+        List<ParsedTransaction> rows = parse("""
+                \uFEFFDate;Montant;Description;Nom;IBAN;Ref;Compte
+                02/03/2026;-1.234,56 EUR;"Facture; eau \"\"mars\"\"";Vivaqua;BE10000000000404;R-1;BE68539007547034
+                03/03/2026;+850,00;Loyer;Dupont;-;;
+                """);
+
+        assertThat(rows).hasSize(2);
+        ParsedTransaction expense = rows.get(0);
+        assertThat(expense.getTransactionDate()).isEqualTo(LocalDate.of(2026, 3, 2));
+        assertThat(expense.getAmount()).isEqualByComparingTo("1234.56");
+        assertThat(expense.getDirection()).isEqualTo(ParsedTransaction.Direction.EXPENSE);
+        assertThat(expense.getDescription()).isEqualTo("Facture; eau \"mars\"");
+        assertThat(expense.getCounterpartyName()).isEqualTo("Vivaqua");
+        assertThat(expense.getCounterpartyAccount()).isEqualTo("BE10000000000404");
+        assertThat(expense.getExternalReference()).isEqualTo("R-1");
+        assertThat(expense.getAccountIban()).isEqualTo("BE68539007547034");
+        assertThat(expense.getRowNumber()).isEqualTo(2);
+
+        ParsedTransaction income = rows.get(1);
+        assertThat(income.getDirection()).isEqualTo(ParsedTransaction.Direction.INCOME);
+        assertThat(income.getAmount()).isEqualByComparingTo("850");
+        assertThat(income.getCounterpartyAccount()).isNull();
+        assertThat(income.getExternalReference()).isNull();
+        assertThat(income.getAccountIban()).isNull();
+    }
+
+    @Test
+    @DisplayName("tab and multi-character delimiters, remapped columns and value date")
+    void parse_otherDelimiters() throws ParseException {
+        CsvParsePlan tab = CsvParsePlan.compile(new CsvMappingConfig("\\t", "yyyy-MM-dd", 0,
+                2, 0, 1, -1, -1, -1, -1, 3, 3));
+        CsvParsePlan pipes = CsvParsePlan.compile(new CsvMappingConfig("||", "yyyy-MM-dd", 0,
+                2, 0, 1, -1, -1, -1, -1, 3, 3));
+
+        ParsedTransaction a = tab.parse("-12.5\tCafé\t2026-03-02\t2026-03-04", 1, tab.cursor());
+        ParsedTransaction b = pipes.parse("12.5||Café||2026-03-02||2026-03-04", 1, pipes.cursor());
+
+        for (ParsedTransaction tx : List.of(a, b)) {
+            assertThat(tx.getDescription()).isEqualTo("Café");
+            assertThat(tx.getTransactionDate()).isEqualTo(LocalDate.of(2026, 3, 2));
+            assertThat(tx.getValueDate()).isEqualTo(LocalDate.of(2026, 3, 4));
+            assertThat(tx.getAmount()).isEqualByComparingTo("12.5");
+            assertThat(tx.getCounterpartyName()).isNull();
+        }
+        assertThat(a.getDirection()).isEqualTo(ParsedTransaction.Direction.EXPENSE);
+    }
+
+    @Test
+    @DisplayName("amount formats")
+    void parseAmount_formats() throws ParseException {
+        assertThat(CsvParsePlan.parseAmount("1 234,56")).isEqualByComparingTo("1234.56");
+        assertThat(CsvParsePlan.parseAmount("1,234.56")).isEqualByComparingTo("1234.56");
+        assertThat(CsvParsePlan.parseAmount("123,45-")).isEqualByComparingTo("-123.45");
+        assertThat(CsvParsePlan.parseAmount("EUR 99")).isEqualByComparingTo("99");
+        assertThatThrownBy(() -> CsvParsePlan.parseAmount("n/a")).isInstanceOf(ParseException.class);
+    }
+
+    @Test
+    @DisplayName("malformed rows skipped; all malformed → ParseException")
+    void parse_errors() throws ParseException {
+        List<ParsedTransaction> rows = parse("""
+                Date;Montant
+                32/03/2026;10
+                01/03/2026;abc
+                01/03/2026;10
+                """);
+        assertThat(rows).extracting(ParsedTransaction::getAmount)
+                .usingElementComparator(BigDecimal::compareTo)
+                .containsExactly(BigDecimal.TEN);
+
+        assertThatThrownBy(() -> parse("Date;Montant\nnot-a-date;10\n"))
+                .isInstanceOf(ParseException.class)
+                .hasMessageContaining("Invalid date");
+    }
+
+    @Test
+    @DisplayName("plan compiled once, again only after a config update")
+    void plan_cachedUntilConfigChanges() throws ParseException {
+        parse("Date;Montant\n01/03/2026;10\n");
+        parse("Date;Montant\n01/03/2026;10\n");
+        verify(platformConfigService, times(1)).getString("csv.import.delimiter", ";");
+
+        when(platformConfigService.version()).thenReturn(1L);
+        when(platformConfigService.getString("csv.import.delimiter", ";")).thenReturn(",");
+        List<ParsedTransaction> rows = parse("Date,Montant\n01/03/2026,10\n");
+
+        assertThat(rows).hasSize(1);
+        verify(platformConfigService, times(2)).getString("csv.import.delimiter", ";");
+    }
+
+    private List<ParsedTransaction> parse(String csv) throws ParseException {
+        return parser.parse(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+    }
+}
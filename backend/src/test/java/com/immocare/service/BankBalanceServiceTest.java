@@ -0,0 +1,200 @@
+package com.immocare.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import com.immocare.exception.BankAccountNotFoundException;
+import com.immocare.model.dto.BankBalanceDTOs.BankBalanceDTO;
+import com.immocare.model.dto.BankBalanceDTOs.StatementCheckDTO;
+import com.immocare.model.entity.BankAccount;
+import com.immocare.model.entity.BankBalanceMonth;
+import com.immocare.model.entity.BankStatementBalance;
+import com.immocare.model.entity.FinancialTransaction;
+import com.immocare.model.enums.TransactionDirection;
+import com.immocare.repository.BankAccountRepository;
+import com.immocare.repository.BankBalanceMonthRepository;
+import com.immocare.repository.BankStatementBalanceRepository;
+import com.immocare.repository.FinancialTransactionRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("BankBalanceService")
+class BankBalanceServiceTest {
+
+    @Mock
+    BankBalanceMonthRepository checkpointRepository;
+    @Mock
+    BankStatementBalanceRepository statementRepository;
+    @Mock
+    FinancialTransactionRepository transactionRepository;
+    @Mock
+    BankAccountRepository bankAccountRepository;
+
+    BankBalanceService service;
+
+    static final Long ACCOUNT = 7L;
+
+    @BeforeEach
+    void setUp() {
+        service = new BankBalanceService(checkpointRepository, statementRepository, transactionRepository,
+                bankAccountRepository, new SimpleMeterRegistry());
+        when(bankAccountRepository.existsById(ACCOUNT)).thenReturn(true);
+        when(transactionRepository.sumSignedAmount(anyLong(), any(), any())).thenReturn(BigDecimal.ZERO);
+        when(checkpointRepository.findFirstByBankAccountIdAndMonthLessThanOrderByMonthDesc(anyLong(), any()))
+                .thenReturn(Optional.empty());
+    }
+
+    private void checkpoint(LocalDate before, String closing) {
+        when(checkpointRepository.findFirstByBankAccountIdAndMonthLessThanOrderByMonthDesc(ACCOUNT, before))
+                .thenReturn(Optional.of(new BankBalanceMonth(ACCOUNT, before.minusMonths(1),
+                        BigDecimal.ZERO, 1, new BigDecimal(closing))));
+    }
+
+    private static BankStatementBalance statement(LocalDate date, String balance) {
+        BankStatementBalance s = new BankStatementBalance();
+        s.setBalanceDate(date);
+        s.setBalance(new BigDecimal(balance));
+        return s;
+    }
+
+    private static FinancialTransaction tx(LocalDate date, String amount) {
+        BankAccount account = new BankAccount();
+        account.setId(ACCOUNT);
+        FinancialTransaction tx = new FinancialTransaction();
+        tx.setBankAccount(account);
+        tx.setTransactionDate(date);
+        tx.setAmount(new BigDecimal(amount));
+        tx.setDirection(TransactionDirection.EXPENSE);
+        return tx;
+    }
+
+    @Test
+    @DisplayName("balance at a date = previous month's checkpoint + that month's movements up to the date")
+    void balanceAt_checkpointPlusMonth() {
+        LocalDate april = LocalDate.of(2026, 4, 1);
+        checkpoint(april, "1200.00");
+        when(transactionRepository.sumSignedAmount(ACCOUNT, april, LocalDate.of(2026, 4, 15)))
+                .thenReturn(new BigDecimal("-200.00"));
+
+        BankBalanceDTO balance = service.balanceAt(ACCOUNT, LocalDate.of(2026, 4, 15));
+
+        assertThat(balance.balance()).isEqualByComparingTo("1000.00");
+        assertThat(balance.anchored()).isFalse();
+    }
+
+    @Test
+    @DisplayName("the earliest statement balance anchors the opening balance")
+    void balanceAt_anchoredByStatement() {
+        LocalDate march = LocalDate.of(2026, 3, 1);
+        LocalDate april = LocalDate.of(2026, 4, 1);
+        when(transactionRepository.sumSignedAmount(ACCOUNT, march, LocalDate.of(2026, 3, 10)))
+                .thenReturn(new BigDecimal("300.00"));
+        checkpoint(april, "500.00");
+        when(statementRepository.findFirstByBankAccountIdOrderByBalanceDate(ACCOUNT))
+                .thenReturn(Optional.of(statement(LocalDate.of(2026, 3, 10), "5300.00")));
+
+        BankBalanceDTO balance = service.balanceAt(ACCOUNT, LocalDate.of(2026, 4, 1));
+
+        assertThat(balance.balance()).isEqualByComparingTo("5500.00");
+        assertThat(balance.anchored()).isTrue();
+    }
+
+    @Test
+    @DisplayName("statement checks → drift only on the statement after a gap or duplicate")
+    void checkStatements_flagsDrift() {
+        LocalDate jan = LocalDate.of(2026, 1, 1);
+        LocalDate feb = LocalDate.of(2026, 2, 1);
+        LocalDate mar = LocalDate.of(2026, 3, 1);
+        checkpoint(feb, "100.00");
+        checkpoint(mar, "250.00");
+        when(transactionRepository.sumSignedAmount(ACCOUNT, jan, LocalDate.of(2026, 1, 31)))
+                .thenReturn(new BigDecimal("100.00"));
+        when(transactionRepository.sumSignedAmount(ACCOUNT, feb, LocalDate.of(2026, 2, 28)))
+                .thenReturn(new BigDecimal("150.00"));
+        when(transactionRepository.sumSignedAmount(ACCOUNT, mar, LocalDate.of(2026, 3, 31)))
+                .thenReturn(new BigDecimal("50.00"));
+        when(statementRepository.findByBankAccountIdOrderByBalanceDate(ACCOUNT)).thenReturn(List.of(
+                statement(LocalDate.of(2026, 1, 31), "1100.00"),
+                statement(LocalDate.of(2026, 2, 28), "1200.00"),   // 50.00 short: a movement booked twice
+                statement(LocalDate.of(2026, 3, 31), "1250.00")));
+
+        List<StatementCheckDTO> checks = service.checkStatements(ACCOUNT);
+
+        assertThat(checks).extracting(StatementCheckDTO::consistent).containsExactly(true, false, true);
+        assertThat(checks.get(1).computedBalance()).isEqualByComparingTo("1250.00");
+        assertThat(checks.get(1).drift()).isEqualByComparingTo("-50.00");
+        assertThat(checks.get(2).difference()).isEqualByComparingTo("-50.00");
+        assertThat(checks.get(2).drift()).isEqualByComparingTo("0");
+    }
+
+    @Test
+    @DisplayName("refresh → account locked, from the earliest month touched, on top of the previous checkpoint")
+    void refresh_fromEarliestMonth() {
+        LocalDate feb = LocalDate.of(2026, 2, 1);
+        checkpoint(feb, "800.00");
+        FinancialTransaction moved = tx(LocalDate.of(2026, 5, 3), "40.00");
+        BankBalanceService.Movement before = BankBalanceService.Movement.of(moved);
+        moved.setTransactionDate(LocalDate.of(2026, 2, 20));
+
+        service.changed(before, moved);
+
+        InOrder order = inOrder(bankAccountRepository, checkpointRepository);
+        order.verify(bankAccountRepository).lockById(ACCOUNT);
+        order.verify(checkpointRepository).deleteFrom(ACCOUNT, feb);
+        order.verify(checkpointRepository).insertFrom(eq(ACCOUNT), eq(feb), eq(new BigDecimal("800.00")));
+    }
+
+    @Test
+    @DisplayName("rebuild → every account locked before the checkpoints are replaced")
+    void rebuild_locksAccounts() {
+        service.rebuild();
+
+        InOrder order = inOrder(bankAccountRepository, checkpointRepository);
+        order.verify(bankAccountRepository).lockAll();
+        order.verify(checkpointRepository).deleteAllRows();
+        order.verify(checkpointRepository).insertFromTransactions();
+    }
+
+    @Test
+    @DisplayName("edit that leaves account, date and amount unchanged → no refresh")
+    void changed_noBalanceEffect() {
+        FinancialTransaction tx = tx(LocalDate.of(2026, 5, 3), "40.00");
+        BankBalanceService.Movement before = BankBalanceService.Movement.of(tx);
+        tx.setAmount(new BigDecimal("40"));
+
+        service.changed(before, tx);
+
+        verify(checkpointRepository, never()).deleteFrom(any(), any());
+    }
+
+    @Test
+    @DisplayName("unknown account → BankAccountNotFoundException")
+    void unknownAccount() {
+        assertThatThrownBy(() -> service.balanceAt(99L, LocalDate.of(2026, 1, 1)))
+                .isInstanceOf(BankAccountNotFoundException.class);
+    }
+}
@@ -36,6 +36,8 @@ class BuildingServiceTest {
   private PersonRepository personRepository;
   @Mock
   private BuildingMapper buildingMapper;
+  @Mock
+  private PortfolioVersion portfolioVersion;
 
   @InjectMocks
   private BuildingService buildingService;
@@ -119,6 +121,7 @@ class BuildingServiceTest {
 
     assertNotNull(result);
     assertEquals("New Name", result.name());
+    verify(portfolioVersion).bumpAfterCommit();
   }
 
   @Test
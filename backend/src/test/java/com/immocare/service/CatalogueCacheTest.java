@@ -0,0 +1,142 @@
+package com.immocare.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import com.immocare.model.dto.ImportBatchResultDTO;
+import com.immocare.model.dto.ImportRowEnrichmentDTO;
+import com.immocare.model.entity.BankAccount;
+import com.immocare.model.entity.KeytradeCsvParser;
+import com.immocare.model.entity.ParsedTransaction;
+import com.immocare.model.entity.TagCategory;
+import com.immocare.model.entity.TagSubcategory;
+import com.immocare.model.enums.BankAccountType;
+import com.immocare.model.enums.SubcategoryDirection;
+import com.immocare.repository.BankAccountRepository;
+import com.immocare.repository.TagCategoryRepository;
+import com.immocare.repository.TagSubcategoryRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Second-level cache of the reference catalogues: once warm, an enriched
+ * import resolves subcategories, their categories and the bank account
+ * without a single catalogue SELECT.
+ */
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application-test.properties", properties = {
+        // NEXTVAL('financial_transaction_ref_seq') as in PostgreSQL
+        "spring.datasource.url=jdbc:h2:mem:cachetest;MODE=PostgreSQL",
+        "spring.jpa.properties.hibernate.generate_statistics=true" })
+@DisplayName("Catalogue second-level cache")
+class CatalogueCacheTest {
+
+    private static final int ROWS = 1_000;
+
+    @Autowired
+    TransactionImportService importService;
+    @Autowired
+    KeytradeCsvParser parser;
+    @Autowired
+    TagCategoryRepository tagCategoryRepository;
+    @Autowired
+    TagSubcategoryRepository tagSubcategoryRepository;
+    @Autowired
+    BankAccountRepository bankAccountRepository;
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    // Rollup upserts are PostgreSQL-only and not under test here
+    @MockitoBean
+    LedgerRollupService ledgerRollupService;
+
+    private List<Long> subcategoryIds;
+    private Long bankAccountId;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("CREATE SEQUENCE IF NOT EXISTS financial_transaction_ref_seq");
+
+        TagCategory category = new TagCategory();
+        category.setName("Loyers " + System.nanoTime());
+        category = tagCategoryRepository.save(category);
+        TagCategory saved = category;
+        subcategoryIds = IntStream.range(0, 5).mapToObj(i -> {
+            TagSubcategory sub = new TagSubcategory();
+            sub.setCategory(saved);
+            sub.setName("Loyer " + i);
+            sub.setDirection(SubcategoryDirection.INCOME);
+            return tagSubcategoryRepository.save(sub).getId();
+        }).toList();
+
+        BankAccount account = new BankAccount();
+        account.setLabel("Compte " + System.nanoTime());
+        account.setAccountNumber("BE" + System.nanoTime());
+        account.setType(BankAccountType.CURRENT);
+        account.setActive(true);
+        bankAccountId = bankAccountRepository.save(account).getId();
+    }
+
+    @Test
+    @DisplayName("1,000-row enriched import → no catalogue row read from the database")
+    void enrichedImport_servedFromCache() throws Exception {
+        byte[] csv = csv();
+        List<ParsedTransaction> parsed = parser.parse(new ByteArrayInputStream(csv));
+        List<ImportRowEnrichmentDTO> enrichments = IntStream.range(0, parsed.size())
+                .mapToObj(i -> new ImportRowEnrichmentDTO(parsed.get(i).getFingerprint(),
+                        subcategoryIds.get(i % subcategoryIds.size()), null, null, null, "INCOME"))
+                .toList();
+
+        // Warm the regions as the preview and the catalogue screens would
+        tagSubcategoryRepository.findAllById(subcategoryIds);
+        bankAccountRepository.findById(bankAccountId);
+        Statistics stats = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        stats.clear();
+
+        ImportBatchResultDTO result = importService.importFile(
+                new MockMultipartFile("file", "keytrade.csv", "text/csv", csv),
+                KeytradeCsvParser.CODE, bankAccountId, enrichments, null, null);
+
+        assertThat(result.getImportedCount()).isEqualTo(ROWS);
+        for (Class<?> type : List.of(TagSubcategory.class, TagCategory.class, BankAccount.class)) {
+            var entity = stats.getEntityStatistics(type.getName());
+            assertThat(entity.getLoadCount()).as("%s loaded from the database", type.getSimpleName()).isZero();
+            assertThat(entity.getCacheMissCount()).as("%s cache misses", type.getSimpleName()).isZero();
+        }
+        // The persistence context is cleared after each import chunk: one hit per subcategory and chunk
+        int chunks = (ROWS + TransactionImportService.IMPORT_CHUNK_SIZE - 1) / TransactionImportService.IMPORT_CHUNK_SIZE;
+        assertThat(stats.getEntityStatistics(TagSubcategory.class.getName()).getCacheHitCount())
+                .isEqualTo((long) subcategoryIds.size() * chunks);
+        assertThat(stats.getEntityStatistics(BankAccount.class.getName()).getCacheHitCount()).isEqualTo(1);
+    }
+
+    private static byte[] csv() {
+        StringBuilder sb = new StringBuilder("Date;Description;De;IBAN;Montant\n");
+        LocalDate day = LocalDate.of(2025, 1, 1);
+        for (int i = 0; i < ROWS; i++) {
+            sb.append(String.format("%02d/%02d/%d;Loyer %d;Tenant %d;BE%014d;%d.00 EUR%n",
+                    day.plusDays(i % 365).getDayOfMonth(), day.plusDays(i % 365).getMonthValue(),
+                    day.getYear(), i, i % 50, i, 500 + i));
+        }
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
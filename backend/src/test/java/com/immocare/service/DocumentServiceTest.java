@@ -0,0 +1,263 @@
+package com.immocare.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.immocare.exception.DocumentNotFoundException;
+import com.immocare.model.dto.DocumentDTOs.DocumentCleanupDTO;
+import com.immocare.model.dto.DocumentDTOs.DocumentDTO;
+import com.immocare.model.dto.DocumentDTOs.DocumentSearchHitDTO;
+import com.immocare.model.entity.Document;
+import com.immocare.model.enums.AssetType;
+import com.immocare.model.enums.DocumentOwnerType;
+import com.immocare.model.enums.DocumentTextStatus;
+import com.immocare.repository.BoilerServiceRecordRepository;
+import com.immocare.repository.DocumentRepository;
+import com.immocare.repository.FinancialTransactionRepository;
+import com.immocare.repository.FireExtinguisherRevisionRepository;
+import com.immocare.repository.LeaseRepository;
+import com.immocare.repository.PebScoreRepository;
+import com.immocare.repository.StoredFileRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("DocumentService")
+class DocumentServiceTest {
+
+    record Hit(Long documentId, String ownerType, Long ownerId) implements DocumentRepository.SearchHit {
+        public Long getDocumentId() { return documentId; }
+        public String getOwnerType() { return ownerType; }
+        public Long getOwnerId() { return ownerId; }
+        public Long getBuildingId() { return 3L; }
+        public String getFileName() { return "entretien-2025.pdf"; }
+        public Integer getPageNumber() { return 2; }
+        public Double getRank() { return 0.6; }
+        public String getSnippet() { return "N° de série <b>21184500200123456789</b>"; }
+    }
+
+    /** SHA-256 of "hello". */
+    private static final String HELLO = "2cf24dba5fb0a30e26e83b2ac5b9e29e1b161e5c1fa7425e73043362938b9824";
+
+    @Mock DocumentRepository documentRepository;
+    @Mock StoredFileRepository storedFileRepository;
+    @Mock PebScoreRepository pebScoreRepository;
+    @Mock BoilerServiceRecordRepository boilerServiceRecordRepository;
+    @Mock FireExtinguisherRevisionRepository fireExtinguisherRevisionRepository;
+    @Mock LeaseRepository leaseRepository;
+    @Mock FinancialTransactionRepository transactionRepository;
+    @Mock DocumentTextIndexer textIndexer;
+
+    @TempDir
+    Path root;
+
+    DocumentStore store;
+    DocumentService service;
+
+    @BeforeEach
+    void setUp() {
+        store = new DocumentStore(root);
+        service = new DocumentService(documentRepository, storedFileRepository, pebScoreRepository,
+                boilerServiceRecordRepository, fireExtinguisherRevisionRepository, leaseRepository,
+                transactionRepository, store, textIndexer, new SimpleMeterRegistry(), Duration.ofDays(1));
+        when(leaseRepository.existsById(1L)).thenReturn(true);
+        when(documentRepository.save(any(Document.class))).thenAnswer(inv -> inv.getArgument(0));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("same content uploaded twice → one file, two references")
+    void deduplicates() throws Exception {
+        DocumentDTO first = upload("bail.pdf");
+        DocumentDTO second = upload("C:\\scans\\bail-copie.pdf");
+
+        assertThat(first.sha256()).isEqualTo(HELLO).isEqualTo(second.sha256());
+        assertThat(second.fileName()).isEqualTo("bail-copie.pdf");
+        assertThat(store.path(HELLO)).hasContent("hello");
+        assertThat(Files.list(root.resolve("tmp"))).isEmpty();
+        verify(storedFileRepository, times(2)).acquire(HELLO, 5);
+    }
+
+    @Test
+    @DisplayName("PDF upload → PENDING and queued for text extraction, other files are not")
+    void pdfQueuedForExtraction() throws Exception {
+        DocumentDTO pdf = upload("bail.pdf");
+        DocumentDTO photo = service.upload(DocumentOwnerType.LEASE, 1L, "etat-des-lieux.jpg", "image/jpeg",
+                new ByteArrayInputStream(new byte[] { 1, 2, 3 }));
+
+        assertThat(pdf.textStatus()).isEqualTo(DocumentTextStatus.PENDING);
+        assertThat(photo.textStatus()).isNull();
+        verify(textIndexer, times(1)).submitAfterCommit(any());
+    }
+
+    @Test
+    @DisplayName("search → asset filter only with an id, limit capped, blank text searches nothing")
+    void search() {
+        when(documentRepository.search(any(), any(), any(), any(), any(Integer.class)))
+                .thenReturn(List.of(new Hit(9L, "BOILER_SERVICE", 4L)));
+
+        List<DocumentSearchHitDTO> hits = service.search(" 21184500200123456789 ", 3L, AssetType.BOILER, null, 500);
+
+        assertThat(hits).singleElement().satisfies(h -> {
+            assertThat(h.ownerType()).isEqualTo(DocumentOwnerType.BOILER_SERVICE);
+            assertThat(h.pageNumber()).isEqualTo(2);
+        });
+        verify(documentRepository).search(eq("21184500200123456789"), eq(3L), isNull(), isNull(), eq(100));
+        assertThat(service.search("  ", null, null, null, null)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("unknown owner → DocumentNotFoundException, nothing stored")
+    void unknownOwner() {
+        assertThatThrownBy(() -> service.upload(DocumentOwnerType.LEASE, 2L, "bail.pdf", "application/pdf",
+                new ByteArrayInputStream(new byte[] { 1 })))
+                .isInstanceOf(DocumentNotFoundException.class);
+        verify(storedFileRepository, times(0)).acquire(any(), any(Long.class));
+    }
+
+    @Test
+    @DisplayName("rolled back upload → the file it placed is removed")
+    void rollbackRemovesPlacedFile() throws Exception {
+        TransactionSynchronizationManager.initSynchronization();
+        upload("bail.pdf");
+        List<TransactionSynchronization> syncs = TransactionSynchronizationManager.getSynchronizations();
+
+        syncs.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        assertThat(store.path(HELLO)).doesNotExist();
+        assertThat(store.lock(HELLO).tryLock()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Range: bytes=1-3 → 206 with Content-Range")
+    void partialContent() throws Exception {
+        stubDocument();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        service.download(7L, "bytes=1-3", null, response);
+
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getHeader("Content-Range")).isEqualTo("bytes 1-3/5");
+        assertThat(response.getContentAsString()).isEqualTo("ell");
+        assertThat(response.getHeader("Accept-Ranges")).isEqualTo("bytes");
+        assertThat(response.getContentType()).isEqualTo("application/pdf");
+        assertThat(response.getHeader("Content-Disposition")).startsWith("inline");
+        assertThat(response.getHeader("X-Content-Type-Options")).isEqualTo("nosniff");
+    }
+
+    @Test
+    @DisplayName("HTML upload → downloaded as an octet-stream attachment, never rendered")
+    void activeContentIsAttachment() throws Exception {
+        stubDocument().setContentType("text/html; charset=utf-8");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        service.download(7L, null, null, response);
+
+        assertThat(response.getContentType()).isEqualTo("application/octet-stream");
+        assertThat(response.getHeader("Content-Disposition")).startsWith("attachment");
+        assertThat(response.getHeader("X-Content-Type-Options")).isEqualTo("nosniff");
+    }
+
+    @Test
+    @DisplayName("range beyond the end → 416, matching ETag → 304")
+    void unsatisfiableAndNotModified() throws Exception {
+        stubDocument();
+        MockHttpServletResponse beyond = new MockHttpServletResponse();
+        MockHttpServletResponse cached = new MockHttpServletResponse();
+
+        service.download(7L, "bytes=5-", null, beyond);
+        service.download(7L, null, "\"" + HELLO + "\"", cached);
+
+        assertThat(beyond.getStatus()).isEqualTo(416);
+        assertThat(beyond.getHeader("Content-Range")).isEqualTo("bytes */5");
+        assertThat(cached.getStatus()).isEqualTo(304);
+        assertThat(cached.getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("range header forms: suffix, open-ended, several ranges, garbage")
+    void rangeParsing() {
+        assertThat(DocumentService.range("bytes=-2", 5)).isEqualTo(new DocumentService.ByteRange(3, 4, true));
+        assertThat(DocumentService.range("bytes=2-", 5)).isEqualTo(new DocumentService.ByteRange(2, 4, true));
+        assertThat(DocumentService.range("bytes=0-99", 5)).isEqualTo(new DocumentService.ByteRange(0, 4, true));
+        assertThat(DocumentService.range("bytes=0-1,3-4", 5)).isEqualTo(new DocumentService.ByteRange(0, 4, false));
+        assertThat(DocumentService.range("bytes=x-y", 5)).isEqualTo(new DocumentService.ByteRange(0, 4, false));
+        assertThat(DocumentService.range("bytes=-0", 5)).isNull();
+    }
+
+    @Test
+    @DisplayName("clean-up deletes released files after commit, unless uploaded again meanwhile")
+    void cleanupAfterCommit() throws Exception {
+        upload("bail.pdf");
+        String other = "a".repeat(64);
+        Files.createDirectories(store.path(other).getParent());
+        Files.writeString(store.path(other), "x");
+        when(documentRepository.deleteOrphans()).thenReturn(1);
+        when(storedFileRepository.findReleasedBefore(any())).thenReturn(List.of(HELLO, other));
+        when(storedFileRepository.deleteIfUnreferenced(any())).thenReturn(1);
+        when(storedFileRepository.existsById(other)).thenReturn(true);
+        TransactionSynchronizationManager.initSynchronization();
+
+        DocumentCleanupDTO result = service.cleanOrphans();
+        assertThat(store.path(HELLO)).exists();
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        assertThat(result).isEqualTo(new DocumentCleanupDTO(1, 2));
+        assertThat(store.path(HELLO)).doesNotExist();
+        assertThat(store.path(other)).exists();
+        verify(storedFileRepository).reconcileRefCounts();
+    }
+
+    private DocumentDTO upload(String fileName) throws Exception {
+        return service.upload(DocumentOwnerType.LEASE, 1L, fileName, "application/pdf",
+                new ByteArrayInputStream("hello".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private Document stubDocument() throws Exception {
+        upload("bail.pdf");
+        Document document = new Document();
+        document.setOwnerType(DocumentOwnerType.LEASE);
+        document.setOwnerId(1L);
+        document.setSha256(HELLO);
+        document.setFileName("bail.pdf");
+        document.setContentType("application/pdf");
+        document.setSizeBytes(5L);
+        when(documentRepository.findById(7L)).thenReturn(Optional.of(document));
+        return document;
+    }
+}
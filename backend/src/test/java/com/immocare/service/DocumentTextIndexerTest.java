@@ -0,0 +1,147 @@
+package com.immocare.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import com.immocare.model.entity.Document;
+import com.immocare.model.enums.DocumentTextStatus;
+import com.immocare.repository.DocumentRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("DocumentTextIndexer")
+class DocumentTextIndexerTest {
+
+    @Mock
+    DocumentRepository documentRepository;
+
+    @TempDir
+    Path root;
+
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    DocumentStore store;
+    DocumentTextIndexer indexer;
+
+    @BeforeEach
+    void setUp() {
+        store = new DocumentStore(root);
+        indexer = new DocumentTextIndexer(documentRepository, store, meterRegistry, 1, 4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        indexer.shutdown();
+    }
+
+    @Test
+    @DisplayName("one index row per page with text, then INDEXED with the page count")
+    void extractsPageByPage() throws Exception {
+        Document document = stored(pdf("Chaudière Vaillant", "", "N° de série 21184500200123456789"));
+
+        indexer.extract(7L);
+
+        verify(documentRepository).upsertPage(7L, 1, "Chaudière Vaillant");
+        verify(documentRepository).upsertPage(7L, 3, "N° de série 21184500200123456789");
+        verify(documentRepository, never()).upsertPage(eq(7L), eq(2), anyString());
+        verify(documentRepository).deletePagesAfter(7L, 3);
+        verify(documentRepository).updateTextStatus(7L, DocumentTextStatus.INDEXED, 3);
+        assertThat(meterRegistry.get("immocare.documents.text.page").timer().count()).isEqualTo(3);
+        assertThat(meterRegistry.get("immocare.documents.text.bytes").counter().count())
+                .isEqualTo(document.getSizeBytes());
+    }
+
+    @Test
+    @DisplayName("unreadable file → FAILED, no pages")
+    void corruptFileFails() throws Exception {
+        stored("not a pdf".getBytes());
+
+        indexer.extract(7L);
+
+        verify(documentRepository).updateTextStatus(7L, DocumentTextStatus.FAILED, null);
+        verify(documentRepository, never()).upsertPage(any(), anyInt(), any());
+        assertThat(meterRegistry.get("immocare.documents.text.extract").tag("outcome", "failed").timer().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("already indexed or deleted → skipped")
+    void skipsWhenNotPending() throws Exception {
+        stored(pdf("Facture")).setTextStatus(DocumentTextStatus.INDEXED);
+        when(documentRepository.findById(8L)).thenReturn(Optional.empty());
+
+        indexer.extract(7L);
+        indexer.extract(8L);
+
+        verify(documentRepository, never()).upsertPage(any(), anyInt(), any());
+        verify(documentRepository, never()).updateTextStatus(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("page text single-spaced, NUL-free and capped")
+    void normalise() {
+        assertThat(DocumentTextIndexer.normalise("  EAN\u0000 5414\n\n4882 \t")).isEqualTo("EAN 5414 4882");
+        assertThat(DocumentTextIndexer.normalise("x".repeat(DocumentTextIndexer.MAX_PAGE_CHARS + 10)))
+                .hasSize(DocumentTextIndexer.MAX_PAGE_CHARS);
+    }
+
+    private Document stored(byte[] content) throws Exception {
+        DocumentStore.Received received = store.receive(new ByteArrayInputStream(content));
+        store.place(received);
+        Document document = new Document();
+        document.setSha256(received.sha256());
+        document.setFileName("certificat.pdf");
+        document.setContentType("application/pdf");
+        document.setSizeBytes(received.size());
+        document.setTextStatus(DocumentTextStatus.PENDING);
+        when(documentRepository.findById(7L)).thenReturn(Optional.of(document));
+        return document;
+    }
+
+    private static byte[] pdf(String... pages) throws Exception {
+        try (PDDocument pdf = new PDDocument(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            PDType1Font font = new PDType1Font(Standard14Fonts.FontName.HELVETICA);
+            for (String text : pages) {
+                PDPage page = new PDPage();
+                pdf.addPage(page);
+                try (PDPageContentStream content = new PDPageContentStream(pdf, page)) {
+                    content.beginText();
+                    content.setFont(font, 12);
+                    content.newLineAtOffset(72, 720);
+                    content.showText(text);
+                    content.endText();
+                }
+            }
+            pdf.save(out);
+            return out.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.immocare.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.groups.Tuple.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.immocare.model.dto.FinancialTransactionDTO;
+import com.immocare.model.dto.PagedTransactionResponse;
+import com.immocare.model.dto.SaveAllocationRequest;
+import com.immocare.model.dto.TransactionAllocationDTO;
+import com.immocare.model.dto.TransactionFilter;
+import com.immocare.model.dto.UpdateTransactionRequest;
+import com.immocare.model.entity.Building;
+import com.immocare.model.entity.FinancialTransaction;
+import com.immocare.model.entity.HousingUnit;
+import com.immocare.model.enums.AllocationMethod;
+import com.immocare.model.enums.TransactionDirection;
+import com.immocare.model.enums.TransactionSource;
+import com.immocare.model.enums.TransactionStatus;
+import com.immocare.repository.BankAccountRepository;
+import com.immocare.repository.BoilerRepository;
+import com.immocare.repository.BuildingRepository;
+import com.immocare.repository.FinancialTransactionRepository;
+import com.immocare.repository.FireExtinguisherRepository;
+import com.immocare.repository.HousingUnitRepository;
+import com.immocare.repository.LeaseRepository;
+import com.immocare.repository.MeterRepository;
+import com.immocare.repository.RoomRepository;
+import com.immocare.repository.TagSubcategoryRepository;
+import com.immocare.repository.TransactionAssetLinkRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("FinancialTransactionService")
+class FinancialTransactionServiceTest {
+
+    @Mock FinancialTransactionRepository transactionRepository;
+    @Mock TagSubcategoryRepository tagSubcategoryRepository;
+    @Mock BankAccountRepository bankAccountRepository;
+    @Mock TransactionAssetLinkRepository assetLinkRepository;
+    @Mock LearningService learningService;
+    @Mock BoilerRepository boilerRepository;
+    @Mock FireExtinguisherRepository fireExtinguisherRepository;
+    @Mock MeterRepository meterRepository;
+    @Mock HousingUnitRepository housingUnitRepository;
+    @Mock BuildingRepository buildingRepository;
+    @Mock LeaseRepository leaseRepository;
+    @Mock LedgerRollupService ledgerRollupService;
+    @Mock BankBalanceService bankBalanceService;
+    @Mock RoomRepository roomRepository;
+
+    FinancialTransactionService service;
+    Building building;
+    FinancialTransaction tx;
+
+    @BeforeEach
+    void setUp() {
+        service = new FinancialTransactionService(transactionRepository, tagSubcategoryRepository,
+                bankAccountRepository, assetLinkRepository, learningService, boilerRepository,
+                fireExtinguisherRepository, meterRepository, housingUnitRepository, buildingRepository,
+                leaseRepository, ledgerRollupService,
+                new TransactionAllocationService(housingUnitRepository, roomRepository),
+                bankBalanceService, new SimpleMeterRegistry());
+
+        building = new Building();
+        building.setId(10L);
+        building.setName("Résidence Les Tilleuls");
+        HousingUnit a = unit(1L, "A", "60");
+        HousingUnit b = unit(2L, "B", "40");
+        when(housingUnitRepository.findAllById(any())).thenReturn(List.of(a, b));
+        when(buildingRepository.getReferenceById(10L)).thenReturn(building);
+
+        tx = new FinancialTransaction();
+        tx.setId(5L);
+        tx.setDirection(TransactionDirection.EXPENSE);
+        tx.setStatus(TransactionStatus.DRAFT);
+        tx.setSource(TransactionSource.MANUAL);
+        tx.setTransactionDate(LocalDate.of(2026, 4, 2));
+        tx.setAccountingMonth(LocalDate.of(2026, 4, 1));
+        tx.setAmount(new BigDecimal("500.00"));
+        new TransactionAllocationService(housingUnitRepository, roomRepository).allocate(tx,
+                new SaveAllocationRequest(AllocationMethod.UNIT_SURFACE, List.of(
+                        new SaveAllocationRequest.Line(1L, null), new SaveAllocationRequest.Line(2L, null))));
+        when(transactionRepository.findById(5L)).thenReturn(Optional.of(tx));
+        when(transactionRepository.save(any(FinancialTransaction.class))).thenAnswer(inv -> inv.getArgument(0));
+    }
+
+    private HousingUnit unit(Long id, String number, String surface) {
+        HousingUnit unit = new HousingUnit();
+        unit.setId(id);
+        unit.setUnitNumber(number);
+        unit.setBuilding(building);
+        unit.setTotalSurface(new BigDecimal(surface));
+        return unit;
+    }
+
+    /** What the transaction form sends: no allocation field. */
+    private static UpdateTransactionRequest edit(String amount, String description, boolean removeAllocation) {
+        return new UpdateTransactionRequest(TransactionDirection.EXPENSE, LocalDate.of(2026, 4, 2), null,
+                LocalDate.of(2026, 4, 1), new BigDecimal(amount), description, "Toitures SRL", null,
+                null, null, null, null, 10L, List.of(), null, removeAllocation);
+    }
+
+    @Test
+    @DisplayName("update without an allocation keeps the split, re-computed on the new amount")
+    void update_withoutAllocation_keepsSplit() {
+        FinancialTransactionDTO dto = service.update(5L, edit("600.00", "Réparation toiture", false));
+
+        assertThat(dto.description()).isEqualTo("Réparation toiture");
+        assertThat(dto.allocations()).extracting(TransactionAllocationDTO::housingUnitId,
+                TransactionAllocationDTO::amount)
+                .containsExactly(
+                        tuple(1L, new BigDecimal("360.00")),
+                        tuple(2L, new BigDecimal("240.00")));
+    }
+
+    @Test
+    @DisplayName("removeAllocation drops the split")
+    void update_removeAllocation_clears() {
+        FinancialTransactionDTO dto = service.update(5L, edit("500.00", "Réparation toiture", true));
+
+        assertThat(dto.allocations()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("list totals outside the rollup count only the filtered unit's share of a split")
+    @SuppressWarnings("unchecked")
+    void getAll_unitFilter_countsShare() {
+        when(transactionRepository.findAll(any(Specification.class), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(tx)));
+        when(transactionRepository.findAll(any(Specification.class)))
+                .thenReturn(List.of()).thenReturn(List.of(tx)); // income, then expenses
+        TransactionFilter filter = new TransactionFilter(null, null, null, null, null, null, null, null,
+                null, 2L, null, "toiture", null, null, null);
+
+        PagedTransactionResponse response = service.getAll(filter, PageRequest.of(0, 20));
+
+        assertThat(response.content()).hasSize(1);
+        assertThat(response.totalExpenses()).isEqualByComparingTo("200.00");
+    }
+}
@@ -54,6 +54,8 @@ class HousingUnitServiceTest {
   private RentHistoryRepository rentHistoryRepository;
   @Mock
   private PebScoreRepository pebScoreRepository;
+  @Mock
+  private PortfolioVersion portfolioVersion;
 
   @InjectMocks
   private HousingUnitService service;
@@ -223,6 +225,7 @@ class HousingUnitServiceTest {
     HousingUnitDTO result = service.updateUnit(10L, request);
 
     assertThat(result).isNotNull();
+    verify(portfolioVersion).bumpAfterCommit();
   }
 
   @Test
@@ -0,0 +1,215 @@
+package com.immocare.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.immocare.exception.IndexationException;
+import com.immocare.model.dto.IndexationDTOs.IndexationLineDTO;
+import com.immocare.model.dto.IndexationDTOs.IndexationLineStatus;
+import com.immocare.model.dto.IndexationDTOs.IndexationRunDTO;
+import com.immocare.model.entity.Building;
+import com.immocare.model.entity.HealthIndex;
+import com.immocare.model.entity.HousingUnit;
+import com.immocare.model.entity.Lease;
+import com.immocare.model.entity.LeaseIndexationHistory;
+import com.immocare.model.entity.LeaseRentAdjustment;
+import com.immocare.model.enums.LeaseStatus;
+import com.immocare.repository.HealthIndexRepository;
+import com.immocare.repository.LeaseIndexationHistoryRepository;
+import com.immocare.repository.LeaseIndexationHistoryRepository.AppliedIndexation;
+import com.immocare.repository.LeaseRentAdjustmentRepository;
+import com.immocare.repository.LeaseRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("IndexationService")
+class IndexationServiceTest {
+
+    private static final LocalDate FROM = LocalDate.of(2026, 3, 1);
+    private static final LocalDate TO = LocalDate.of(2026, 3, 31);
+
+    @Mock
+    LeaseRepository leaseRepository;
+    @Mock
+    LeaseRentAdjustmentRepository adjustmentRepository;
+    @Mock
+    LeaseIndexationHistoryRepository historyRepository;
+    @Mock
+    HealthIndexRepository healthIndexRepository;
+    @Mock
+    RentLedgerService rentLedgerService;
+
+    PortfolioVersion portfolioVersion = new PortfolioVersion();
+    IndexationService service;
+
+    /** Signed 2024-02-20, started 2024-03-15, indexed once (800 → 830). */
+    Lease indexedBefore;
+    /** Started 2025-03-10 with an explicit base index. */
+    Lease explicitBase;
+    /** Anniversary in June — outside the window. */
+    Lease june;
+
+    @BeforeEach
+    void setUp() {
+        service = new IndexationService(leaseRepository, adjustmentRepository, historyRepository,
+                healthIndexRepository, rentLedgerService, portfolioVersion, new SimpleMeterRegistry());
+
+        indexedBefore = lease(1L, LocalDate.of(2024, 2, 20), LocalDate.of(2024, 3, 15), "830.00");
+        explicitBase = lease(2L, LocalDate.of(2025, 2, 1), LocalDate.of(2025, 3, 10), "1000.00");
+        explicitBase.setBaseIndexValue(new BigDecimal("125.0000"));
+        explicitBase.setBaseIndexMonth(LocalDate.of(2025, 1, 1));
+        june = lease(3L, LocalDate.of(2024, 5, 1), LocalDate.of(2024, 6, 1), "700.00");
+        when(leaseRepository.findAllActiveWithUnit()).thenReturn(List.of(indexedBefore, explicitBase, june));
+
+        LeaseRentAdjustment first = new LeaseRentAdjustment();
+        first.setLease(indexedBefore);
+        first.setField("RENT");
+        first.setOldValue(new BigDecimal("800.00"));
+        first.setNewValue(new BigDecimal("830.00"));
+        first.setEffectiveDate(LocalDate.of(2025, 3, 15));
+        when(adjustmentRepository.findRentAdjustmentsByLeaseIdIn(anyCollection())).thenReturn(List.of(first));
+
+        when(healthIndexRepository.findAll()).thenReturn(List.of(
+                new HealthIndex(LocalDate.of(2024, 1, 1), new BigDecimal("120.0000")),
+                new HealthIndex(LocalDate.of(2026, 2, 1), new BigDecimal("129.0000"))));
+        when(historyRepository.findAppliedBetween(any(), any())).thenReturn(List.of());
+    }
+
+    @Test
+    @DisplayName("dry run: base rent × new index / base index, leases outside the window ignored")
+    void preview_computesNewRents() {
+        IndexationRunDTO run = service.preview(FROM, TO, null);
+
+        assertThat(run.dryRun()).isTrue();
+        assertThat(run.lines()).extracting(IndexationLineDTO::leaseId).containsExactly(2L, 1L);
+
+        IndexationLineDTO line = run.lines().get(1);
+        assertThat(line.anniversary()).isEqualTo(LocalDate.of(2026, 3, 15));
+        assertThat(line.baseRent()).isEqualByComparingTo("800.00");
+        assertThat(line.baseIndexMonth()).isEqualTo(LocalDate.of(2024, 1, 1));
+        assertThat(line.newIndexMonth()).isEqualTo(LocalDate.of(2026, 2, 1));
+        // 800 × 129 / 120
+        assertThat(line.newRent()).isEqualByComparingTo("860.00");
+        assertThat(line.status()).isEqualTo(IndexationLineStatus.READY);
+
+        // Explicit base index, rent at signature = current rent: 1000 × 129 / 125
+        assertThat(run.lines().get(0).newRent()).isEqualByComparingTo("1032.00");
+        verify(adjustmentRepository, never()).saveAll(any());
+        verify(historyRepository, never()).saveAll(any());
+        assertThat(portfolioVersion.current()).isZero();
+    }
+
+    @Test
+    @DisplayName("apply writes adjustment and history in bulk, updates rent, schedule and portfolio version")
+    @SuppressWarnings("unchecked")
+    void apply_writesAdjustmentsAndHistory() {
+        long version = portfolioVersion.current();
+
+        IndexationRunDTO run = service.apply(FROM, TO, List.of(1L));
+
+        assertThat(run.dryRun()).isFalse();
+        assertThat(run.indexedCount()).isEqualTo(1);
+        assertThat(run.lines().get(0).status()).isEqualTo(IndexationLineStatus.APPLIED);
+        assertThat(indexedBefore.getMonthlyRent()).isEqualByComparingTo("860.00");
+        assertThat(explicitBase.getMonthlyRent()).isEqualByComparingTo("1000.00");
+
+        ArgumentCaptor<List<LeaseRentAdjustment>> adjustments = ArgumentCaptor.forClass(List.class);
+        verify(adjustmentRepository).saveAll(adjustments.capture());
+        LeaseRentAdjustment adjustment = adjustments.getValue().get(0);
+        assertThat(adjustment.getOldValue()).isEqualByComparingTo("830.00");
+        assertThat(adjustment.getNewValue()).isEqualByComparingTo("860.00");
+        assertThat(adjustment.getEffectiveDate()).isEqualTo(LocalDate.of(2026, 3, 15));
+
+        ArgumentCaptor<List<LeaseIndexationHistory>> history = ArgumentCaptor.forClass(List.class);
+        verify(historyRepository).saveAll(history.capture());
+        assertThat(history.getValue()).singleElement().satisfies(h -> {
+            assertThat(h.getAppliedRent()).isEqualByComparingTo("860.00");
+            assertThat(h.getNewIndexValue()).isEqualByComparingTo("129.0000");
+        });
+        verify(rentLedgerService).refreshSchedule(indexedBefore);
+        assertThat(portfolioVersion.current()).isGreaterThan(version);
+    }
+
+    @Test
+    @DisplayName("missing index or anniversary already indexed → skipped")
+    void preview_skips() {
+        when(healthIndexRepository.findAll()).thenReturn(List.of(
+                new HealthIndex(LocalDate.of(2026, 2, 1), new BigDecimal("129.0000"))));
+        AppliedIndexation applied = new AppliedIndexation() {
+            public Long getLeaseId() { return 2L; }
+            public LocalDate getApplicationDate() { return LocalDate.of(2026, 3, 10); }
+        };
+        when(historyRepository.findAppliedBetween(any(), any())).thenReturn(List.of(applied));
+
+        IndexationRunDTO run = service.preview(FROM, TO, null);
+
+        assertThat(run.indexedCount()).isZero();
+        assertThat(run.lines()).extracting(IndexationLineDTO::message).containsExactly(
+                "Already indexed for this anniversary", "No health index for base month 2024-01-01");
+    }
+
+    @Test
+    @DisplayName("anniversaries: not in the first year, not after the end, 29 February")
+    void anniversaryIn_rules() {
+        Lease leap = lease(4L, LocalDate.of(2024, 1, 10), LocalDate.of(2024, 2, 29), "500.00");
+
+        assertThat(IndexationService.anniversaryIn(leap, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31)))
+                .isNull();
+        assertThat(IndexationService.anniversaryIn(leap, LocalDate.of(2026, 2, 1), LocalDate.of(2026, 2, 28)))
+                .isEqualTo(LocalDate.of(2026, 2, 28));
+        leap.setEndDate(LocalDate.of(2026, 1, 31));
+        assertThat(IndexationService.anniversaryIn(leap, LocalDate.of(2026, 2, 1), LocalDate.of(2026, 2, 28)))
+                .isNull();
+    }
+
+    @Test
+    @DisplayName("window of a year or more → IndexationException")
+    void run_rejectsLongWindow() {
+        assertThatThrownBy(() -> service.preview(FROM, FROM.plusYears(1), null))
+                .isInstanceOf(IndexationException.class);
+        assertThatThrownBy(() -> service.preview(TO, FROM, null))
+                .isInstanceOf(IndexationException.class);
+    }
+
+    private static Lease lease(Long id, LocalDate signed, LocalDate start, String rent) {
+        Building building = new Building();
+        building.setId(10L);
+        building.setName("Résidence Europa");
+        HousingUnit unit = new HousingUnit();
+        unit.setId(100L + id);
+        unit.setUnitNumber("A" + id);
+        unit.setBuilding(building);
+
+        Lease lease = new Lease();
+        ReflectionTestUtils.setField(lease, "id", id);
+        lease.setHousingUnit(unit);
+        lease.setStatus(LeaseStatus.ACTIVE);
+        lease.setSignatureDate(signed);
+        lease.setStartDate(start);
+        lease.setEndDate(start.plusYears(9).minusDays(1));
+        lease.setMonthlyRent(new BigDecimal(rent));
+        return lease;
+    }
+}
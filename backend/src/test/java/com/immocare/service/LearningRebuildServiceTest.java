@@ -0,0 +1,82 @@
+package com.immocare.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.time.Period;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import com.immocare.repository.AccountingMonthRuleRepository;
+import com.immocare.repository.TagLearningRuleRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("LearningRebuildService")
+class LearningRebuildServiceTest {
+
+    @Mock
+    TagLearningRuleRepository learningRuleRepository;
+    @Mock
+    AccountingMonthRuleRepository accountingMonthRuleRepository;
+
+    @BeforeEach
+    void setUp() {
+        when(learningRuleRepository.insertFromTransactions()).thenReturn(40);
+        when(accountingMonthRuleRepository.insertFromTransactions()).thenReturn(25);
+        when(learningRuleRepository.deleteMatchedBefore(any())).thenReturn(4);
+        when(accountingMonthRuleRepository.deleteMatchedBefore(any())).thenReturn(1);
+        when(learningRuleRepository.halveConfidenceMatchedBefore(any())).thenReturn(6);
+        when(accountingMonthRuleRepository.halveConfidenceMatchedBefore(any())).thenReturn(3);
+    }
+
+    private LearningRebuildService service(boolean decay) {
+        return new LearningRebuildService(learningRuleRepository, accountingMonthRuleRepository,
+                new SimpleMeterRegistry(), decay, Period.ofYears(1), Period.ofYears(3));
+    }
+
+    @Test
+    @DisplayName("both rule tables are emptied, then refilled from transactions")
+    void rebuild_swapsBothTables() {
+        LearningRebuildService.Result result = service(false).rebuild();
+
+        InOrder order = inOrder(learningRuleRepository, accountingMonthRuleRepository);
+        order.verify(learningRuleRepository).deleteAllRows();
+        order.verify(accountingMonthRuleRepository).deleteAllRows();
+        order.verify(learningRuleRepository).insertFromTransactions();
+        order.verify(accountingMonthRuleRepository).insertFromTransactions();
+        verify(learningRuleRepository, never()).deleteMatchedBefore(any());
+        verify(learningRuleRepository, never()).halveConfidenceMatchedBefore(any());
+        assertThat(result).isEqualTo(new LearningRebuildService.Result(40, 25, 0, 0));
+    }
+
+    @Test
+    @DisplayName("decay prunes idle rules, then halves the older ones")
+    void rebuild_withDecay_prunesAndHalves() {
+        LearningRebuildService.Result result = service(true).rebuild();
+
+        ArgumentCaptor<LocalDateTime> prune = ArgumentCaptor.forClass(LocalDateTime.class);
+        ArgumentCaptor<LocalDateTime> halve = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(accountingMonthRuleRepository).deleteMatchedBefore(prune.capture());
+        verify(accountingMonthRuleRepository).halveConfidenceMatchedBefore(halve.capture());
+        assertThat(prune.getValue()).isBefore(LocalDateTime.now().minusYears(3).plusMinutes(1));
+        assertThat(halve.getValue()).isAfter(LocalDateTime.now().minusYears(1).minusMinutes(1));
+        assertThat(result).isEqualTo(new LearningRebuildService.Result(36, 24, 9, 5));
+    }
+}
@@ -0,0 +1,180 @@
+package com.immocare.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.immocare.model.entity.Building;
+import com.immocare.model.entity.HousingUnit;
+import com.immocare.model.entity.Lease;
+import com.immocare.model.entity.LeaseTenant;
+import com.immocare.model.entity.ParsedTransaction;
+import com.immocare.model.entity.Person;
+import com.immocare.model.enums.TenantRole;
+import com.immocare.repository.LeaseRentMonthRepository;
+import com.immocare.repository.LeaseRentMonthRepository.ExpectedRent;
+import com.immocare.repository.LeaseRepository;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("LeaseAmountMatcher")
+class LeaseAmountMatcherTest {
+
+    private static final LocalDate MARCH = LocalDate.of(2026, 3, 1);
+    private static final LocalDate APRIL = LocalDate.of(2026, 4, 1);
+
+    record Month(Long leaseId, LocalDate month, BigDecimal expectedAmount, BigDecimal paidAmount)
+            implements ExpectedRent {
+        public Long getLeaseId() { return leaseId; }
+        public LocalDate getMonth() { return month; }
+        public BigDecimal getExpectedAmount() { return expectedAmount; }
+        public BigDecimal getPaidAmount() { return paidAmount; }
+    }
+
+    @Mock
+    LeaseRentMonthRepository monthRepository;
+    @Mock
+    LeaseRepository leaseRepository;
+
+    LeaseAmountMatcher matcher;
+
+    private final List<Lease> leases = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        matcher = new LeaseAmountMatcher(monthRepository, leaseRepository, 10, 20);
+        when(leaseRepository.findAllWithUnitAndTenantsByIdIn(anyCollection())).thenAnswer(inv -> {
+            Collection<?> ids = inv.getArgument(0);
+            return leases.stream().filter(l -> ids.contains(l.getId())).toList();
+        });
+        leases.add(lease(1L, "Dupont", "Jean"));
+        leases.add(lease(2L, "Leroy", "Marie"));
+        leases.add(lease(3L, "Peeters", "Anna"));
+    }
+
+    @Test
+    @DisplayName("single lease expecting the amount in the payment window → suggested")
+    void match_singleCandidate() {
+        months(new Month(1L, MARCH, new BigDecimal("850.00"), BigDecimal.ZERO),
+                new Month(2L, MARCH, new BigDecimal("900.00"), BigDecimal.ZERO));
+
+        // Paid by the social welfare office: no tenant name, unknown IBAN
+        ParsedTransaction early = row(LocalDate.of(2026, 2, 25), "850", "CPAS DE BRUXELLES");
+        ParsedTransaction late = row(LocalDate.of(2026, 3, 18), "850.00", null);
+        ParsedTransaction outside = row(LocalDate.of(2026, 3, 25), "850.00", null);
+        Map<ParsedTransaction, LeaseAmountMatcher.Match> matches = matcher.match(List.of(early, late, outside));
+
+        assertThat(matches.get(early).lease().getId()).isEqualTo(1L);
+        assertThat(matches.get(late).lease().getId()).isEqualTo(1L);
+        assertThat(matches).doesNotContainKey(outside);
+    }
+
+    @Test
+    @DisplayName("same expected amount: tenant name decides, else no suggestion")
+    void match_rankedByTenantName() {
+        months(new Month(1L, MARCH, new BigDecimal("850.00"), BigDecimal.ZERO),
+                new Month(2L, MARCH, new BigDecimal("850.00"), BigDecimal.ZERO),
+                new Month(3L, MARCH, new BigDecimal("850.00"), new BigDecimal("850.00")));
+
+        ParsedTransaction named = row(LocalDate.of(2026, 3, 2), "850.00", "LEROY M.");
+        ParsedTransaction anonymous = row(LocalDate.of(2026, 3, 2), "850.00", "Card payment 4711");
+        Map<ParsedTransaction, LeaseAmountMatcher.Match> matches = matcher.match(List.of(named, anonymous));
+
+        assertThat(matches.get(named).lease().getId()).isEqualTo(2L);
+        assertThat(matches.get(named).tenant().getLastName()).isEqualTo("Leroy");
+        assertThat(matches).doesNotContainKey(anonymous);
+    }
+
+    @Test
+    @DisplayName("amount after an adjustment matches only the months it applies to")
+    void match_monthSpecificAmount() {
+        months(new Month(1L, MARCH, new BigDecimal("850.00"), BigDecimal.ZERO),
+                new Month(1L, APRIL, new BigDecimal("871.25"), BigDecimal.ZERO));
+
+        ParsedTransaction march = row(LocalDate.of(2026, 3, 3), "871.25", "Jean Dupont");
+        ParsedTransaction april = row(LocalDate.of(2026, 4, 3), "871.25", "Jean Dupont");
+        Map<ParsedTransaction, LeaseAmountMatcher.Match> matches = matcher.match(List.of(march, april));
+
+        assertThat(matches).doesNotContainKey(march);
+        assertThat(matches.get(april).lease().getId()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("no expected amount in the window → no lease query")
+    void match_noCandidate() {
+        months(new Month(1L, MARCH, new BigDecimal("850.00"), BigDecimal.ZERO));
+
+        assertThat(matcher.match(List.of(row(LocalDate.of(2026, 3, 2), "12.34", "x")))).isEmpty();
+        verify(leaseRepository, never()).findAllWithUnitAndTenantsByIdIn(any());
+    }
+
+    @Test
+    @DisplayName("index lookup over many lease months")
+    void index_lookup() {
+        List<ExpectedRent> months = new ArrayList<>();
+        for (long lease = 1; lease <= 1000; lease++) {
+            for (int m = 0; m < 12; m++) {
+                months.add(new Month(lease, MARCH.plusMonths(m), BigDecimal.valueOf(500 + lease % 100), BigDecimal.ZERO));
+            }
+        }
+        LeaseAmountMatcher.ExpectedRentIndex index = LeaseAmountMatcher.ExpectedRentIndex.of(months);
+        List<Long> found = new ArrayList<>();
+        index.forEach(new BigDecimal("542.00"), APRIL, (leaseId, unpaid) -> found.add(leaseId));
+
+        assertThat(index.size()).isEqualTo(12_000);
+        assertThat(found).hasSize(10).allMatch(id -> id % 100 == 42);
+    }
+
+    private void months(Month... months) {
+        when(monthRepository.findExpectedBetween(any(), any())).thenReturn(List.of(months));
+    }
+
+    private static ParsedTransaction row(LocalDate date, String amount, String name) {
+        return ParsedTransaction.builder()
+                .transactionDate(date)
+                .amount(new BigDecimal(amount))
+                .direction(ParsedTransaction.Direction.INCOME)
+                .counterpartyName(name)
+                .build();
+    }
+
+    private static Lease lease(Long id, String lastName, String firstName) {
+        Building building = new Building();
+        building.setId(10L);
+        building.setName("Résidence Europa");
+        HousingUnit unit = new HousingUnit();
+        unit.setId(100L + id);
+        unit.setUnitNumber("A" + id);
+        unit.setBuilding(building);
+        Person person = new Person();
+        person.setId(1000L + id);
+        person.setLastName(lastName);
+        person.setFirstName(firstName);
+
+        Lease lease = new Lease();
+        ReflectionTestUtils.setField(lease, "id", id);
+        lease.setHousingUnit(unit);
+        lease.getTenants().add(new LeaseTenant(lease, person, TenantRole.PRIMARY));
+        return lease;
+    }
+}
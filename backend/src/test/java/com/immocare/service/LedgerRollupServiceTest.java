@@ -0,0 +1,310 @@
+package com.immocare.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.immocare.model.dto.StatisticsFilter;
+import com.immocare.model.dto.TransactionFilter;
+import com.immocare.model.entity.Building;
+import com.immocare.model.entity.FinancialTransaction;
+import com.immocare.model.entity.HousingUnit;
+import com.immocare.model.entity.Lease;
+import com.immocare.model.entity.LeaseRentMonthId;
+import com.immocare.model.entity.TagCategory;
+import com.immocare.model.entity.TagSubcategory;
+import com.immocare.model.entity.TransactionAllocation;
+import com.immocare.model.enums.AllocationMethod;
+import com.immocare.model.enums.SubcategoryDirection;
+import com.immocare.model.enums.TransactionDirection;
+import com.immocare.model.enums.TransactionStatus;
+import com.immocare.repository.BankAccountRepository;
+import com.immocare.repository.BuildingRepository;
+import com.immocare.repository.HousingUnitRepository;
+import com.immocare.repository.LedgerMonthlyRollupRepository;
+import com.immocare.repository.TagSubcategoryRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("LedgerRollupService")
+class LedgerRollupServiceTest {
+
+    @Mock
+    LedgerMonthlyRollupRepository rollupRepository;
+    @Mock
+    BuildingRepository buildingRepository;
+    @Mock
+    HousingUnitRepository housingUnitRepository;
+    @Mock
+    BankAccountRepository bankAccountRepository;
+    @Mock
+    TagSubcategoryRepository tagSubcategoryRepository;
+    @Mock
+    RentLedgerService rentLedgerService;
+    @Mock
+    TagUsageService tagUsageService;
+
+    LedgerRollupService service;
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private static final LocalDate MARCH = LocalDate.of(2025, 3, 1);
+
+    @BeforeEach
+    void setUp() {
+        service = new LedgerRollupService(rollupRepository, buildingRepository, housingUnitRepository,
+                bankAccountRepository, tagSubcategoryRepository, rentLedgerService, tagUsageService, meterRegistry, true);
+    }
+
+    private static FinancialTransaction tx(String amount, TransactionStatus status) {
+        FinancialTransaction tx = new FinancialTransaction();
+        tx.setAccountingMonth(MARCH);
+        tx.setAmount(new BigDecimal(amount));
+        tx.setDirection(TransactionDirection.INCOME);
+        tx.setStatus(status);
+        return tx;
+    }
+
+    private static TransactionAllocation allocation(FinancialTransaction tx, Building building, Long unitId,
+            int lineNo, String amount) {
+        HousingUnit unit = new HousingUnit();
+        unit.setId(unitId);
+        unit.setBuilding(building);
+        TransactionAllocation line = new TransactionAllocation();
+        line.setTransaction(tx);
+        line.setHousingUnit(unit);
+        line.setLineNo(lineNo);
+        line.setAmount(new BigDecimal(amount));
+        line.setMethod(AllocationMethod.UNIT_SURFACE);
+        return line;
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    // MAINTENANCE
+    // ─────────────────────────────────────────────────────────────────────────
+
+    @Nested
+    @DisplayName("apply")
+    class Apply {
+
+        @Test
+        @DisplayName("created transaction → +amount, +1 on its key")
+        void added_incrementsKey() {
+            service.added(tx("850.00", TransactionStatus.CONFIRMED));
+
+            verify(rollupRepository).addDelta(eq(MARCH), isNull(), isNull(), isNull(), isNull(),
+                    eq("INCOME"), eq("CONFIRMED"), eq(new BigDecimal("850.00")), eq(1L));
+            verify(rollupRepository, never()).deleteEmpty();
+            verify(rentLedgerService, never()).applyPayments(any());
+        }
+
+        @Test
+        @DisplayName("confirming lease income forwards the payment to the rent ledger")
+        void changed_leaseIncome_forwardsPayment() {
+            Lease lease = new Lease();
+            ReflectionTestUtils.setField(lease, "id", 12L);
+            FinancialTransaction tx = tx("850.00", TransactionStatus.DRAFT);
+            tx.setLease(lease);
+            LedgerRollupService.Entry before = LedgerRollupService.Entry.of(tx);
+            tx.setStatus(TransactionStatus.CONFIRMED);
+
+            service.changed(before, tx);
+
+            verify(rentLedgerService).applyPayments(
+                    Map.of(new LeaseRentMonthId(12L, MARCH), new BigDecimal("850.00")));
+        }
+
+        @Test
+        @DisplayName("status change moves the amount between keys and prunes empty rows")
+        void changed_movesBetweenKeys() {
+            FinancialTransaction tx = tx("850.00", TransactionStatus.DRAFT);
+            LedgerRollupService.Entry before = LedgerRollupService.Entry.of(tx);
+            tx.setStatus(TransactionStatus.CONFIRMED);
+
+            service.changed(before, tx);
+
+            verify(rollupRepository).addDelta(eq(MARCH), isNull(), isNull(), isNull(), isNull(),
+                    eq("INCOME"), eq("DRAFT"), eq(new BigDecimal("-850.00")), eq(-1L));
+            verify(rollupRepository).addDelta(eq(MARCH), isNull(), isNull(), isNull(), isNull(),
+                    eq("INCOME"), eq("CONFIRMED"), eq(new BigDecimal("850.00")), eq(1L));
+            verify(rollupRepository).deleteEmpty();
+            verify(rollupRepository).countNegative(Set.of(MARCH));
+            verify(tagUsageService, never()).invalidate();
+            assertThat(meterRegistry.find("immocare.rollup.negative").counter()).isNull();
+        }
+
+        @Test
+        @DisplayName("a count driven below zero is kept and reported as drift")
+        void removed_negativeCount_reportsDrift() {
+            when(rollupRepository.countNegative(Set.of(MARCH))).thenReturn(1L);
+
+            service.removed(LedgerRollupService.Entry.of(tx("850.00", TransactionStatus.CONFIRMED)));
+
+            verify(rollupRepository).deleteEmpty();
+            assertThat(meterRegistry.counter("immocare.rollup.negative").count()).isEqualTo(1.0);
+        }
+
+        @Test
+        @DisplayName("subcategory change evicts the cached tag usage")
+        void changed_subcategory_invalidatesUsage() {
+            TagSubcategory rent = new TagSubcategory();
+            rent.setId(4L);
+            FinancialTransaction tx = tx("850.00", TransactionStatus.CONFIRMED);
+            LedgerRollupService.Entry before = LedgerRollupService.Entry.of(tx);
+            tx.setSubcategory(rent);
+
+            service.changed(before, tx);
+
+            verify(tagUsageService).invalidate();
+        }
+
+        @Test
+        @DisplayName("unchanged transaction → no write")
+        void unchanged_noWrite() {
+            FinancialTransaction tx = tx("850.00", TransactionStatus.CONFIRMED);
+
+            service.changed(LedgerRollupService.Entry.of(tx), tx);
+
+            verify(rollupRepository, never()).addDelta(any(), any(), any(), any(), any(),
+                    anyString(), anyString(), any(), anyLong());
+        }
+
+        @Test
+        @DisplayName("allocated expense → one key per unit, counted once, on the unit's building")
+        void added_allocated_splitsPerUnit() {
+            Building building = new Building();
+            building.setId(7L);
+            FinancialTransaction tx = tx("900.00", TransactionStatus.CONFIRMED);
+            tx.setDirection(TransactionDirection.EXPENSE);
+            tx.getAllocations().add(allocation(tx, building, 21L, 0, "600.00"));
+            tx.getAllocations().add(allocation(tx, building, 22L, 1, "300.00"));
+
+            service.added(tx);
+
+            verify(rollupRepository).addDelta(eq(MARCH), eq(7L), eq(21L), isNull(), isNull(),
+                    eq("EXPENSE"), eq("CONFIRMED"), eq(new BigDecimal("600.00")), eq(1L));
+            verify(rollupRepository).addDelta(eq(MARCH), eq(7L), eq(22L), isNull(), isNull(),
+                    eq("EXPENSE"), eq("CONFIRMED"), eq(new BigDecimal("300.00")), eq(0L));
+        }
+
+        @Test
+        @DisplayName("removing an allocated expense prunes rows left with a zero amount")
+        void removed_allocated_prunes() {
+            Building building = new Building();
+            building.setId(7L);
+            FinancialTransaction tx = tx("900.00", TransactionStatus.CONFIRMED);
+            tx.setDirection(TransactionDirection.EXPENSE);
+            tx.getAllocations().add(allocation(tx, building, 21L, 0, "600.00"));
+            tx.getAllocations().add(allocation(tx, building, 22L, 1, "300.00"));
+
+            service.removed(LedgerRollupService.Entry.of(tx));
+
+            verify(rollupRepository).addDelta(eq(MARCH), eq(7L), eq(22L), isNull(), isNull(),
+                    eq("EXPENSE"), eq("CONFIRMED"), eq(new BigDecimal("-300.00")), eq(0L));
+            verify(rollupRepository).deleteEmpty();
+        }
+
+        @Test
+        @DisplayName("batch delta merges rows sharing a key into one upsert")
+        void batch_mergesSameKey() {
+            LedgerRollupService.Delta delta = new LedgerRollupService.Delta()
+                    .add(LedgerRollupService.Entry.of(tx("100.00", TransactionStatus.DRAFT)))
+                    .add(LedgerRollupService.Entry.of(tx("50.50", TransactionStatus.DRAFT)));
+
+            service.apply(delta);
+
+            verify(rollupRepository).addDelta(eq(MARCH), isNull(), isNull(), isNull(), isNull(),
+                    eq("INCOME"), eq("DRAFT"), eq(new BigDecimal("150.50")), eq(2L));
+        }
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    // READS
+    // ─────────────────────────────────────────────────────────────────────────
+
+    @Nested
+    @DisplayName("reads")
+    class Reads {
+
+        @Test
+        @DisplayName("totals only for filters on rollup dimensions")
+        void supportsTotals_onlyRollupDimensions() {
+            assertThat(service.supportsTotals(new TransactionFilter(TransactionDirection.INCOME, null, null,
+                    MARCH, MARCH, 1L, null, 2L, 3L, null, TransactionStatus.CONFIRMED, null, null, null, null)))
+                    .isTrue();
+            assertThat(service.supportsTotals(new TransactionFilter(null, MARCH, null,
+                    null, null, null, null, null, null, null, null, null, null, null, null))).isFalse();
+            assertThat(service.supportsTotals(new TransactionFilter(null, null, null,
+                    null, null, null, null, null, null, null, null, "loyer", null, null, null))).isFalse();
+        }
+
+        @Test
+        @DisplayName("statistics slices resolve ids; unknown ids become unassigned")
+        void statisticsSlices_resolveEntities() {
+            Building building = new Building();
+            building.setId(7L);
+            building.setName("Résidence Les Tilleuls");
+            TagCategory category = new TagCategory();
+            category.setId(1L);
+            category.setName("Loyers");
+            TagSubcategory sub = new TagSubcategory();
+            sub.setId(4L);
+            sub.setCategory(category);
+            sub.setName("Loyer");
+            sub.setDirection(SubcategoryDirection.INCOME);
+
+            var known = row(7L, 4L, "1200.00", 2);
+            var deleted = row(99L, null, "300.00", 1);
+            when(rollupRepository.findSlices(any(), any(), any(), any(), any(), any(), any()))
+                    .thenReturn(List.of(known, deleted));
+            when(buildingRepository.findAllById(any())).thenReturn(List.of(building));
+            when(tagSubcategoryRepository.findAllById(any())).thenReturn(List.of(sub));
+
+            var stats = FinancialTransactionService.aggregateSlices(service.statisticsSlices(
+                    new StatisticsFilter(null, null, null, null, null, null)));
+
+            assertThat(stats.totalIncome()).isEqualByComparingTo("1500.00");
+            assertThat(stats.byBuilding()).extracting(b -> b.buildingName())
+                    .containsExactlyInAnyOrder("Résidence Les Tilleuls", "Unassigned");
+            assertThat(stats.byCategory().get(0).subcategories().get(0).transactionCount()).isEqualTo(2);
+        }
+
+        private LedgerMonthlyRollupRepository.SliceRow row(Long buildingId, Long subcategoryId,
+                String total, long count) {
+            return new LedgerMonthlyRollupRepository.SliceRow() {
+                public LocalDate getAccountingMonth() { return MARCH; }
+                public Long getBuildingId() { return buildingId; }
+                public Long getHousingUnitId() { return null; }
+                public Long getBankAccountId() { return null; }
+                public Long getSubcategoryId() { return subcategoryId; }
+                public TransactionDirection getDirection() { return TransactionDirection.INCOME; }
+                public BigDecimal getTotal() { return new BigDecimal(total); }
+                public Long getCount() { return count; }
+            };
+        }
+    }
+}
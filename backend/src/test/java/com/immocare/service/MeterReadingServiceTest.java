@@ -0,0 +1,237 @@
+package com.immocare.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.groups.Tuple.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.immocare.exception.MeterBusinessRuleException;
+import com.immocare.model.dto.MeterReadingDTOs.ConsumptionDTO;
+import com.immocare.model.dto.MeterReadingDTOs.MeterReadingImportResultDTO;
+import com.immocare.model.entity.Meter;
+import com.immocare.model.entity.MeterConsumptionMonth;
+import com.immocare.model.entity.MeterReading;
+import com.immocare.repository.BuildingRepository;
+import com.immocare.repository.HousingUnitRepository;
+import com.immocare.repository.MeterConsumptionMonthRepository;
+import com.immocare.repository.MeterConsumptionMonthRepository.MeterConsumption;
+import com.immocare.repository.MeterConsumptionMonthRepository.MonthlyConsumption;
+import com.immocare.repository.MeterReadingRepository;
+import com.immocare.repository.MeterRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("MeterReadingService")
+class MeterReadingServiceTest {
+
+    record Month(LocalDate month, BigDecimal consumption) implements MonthlyConsumption {
+        public LocalDate getMonth() { return month; }
+        public BigDecimal getConsumption() { return consumption; }
+    }
+
+    record PerMeter(Long meterId, BigDecimal consumption) implements MeterConsumption {
+        public Long getMeterId() { return meterId; }
+        public BigDecimal getConsumption() { return consumption; }
+    }
+
+    @Mock
+    MeterReadingRepository readingRepository;
+    @Mock
+    MeterConsumptionMonthRepository consumptionRepository;
+    @Mock
+    MeterRepository meterRepository;
+    @Mock
+    HousingUnitRepository housingUnitRepository;
+    @Mock
+    BuildingRepository buildingRepository;
+
+    @Captor
+    ArgumentCaptor<List<MeterReading>> savedReadings;
+    @Captor
+    ArgumentCaptor<List<MeterConsumptionMonth>> savedMonths;
+
+    MeterReadingService service;
+
+    private final Meter water = meter(1L, "W-001", LocalDate.of(2024, 1, 1), null);
+
+    @BeforeEach
+    void setUp() {
+        service = new MeterReadingService(readingRepository, consumptionRepository, meterRepository,
+                housingUnitRepository, buildingRepository, new SimpleMeterRegistry());
+        when(meterRepository.findById(1L)).thenReturn(Optional.of(water));
+    }
+
+    @Test
+    @DisplayName("delta spread over the days since the previous reading, split per month")
+    void monthlyAllocation() {
+        MeterReading first = reading(1L, LocalDate.of(2025, 1, 15), "100", "0");
+        MeterReading second = reading(1L, LocalDate.of(2025, 3, 15), "159", "59");
+
+        Map<LocalDate, BigDecimal> months = MeterReadingService.monthly(List.of(first, second));
+
+        // 59 units over 59 days: 16 in January, 28 in February, 15 in March
+        assertThat(months).containsOnlyKeys(
+                LocalDate.of(2025, 1, 1), LocalDate.of(2025, 2, 1), LocalDate.of(2025, 3, 1));
+        assertThat(months.get(LocalDate.of(2025, 1, 1))).isEqualByComparingTo("16");
+        assertThat(months.get(LocalDate.of(2025, 2, 1))).isEqualByComparingTo("28");
+        assertThat(months.get(LocalDate.of(2025, 3, 1))).isEqualByComparingTo("15");
+    }
+
+    @Test
+    @DisplayName("backdated reading → next reading's delta and the months are recomputed")
+    void backdatedReading() {
+        MeterReading jan = reading(1L, LocalDate.of(2025, 1, 31), "100", "0");
+        MeterReading mar = reading(1L, LocalDate.of(2025, 3, 31), "160", "60");
+        when(readingRepository.findByMeterIdInOrderByMeterIdAscReadingDateAsc(anyCollection()))
+                .thenReturn(List.of(jan, mar));
+        MeterConsumptionMonth stale = new MeterConsumptionMonth(1L, LocalDate.of(2025, 2, 1));
+        stale.setConsumption(new BigDecimal("28.475"));
+        when(consumptionRepository.findByMeterIdIn(anyCollection())).thenReturn(new ArrayList<>(List.of(stale)));
+
+        service.addReading(1L, LocalDate.of(2025, 2, 28), new BigDecimal("140"));
+
+        verify(readingRepository).saveAll(savedReadings.capture());
+        assertThat(savedReadings.getValue()).extracting(MeterReading::getReadingDate, MeterReading::getConsumption)
+                .containsExactly(
+                        tuple(LocalDate.of(2025, 2, 28), new BigDecimal("40")),
+                        tuple(LocalDate.of(2025, 3, 31), new BigDecimal("20")));
+        verify(consumptionRepository).saveAll(savedMonths.capture());
+        assertThat(savedMonths.getValue()).extracting(MeterConsumptionMonth::getMonth, MeterConsumptionMonth::getConsumption)
+                .containsExactlyInAnyOrder(
+                        tuple(LocalDate.of(2025, 2, 1), new BigDecimal("40")),
+                        tuple(LocalDate.of(2025, 3, 1), new BigDecimal("20")));
+    }
+
+    @Test
+    @DisplayName("index lower than an earlier reading or outside the meter's life → rejected")
+    void rejected() {
+        when(readingRepository.findByMeterIdInOrderByMeterIdAscReadingDateAsc(anyCollection()))
+                .thenReturn(List.of(reading(1L, LocalDate.of(2025, 1, 31), "100", "0")));
+
+        assertThatThrownBy(() -> service.addReading(1L, LocalDate.of(2025, 2, 28), new BigDecimal("99")))
+                .isInstanceOf(MeterBusinessRuleException.class)
+                .hasMessageContaining("lower than the reading of 2025-01-31");
+        assertThatThrownBy(() -> service.addReading(1L, LocalDate.of(2023, 12, 31), new BigDecimal("50")))
+                .isInstanceOf(MeterBusinessRuleException.class)
+                .hasMessageContaining("not in service");
+        verify(readingRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    @DisplayName("CSV import: meter by number or EAN, identical rows skipped, bad rows reported")
+    void importCsv() {
+        water.setEanCode("541448800000000001");
+        when(meterRepository.findByMeterNumberInOrEanCodeIn(anyCollection(), anyCollection()))
+                .thenReturn(List.of(water));
+        when(readingRepository.findByMeterIdInOrderByMeterIdAscReadingDateAsc(anyCollection()))
+                .thenReturn(List.of(reading(1L, LocalDate.of(2025, 1, 31), "100", "0")));
+        String csv = """
+                \uFEFFmeter;date;value
+                W-001;31/01/2025;100
+                541448800000000001;2025-02-28;"120,5"
+                W-001;31/03/2025;110
+                X-999;2025-03-31;1
+                """;
+
+        MeterReadingImportResultDTO result = service.importCsv(new MockMultipartFile("file", "readings.csv",
+                "text/csv", csv.getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(result.importedCount()).isEqualTo(1);
+        assertThat(result.duplicateCount()).isEqualTo(1);
+        assertThat(result.errors()).extracting(e -> e.rowNumber()).containsExactly(4, 5);
+        assertThat(result.errors().get(1).errorMessage()).isEqualTo("Unknown meter: X-999");
+        verify(readingRepository).saveAll(savedReadings.capture());
+        assertThat(savedReadings.getValue()).singleElement()
+                .satisfies(r -> assertThat(r.getConsumption()).isEqualByComparingTo("20.5"));
+    }
+
+    @Test
+    @DisplayName("consumption sums the replaced and the replacement meter over the period")
+    void replacementContinuity() {
+        Meter replacement = meter(2L, "W-002", LocalDate.of(2025, 3, 10), null);
+        water.setEndDate(LocalDate.of(2025, 3, 10));
+        when(housingUnitRepository.existsById(5L)).thenReturn(true);
+        when(meterRepository.findInServiceBetween(eq("HOUSING_UNIT"), eq(List.of(5L)), eq("WATER"),
+                eq(LocalDate.of(2025, 1, 1)), eq(LocalDate.of(2025, 6, 30)))).thenReturn(List.of(water, replacement));
+        when(consumptionRepository.sumByMonth(eq(List.of(1L, 2L)), any(), any())).thenReturn(List.of(
+                new Month(LocalDate.of(2025, 3, 1), new BigDecimal("12.000")),
+                new Month(LocalDate.of(2025, 4, 1), new BigDecimal("10.000"))));
+        when(consumptionRepository.sumByMeter(eq(List.of(1L, 2L)), any(), any())).thenReturn(List.of(
+                new PerMeter(1L, new BigDecimal("4.000")), new PerMeter(2L, new BigDecimal("18.000"))));
+
+        ConsumptionDTO consumption = service.getConsumption("HOUSING_UNIT", 5L, "WATER",
+                LocalDate.of(2025, 1, 15), LocalDate.of(2025, 6, 2), false);
+
+        assertThat(consumption.fromMonth()).isEqualTo(LocalDate.of(2025, 1, 1));
+        assertThat(consumption.toMonth()).isEqualTo(LocalDate.of(2025, 6, 1));
+        assertThat(consumption.total()).isEqualByComparingTo("22");
+        assertThat(consumption.meters()).extracting(m -> m.consumption().toPlainString())
+                .containsExactly("4.000", "18.000");
+    }
+
+    @Test
+    @DisplayName("replacement readings: closing on the old meter, opening on the new one")
+    void recordReplacement() {
+        Meter replacement = meter(2L, "W-002", LocalDate.of(2025, 3, 10), null);
+        water.setEndDate(LocalDate.of(2025, 3, 10));
+        when(readingRepository.findByMeterIdInOrderByMeterIdAscReadingDateAsc(anyCollection()))
+                .thenReturn(List.of(reading(1L, LocalDate.of(2025, 1, 31), "100", "0")));
+
+        service.recordReplacement(water, replacement, new BigDecimal("130"), BigDecimal.ZERO);
+
+        verify(readingRepository).saveAll(savedReadings.capture());
+        assertThat(savedReadings.getValue())
+                .extracting(MeterReading::getMeterId, r -> r.getConsumption().toPlainString(), MeterReading::getSource)
+                .containsExactlyInAnyOrder(
+                        tuple(1L, "30", "REPLACEMENT"),
+                        tuple(2L, "0", "REPLACEMENT"));
+    }
+
+    private static Meter meter(Long id, String number, LocalDate start, LocalDate end) {
+        Meter meter = new Meter();
+        ReflectionTestUtils.setField(meter, "id", id);
+        meter.setType("WATER");
+        meter.setMeterNumber(number);
+        meter.setOwnerType("HOUSING_UNIT");
+        meter.setOwnerId(5L);
+        meter.setStartDate(start);
+        meter.setEndDate(end);
+        return meter;
+    }
+
+    private static MeterReading reading(Long meterId, LocalDate date, String value, String consumption) {
+        MeterReading reading = new MeterReading(meterId, date, new BigDecimal(value), MeterReading.SOURCE_MANUAL);
+        ReflectionTestUtils.setField(reading, "id", date.toEpochDay());
+        reading.setConsumption(new BigDecimal(consumption));
+        return reading;
+    }
+}
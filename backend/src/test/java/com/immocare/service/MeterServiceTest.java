@@ -47,6 +47,8 @@ class MeterServiceTest {
     BuildingRepository buildingRepository;
     @Mock
     MeterMapper meterMapper;
+    @Mock
+    MeterReadingService meterReadingService;
 
     @InjectMocks
     MeterService meterService;
@@ -147,7 +149,7 @@ class MeterServiceTest {
             when(meterRepository.findByIdAndEndDateIsNull(METER_ID)).thenReturn(Optional.of(current));
 
             var req = new ReplaceMeterRequest("ELC-002", "54200000000002", "ELECTRICITY meter",
-                    null, null, LocalDate.of(2024, 5, 1), null);
+                    null, null, LocalDate.of(2024, 5, 1), null, null, null);
 
             assertThatThrownBy(() -> meterService.replaceMeter(HU, UNIT_ID, METER_ID, req))
                     .isInstanceOf(MeterBusinessRuleException.class)
@@ -159,7 +161,7 @@ class MeterServiceTest {
         void replaceMeter_notFound_throwsException() {
             when(meterRepository.findByIdAndEndDateIsNull(METER_ID)).thenReturn(Optional.empty());
             var req = new ReplaceMeterRequest("ELC-002", "54200000000002", "ELECTRICITY meter",
-                    null, null, LocalDate.now(), null);
+                    null, null, LocalDate.now(), null, null, null);
 
             assertThatThrownBy(() -> meterService.replaceMeter(HU, UNIT_ID, METER_ID, req))
                     .isInstanceOf(MeterNotFoundException.class);
@@ -178,7 +180,7 @@ class MeterServiceTest {
             when(meterMapper.toDTO(newMeter)).thenReturn(buildDTO(newMeter));
 
             var req = new ReplaceMeterRequest("ELC-002", "54200000000002", "ELECTRICITY meter",
-                    null, null, newStart, "UPGRADE");
+                    null, null, newStart, "UPGRADE", null, null);
 
             MeterDTO result = meterService.replaceMeter(HU, UNIT_ID, METER_ID, req);
 
@@ -0,0 +1,152 @@
+package com.immocare.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import com.immocare.model.entity.ParsedTransaction;
+import com.immocare.model.enums.TransactionDirection;
+import com.immocare.repository.FinancialTransactionRepository;
+import com.immocare.repository.FinancialTransactionRepository.DuplicateCandidate;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("NearDuplicateDetector")
+class NearDuplicateDetectorTest {
+
+    private static final Long ACCOUNT = 1L;
+    private static final Long OTHER_ACCOUNT = 2L;
+    private static final LocalDate MARCH_2 = LocalDate.of(2026, 3, 2);
+
+    record Candidate(Long id, Long bankAccountId, LocalDate transactionDate, BigDecimal amount,
+            TransactionDirection direction, String counterpartyName, String counterpartyAccount,
+            String description, String externalReference) implements DuplicateCandidate {
+        public Long getId() { return id; }
+        public Long getBankAccountId() { return bankAccountId; }
+        public LocalDate getTransactionDate() { return transactionDate; }
+        public BigDecimal getAmount() { return amount; }
+        public TransactionDirection getDirection() { return direction; }
+        public String getCounterpartyName() { return counterpartyName; }
+        public String getCounterpartyAccount() { return counterpartyAccount; }
+        public String getDescription() { return description; }
+        public String getExternalReference() { return externalReference; }
+    }
+
+    @Mock
+    FinancialTransactionRepository transactionRepository;
+
+    NearDuplicateDetector detector;
+
+    @BeforeEach
+    void setUp() {
+        detector = new NearDuplicateDetector(transactionRepository, 3, 0.6);
+    }
+
+    @Test
+    @DisplayName("same rent imported from CSV after CODA → flagged, even a day apart")
+    void detect_sameMovementOtherFormat() {
+        stored(new Candidate(10L, ACCOUNT, MARCH_2, new BigDecimal("850.00"), TransactionDirection.INCOME,
+                "Jean Dupont", "BE71096123456769", "+++090/9337/55493+++", "BNK0001"));
+
+        ParsedTransaction csv = row(MARCH_2.plusDays(1), "850", "DUPONT JEAN", "BE71 0961 2345 6769",
+                "090/9337/55493", null);
+        Map<ParsedTransaction, NearDuplicateDetector.Match> matches = detector.detect(List.of(csv), p -> ACCOUNT);
+
+        assertThat(matches.get(csv).transactionId()).isEqualTo(10L);
+        assertThat(matches.get(csv).score()).isGreaterThan(0.8);
+    }
+
+    @Test
+    @DisplayName("other account, out of the date window or another payer → not flagged")
+    void detect_blockingAndScoring() {
+        stored(new Candidate(10L, OTHER_ACCOUNT, MARCH_2, new BigDecimal("850.00"), TransactionDirection.INCOME,
+                        "Jean Dupont", null, "Loyer mars", null),
+                new Candidate(11L, ACCOUNT, MARCH_2.minusDays(10), new BigDecimal("850.00"),
+                        TransactionDirection.INCOME, "Jean Dupont", null, "Loyer mars", null),
+                new Candidate(12L, ACCOUNT, MARCH_2, new BigDecimal("850.00"), TransactionDirection.INCOME,
+                        "Marie Leroy", "BE10000000000404", "Loyer studio", null));
+
+        ParsedTransaction rent = row(MARCH_2, "850.00", "Jean Dupont", "BE71096123456769", "Loyer mars", null);
+
+        assertThat(detector.detect(List.of(rent), p -> ACCOUNT)).isEmpty();
+        // Without a known account the other account's transaction is a candidate
+        assertThat(detector.detect(List.of(rent), p -> null).get(rent).transactionId()).isEqualTo(10L);
+    }
+
+    @Test
+    @DisplayName("equal bank reference scores 1; opposite direction scores 0")
+    void score_referenceAndDirection() {
+        Candidate stored = new Candidate(10L, ACCOUNT, MARCH_2, new BigDecimal("120.50"),
+                TransactionDirection.EXPENSE, "Vivaqua", null, "Facture eau", "REF-1");
+
+        ParsedTransaction sameRef = row(MARCH_2, "120.50", null, null, "autre texte", "REF-1");
+        ParsedTransaction income = ParsedTransaction.builder()
+                .transactionDate(MARCH_2).amount(new BigDecimal("120.50"))
+                .direction(ParsedTransaction.Direction.INCOME)
+                .counterpartyName("Vivaqua").description("Facture eau")
+                .build();
+
+        assertThat(NearDuplicateDetector.score(sameRef, stored, 3)).isEqualTo(1.0);
+        assertThat(NearDuplicateDetector.score(income, stored, 3)).isZero();
+    }
+
+    @Test
+    @DisplayName("trigram similarity ignores case, accents and punctuation")
+    void similarity_normalised() {
+        assertThat(NearDuplicateDetector.similarity("Électricité Engie", "ELECTRICITE - ENGIE")).isEqualTo(1.0);
+        assertThat(NearDuplicateDetector.similarity("Loyer mars", "Assurance incendie")).isLessThan(0.2);
+        assertThat(NearDuplicateDetector.similarity(null, "x")).isEqualTo(0.5);
+    }
+
+    @Test
+    @DisplayName("one query per chunk of distinct amounts, whatever the number of rows")
+    void detect_batchesCandidateQueries() {
+        stored();
+        List<ParsedTransaction> rows = new ArrayList<>();
+        for (int i = 0; i < NearDuplicateDetector.AMOUNT_CHUNK + 10; i++) {
+            rows.add(row(MARCH_2, i + ".00", "x", null, "y", null));
+            rows.add(row(MARCH_2.plusDays(20), i + ".0", "x", null, "y", null));
+        }
+
+        detector.detect(rows, p -> ACCOUNT);
+
+        verify(transactionRepository, times(2)).findDuplicateCandidates(anyCollection(),
+                eq(MARCH_2.minusDays(3)), eq(MARCH_2.plusDays(23)));
+    }
+
+    private void stored(Candidate... candidates) {
+        when(transactionRepository.findDuplicateCandidates(anyCollection(), any(), any()))
+                .thenReturn(List.of(candidates));
+    }
+
+    private static ParsedTransaction row(LocalDate date, String amount, String name, String iban,
+            String description, String reference) {
+        return ParsedTransaction.builder()
+                .transactionDate(date)
+                .amount(new BigDecimal(amount))
+                .counterpartyName(name)
+                .counterpartyAccount(iban)
+                .description(description)
+                .externalReference(reference)
+                .build();
+    }
+}
@@ -0,0 +1,173 @@
+package com.immocare.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import com.immocare.exception.InvalidDateRangeException;
+import com.immocare.model.dto.OccupancyDTOs.BuildingOccupancyDTO;
+import com.immocare.model.dto.OccupancyDTOs.OccupancyPointDTO;
+import com.immocare.model.dto.OccupancyDTOs.PortfolioOccupancyDTO;
+import com.immocare.model.dto.OccupancyDTOs.UnitOccupancyDTO;
+import com.immocare.model.dto.OccupancyDTOs.VacancyPeriodDTO;
+import com.immocare.repository.HousingUnitRepository;
+import com.immocare.repository.HousingUnitRepository.UnitRef;
+import com.immocare.repository.LeaseRepository;
+import com.immocare.repository.LeaseRepository.OccupancyInterval;
+import com.immocare.repository.RentHistoryRepository;
+import com.immocare.repository.RentHistoryRepository.RentInterval;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("OccupancyService")
+class OccupancyServiceTest {
+
+    private static final LocalDate FROM = LocalDate.of(2026, 1, 1);
+    private static final LocalDate TO = LocalDate.of(2026, 3, 31);
+
+    record Unit(Long id, String unitNumber, Long buildingId, String buildingName) implements UnitRef {
+        public Long getId() { return id; }
+        public String getUnitNumber() { return unitNumber; }
+        public Long getBuildingId() { return buildingId; }
+        public String getBuildingName() { return buildingName; }
+    }
+
+    record Interval(Long housingUnitId, LocalDate startDate, LocalDate endDate) implements OccupancyInterval {
+        public Long getHousingUnitId() { return housingUnitId; }
+        public LocalDate getStartDate() { return startDate; }
+        public LocalDate getEndDate() { return endDate; }
+    }
+
+    record Rent(Long housingUnitId, BigDecimal monthlyRent, LocalDate effectiveFrom, LocalDate effectiveTo)
+            implements RentInterval {
+        public Long getHousingUnitId() { return housingUnitId; }
+        public BigDecimal getMonthlyRent() { return monthlyRent; }
+        public LocalDate getEffectiveFrom() { return effectiveFrom; }
+        public LocalDate getEffectiveTo() { return effectiveTo; }
+    }
+
+    @Mock
+    LeaseRepository leaseRepository;
+    @Mock
+    HousingUnitRepository housingUnitRepository;
+    @Mock
+    RentHistoryRepository rentHistoryRepository;
+
+    PortfolioVersion portfolioVersion = new PortfolioVersion();
+    OccupancyService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new OccupancyService(leaseRepository, housingUnitRepository, rentHistoryRepository,
+                portfolioVersion, new SimpleMeterRegistry());
+
+        when(housingUnitRepository.findAllUnitRefs()).thenReturn(List.of(
+                new Unit(1L, "A1", 10L, "Europa"),
+                new Unit(2L, "A2", 10L, "Europa"),
+                new Unit(3L, "B1", 20L, "Flora")));
+        when(leaseRepository.findOccupancyIntervals()).thenReturn(List.of(
+                // Unit 1: renewed without a gap, the second lease open-ended
+                new Interval(1L, LocalDate.of(2025, 6, 1), LocalDate.of(2026, 1, 31)),
+                new Interval(1L, LocalDate.of(2026, 2, 1), null),
+                // Unit 2: two overlapping leases, then vacant until March
+                new Interval(2L, LocalDate.of(2026, 1, 10), LocalDate.of(2026, 1, 20)),
+                new Interval(2L, LocalDate.of(2026, 1, 1), LocalDate.of(2026, 1, 15)),
+                new Interval(2L, LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 31))));
+        when(rentHistoryRepository.findAllRentIntervals()).thenReturn(List.of(
+                new Rent(2L, new BigDecimal("900.00"), LocalDate.of(2025, 1, 1), LocalDate.of(2026, 1, 31)),
+                new Rent(2L, new BigDecimal("1000.00"), LocalDate.of(2026, 2, 1), null)));
+    }
+
+    @Test
+    @DisplayName("merged lease intervals → occupied days and vacancy periods per unit")
+    void units() {
+        PortfolioOccupancyDTO report = service.getOccupancy(FROM, TO);
+
+        BuildingOccupancyDTO europa = report.buildings().get(0);
+        UnitOccupancyDTO a1 = europa.units().get(0);
+        assertThat(a1.occupiedDays()).isEqualTo(90);
+        assertThat(a1.vacancies()).isEmpty();
+
+        UnitOccupancyDTO a2 = europa.units().get(1);
+        assertThat(a2.occupiedDays()).isEqualTo(51);
+        assertThat(a2.vacantDays()).isEqualTo(39);
+        assertThat(a2.vacancies()).containsExactly(new VacancyPeriodDTO(
+                LocalDate.of(2026, 1, 21), LocalDate.of(2026, 2, 28), 39, new BigDecimal("1319.35")));
+
+        UnitOccupancyDTO b1 = report.buildings().get(1).units().get(0);
+        assertThat(b1.vacantDays()).isEqualTo(90);
+        assertThat(b1.lostRent()).isEqualByComparingTo("0");
+        assertThat(b1.vacancies()).extracting(VacancyPeriodDTO::from).containsExactly(FROM);
+    }
+
+    @Test
+    @DisplayName("building and portfolio totals, occupied units over time")
+    void totals() {
+        PortfolioOccupancyDTO report = service.getOccupancy(FROM, TO);
+
+        BuildingOccupancyDTO europa = report.buildings().get(0);
+        assertThat(europa.unitCount()).isEqualTo(2);
+        assertThat(europa.occupiedDays()).isEqualTo(141);
+        assertThat(europa.occupancyRate()).isEqualTo(0.7833);
+        assertThat(europa.lostRent()).isEqualByComparingTo("1319.35");
+
+        assertThat(report.unitCount()).isEqualTo(3);
+        assertThat(report.occupiedDays()).isEqualTo(141);
+        assertThat(report.vacantDays()).isEqualTo(129);
+        assertThat(report.occupancyRate()).isEqualTo(0.5222);
+        assertThat(report.timeline()).containsExactly(
+                new OccupancyPointDTO(FROM, 2),
+                new OccupancyPointDTO(LocalDate.of(2026, 1, 21), 1),
+                new OccupancyPointDTO(LocalDate.of(2026, 3, 1), 2));
+    }
+
+    @Test
+    @DisplayName("reports are cached until the portfolio version changes")
+    void cachedByVersion() {
+        PortfolioOccupancyDTO first = service.getOccupancy(FROM, TO);
+        assertThat(service.getOccupancy(FROM, TO)).isSameAs(first);
+        service.getOccupancy(FROM, LocalDate.of(2026, 1, 31));
+        verify(leaseRepository, times(1)).findOccupancyIntervals();
+
+        portfolioVersion.bumpAfterCommit();
+        assertThat(service.getOccupancy(FROM, TO)).isNotSameAs(first).isEqualTo(first);
+        verify(leaseRepository, times(2)).findOccupancyIntervals();
+    }
+
+    @Test
+    @DisplayName("period ending before it starts → rejected")
+    void invalidRange() {
+        assertThatThrownBy(() -> service.getOccupancy(TO, FROM)).isInstanceOf(InvalidDateRangeException.class);
+    }
+
+    @Test
+    @DisplayName("rent prorated per calendar month")
+    void prorated() {
+        BigDecimal rent = new BigDecimal("620.00");
+        assertThat(OccupancyService.prorated(rent, day(2026, 3, 1), day(2026, 3, 31))).isEqualByComparingTo("620.00");
+        assertThat(OccupancyService.prorated(rent, day(2026, 3, 17), day(2026, 4, 15)))
+                .isEqualByComparingTo("610.00"); // 15/31 + 15/30
+        assertThat(OccupancyService.prorated(rent, day(2026, 3, 1), day(2026, 3, 1))).isEqualByComparingTo("20.00");
+    }
+
+    private static long day(int year, int month, int day) {
+        return LocalDate.of(year, month, day).toEpochDay();
+    }
+}
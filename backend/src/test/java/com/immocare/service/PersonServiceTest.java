@@ -7,6 +7,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import java.util.List;
@@ -53,6 +54,8 @@ class PersonServiceTest {
     LeaseTenantRepository leaseTenantRepository;
     @Mock
     PersonBankAccountRepository personBankAccountRepository;
+    @Mock
+    PortfolioVersion portfolioVersion;
 
     @InjectMocks
     PersonService personService;
@@ -76,14 +79,42 @@ class PersonServiceTest {
     void getAll_noSearch_returnsPage() {
         Page<Person> page = new PageImpl<>(List.of(samplePerson));
         when(personRepository.findAll(any(org.springframework.data.domain.Pageable.class))).thenReturn(page);
-        when(buildingRepository.existsByOwnerId(any())).thenReturn(false);
-        when(housingUnitRepository.existsByOwnerId(any())).thenReturn(false);
         when(personMapper.toSummaryDTO(any())).thenReturn(new PersonSummaryDTO());
 
         Page<PersonSummaryDTO> result = personService.getAll(null, PageRequest.of(0, 20));
         assertThat(result).isNotNull();
     }
 
+    @Test
+    @DisplayName("getAll sets owner / tenant flags for the whole page with one query")
+    void getAll_flagsFromSingleQuery() {
+        Person other = new Person();
+        other.setId(2L);
+        when(personRepository.findAll(any(org.springframework.data.domain.Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(samplePerson, other)));
+        when(personMapper.toSummaryDTO(any())).thenAnswer(inv -> {
+            Person p = inv.getArgument(0);
+            return new PersonSummaryDTO(p.getId(), p.getLastName(), p.getFirstName(), null, null, false, false);
+        });
+        when(personRepository.findRoleFlags(List.of(1L, 2L))).thenReturn(List.of(flags(1L, true, false)));
+
+        Page<PersonSummaryDTO> result = personService.getAll(null, PageRequest.of(0, 20));
+
+        assertThat(result.getContent().get(0).isOwner()).isTrue();
+        assertThat(result.getContent().get(0).isTenant()).isFalse();
+        assertThat(result.getContent().get(1).isOwner()).isFalse();
+        verify(personRepository).findRoleFlags(List.of(1L, 2L));
+        verifyNoInteractions(buildingRepository, housingUnitRepository, leaseTenantRepository);
+    }
+
+    private static PersonRepository.RoleFlags flags(Long id, boolean owner, boolean tenant) {
+        return new PersonRepository.RoleFlags() {
+            public Long getPersonId() { return id; }
+            public Boolean getOwner() { return owner; }
+            public Boolean getTenant() { return tenant; }
+        };
+    }
+
     // ---- getById ----
 
     @Test
@@ -93,8 +124,6 @@ class PersonServiceTest {
         PersonDTO dto = new PersonDTO();
         dto.setId(1L);
         when(personMapper.toDTO(samplePerson)).thenReturn(dto);
-        when(buildingRepository.existsByOwnerId(1L)).thenReturn(false);
-        when(housingUnitRepository.existsByOwnerId(1L)).thenReturn(false);
         when(buildingRepository.findByOwnerId(1L)).thenReturn(List.of());
         when(housingUnitRepository.findByOwnerId(1L)).thenReturn(List.of());
 
@@ -125,8 +154,6 @@ class PersonServiceTest {
         when(personRepository.save(samplePerson)).thenReturn(samplePerson);
         PersonDTO dto = new PersonDTO();
         when(personMapper.toDTO(samplePerson)).thenReturn(dto);
-        when(buildingRepository.existsByOwnerId(any())).thenReturn(false);
-        when(housingUnitRepository.existsByOwnerId(any())).thenReturn(false);
         when(buildingRepository.findByOwnerId(any())).thenReturn(List.of());
         when(housingUnitRepository.findByOwnerId(any())).thenReturn(List.of());
 
@@ -149,14 +176,13 @@ class PersonServiceTest {
         PersonDTO dto = new PersonDTO();
         dto.setId(1L);
         when(personMapper.toDTO(samplePerson)).thenReturn(dto);
-        when(buildingRepository.existsByOwnerId(any())).thenReturn(false);
-        when(housingUnitRepository.existsByOwnerId(any())).thenReturn(false);
         when(buildingRepository.findByOwnerId(any())).thenReturn(List.of());
         when(housingUnitRepository.findByOwnerId(any())).thenReturn(List.of());
 
         PersonDTO result = personService.update(1L, request);
         assertThat(result).isNotNull();
         verify(personMapper).updateEntity(eq(request), eq(samplePerson));
+        verify(portfolioVersion).bumpAfterCommit();
     }
 
     // ---- delete ----
@@ -218,8 +244,6 @@ class PersonServiceTest {
     void searchForPicker_validQuery_returnsResults() {
         PersonSummaryDTO dto = new PersonSummaryDTO(1L, "Dupont", "Jean", "Brussels", null, false, false);
         when(personRepository.searchForPicker(eq("du"), any())).thenReturn(List.of(dto));
-        when(buildingRepository.existsByOwnerId(1L)).thenReturn(false);
-        when(housingUnitRepository.existsByOwnerId(1L)).thenReturn(false);
 
         List<PersonSummaryDTO> result = personService.searchForPicker("du");
         assertThat(result).hasSize(1);
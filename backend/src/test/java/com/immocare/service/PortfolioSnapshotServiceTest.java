@@ -0,0 +1,220 @@
+package com.immocare.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.immocare.model.dto.SnapshotDTOs.BuildingAsOfDTO;
+import com.immocare.model.dto.SnapshotDTOs.MeterAsOfDTO;
+import com.immocare.model.dto.SnapshotDTOs.PortfolioSnapshotDTO;
+import com.immocare.model.dto.SnapshotDTOs.TenantAsOfDTO;
+import com.immocare.model.dto.SnapshotDTOs.UnitAsOfDTO;
+import com.immocare.model.entity.Boiler;
+import com.immocare.model.entity.BoilerServiceRecord;
+import com.immocare.model.entity.HousingUnit;
+import com.immocare.model.entity.Lease;
+import com.immocare.model.entity.LeaseRentAdjustment;
+import com.immocare.model.entity.LeaseTenant;
+import com.immocare.model.entity.Meter;
+import com.immocare.model.entity.PebScore;
+import com.immocare.model.entity.PebScoreHistory;
+import com.immocare.model.entity.Person;
+import com.immocare.model.enums.LeaseStatus;
+import com.immocare.model.enums.TenantRole;
+import com.immocare.repository.BoilerRepository;
+import com.immocare.repository.BoilerServiceRecordRepository;
+import com.immocare.repository.HousingUnitRepository;
+import com.immocare.repository.HousingUnitRepository.UnitRef;
+import com.immocare.repository.LeaseRentAdjustmentRepository;
+import com.immocare.repository.LeaseRepository;
+import com.immocare.repository.MeterRepository;
+import com.immocare.repository.PebScoreRepository;
+import com.immocare.repository.RentHistoryRepository;
+import com.immocare.repository.RentHistoryRepository.RentInterval;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("PortfolioSnapshotService")
+class PortfolioSnapshotServiceTest {
+
+    private static final LocalDate DATE = LocalDate.of(2025, 6, 15);
+
+    record Unit(Long id, String unitNumber, Long buildingId, String buildingName) implements UnitRef {
+        public Long getId() { return id; }
+        public String getUnitNumber() { return unitNumber; }
+        public Long getBuildingId() { return buildingId; }
+        public String getBuildingName() { return buildingName; }
+    }
+
+    record Rent(Long housingUnitId, BigDecimal monthlyRent, LocalDate effectiveFrom, LocalDate effectiveTo)
+            implements RentInterval {
+        public Long getHousingUnitId() { return housingUnitId; }
+        public BigDecimal getMonthlyRent() { return monthlyRent; }
+        public LocalDate getEffectiveFrom() { return effectiveFrom; }
+        public LocalDate getEffectiveTo() { return effectiveTo; }
+    }
+
+    @Mock
+    HousingUnitRepository housingUnitRepository;
+    @Mock
+    RentHistoryRepository rentHistoryRepository;
+    @Mock
+    LeaseRepository leaseRepository;
+    @Mock
+    LeaseRentAdjustmentRepository adjustmentRepository;
+    @Mock
+    PebScoreRepository pebScoreRepository;
+    @Mock
+    MeterRepository meterRepository;
+    @Mock
+    BoilerRepository boilerRepository;
+    @Mock
+    BoilerServiceRecordRepository boilerServiceRepository;
+
+    PortfolioSnapshotService service;
+
+    private final HousingUnit a1 = unit(1L);
+
+    @BeforeEach
+    void setUp() {
+        service = new PortfolioSnapshotService(housingUnitRepository, rentHistoryRepository, leaseRepository,
+                adjustmentRepository, pebScoreRepository, meterRepository, boilerRepository,
+                boilerServiceRepository, new SimpleMeterRegistry());
+        when(housingUnitRepository.findAllUnitRefs()).thenReturn(List.of(
+                new Unit(1L, "A1", 10L, "Europa"),
+                new Unit(2L, "A2", 10L, "Europa")));
+    }
+
+    @Test
+    @DisplayName("rent, PEB, lease with tenants, meters and boilers in force on the date")
+    void snapshot() {
+        when(rentHistoryRepository.findRentIntervalsAt(DATE)).thenReturn(List.of(
+                new Rent(1L, new BigDecimal("950.00"), LocalDate.of(2025, 1, 1), null)));
+        when(pebScoreRepository.findLatestAsOf(DATE)).thenReturn(List.of(
+                peb(5L, PebScore.D), peb(6L, PebScore.C)));
+
+        Lease lease = new Lease();
+        ReflectionTestUtils.setField(lease, "id", 100L);
+        lease.setHousingUnit(a1);
+        lease.setStatus(LeaseStatus.ACTIVE);
+        lease.setStartDate(LocalDate.of(2024, 3, 1));
+        lease.setMonthlyRent(new BigDecimal("900.00"));
+        lease.getTenants().add(new LeaseTenant(lease, person(21L, "Leroy", "Marie"), TenantRole.CO_TENANT));
+        lease.getTenants().add(new LeaseTenant(lease, person(20L, "Dupont", "Jean"), TenantRole.PRIMARY));
+        when(leaseRepository.findAllWithTenantsRunningOn(DATE)).thenReturn(List.of(lease));
+        when(adjustmentRepository.findRentAdjustmentsByLeaseIdIn(List.of(100L))).thenReturn(List.of(
+                adjustment(lease, "800.00", "850.00", LocalDate.of(2025, 3, 1)),
+                adjustment(lease, "850.00", "900.00", LocalDate.of(2026, 3, 1))));
+
+        when(meterRepository.findActiveOn(DATE)).thenReturn(List.of(
+                meter(30L, "WATER", "HOUSING_UNIT", 1L),
+                meter(31L, "GAS", "BUILDING", 10L)));
+        Boiler boiler = new Boiler();
+        boiler.setId(40L);
+        boiler.setOwnerType("HOUSING_UNIT");
+        boiler.setOwnerId(1L);
+        boiler.setFuelType("GAS");
+        boiler.setInstallationDate(LocalDate.of(2015, 1, 1));
+        BoilerServiceRecord service2024 = new BoilerServiceRecord();
+        service2024.setBoiler(boiler);
+        service2024.setServiceDate(LocalDate.of(2024, 5, 2));
+        service2024.setValidUntil(LocalDate.of(2025, 5, 2));
+        when(boilerRepository.findInstalledOn(DATE)).thenReturn(List.of(boiler));
+        when(boilerServiceRepository.findLatestAsOf(DATE)).thenReturn(List.of(service2024));
+
+        PortfolioSnapshotDTO snapshot = service.snapshotAt(DATE);
+
+        assertThat(snapshot.unitCount()).isEqualTo(2);
+        assertThat(snapshot.leasedUnitCount()).isEqualTo(1);
+        BuildingAsOfDTO europa = snapshot.buildings().get(0);
+        assertThat(europa.meters()).extracting(MeterAsOfDTO::meterId).containsExactly(31L);
+
+        UnitAsOfDTO unit = europa.units().get(0);
+        assertThat(unit.rent()).isEqualByComparingTo("950.00");
+        assertThat(unit.peb().pebScore()).isEqualTo("C");
+        assertThat(unit.lease().monthlyRent()).isEqualByComparingTo("850.00");
+        assertThat(unit.lease().tenants()).extracting(TenantAsOfDTO::fullName)
+                .containsExactly("Dupont Jean", "Leroy Marie");
+        assertThat(unit.meters()).extracting(MeterAsOfDTO::meterId).containsExactly(30L);
+        assertThat(unit.boilers()).singleElement().satisfies(b -> {
+            assertThat(b.lastServiceDate()).isEqualTo(LocalDate.of(2024, 5, 2));
+            assertThat(b.serviceValid()).isFalse();
+        });
+    }
+
+    @Test
+    @DisplayName("nothing in force → empty unit, no lease or service lookups")
+    void emptyUnit() {
+        PortfolioSnapshotDTO snapshot = service.snapshotAt(DATE);
+
+        UnitAsOfDTO unit = snapshot.buildings().get(0).units().get(1);
+        assertThat(unit.rent()).isNull();
+        assertThat(unit.peb()).isNull();
+        assertThat(unit.lease()).isNull();
+        assertThat(unit.meters()).isEmpty();
+        assertThat(snapshot.leasedUnitCount()).isZero();
+        verify(adjustmentRepository, never()).findRentAdjustmentsByLeaseIdIn(any());
+        verify(boilerServiceRepository, never()).findLatestAsOf(any());
+    }
+
+    private static HousingUnit unit(Long id) {
+        HousingUnit unit = new HousingUnit();
+        unit.setId(id);
+        return unit;
+    }
+
+    private PebScoreHistory peb(Long id, PebScore score) {
+        PebScoreHistory peb = new PebScoreHistory();
+        ReflectionTestUtils.setField(peb, "id", id);
+        peb.setHousingUnit(a1);
+        peb.setPebScore(score);
+        peb.setScoreDate(LocalDate.of(2023, 9, 1));
+        return peb;
+    }
+
+    private static Person person(Long id, String lastName, String firstName) {
+        Person person = new Person();
+        person.setId(id);
+        person.setLastName(lastName);
+        person.setFirstName(firstName);
+        return person;
+    }
+
+    private static LeaseRentAdjustment adjustment(Lease lease, String oldValue, String newValue, LocalDate date) {
+        LeaseRentAdjustment a = new LeaseRentAdjustment();
+        a.setLease(lease);
+        a.setField("RENT");
+        a.setOldValue(new BigDecimal(oldValue));
+        a.setNewValue(new BigDecimal(newValue));
+        a.setEffectiveDate(date);
+        return a;
+    }
+
+    private static Meter meter(Long id, String type, String ownerType, Long ownerId) {
+        Meter meter = new Meter();
+        ReflectionTestUtils.setField(meter, "id", id);
+        meter.setType(type);
+        meter.setOwnerType(ownerType);
+        meter.setOwnerId(ownerId);
+        meter.setStartDate(LocalDate.of(2020, 1, 1));
+        return meter;
+    }
+}
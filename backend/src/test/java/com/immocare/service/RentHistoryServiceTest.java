@@ -39,6 +39,8 @@ class RentHistoryServiceTest {
         private HousingUnitRepository housingUnitRepository;
         @Mock
         private RentHistoryMapper rentHistoryMapper;
+        @Mock
+        private PortfolioVersion portfolioVersion;
 
         @InjectMocks
         private RentHistoryService rentHistoryService;
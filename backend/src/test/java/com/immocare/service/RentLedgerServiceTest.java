@@ -0,0 +1,153 @@
+package com.immocare.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.SortedMap;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import com.immocare.model.dto.RentLedgerDTOs.LeaseRentLedgerDTO;
+import com.immocare.model.entity.Lease;
+import com.immocare.model.entity.LeaseRentAdjustment;
+import com.immocare.model.entity.LeaseRentMonth;
+import com.immocare.model.enums.LeaseStatus;
+import com.immocare.repository.LeaseRentAdjustmentRepository;
+import com.immocare.repository.LeaseRentMonthRepository;
+import com.immocare.repository.LeaseRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("RentLedgerService")
+class RentLedgerServiceTest {
+
+    @Mock
+    LeaseRentMonthRepository monthRepository;
+    @Mock
+    LeaseRepository leaseRepository;
+    @Mock
+    LeaseRentAdjustmentRepository adjustmentRepository;
+
+    RentLedgerService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new RentLedgerService(monthRepository, leaseRepository, adjustmentRepository,
+                new PortfolioVersion(), new SimpleMeterRegistry());
+    }
+
+    private static Lease lease(LocalDate start, LocalDate end, String rent, String charges) {
+        Lease lease = new Lease();
+        lease.setStatus(LeaseStatus.ACTIVE);
+        lease.setStartDate(start);
+        lease.setEndDate(end);
+        lease.setMonthlyRent(new BigDecimal(rent));
+        lease.setMonthlyCharges(new BigDecimal(charges));
+        return lease;
+    }
+
+    private static LeaseRentAdjustment adjustment(String field, String oldValue, String newValue, LocalDate from) {
+        LeaseRentAdjustment a = new LeaseRentAdjustment();
+        a.setField(field);
+        a.setOldValue(new BigDecimal(oldValue));
+        a.setNewValue(new BigDecimal(newValue));
+        a.setEffectiveDate(from);
+        return a;
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    // SCHEDULE
+    // ─────────────────────────────────────────────────────────────────────────
+
+    @Nested
+    @DisplayName("schedule")
+    class Schedule {
+
+        @Test
+        @DisplayName("partial first and last months are pro rata")
+        void partialMonths_proRata() {
+            SortedMap<LocalDate, BigDecimal> s = RentSchedule.expected(
+                    lease(LocalDate.of(2025, 4, 16), LocalDate.of(2025, 6, 10), "800.00", "100.00"), List.of());
+
+            assertThat(s).containsOnlyKeys(LocalDate.of(2025, 4, 1), LocalDate.of(2025, 5, 1),
+                    LocalDate.of(2025, 6, 1));
+            assertThat(s.get(LocalDate.of(2025, 4, 1))).isEqualByComparingTo("450.00"); // 15/30
+            assertThat(s.get(LocalDate.of(2025, 5, 1))).isEqualByComparingTo("900.00");
+            assertThat(s.get(LocalDate.of(2025, 6, 1))).isEqualByComparingTo("300.00"); // 10/30
+        }
+
+        @Test
+        @DisplayName("adjustments replay from their effective date; earlier months keep the old value")
+        void adjustments_replayed() {
+            Lease lease = lease(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 4, 30), "850.00", "60.00");
+            List<LeaseRentAdjustment> history = List.of(
+                    adjustment("RENT", "800.00", "850.00", LocalDate.of(2025, 3, 1)),
+                    adjustment("CHARGES", "50.00", "60.00", LocalDate.of(2025, 2, 15)));
+
+            SortedMap<LocalDate, BigDecimal> s = RentSchedule.expected(lease, history);
+
+            assertThat(s.get(LocalDate.of(2025, 1, 1))).isEqualByComparingTo("850.00");
+            assertThat(s.get(LocalDate.of(2025, 2, 1))).isEqualByComparingTo("850.00");
+            assertThat(s.get(LocalDate.of(2025, 3, 1))).isEqualByComparingTo("910.00");
+            assertThat(s.get(LocalDate.of(2025, 4, 1))).isEqualByComparingTo("910.00");
+        }
+
+        @Test
+        @DisplayName("draft lease → no schedule")
+        void draft_empty() {
+            Lease lease = lease(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 12, 31), "800.00", "0");
+            lease.setStatus(LeaseStatus.DRAFT);
+
+            assertThat(RentSchedule.expected(lease, List.of())).isEmpty();
+        }
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    // READS
+    // ─────────────────────────────────────────────────────────────────────────
+
+    @Nested
+    @DisplayName("getLedger")
+    class GetLedger {
+
+        @Test
+        @DisplayName("sums months up to asOf with a running balance")
+        void runningBalance_untilAsOf() {
+            when(leaseRepository.existsById(anyLong())).thenReturn(true);
+            when(monthRepository.findByLeaseIdOrderByMonthAsc(7L)).thenReturn(List.of(
+                    month(LocalDate.of(2025, 1, 1), "900.00", "900.00"),
+                    month(LocalDate.of(2025, 2, 1), "900.00", "500.00"),
+                    month(LocalDate.of(2025, 3, 1), "900.00", "0"),
+                    month(LocalDate.of(2025, 4, 1), "900.00", "0")));
+
+            LeaseRentLedgerDTO ledger = service.getLedger(7L, LocalDate.of(2025, 3, 20));
+
+            assertThat(ledger.months()).hasSize(3);
+            assertThat(ledger.expectedTotal()).isEqualByComparingTo("2700.00");
+            assertThat(ledger.paidTotal()).isEqualByComparingTo("1400.00");
+            assertThat(ledger.balance()).isEqualByComparingTo("-1300.00");
+            assertThat(ledger.months().get(1).runningBalance()).isEqualByComparingTo("-400.00");
+        }
+
+        private LeaseRentMonth month(LocalDate month, String expected, String paid) {
+            LeaseRentMonth m = new LeaseRentMonth(7L, month);
+            m.setExpectedAmount(new BigDecimal(expected));
+            m.setPaidAmount(new BigDecimal(paid));
+            return m;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.immocare.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.immocare.model.dto.RentRollDTOs.RentRollDTO;
+import com.immocare.model.dto.RentRollDTOs.RentRollRowDTO;
+import com.immocare.model.enums.ChargesType;
+import com.immocare.model.enums.DepositType;
+import com.immocare.repository.HousingUnitRepository;
+import com.immocare.repository.HousingUnitRepository.RentRollRow;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("RentRollService")
+class RentRollServiceTest {
+
+    private static final LocalDate AS_OF = LocalDate.of(2026, 5, 11);
+
+    record Row(Long housingUnitId, String unitNumber, Long leaseId, LocalDate startDate, LocalDate endDate,
+            String tenants, BigDecimal monthlyRent, BigDecimal due) implements RentRollRow {
+        public Long getBuildingId() { return 1L; }
+        public String getBuildingName() { return "Résidence Les Tilleuls"; }
+        public Long getHousingUnitId() { return housingUnitId; }
+        public String getUnitNumber() { return unitNumber; }
+        public Integer getFloor() { return 0; }
+        public BigDecimal getSurface() { return new BigDecimal("72.50"); }
+        public BigDecimal getListedRent() { return new BigDecimal("850.00"); }
+        public Long getLeaseId() { return leaseId; }
+        public LocalDate getStartDate() { return startDate; }
+        public LocalDate getEndDate() { return endDate; }
+        public String getTenants() { return tenants; }
+        public BigDecimal getMonthlyRent() { return monthlyRent; }
+        public BigDecimal getMonthlyCharges() { return leaseId != null ? new BigDecimal("50.00") : null; }
+        public ChargesType getChargesType() { return leaseId != null ? ChargesType.FORFAIT : null; }
+        public BigDecimal getDepositAmount() { return leaseId != null ? new BigDecimal("1600.00") : null; }
+        public DepositType getDepositType() { return null; }
+        public BigDecimal getDue() { return due; }
+    }
+
+    @Mock
+    HousingUnitRepository housingUnitRepository;
+
+    PortfolioVersion portfolioVersion = new PortfolioVersion();
+    RentRollService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new RentRollService(housingUnitRepository, portfolioVersion, new SimpleMeterRegistry());
+        when(housingUnitRepository.streamRentRoll(any(), any())).thenAnswer(inv -> Stream.of(
+                new Row(10L, "A1", 100L, LocalDate.of(2024, 3, 15), LocalDate.of(2033, 3, 14),
+                        "Martin Anne; Dupont Jean", new BigDecimal("800.00"), new BigDecimal("750.00")),
+                new Row(11L, "A2", 101L, LocalDate.of(2025, 5, 11), LocalDate.of(2028, 5, 10),
+                        "Peeters Luc", new BigDecimal("900.00"), new BigDecimal("-20.00")),
+                new Row(12L, "B1", null, null, null, null, null, null)));
+    }
+
+    @Test
+    @DisplayName("arrears never negative, next indexation on or after the date, vacant units without lease data")
+    void rows() {
+        RentRollDTO roll = service.getRentRoll(AS_OF);
+
+        assertThat(roll.unitCount()).isEqualTo(3);
+        assertThat(roll.leasedCount()).isEqualTo(2);
+        assertThat(roll.totalRent()).isEqualByComparingTo("1700.00");
+        assertThat(roll.totalArrears()).isEqualByComparingTo("750.00");
+        assertThat(roll.rows()).extracting(RentRollRowDTO::nextIndexationDate)
+                .containsExactly(LocalDate.of(2027, 3, 15), LocalDate.of(2026, 5, 11), null);
+        assertThat(roll.rows().get(1).arrears()).isEqualByComparingTo("0");
+        assertThat(roll.rows().get(2).arrears()).isNull();
+    }
+
+    @Test
+    @DisplayName("cached until the portfolio version changes")
+    void cachedPerVersion() {
+        service.getRentRoll(AS_OF);
+        service.getRentRoll(AS_OF);
+        verify(housingUnitRepository, times(1)).streamRentRoll(AS_OF, LocalDate.of(2026, 5, 1));
+
+        portfolioVersion.bumpAfterCommit();
+        service.getRentRoll(AS_OF);
+        verify(housingUnitRepository, times(2)).streamRentRoll(AS_OF, LocalDate.of(2026, 5, 1));
+    }
+
+    @Test
+    @DisplayName("CSV export → one line per unit, separators in values quoted")
+    void csvExport() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        service.export(AS_OF, RentRollService.Format.CSV, response);
+
+        String[] lines = response.getContentAsString(StandardCharsets.UTF_8).split("\r\n");
+        assertThat(lines).hasSize(4);
+        assertThat(lines[1]).isEqualTo("Résidence Les Tilleuls;A1;0;72.50;850.00;100;2024-03-15;2033-03-14;"
+                + "\"Martin Anne; Dupont Jean\";800.00;50.00;FORFAIT;1600.00;;2027-03-15;750.00");
+        assertThat(lines[3]).startsWith("Résidence Les Tilleuls;B1;0;72.50;850.00;;");
+    }
+
+    @Test
+    @DisplayName("XLSX export → package parts first, then the streamed sheet")
+    void xlsxExport() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        service.export(AS_OF, RentRollService.Format.XLSX, response);
+
+        List<String> entries = new ArrayList<>();
+        String sheet = null;
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))) {
+            for (ZipEntry e = zip.getNextEntry(); e != null; e = zip.getNextEntry()) {
+                entries.add(e.getName());
+                sheet = new String(zip.readAllBytes(), StandardCharsets.UTF_8);
+            }
+        }
+        assertThat(entries).startsWith("[Content_Types].xml").endsWith("xl/worksheets/sheet1.xml");
+        assertThat(sheet).contains("<c><v>800.00</v></c>", ">Martin Anne; Dupont Jean<").endsWith("</worksheet>");
+        assertThat(response.getContentType()).contains("spreadsheetml");
+    }
+}
@@ -0,0 +1,275 @@
+package com.immocare.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.groups.Tuple.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.immocare.exception.ServiceChargeKeyException;
+import com.immocare.model.dto.ServiceChargeDTOs.BuildingSettlementDTO;
+import com.immocare.model.dto.ServiceChargeDTOs.CostPoolDTO;
+import com.immocare.model.dto.ServiceChargeDTOs.LeaseSettlementDTO;
+import com.immocare.model.dto.ServiceChargeDTOs.SaveServiceChargeKeyRequest;
+import com.immocare.model.dto.ServiceChargeDTOs.SettlementLineDTO;
+import com.immocare.model.entity.Building;
+import com.immocare.model.entity.HousingUnit;
+import com.immocare.model.entity.Lease;
+import com.immocare.model.entity.LeaseRentAdjustment;
+import com.immocare.model.entity.LeaseTenant;
+import com.immocare.model.entity.Person;
+import com.immocare.model.entity.ServiceChargeKey;
+import com.immocare.model.entity.TagCategory;
+import com.immocare.model.entity.TagSubcategory;
+import com.immocare.model.enums.AllocationKey;
+import com.immocare.model.enums.ChargesType;
+import com.immocare.model.enums.LeaseStatus;
+import com.immocare.model.enums.SubcategoryDirection;
+import com.immocare.model.enums.TenantRole;
+import com.immocare.repository.BuildingRepository;
+import com.immocare.repository.FinancialTransactionRepository;
+import com.immocare.repository.FinancialTransactionRepository.ChargeCost;
+import com.immocare.repository.FinancialTransactionRepository.LinkedChargeCost;
+import com.immocare.repository.HousingUnitRepository;
+import com.immocare.repository.LeaseRentAdjustmentRepository;
+import com.immocare.repository.LeaseRepository;
+import com.immocare.repository.MeterConsumptionMonthRepository;
+import com.immocare.repository.MeterConsumptionMonthRepository.OwnerConsumption;
+import com.immocare.repository.ServiceChargeKeyRepository;
+import com.immocare.repository.TagSubcategoryRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("ServiceChargeService")
+class ServiceChargeServiceTest {
+
+    private static final Long BUILDING_ID = 10L;
+    private static final LocalDate FROM = LocalDate.of(2025, 1, 1);
+    private static final LocalDate TO = LocalDate.of(2025, 12, 31);
+
+    record Cost(Long subcategoryId, Long housingUnitId, BigDecimal amount) implements ChargeCost {
+        public Long getSubcategoryId() { return subcategoryId; }
+        public Long getHousingUnitId() { return housingUnitId; }
+        public BigDecimal getAmount() { return amount; }
+    }
+
+    record Linked(Long transactionId, Long subcategoryId, BigDecimal amount, String ownerType, Long ownerId)
+            implements LinkedChargeCost {
+        public Long getTransactionId() { return transactionId; }
+        public Long getSubcategoryId() { return subcategoryId; }
+        public BigDecimal getAmount() { return amount; }
+        public String getOwnerType() { return ownerType; }
+        public Long getOwnerId() { return ownerId; }
+    }
+
+    record Consumption(Long ownerId, BigDecimal consumption) implements OwnerConsumption {
+        public Long getOwnerId() { return ownerId; }
+        public BigDecimal getConsumption() { return consumption; }
+    }
+
+    @Mock
+    ServiceChargeKeyRepository keyRepository;
+    @Mock
+    BuildingRepository buildingRepository;
+    @Mock
+    TagSubcategoryRepository subcategoryRepository;
+    @Mock
+    HousingUnitRepository housingUnitRepository;
+    @Mock
+    FinancialTransactionRepository transactionRepository;
+    @Mock
+    MeterConsumptionMonthRepository consumptionRepository;
+    @Mock
+    LeaseRepository leaseRepository;
+    @Mock
+    LeaseRentAdjustmentRepository adjustmentRepository;
+
+    ServiceChargeService service;
+
+    private final Building building = new Building();
+    private final HousingUnit a1 = unit(1L, "A1", "60");
+    private final HousingUnit a2 = unit(2L, "A2", "40");
+    private final TagSubcategory heating = subcategory(100L, "Heating");
+    private final TagSubcategory water = subcategory(101L, "Water");
+    private final TagSubcategory cleaning = subcategory(102L, "Cleaning");
+
+    @BeforeEach
+    void setUp() {
+        service = new ServiceChargeService(keyRepository, buildingRepository, subcategoryRepository,
+                housingUnitRepository, transactionRepository, consumptionRepository, leaseRepository,
+                adjustmentRepository, new SimpleMeterRegistry());
+        building.setId(BUILDING_ID);
+        building.setName("Europa");
+        when(buildingRepository.findById(BUILDING_ID)).thenReturn(Optional.of(building));
+        when(housingUnitRepository.findByBuildingIdOrderByFloorAscUnitNumberAsc(BUILDING_ID)).thenReturn(List.of(a1, a2));
+        when(keyRepository.findByBuildingIdWithSubcategory(BUILDING_ID)).thenReturn(List.of(
+                key(heating, AllocationKey.SURFACE, null),
+                key(water, AllocationKey.CONSUMPTION, "WATER"),
+                key(cleaning, AllocationKey.EQUAL, null)));
+        when(transactionRepository.sumChargeCosts(eq(BUILDING_ID), anyCollection(), eq(FROM), eq(TO))).thenReturn(List.of(
+                new Cost(100L, null, new BigDecimal("1000.00")),
+                new Cost(102L, null, new BigDecimal("300.00")),
+                new Cost(102L, 2L, new BigDecimal("50.00"))));
+        when(transactionRepository.findLinkedChargeCosts(eq(BUILDING_ID), anyCollection(), eq(FROM), eq(TO)))
+                .thenReturn(List.of(new Linked(500L, 101L, new BigDecimal("200.00"), "BUILDING", BUILDING_ID)));
+        when(consumptionRepository.sumByOwner(eq("HOUSING_UNIT"), anyCollection(), eq("WATER"), eq(FROM), eq(TO)))
+                .thenReturn(List.of(new Consumption(1L, new BigDecimal("30")), new Consumption(2L, new BigDecimal("10"))));
+    }
+
+    @Test
+    @DisplayName("shared costs split by surface, consumption and equal keys, netted against provisions")
+    void settlement() {
+        Lease fullYear = lease(7L, a1, LocalDate.of(2024, 1, 1), LocalDate.of(2026, 12, 31), "100.00");
+        fullYear.getTenants().add(new LeaseTenant(fullYear, person("Dupont", "Jean"), TenantRole.PRIMARY));
+        fullYear.getTenants().add(new LeaseTenant(fullYear, person("Martin", "Paul"), TenantRole.GUARANTOR));
+        Lease fromJuly = lease(8L, a2, LocalDate.of(2025, 7, 1), LocalDate.of(2026, 6, 30), "50.00");
+        when(leaseRepository.findChargeSettlementLeases(BUILDING_ID, FROM, TO)).thenReturn(List.of(fromJuly, fullYear));
+        when(adjustmentRepository.findChargesAdjustmentsByLeaseIdIn(any())).thenReturn(List.of(
+                chargesAdjustment(fullYear, "100.00", "110.00", LocalDate.of(2025, 7, 1))));
+
+        BuildingSettlementDTO settlement = service.settle(BUILDING_ID, 2025);
+
+        assertThat(settlement.totalCosts()).isEqualByComparingTo("1550.00");
+        assertThat(settlement.pools()).extracting(CostPoolDTO::subcategoryName, CostPoolDTO::allocationKey)
+                .containsExactly(tuple("Heating", AllocationKey.SURFACE), tuple("Water", AllocationKey.CONSUMPTION),
+                        tuple("Cleaning", AllocationKey.EQUAL));
+
+        LeaseSettlementDTO first = settlement.leases().get(0);
+        assertThat(first.leaseId()).isEqualTo(7L);
+        assertThat(first.tenantNames()).isEqualTo("Dupont Jean");
+        assertThat(first.occupiedDays()).isEqualTo(365);
+        assertThat(first.lines()).extracting(SettlementLineDTO::subcategoryName, l -> l.amount().toPlainString())
+                .containsExactly(tuple("Heating", "600.00"), tuple("Water", "150.00"), tuple("Cleaning", "150.00"));
+        assertThat(first.provisions()).isEqualByComparingTo("1260.00");
+        assertThat(first.balance()).isEqualByComparingTo("-360.00");
+
+        // 184 of 365 days; the unit also bears 50.00 of cleaning booked on it
+        LeaseSettlementDTO second = settlement.leases().get(1);
+        assertThat(second.periodFrom()).isEqualTo(LocalDate.of(2025, 7, 1));
+        assertThat(second.periodTo()).isEqualTo(TO);
+        assertThat(second.occupiedDays()).isEqualTo(184);
+        assertThat(second.lines()).extracting(l -> l.amount().toPlainString())
+                .containsExactly("201.64", "25.21", "100.82");
+        assertThat(second.costs()).isEqualByComparingTo("327.67");
+        assertThat(second.provisions()).isEqualByComparingTo("300.00");
+        assertThat(second.balance()).isEqualByComparingTo("27.67");
+
+        assertThat(settlement.settledCosts()).isEqualByComparingTo("1227.67");
+        assertThat(settlement.totalBalance()).isEqualByComparingTo("-332.33");
+    }
+
+    @Test
+    @DisplayName("no readings for a consumption key → equal shares; a linked expense is split between its assets")
+    void fallbackAndLinkSplit() {
+        when(consumptionRepository.sumByOwner(any(), anyCollection(), any(), any(), any())).thenReturn(List.of());
+        when(transactionRepository.findLinkedChargeCosts(eq(BUILDING_ID), anyCollection(), eq(FROM), eq(TO)))
+                .thenReturn(List.of(
+                        new Linked(500L, 101L, new BigDecimal("100.01"), "BUILDING", BUILDING_ID),
+                        new Linked(500L, 101L, new BigDecimal("100.01"), "HOUSING_UNIT", 1L)));
+        Lease lease = lease(7L, a1, FROM, TO, "0.00");
+        when(leaseRepository.findChargeSettlementLeases(BUILDING_ID, FROM, TO)).thenReturn(List.of(lease));
+
+        BuildingSettlementDTO settlement = service.settle(BUILDING_ID, 2025);
+
+        CostPoolDTO waterPool = settlement.pools().get(1);
+        assertThat(waterPool.allocationKey()).isEqualTo(AllocationKey.EQUAL);
+        assertThat(waterPool.sharedAmount()).isEqualByComparingTo("50.00");
+        assertThat(waterPool.unitAmount()).isEqualByComparingTo("50.01");
+        SettlementLineDTO waterLine = settlement.leases().get(0).lines().get(1);
+        assertThat(waterLine.unitShare()).isEqualByComparingTo("0.5");
+        assertThat(waterLine.amount()).isEqualByComparingTo("75.01");
+    }
+
+    @Test
+    @DisplayName("consumption key without meter type → rejected before anything is replaced")
+    void invalidKey() {
+        when(subcategoryRepository.findById(101L)).thenReturn(Optional.of(water));
+
+        assertThatThrownBy(() -> service.saveKeys(BUILDING_ID,
+                List.of(new SaveServiceChargeKeyRequest(101L, AllocationKey.CONSUMPTION, null))))
+                .isInstanceOf(ServiceChargeKeyException.class);
+        verify(keyRepository, never()).deleteByBuildingId(any());
+    }
+
+    private HousingUnit unit(Long id, String number, String surface) {
+        HousingUnit unit = new HousingUnit();
+        unit.setId(id);
+        unit.setUnitNumber(number);
+        unit.setTotalSurface(new BigDecimal(surface));
+        unit.setBuilding(building);
+        return unit;
+    }
+
+    private static TagSubcategory subcategory(Long id, String name) {
+        TagCategory category = new TagCategory();
+        category.setId(1L);
+        category.setName("Charges");
+        TagSubcategory sub = new TagSubcategory();
+        sub.setId(id);
+        sub.setName(name);
+        sub.setCategory(category);
+        sub.setDirection(SubcategoryDirection.EXPENSE);
+        return sub;
+    }
+
+    private ServiceChargeKey key(TagSubcategory sub, AllocationKey allocationKey, String meterType) {
+        ServiceChargeKey key = new ServiceChargeKey();
+        key.setBuilding(building);
+        key.setSubcategory(sub);
+        key.setAllocationKey(allocationKey);
+        key.setMeterType(meterType);
+        return key;
+    }
+
+    private static Lease lease(Long id, HousingUnit unit, LocalDate start, LocalDate end, String charges) {
+        Lease lease = new Lease();
+        ReflectionTestUtils.setField(lease, "id", id);
+        lease.setHousingUnit(unit);
+        lease.setStatus(LeaseStatus.ACTIVE);
+        lease.setStartDate(start);
+        lease.setEndDate(end);
+        lease.setMonthlyRent(new BigDecimal("800.00"));
+        lease.setMonthlyCharges(new BigDecimal(charges));
+        lease.setChargesType(ChargesType.PROVISION);
+        return lease;
+    }
+
+    private static Person person(String lastName, String firstName) {
+        Person person = new Person();
+        person.setLastName(lastName);
+        person.setFirstName(firstName);
+        return person;
+    }
+
+    private static LeaseRentAdjustment chargesAdjustment(Lease lease, String oldValue, String newValue,
+            LocalDate date) {
+        LeaseRentAdjustment a = new LeaseRentAdjustment();
+        a.setLease(lease);
+        a.setField("CHARGES");
+        a.setOldValue(new BigDecimal(oldValue));
+        a.setNewValue(new BigDecimal(newValue));
+        a.setEffectiveDate(date);
+        return a;
+    }
+}
@@ -0,0 +1,68 @@
+package com.immocare.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import com.immocare.repository.TagSubcategoryRepository;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("TagUsageService")
+class TagUsageServiceTest {
+
+    @Mock
+    TagSubcategoryRepository tagSubcategoryRepository;
+
+    TagUsageService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new TagUsageService(tagSubcategoryRepository);
+        when(tagSubcategoryRepository.countUsageBySubcategory()).thenReturn(List.of(
+                row(4L, 1L, 12), row(5L, 1L, 3), row(9L, 2L, 7)));
+    }
+
+    @Test
+    @DisplayName("one grouped query gives subcategory and category counts")
+    void usage_groupedBySubcategoryAndCategory() {
+        TagUsageService.Usage usage = service.usage();
+
+        assertThat(usage.subcategory(4L)).isEqualTo(12);
+        assertThat(usage.subcategory(6L)).isZero();
+        assertThat(usage.category(1L)).isEqualTo(15);
+        assertThat(usage.category(2L)).isEqualTo(7);
+    }
+
+    @Test
+    @DisplayName("counts are cached until invalidated")
+    void usage_cachedUntilInvalidated() {
+        service.subcategoryUsage(4L);
+        service.subcategoryUsage(5L);
+        verify(tagSubcategoryRepository, times(1)).countUsageBySubcategory();
+
+        service.invalidate();
+        service.subcategoryUsage(4L);
+        verify(tagSubcategoryRepository, times(2)).countUsageBySubcategory();
+    }
+
+    private static TagSubcategoryRepository.UsageRow row(Long subcategoryId, Long categoryId, long count) {
+        return new TagSubcategoryRepository.UsageRow() {
+            public Long getSubcategoryId() { return subcategoryId; }
+            public Long getCategoryId() { return categoryId; }
+            public Long getCount() { return count; }
+        };
+    }
+}
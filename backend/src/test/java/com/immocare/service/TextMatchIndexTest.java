@@ -0,0 +1,110 @@
+package com.immocare.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import com.immocare.model.enums.TagMatchField;
+import com.immocare.repository.FinancialTransactionRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("TextMatchIndex")
+class TextMatchIndexTest {
+
+    private static final Long RENT = 1L;
+    private static final Long WATER = 2L;
+    private static final Long INSURANCE = 3L;
+
+    @Mock
+    FinancialTransactionRepository transactionRepository;
+
+    TextMatchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new TextMatchIndex(transactionRepository, new SimpleMeterRegistry());
+        when(transactionRepository.streamLearningTexts()).thenAnswer(inv -> Stream.of(
+                row(RENT, "Jean Dupont", "Loyer mars 2025 appartement 2B"),
+                row(RENT, "Jean Dupont", "Loyer février 2025 appartement 2B"),
+                row(RENT, "Marie Leroy", "Loyer janvier 2025 studio"),
+                row(WATER, "Vivaqua", "Facture eau 2025/0012"),
+                row(WATER, "Vivaqua", "Facture eau 2025/0048"),
+                row(INSURANCE, "AG Insurance", "Prime assurance incendie immeuble")));
+    }
+
+    @Test
+    @DisplayName("a description seen with another month matches its subcategory")
+    void search_monthVariantMatches() {
+        List<TextMatchIndex.Match> matches = index.search(TagMatchField.DESCRIPTION, "LOYER AVRIL 2025 appartement 2B");
+
+        assertThat(matches).isNotEmpty();
+        assertThat(matches.get(0).subcategoryId()).isEqualTo(RENT);
+        assertThat(matches.get(0).confidence()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("specific tokens outrank shared ones")
+    void search_rankedByScore() {
+        List<TextMatchIndex.Match> matches = index.search(TagMatchField.DESCRIPTION, "Facture eau mai");
+
+        assertThat(matches).extracting(TextMatchIndex.Match::subcategoryId).first().isEqualTo(WATER);
+    }
+
+    @Test
+    @DisplayName("counterparty names are indexed separately from descriptions")
+    void search_perField() {
+        assertThat(index.search(TagMatchField.COUNTERPARTY_NAME, "VIVAQUA SA"))
+                .extracting(TextMatchIndex.Match::subcategoryId).containsExactly(WATER);
+        assertThat(index.search(TagMatchField.DESCRIPTION, "Vivaqua")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("a query mostly made of unknown words yields nothing")
+    void search_lowCoverage_noMatch() {
+        assertThat(index.search(TagMatchField.DESCRIPTION, "Remboursement garantie locative studio")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("loaded once, then extended in memory")
+    void add_extendsLoadedIndex() {
+        assertThat(index.search(TagMatchField.COUNTERPARTY_NAME, "Proximus")).isEmpty();
+
+        index.add(WATER, "Proximus", "Internet communs");
+
+        assertThat(index.search(TagMatchField.COUNTERPARTY_NAME, "Proximus"))
+                .extracting(TextMatchIndex.Match::subcategoryId).containsExactly(WATER);
+        verify(transactionRepository, times(1)).streamLearningTexts();
+    }
+
+    @Test
+    @DisplayName("tokens are folded and stripped of digits and month names")
+    void tokenize_normalises() {
+        assertThat(TextMatchIndex.tokenize("Loyer FÉVRIER 2025 – Réf. 12/AB a"))
+                .containsExactly("loyer", "ref", "ab");
+        assertThat(TextMatchIndex.tokenize("Prime d'assurance")).containsExactly("prime", "assurance");
+    }
+
+    private static FinancialTransactionRepository.LearningText row(Long subcategoryId, String name, String description) {
+        return new FinancialTransactionRepository.LearningText() {
+            public Long getSubcategoryId() { return subcategoryId; }
+            public String getCounterpartyName() { return name; }
+            public String getDescription() { return description; }
+        };
+    }
+}
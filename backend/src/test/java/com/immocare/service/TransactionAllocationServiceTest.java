@@ -0,0 +1,180 @@
+package com.immocare.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.groups.Tuple.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import com.immocare.exception.TransactionValidationException;
+import com.immocare.model.dto.SaveAllocationRequest;
+import com.immocare.model.entity.Building;
+import com.immocare.model.entity.FinancialTransaction;
+import com.immocare.model.entity.HousingUnit;
+import com.immocare.model.entity.TransactionAllocation;
+import com.immocare.model.enums.AllocationMethod;
+import com.immocare.model.enums.TransactionDirection;
+import com.immocare.repository.HousingUnitRepository;
+import com.immocare.repository.RoomRepository;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("TransactionAllocationService")
+class TransactionAllocationServiceTest {
+
+    @Mock
+    HousingUnitRepository housingUnitRepository;
+    @Mock
+    RoomRepository roomRepository;
+
+    TransactionAllocationService service;
+
+    Building building;
+    HousingUnit a;
+    HousingUnit b;
+    HousingUnit c;
+
+    record Surface(Long housingUnitId, BigDecimal surface) implements RoomRepository.UnitSurface {
+        public Long getHousingUnitId() { return housingUnitId; }
+        public BigDecimal getSurface() { return surface; }
+    }
+
+    @BeforeEach
+    void setUp() {
+        service = new TransactionAllocationService(housingUnitRepository, roomRepository);
+        building = new Building();
+        building.setId(10L);
+        building.setName("Résidence Les Tilleuls");
+        a = unit(1L, "A", "50");
+        b = unit(2L, "B", "30");
+        c = unit(3L, "C", "20");
+        when(housingUnitRepository.findAllById(any())).thenReturn(List.of(a, b, c));
+    }
+
+    private HousingUnit unit(Long id, String number, String surface) {
+        HousingUnit unit = new HousingUnit();
+        unit.setId(id);
+        unit.setUnitNumber(number);
+        unit.setBuilding(building);
+        unit.setTotalSurface(new BigDecimal(surface));
+        return unit;
+    }
+
+    private static FinancialTransaction expense(String amount) {
+        FinancialTransaction tx = new FinancialTransaction();
+        tx.setDirection(TransactionDirection.EXPENSE);
+        tx.setAmount(new BigDecimal(amount));
+        return tx;
+    }
+
+    private static SaveAllocationRequest request(AllocationMethod method, SaveAllocationRequest.Line... lines) {
+        return new SaveAllocationRequest(method, List.of(lines));
+    }
+
+    private static SaveAllocationRequest.Line line(Long unitId, String amount) {
+        return new SaveAllocationRequest.Line(unitId, amount != null ? new BigDecimal(amount) : null);
+    }
+
+    @Test
+    @DisplayName("unit surface key → pro rata shares, remainder on the last line, building filled in")
+    void unitSurface_splitsProRata() {
+        FinancialTransaction tx = expense("100.01");
+
+        service.allocate(tx, request(AllocationMethod.UNIT_SURFACE,
+                line(1L, null), line(2L, null), line(3L, null)));
+
+        assertThat(tx.getAllocations())
+                .extracting(l -> l.getHousingUnit().getId(), TransactionAllocation::getLineNo,
+                        TransactionAllocation::getAmount)
+                .containsExactly(
+                        tuple(1L, 0, new BigDecimal("50.00")),
+                        tuple(2L, 1, new BigDecimal("30.00")),
+                        tuple(3L, 2, new BigDecimal("20.01")));
+        assertThat(tx.getBuilding()).isSameAs(building);
+    }
+
+    @Test
+    @DisplayName("room surface key → pro rata of the summed room surfaces")
+    void roomSurface_usesRooms() {
+        when(housingUnitRepository.findAllById(any())).thenReturn(List.of(a, b));
+        when(roomRepository.sumApproximateSurfaceByHousingUnitIdIn(any())).thenReturn(List.of(
+                new Surface(1L, new BigDecimal("15")), new Surface(2L, new BigDecimal("45"))));
+        FinancialTransaction tx = expense("240.00");
+
+        service.allocate(tx, request(AllocationMethod.ROOM_SURFACE, line(1L, null), line(2L, null)));
+
+        assertThat(tx.getAllocations()).extracting(TransactionAllocation::getAmount)
+                .containsExactly(new BigDecimal("60.00"), new BigDecimal("180.00"));
+    }
+
+    @Test
+    @DisplayName("fixed amounts must add up to the transaction amount")
+    void fixed_mustAddUp() {
+        when(housingUnitRepository.findAllById(any())).thenReturn(List.of(a, b));
+        FinancialTransaction tx = expense("500.00");
+
+        assertThatThrownBy(() -> service.allocate(tx, request(AllocationMethod.FIXED,
+                line(1L, "300.00"), line(2L, "150.00"))))
+                .isInstanceOf(TransactionValidationException.class)
+                .hasMessageContaining("add up");
+
+        service.allocate(tx, request(AllocationMethod.FIXED, line(1L, "300"), line(2L, "200.00")));
+        assertThat(tx.getAllocations()).extracting(TransactionAllocation::getAmount)
+                .containsExactly(new BigDecimal("300.00"), new BigDecimal("200.00"));
+    }
+
+    @Test
+    @DisplayName("income and single-unit bookings cannot be allocated")
+    void rejectsIncomeAndUnitBooking() {
+        FinancialTransaction income = expense("100.00");
+        income.setDirection(TransactionDirection.INCOME);
+        assertThatThrownBy(() -> service.allocate(income, request(AllocationMethod.UNIT_SURFACE, line(1L, null))))
+                .isInstanceOf(TransactionValidationException.class);
+
+        FinancialTransaction onUnit = expense("100.00");
+        onUnit.setHousingUnit(a);
+        assertThatThrownBy(() -> service.allocate(onUnit, request(AllocationMethod.UNIT_SURFACE, line(1L, null))))
+                .isInstanceOf(TransactionValidationException.class);
+    }
+
+    @Test
+    @DisplayName("null request clears the existing split")
+    void nullRequest_clears() {
+        FinancialTransaction tx = expense("100.01");
+        service.allocate(tx, request(AllocationMethod.UNIT_SURFACE, line(1L, null), line(2L, null), line(3L, null)));
+
+        service.allocate(tx, null);
+
+        assertThat(tx.getAllocations()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("reallocate keeps units and method, re-split against the new amount")
+    void reallocate_keepsSplit() {
+        FinancialTransaction tx = expense("100.00");
+        service.allocate(tx, request(AllocationMethod.UNIT_SURFACE, line(1L, null), line(2L, null), line(3L, null)));
+
+        tx.setAmount(new BigDecimal("200.00"));
+        service.reallocate(tx);
+
+        assertThat(tx.getAllocations())
+                .extracting(l -> l.getHousingUnit().getId(), TransactionAllocation::getAmount,
+                        TransactionAllocation::getMethod)
+                .containsExactly(
+                        tuple(1L, new BigDecimal("100.00"), AllocationMethod.UNIT_SURFACE),
+                        tuple(2L, new BigDecimal("60.00"), AllocationMethod.UNIT_SURFACE),
+                        tuple(3L, new BigDecimal("40.00"), AllocationMethod.UNIT_SURFACE));
+    }
+}
@@ -0,0 +1,173 @@
+package com.immocare.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.mock.web.MockMultipartFile;
+
+import com.immocare.model.dto.ImportBatchResultDTO;
+import com.immocare.model.entity.FinancialTransaction;
+import com.immocare.model.entity.ImportBatch;
+import com.immocare.model.entity.ParsedBalance;
+import com.immocare.model.entity.ParsedTransaction;
+import com.immocare.model.entity.TransactionParser;
+import com.immocare.repository.BankAccountRepository;
+import com.immocare.repository.BuildingRepository;
+import com.immocare.repository.FinancialTransactionRepository;
+import com.immocare.repository.HousingUnitRepository;
+import com.immocare.repository.ImportBatchRepository;
+import com.immocare.repository.LeaseRepository;
+import com.immocare.repository.PersonBankAccountRepository;
+import com.immocare.repository.TagSubcategoryRepository;
+import com.immocare.repository.TransactionParserRegistry;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("TransactionImportService")
+class TransactionImportServiceTest {
+
+    private static final int ROWS = 1_200;
+
+    @Mock TransactionParserRegistry parserRegistry;
+    @Mock ImportBatchRepository importBatchRepo;
+    @Mock FinancialTransactionRepository transactionRepo;
+    @Mock BankAccountRepository bankAccountRepo;
+    @Mock PersonBankAccountRepository personBankAccountRepo;
+    @Mock LeaseRepository leaseRepo;
+    @Mock LearningService learningService;
+    @Mock TagSubcategoryRepository subcategoryRepo;
+    @Mock HousingUnitRepository housingUnitRepo;
+    @Mock BuildingRepository buildingRepo;
+    @Mock LedgerRollupService ledgerRollupService;
+    @Mock BankBalanceService bankBalanceService;
+    @Mock NearDuplicateDetector nearDuplicateDetector;
+    @Mock LeaseAmountMatcher leaseAmountMatcher;
+    @Mock EntityManager entityManager;
+
+    TransactionImportService service;
+    /** Transactions saved so far, recorded after each row the parser hands over. */
+    List<Integer> savedAfterRow = new ArrayList<>();
+    List<FinancialTransaction> saved = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        service = new TransactionImportService(parserRegistry, importBatchRepo, transactionRepo, bankAccountRepo,
+                personBankAccountRepo, leaseRepo, learningService, subcategoryRepo, housingUnitRepo, buildingRepo,
+                ledgerRollupService, bankBalanceService, nearDuplicateDetector, leaseAmountMatcher,
+                new SimpleMeterRegistry(), entityManager);
+        when(parserRegistry.getOrThrow("camt053")).thenReturn(new StreamingParser());
+        when(importBatchRepo.save(any(ImportBatch.class))).thenAnswer(inv -> {
+            ImportBatch batch = inv.getArgument(0);
+            batch.setId(1L);
+            return batch;
+        });
+        when(transactionRepo.nextRefSequences(anyInt())).thenAnswer(inv ->
+                LongStream.rangeClosed(1, inv.<Integer>getArgument(0)).boxed().toList());
+        when(transactionRepo.save(any(FinancialTransaction.class))).thenAnswer(inv -> {
+            saved.add(inv.getArgument(0));
+            return inv.getArgument(0);
+        });
+    }
+
+    /** Streams ROWS rows; row 10 repeats row 3's fingerprint. */
+    private class StreamingParser implements TransactionParser {
+
+        @Override
+        public String getCode() {
+            return "camt053";
+        }
+
+        @Override
+        public List<ParsedTransaction> parse(InputStream input) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void parse(InputStream input, Consumer<ParsedTransaction> sink, Consumer<ParsedBalance> balances) {
+            for (int i = 0; i < ROWS; i++) {
+                sink.accept(ParsedTransaction.builder()
+                        .rowNumber(i + 1)
+                        .transactionDate(LocalDate.of(2026, 3, 1 + i % 28))
+                        .amount(new BigDecimal("12.50"))
+                        .direction(ParsedTransaction.Direction.EXPENSE)
+                        .fingerprint("fp-" + (i == 10 ? 3 : i))
+                        .build());
+                savedAfterRow.add(saved.size());
+            }
+        }
+    }
+
+    private ImportBatchResultDTO importFile() throws Exception {
+        return service.importFile(new MockMultipartFile("file", "statement.xml", "application/xml", new byte[0]),
+                "camt053", null, null, null, null);
+    }
+
+    @Test
+    @DisplayName("rows imported while parsing, per chunk: one lookup, one sequence fetch, one flush and clear")
+    @SuppressWarnings("unchecked")
+    void importsInChunks() throws Exception {
+        FinancialTransactionRepository.ImportedFingerprint existing =
+                new FinancialTransactionRepository.ImportedFingerprint() {
+                    public String getFingerprint() { return "fp-0"; }
+                    public Long getId() { return 99L; }
+                };
+        when(transactionRepo.findByImportFingerprintIn(anyCollection()))
+                .thenReturn(List.of(existing)).thenReturn(List.of());
+
+        ImportBatchResultDTO result = importFile();
+
+        assertThat(result.getTotalRows()).isEqualTo(ROWS);
+        assertThat(result.getDuplicateCount()).isEqualTo(2); // fp-0 in the database, fp-3 twice in the file
+        assertThat(result.getImportedCount()).isEqualTo(ROWS - 2);
+
+        ArgumentCaptor<Collection<String>> lookups = ArgumentCaptor.forClass(Collection.class);
+        verify(transactionRepo, times(3)).findByImportFingerprintIn(lookups.capture());
+        assertThat(lookups.getAllValues()).extracting(Collection::size).containsExactly(499, 500, 200);
+        verify(transactionRepo).nextRefSequences(498);
+        verify(transactionRepo).nextRefSequences(500);
+        verify(transactionRepo).nextRefSequences(200);
+        verify(transactionRepo, times(3)).flush();
+        verify(entityManager, times(3)).clear();
+        // The first chunk is persisted as soon as the parser has handed over row 500
+        assertThat(savedAfterRow.get(499)).isEqualTo(498);
+        assertThat(saved.get(0).getReference()).isEqualTo("TXN-2026-00001");
+    }
+
+    @Test
+    @DisplayName("a database failure while importing is not reported as a parse error")
+    void sinkFailurePropagates() {
+        when(transactionRepo.findByImportFingerprintIn(anyCollection()))
+                .thenThrow(new IllegalStateException("connection lost"));
+
+        assertThatThrownBy(this::importFile)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("connection lost");
+    }
+}
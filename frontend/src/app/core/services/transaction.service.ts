@@ -12,6 +12,7 @@ import {
   StatisticsFilter,
   TransactionFilter,
   TransactionStatistics,
+  UpdateTransactionRequest,
 } from "../../models/transaction.model";
 
 const BASE = "/api/v1/transactions";
@@ -38,7 +39,7 @@ export class TransactionService {
 
   update(
     id: number,
-    req: CreateTransactionRequest,
+    req: UpdateTransactionRequest,
   ): Observable<FinancialTransaction> {
     return this.http.put<FinancialTransaction>(`${BASE}/${id}`, req);
   }
@@ -86,12 +87,20 @@ export class TransactionService {
 
   /**
    * Step 1 — Preview: parse without persisting.
-   * Returns rows enriched with duplicate flag, subcategory and lease suggestions.
+   * Returns rows enriched with duplicate flags, subcategory and lease suggestions.
+   * The bank account, when known, narrows the possible-duplicate search.
    */
-  previewFile(file: File, parserCode: string): Observable<ImportPreviewRow[]> {
+  previewFile(
+    file: File,
+    parserCode: string,
+    bankAccountId: number | null = null,
+  ): Observable<ImportPreviewRow[]> {
     const formData = new FormData();
     formData.append("file", file);
     formData.append("parserCode", parserCode);
+    if (bankAccountId != null) {
+      formData.append("bankAccountId", String(bankAccountId));
+    }
     return this.http.post<ImportPreviewRow[]>(`${BASE}/preview`, formData);
   }
 
@@ -37,9 +37,25 @@ const ALERT_KEYS = new Set<string>([
   CONFIG_KEYS.INDEXATION_NOTICE_DAYS,
 ]);
 
+// Zero-based column indexes (-1 = absent) and header row count
+const CSV_COLUMN_KEYS = new Set<string>([
+  CONFIG_KEYS.CSV_SKIP_HEADER_ROWS,
+  CONFIG_KEYS.CSV_COL_DATE,
+  CONFIG_KEYS.CSV_COL_AMOUNT,
+  CONFIG_KEYS.CSV_COL_DESCRIPTION,
+  CONFIG_KEYS.CSV_COL_COUNTERPARTY_NAME,
+  CONFIG_KEYS.CSV_COL_COUNTERPARTY_ACCOUNT,
+  CONFIG_KEYS.CSV_COL_EXTERNAL_REFERENCE,
+  CONFIG_KEYS.CSV_COL_BANK_ACCOUNT,
+  CONFIG_KEYS.CSV_COL_VALUE_DATE,
+]);
+
 const IMPORT_KEYS = new Set<string>([
   CONFIG_KEYS.IMPORT_ON_DUPLICATE,
   CONFIG_KEYS.IMPORT_SUGGESTION_CONFIDENCE,
+  CONFIG_KEYS.CSV_DELIMITER,
+  CONFIG_KEYS.CSV_DATE_FORMAT,
+  ...CSV_COLUMN_KEYS,
 ]);
 
 @Component({
@@ -110,6 +126,7 @@ export class SettingsComponent implements OnInit, OnDestroy {
     for (const c of configs) {
       const validators = [Validators.required];
       if (INTEGER_KEYS.has(c.configKey)) validators.push(Validators.pattern(/^[1-9][0-9]*$/));
+      if (CSV_COLUMN_KEYS.has(c.configKey)) validators.push(Validators.pattern(/^-?[0-9]+$/));
       group[c.configKey] = [c.configValue, validators];
     }
     this.form = this.fb.group(group);
@@ -154,6 +171,7 @@ export class SettingsComponent implements OnInit, OnDestroy {
   isIntegerKey(key: string): boolean { return INTEGER_KEYS.has(key); }
   isDateFormatKey(key: string): boolean { return key === CONFIG_KEYS.APP_DATE_FORMAT; }
   isSelectKey(key: string): boolean { return key === CONFIG_KEYS.IMPORT_ON_DUPLICATE; }
+  isColumnKey(key: string): boolean { return CSV_COLUMN_KEYS.has(key); }
 
   presetOrCustom(key: string): string {
     const val = this.form?.get(key)?.value as string;
@@ -169,7 +187,9 @@ export class SettingsComponent implements OnInit, OnDestroy {
     const ctrl = this.form?.get(key);
     if (!ctrl || !ctrl.invalid || !ctrl.touched) return null;
     if (ctrl.hasError("required")) return "Ce champ est obligatoire.";
-    if (ctrl.hasError("pattern")) return "Doit être un entier positif.";
+    if (ctrl.hasError("pattern")) {
+      return this.isColumnKey(key) ? "Doit être un entier (-1 = colonne absente)." : "Doit être un entier positif.";
+    }
     return "Valeur invalide.";
   }
 }
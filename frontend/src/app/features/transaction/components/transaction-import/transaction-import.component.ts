@@ -79,8 +79,17 @@ export class TransactionImportComponent implements OnInit {
   }
 
   get acceptedFileTypes(): string {
-    if (!this.selectedParser) return ".csv,.pdf";
-    return this.selectedParser.format === "PDF" ? ".pdf" : ".csv";
+    if (!this.selectedParser) return ".csv,.pdf,.xml,.cod,.coda";
+    switch (this.selectedParser.format) {
+      case "PDF":
+        return ".pdf";
+      case "XML":
+        return ".xml";
+      case "CODA":
+        return ".cod,.coda,.txt";
+      default:
+        return ".csv";
+    }
   }
 
   get canPreview(): boolean {
@@ -99,6 +108,12 @@ export class TransactionImportComponent implements OnInit {
     return this.previewRows.filter((r) => r.duplicateInDb).length;
   }
 
+  get possibleDuplicateCount(): number {
+    return this.previewRows.filter(
+      (r) => !r.duplicateInDb && r.possibleDuplicateTransactionId,
+    ).length;
+  }
+
   get enrichedCount(): number {
     return this.previewRows.filter(
       (r) => r.enrichedSubcategoryId || r.enrichedLeaseId,
@@ -163,12 +178,19 @@ export class TransactionImportComponent implements OnInit {
     this.selectedRow = null;
 
     this.transactionService
-      .previewFile(this.selectedFile!, this.selectedParserCode)
+      .previewFile(
+        this.selectedFile!,
+        this.selectedParserCode,
+        this.selectedBankAccountId,
+      )
       .subscribe({
         next: (rows) => {
           this.previewRows = rows.map((r) => ({
             ...r,
-            selected: !r.duplicateInDb && !r.parseError,
+            selected:
+              !r.duplicateInDb &&
+              !r.possibleDuplicateTransactionId &&
+              !r.parseError,
           }));
           this.step = "preview";
           this.loading = false;
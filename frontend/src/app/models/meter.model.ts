@@ -41,6 +41,8 @@ export interface ReplaceMeterRequest {
   newCustomerNumber?: string | null;
   newStartDate: string;
   reason?: ReplacementReason;
+  closingReading?: number | null;  // last index of the current meter
+  openingReading?: number | null;  // first index of the new meter
 }
 
 export interface RemoveMeterRequest {
@@ -31,6 +31,19 @@ export const CONFIG_KEYS = {
   // ── Import behaviour (global) ──────────────────────────────────────────────
   IMPORT_ON_DUPLICATE:              "import.on_duplicate",
   IMPORT_SUGGESTION_CONFIDENCE:     "csv.import.suggestion.confidence.threshold",
+
+  // ── Configurable CSV import (column indexes start at 0, -1 = absent) ──────
+  CSV_DELIMITER:                    "csv.import.delimiter",
+  CSV_DATE_FORMAT:                  "csv.import.date_format",
+  CSV_SKIP_HEADER_ROWS:             "csv.import.skip_header_rows",
+  CSV_COL_DATE:                     "csv.import.col.date",
+  CSV_COL_AMOUNT:                   "csv.import.col.amount",
+  CSV_COL_DESCRIPTION:              "csv.import.col.description",
+  CSV_COL_COUNTERPARTY_NAME:        "csv.import.col.counterparty_name",
+  CSV_COL_COUNTERPARTY_ACCOUNT:     "csv.import.col.counterparty_account",
+  CSV_COL_EXTERNAL_REFERENCE:       "csv.import.col.external_reference",
+  CSV_COL_BANK_ACCOUNT:             "csv.import.col.bank_account",
+  CSV_COL_VALUE_DATE:               "csv.import.col.value_date",
 } as const;
 
 export const CONFIG_LABELS: Record<string, string> = {
@@ -48,6 +61,19 @@ export const CONFIG_LABELS: Record<string, string> = {
   // Import
   "import.on_duplicate":                       "Comportement sur doublon détecté",
   "csv.import.suggestion.confidence.threshold": "Seuil de confiance pour suggestions de catégorie",
+
+  // Configurable CSV
+  "csv.import.delimiter":                      "CSV configurable — séparateur",
+  "csv.import.date_format":                    "CSV configurable — format de date",
+  "csv.import.skip_header_rows":               "CSV configurable — lignes d'en-tête ignorées",
+  "csv.import.col.date":                       "Colonne date",
+  "csv.import.col.amount":                     "Colonne montant (signé)",
+  "csv.import.col.description":                "Colonne description",
+  "csv.import.col.counterparty_name":          "Colonne nom de la contrepartie",
+  "csv.import.col.counterparty_account":       "Colonne IBAN de la contrepartie",
+  "csv.import.col.external_reference":         "Colonne référence bancaire",
+  "csv.import.col.bank_account":               "Colonne compte bancaire propre",
+  "csv.import.col.value_date":                 "Colonne date valeur",
 };
 
 // Preset options for the date-format selector
@@ -12,7 +12,7 @@ export interface ImportParser {
   code: string;
   label: string;
   description: string;
-  format: "CSV" | "PDF";
+  format: "CSV" | "PDF" | "XML" | "CODA";
   bankHint?: string;
   active: boolean;
 }
@@ -35,6 +35,7 @@ export interface TagCategory {
   name: string;
   description?: string;
   subcategoryCount: number;
+  usageCount: number;
 }
 
 export interface TagSubcategory {
@@ -57,6 +58,18 @@ export interface TransactionAssetLink {
   notes?: string;
 }
 
+export type AllocationMethod = 'FIXED' | 'UNIT_SURFACE' | 'ROOM_SURFACE';
+
+/** One unit's share of a grouped expense. */
+export interface TransactionAllocation {
+  id?: number;
+  housingUnitId: number;
+  unitNumber?: string;
+  buildingName?: string;
+  amount: number;
+  method: AllocationMethod;
+}
+
 export interface FinancialTransactionSummary {
   id: number;
   reference: string;
@@ -93,6 +106,7 @@ export interface FinancialTransaction extends FinancialTransactionSummary {
   importBatchId?: number;
   parserCode?: string;
   assetLinks: TransactionAssetLink[];
+  allocations: TransactionAllocation[];
   editable: boolean;
   createdAt: string;
   updatedAt: string;
@@ -180,6 +194,18 @@ export interface ImportBatchResult {
   duplicateCount: number;
   errorCount: number;
   errors: { rowNumber: number; rawLine: string; errorMessage: string }[];
+  balanceChecks: StatementCheck[];
+}
+
+export interface StatementCheck {
+  id: number;
+  date: string;
+  statementBalance: number;
+  computedBalance: number;
+  difference: number;
+  drift: number;
+  consistent: boolean;
+  importBatchId: number | null;
 }
 
 export interface SubcategorySuggestion {
@@ -196,8 +222,10 @@ export interface ImportPreviewSuggestedLease {
   unitNumber: string;
   buildingId?: number;
   buildingName: string;
-  personId: number;
-  personFullName: string;
+  personId: number | null;
+  personFullName: string | null;
+  /** IBAN — payer is a known tenant; AMOUNT — matched on the expected rent. */
+  matchedBy: "IBAN" | "AMOUNT";
 }
 
 export interface ImportPreviewRow {
@@ -212,6 +240,10 @@ export interface ImportPreviewRow {
   fingerprint: string | null;
   duplicateInDb: boolean;
   duplicateTransactionId?: number;
+  /** Existing transaction that looks like the same movement (other fingerprint). */
+  possibleDuplicateTransactionId?: number | null;
+  /** Similarity with possibleDuplicateTransactionId, 0..1. */
+  possibleDuplicateScore?: number | null;
   suggestedSubcategory: SubcategorySuggestion | null;
   suggestedLease: ImportPreviewSuggestedLease | null;
   parseError: string | null;
@@ -289,6 +321,16 @@ export interface CreateTransactionRequest {
   housingUnitId?: number;
   buildingId?: number;
   assetLinks?: TransactionAssetLink[];
+  /** Split between units (EXPENSE only); amounts are only read for FIXED. */
+  allocation?: {
+    method: AllocationMethod;
+    lines: { housingUnitId: number; amount?: number }[];
+  };
+}
+
+export interface UpdateTransactionRequest extends CreateTransactionRequest {
+  /** Drops the current split; without it, an omitted allocation is kept. */
+  removeAllocation?: boolean;
 }
 
 export interface ConfirmTransactionRequest {